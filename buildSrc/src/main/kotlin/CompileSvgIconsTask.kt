@@ -0,0 +1,47 @@
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.InputDirectory
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Precompiles all svg icons of the source directory using [SvgCompiler]. The compiled icons are placed
+ * next to the original path with the extension `.svgc`. Icons which use unsupported svg features are
+ * skipped and will be loaded from the svg file at runtime.
+ */
+@CacheableTask
+abstract class CompileSvgIconsTask : DefaultTask() {
+
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val sourceDir: DirectoryProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun compile() {
+        val output = outputDir.get().asFile
+        output.deleteRecursively()
+        var compiled = 0
+        var skipped = 0
+        sourceDir.asFileTree.matching { include("**/*.svg") }.visit {
+            if (isDirectory) return@visit
+            try {
+                val bytes = SvgCompiler.compile(file)
+                output.resolve(relativePath.pathString + "c").apply {
+                    parentFile.mkdirs()
+                    writeBytes(bytes)
+                }
+                compiled++
+            } catch (e: UnsupportedSvgException) {
+                logger.info("Skipping ${relativePath.pathString}: ${e.message}")
+                skipped++
+            }
+        }
+        logger.info("Compiled $compiled svg icons, skipped $skipped")
+    }
+}
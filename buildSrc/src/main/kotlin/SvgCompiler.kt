@@ -0,0 +1,675 @@
+import org.w3c.dom.Element
+import org.w3c.dom.Node
+import java.awt.Shape
+import java.awt.geom.AffineTransform
+import java.awt.geom.Arc2D
+import java.awt.geom.Ellipse2D
+import java.awt.geom.Line2D
+import java.awt.geom.Path2D
+import java.awt.geom.PathIterator
+import java.awt.geom.Rectangle2D
+import java.awt.geom.RoundRectangle2D
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.io.File
+import javax.xml.parsers.DocumentBuilderFactory
+import kotlin.math.PI
+import kotlin.math.abs
+import kotlin.math.acos
+import kotlin.math.cos
+import kotlin.math.sin
+import kotlin.math.sqrt
+import kotlin.math.tan
+
+class UnsupportedSvgException(message: String) : Exception(message)
+
+/**
+ * Compiles svg icons into the binary format read by CompiledSVGDocument. Only the subset of svg used by
+ * the darklaf icons is supported: Basic shapes, paths, groups, transforms and solid colors. Colors
+ * defined by gradients are kept as color slots, such that themed icons can resolve them at runtime.
+ * All geometry is flattened into absolute path segments.
+ */
+object SvgCompiler {
+    private const val MAGIC = 0x44535647 // "DSVG"
+    private const val VERSION = 1
+
+    private const val PAINT_COLOR = 0
+    private const val PAINT_SLOT = 1
+
+    private const val FLAG_FILL = 1
+    private const val FLAG_STROKE = 2
+    private const val FLAG_EVEN_ODD = 4
+
+    private class Slot(
+        val id: String,
+        val themed: Boolean,
+        val fallbacks: List<String>,
+        val opacityKey: String,
+        val opacityFallbacks: List<String>,
+        val rgb: Int,
+        val opacity: Float
+    )
+
+    private class Paint(val kind: Int, val value: Int)
+
+    private class Style(
+        val fill: String = "black",
+        val fillOpacity: Float = 1f,
+        val fillRule: String = "nonzero",
+        val stroke: String = "none",
+        val strokeOpacity: Float = 1f,
+        val strokeWidth: Float = 1f,
+        val lineCap: String = "butt",
+        val lineJoin: String = "miter",
+        val miterLimit: Float = 4f
+    )
+
+    private class CompiledShape(
+        val shape: Shape,
+        val fill: Paint?,
+        val fillAlpha: Float,
+        val evenOdd: Boolean,
+        val stroke: Paint?,
+        val strokeAlpha: Float,
+        val strokeWidth: Float,
+        val lineCap: Int,
+        val lineJoin: Int,
+        val miterLimit: Float
+    )
+
+    fun compile(file: File): ByteArray {
+        val factory = DocumentBuilderFactory.newInstance()
+        factory.isNamespaceAware = false
+        val root = factory.newDocumentBuilder().parse(file).documentElement
+        if (root.tagName != "svg") throw UnsupportedSvgException("Root element is not svg")
+
+        val slots = mutableListOf<Slot>()
+        val slotIndices = mutableMapOf<String, Int>()
+        root.elements().filter { it.tagName == "defs" }.forEach { defs ->
+            val themed = defs.getAttribute("id") == "colors"
+            defs.elements().forEach {
+                val slot = parseColorDefinition(it, themed)
+                slotIndices[slot.id] = slots.size
+                slots.add(slot)
+            }
+        }
+
+        val shapes = mutableListOf<CompiledShape>()
+        compileChildren(root, Style(), AffineTransform(), 1f, slotIndices, shapes)
+
+        val viewBox = root.floatList("viewBox")
+        val width = root.length("width") ?: viewBox.getOrNull(2)
+            ?: throw UnsupportedSvgException("Missing size")
+        val height = root.length("height") ?: viewBox.getOrNull(3)
+            ?: throw UnsupportedSvgException("Missing size")
+        val padding = root.floatList("visualPadding")
+
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { out ->
+            out.writeInt(MAGIC)
+            out.writeShort(VERSION)
+            out.writeFloat(width)
+            out.writeFloat(height)
+            if (viewBox.size == 4) {
+                viewBox.forEach { out.writeFloat(it) }
+            } else {
+                listOf(0f, 0f, width, height).forEach { out.writeFloat(it) }
+            }
+            out.writeBoolean(padding.size == 4)
+            if (padding.size == 4) padding.forEach { out.writeInt(it.toInt()) }
+
+            out.writeShort(slots.size)
+            slots.forEach {
+                out.writeUTF(it.id)
+                out.writeBoolean(it.themed)
+                out.writeStrings(it.fallbacks)
+                out.writeUTF(it.opacityKey)
+                out.writeStrings(it.opacityFallbacks)
+                out.writeInt(it.rgb)
+                out.writeFloat(it.opacity)
+            }
+
+            out.writeShort(shapes.size)
+            shapes.forEach { s ->
+                var flags = 0
+                if (s.fill != null) flags = flags or FLAG_FILL
+                if (s.stroke != null) flags = flags or FLAG_STROKE
+                if (s.evenOdd) flags = flags or FLAG_EVEN_ODD
+                out.writeByte(flags)
+                s.fill?.let {
+                    out.writePaint(it)
+                    out.writeFloat(s.fillAlpha)
+                }
+                s.stroke?.let {
+                    out.writePaint(it)
+                    out.writeFloat(s.strokeAlpha)
+                    out.writeFloat(s.strokeWidth)
+                    out.writeByte(s.lineCap)
+                    out.writeByte(s.lineJoin)
+                    out.writeFloat(s.miterLimit)
+                }
+                out.writePath(s.shape)
+            }
+        }
+        return bytes.toByteArray()
+    }
+
+    private fun parseColorDefinition(element: Element, themed: Boolean): Slot {
+        val id = element.getAttribute("id")
+        if (id.isEmpty()) throw UnsupportedSvgException("Color definition without id")
+        val opacityTag = when (element.tagName) {
+            "linearGradient" -> "opacity"
+            "solidColor" -> "solid-opacity"
+            else -> throw UnsupportedSvgException("Unsupported definition ${element.tagName}")
+        }
+        val rgb: Int
+        val opacity: Float
+        if (element.tagName == "solidColor") {
+            rgb = parseColor(element.getAttribute("solid-color").ifEmpty { "black" })
+            opacity = element.float("solid-opacity") ?: 1f
+        } else {
+            val stops = element.elements().filter { it.tagName == "stop" }
+            if (stops.isEmpty()) throw UnsupportedSvgException("Gradient $id without stops")
+            val colors = stops.map { parseColor(it.getAttribute("stop-color").ifEmpty { "black" }) }.distinct()
+            val opacities = stops.map { it.float("stop-opacity") ?: 1f }.distinct()
+            // Real gradients can't be represented by a color slot.
+            if (colors.size != 1 || opacities.size != 1) throw UnsupportedSvgException("Gradient $id isn't solid")
+            rgb = colors[0]
+            opacity = opacities[0]
+        }
+        return Slot(
+            id, themed,
+            element.stringList("fallback"),
+            if (themed) element.getAttribute(opacityTag) else "",
+            element.stringList("opacity-fallback"),
+            rgb, opacity
+        )
+    }
+
+    private fun compileChildren(
+        parent: Element,
+        style: Style,
+        transform: AffineTransform,
+        opacity: Float,
+        slots: Map<String, Int>,
+        shapes: MutableList<CompiledShape>
+    ) {
+        for (element in parent.elements()) {
+            if (element.tagName == "defs") continue
+            val elementStyle = inheritStyle(element, style)
+            val elementTransform = AffineTransform(transform)
+            element.getAttribute("transform").takeIf { it.isNotBlank() }?.let {
+                elementTransform.concatenate(parseTransform(it))
+            }
+            val elementOpacity = opacity * (element.float("opacity") ?: 1f)
+            if (element.tagName == "g") {
+                // Group opacity can only be applied to the shapes of the group if they don't overlap.
+                if (elementOpacity != opacity && countShapes(element) > 1) {
+                    throw UnsupportedSvgException("Opacity on group with multiple shapes")
+                }
+                compileChildren(element, elementStyle, elementTransform, elementOpacity, slots, shapes)
+                continue
+            }
+            val shape = createShape(element) ?: throw UnsupportedSvgException("Unsupported element ${element.tagName}")
+            shapes.add(compileShape(shape, elementStyle, elementTransform, elementOpacity, slots))
+        }
+    }
+
+    private fun countShapes(group: Element): Int = group.elements().sumOf {
+        when (it.tagName) {
+            "defs" -> 0
+            "g" -> countShapes(it)
+            else -> 1
+        }
+    }
+
+    private fun compileShape(
+        shape: Shape,
+        style: Style,
+        transform: AffineTransform,
+        opacity: Float,
+        slots: Map<String, Int>
+    ): CompiledShape {
+        val fill = resolvePaint(style.fill, slots)
+        val stroke = resolvePaint(style.stroke, slots)
+        // The stroke overlaps the fill, hence the opacity of the element can't be applied to both separately.
+        if (opacity != 1f && fill != null && stroke != null) {
+            throw UnsupportedSvgException("Opacity on shape with fill and stroke")
+        }
+        var strokeWidth = style.strokeWidth
+        if (stroke != null && !transform.isIdentity) {
+            // Strokes are flattened into the path, which requires the transform to be uniform.
+            val sx = sqrt(transform.scaleX * transform.scaleX + transform.shearY * transform.shearY)
+            val sy = sqrt(transform.scaleY * transform.scaleY + transform.shearX * transform.shearX)
+            if (abs(sx - sy) > 1e-6) throw UnsupportedSvgException("Non uniform transform of stroke")
+            strokeWidth = (strokeWidth * sx).toFloat()
+        }
+        return CompiledShape(
+            transform.createTransformedShape(shape),
+            fill, style.fillOpacity * opacity, style.fillRule == "evenodd",
+            stroke, style.strokeOpacity * opacity, strokeWidth,
+            when (style.lineCap) {
+                "butt" -> 0
+                "round" -> 1
+                "square" -> 2
+                else -> throw UnsupportedSvgException("Unsupported line cap ${style.lineCap}")
+            },
+            when (style.lineJoin) {
+                "miter" -> 0
+                "round" -> 1
+                "bevel" -> 2
+                else -> throw UnsupportedSvgException("Unsupported line join ${style.lineJoin}")
+            },
+            style.miterLimit
+        )
+    }
+
+    private fun resolvePaint(value: String, slots: Map<String, Int>): Paint? {
+        if (value == "none") return null
+        if (value.startsWith("url(")) {
+            val id = value.removePrefix("url(").removeSuffix(")").trim().removePrefix("#")
+            val slot = slots[id] ?: throw UnsupportedSvgException("Unknown paint $id")
+            return Paint(PAINT_SLOT, slot)
+        }
+        return Paint(PAINT_COLOR, parseColor(value))
+    }
+
+    private fun inheritStyle(element: Element, parent: Style): Style {
+        if (element.hasAttribute("style") || element.hasAttribute("clip-path") || element.hasAttribute("mask")) {
+            throw UnsupportedSvgException("Unsupported attribute on ${element.tagName}")
+        }
+        fun attr(name: String) = element.getAttribute(name).trim().takeIf { it.isNotEmpty() && it != "inherit" }
+        return Style(
+            fill = attr("fill") ?: parent.fill,
+            fillOpacity = attr("fill-opacity")?.let { parseNumber(it) } ?: parent.fillOpacity,
+            fillRule = attr("fill-rule") ?: parent.fillRule,
+            stroke = attr("stroke") ?: parent.stroke,
+            strokeOpacity = attr("stroke-opacity")?.let { parseNumber(it) } ?: parent.strokeOpacity,
+            strokeWidth = attr("stroke-width")?.let { parseLength(it) } ?: parent.strokeWidth,
+            lineCap = attr("stroke-linecap") ?: parent.lineCap,
+            lineJoin = attr("stroke-linejoin") ?: parent.lineJoin,
+            miterLimit = attr("stroke-miterlimit")?.let { parseNumber(it) } ?: parent.miterLimit
+        )
+    }
+
+    private fun createShape(element: Element): Shape? = when (element.tagName) {
+        "path" -> parsePath(element.getAttribute("d"))
+        "rect" -> {
+            val x = element.length("x") ?: 0f
+            val y = element.length("y") ?: 0f
+            val w = element.length("width") ?: 0f
+            val h = element.length("height") ?: 0f
+            var rx = element.length("rx")
+            var ry = element.length("ry")
+            if (rx == null) rx = ry
+            if (ry == null) ry = rx
+            if (rx == null || ry == null || (rx == 0f && ry == 0f)) {
+                Rectangle2D.Float(x, y, w, h)
+            } else {
+                val arcW = 2 * minOf(rx, w / 2)
+                val arcH = 2 * minOf(ry, h / 2)
+                RoundRectangle2D.Float(x, y, w, h, arcW, arcH)
+            }
+        }
+        "circle" -> {
+            val r = element.length("r") ?: 0f
+            Ellipse2D.Float((element.length("cx") ?: 0f) - r, (element.length("cy") ?: 0f) - r, 2 * r, 2 * r)
+        }
+        "ellipse" -> {
+            val rx = element.length("rx") ?: 0f
+            val ry = element.length("ry") ?: 0f
+            Ellipse2D.Float((element.length("cx") ?: 0f) - rx, (element.length("cy") ?: 0f) - ry, 2 * rx, 2 * ry)
+        }
+        "line" -> Line2D.Float(
+            element.length("x1") ?: 0f, element.length("y1") ?: 0f,
+            element.length("x2") ?: 0f, element.length("y2") ?: 0f
+        )
+        "polygon", "polyline" -> {
+            val points = parseNumbers(element.getAttribute("points"))
+            Path2D.Float().apply {
+                for (i in 0 until points.size / 2) {
+                    if (i == 0) moveTo(points[0], points[1]) else lineTo(points[2 * i], points[2 * i + 1])
+                }
+                if (element.tagName == "polygon") closePath()
+            }
+        }
+        else -> null
+    }
+
+    private fun parseTransform(value: String): AffineTransform {
+        val result = AffineTransform()
+        val regex = Regex("""(\w+)\s*\(([^)]*)\)""")
+        var matched = 0
+        for (match in regex.findAll(value)) {
+            matched += match.value.length
+            val args = parseNumbers(match.groupValues[2]).map { it.toDouble() }
+            fun arg(i: Int, default: Double? = null) =
+                args.getOrNull(i) ?: default ?: throw UnsupportedSvgException("Invalid transform $value")
+            when (match.groupValues[1]) {
+                "translate" -> result.translate(arg(0), arg(1, 0.0))
+                "scale" -> result.scale(arg(0), arg(1, arg(0)))
+                "rotate" -> result.rotate(Math.toRadians(arg(0)), arg(1, 0.0), arg(2, 0.0))
+                "matrix" -> result.concatenate(AffineTransform(arg(0), arg(1), arg(2), arg(3), arg(4), arg(5)))
+                "skewX" -> result.shear(tan(Math.toRadians(arg(0))), 0.0)
+                "skewY" -> result.shear(0.0, tan(Math.toRadians(arg(0))))
+                else -> throw UnsupportedSvgException("Invalid transform $value")
+            }
+        }
+        if (matched == 0) throw UnsupportedSvgException("Invalid transform $value")
+        return result
+    }
+
+    private fun parsePath(data: String): Shape {
+        val path = Path2D.Float()
+        val tokens = PathTokenizer(data)
+        var x = 0.0
+        var y = 0.0
+        var startX = 0.0
+        var startY = 0.0
+        // Control point of the last curve for smooth curve commands.
+        var ctrlX = 0.0
+        var ctrlY = 0.0
+        var lastCommand = ' '
+        var command = ' '
+        while (tokens.hasNext()) {
+            if (tokens.nextIsCommand()) {
+                command = tokens.command()
+            } else if (command == ' ') {
+                throw UnsupportedSvgException("Path doesn't start with a command")
+            }
+            val relative = command.isLowerCase()
+            val ox = if (relative) x else 0.0
+            val oy = if (relative) y else 0.0
+            when (command.uppercaseChar()) {
+                'M' -> {
+                    x = ox + tokens.number()
+                    y = oy + tokens.number()
+                    path.moveTo(x, y)
+                    startX = x
+                    startY = y
+                    // Subsequent coordinate pairs are implicit line commands.
+                    command = if (relative) 'l' else 'L'
+                }
+                'L' -> {
+                    x = ox + tokens.number()
+                    y = oy + tokens.number()
+                    path.lineTo(x, y)
+                }
+                'H' -> {
+                    x = ox + tokens.number()
+                    path.lineTo(x, y)
+                }
+                'V' -> {
+                    y = oy + tokens.number()
+                    path.lineTo(x, y)
+                }
+                'C', 'S' -> {
+                    val x1: Double
+                    val y1: Double
+                    if (command.uppercaseChar() == 'C') {
+                        x1 = ox + tokens.number()
+                        y1 = oy + tokens.number()
+                    } else if (lastCommand.uppercaseChar() == 'C' || lastCommand.uppercaseChar() == 'S') {
+                        x1 = 2 * x - ctrlX
+                        y1 = 2 * y - ctrlY
+                    } else {
+                        x1 = x
+                        y1 = y
+                    }
+                    ctrlX = ox + tokens.number()
+                    ctrlY = oy + tokens.number()
+                    x = ox + tokens.number()
+                    y = oy + tokens.number()
+                    path.curveTo(x1, y1, ctrlX, ctrlY, x, y)
+                }
+                'Q', 'T' -> {
+                    if (command.uppercaseChar() == 'Q') {
+                        ctrlX = ox + tokens.number()
+                        ctrlY = oy + tokens.number()
+                    } else if (lastCommand.uppercaseChar() == 'Q' || lastCommand.uppercaseChar() == 'T') {
+                        ctrlX = 2 * x - ctrlX
+                        ctrlY = 2 * y - ctrlY
+                    } else {
+                        ctrlX = x
+                        ctrlY = y
+                    }
+                    x = ox + tokens.number()
+                    y = oy + tokens.number()
+                    path.quadTo(ctrlX, ctrlY, x, y)
+                }
+                'A' -> {
+                    val rx = tokens.number()
+                    val ry = tokens.number()
+                    val angle = tokens.number()
+                    val largeArc = tokens.flag()
+                    val sweep = tokens.flag()
+                    val x2 = ox + tokens.number()
+                    val y2 = oy + tokens.number()
+                    appendArc(path, x, y, rx, ry, angle, largeArc, sweep, x2, y2)
+                    x = x2
+                    y = y2
+                }
+                'Z' -> {
+                    path.closePath()
+                    x = startX
+                    y = startY
+                }
+                else -> throw UnsupportedSvgException("Unsupported path command $command")
+            }
+            lastCommand = command
+        }
+        return path
+    }
+
+    /*
+     * Conversion from endpoint to center parameterization as described in the svg specification (F.6.5).
+     */
+    private fun appendArc(
+        path: Path2D, x1: Double, y1: Double, rxIn: Double, ryIn: Double, angle: Double,
+        largeArc: Boolean, sweep: Boolean, x2: Double, y2: Double
+    ) {
+        if (x1 == x2 && y1 == y2) return
+        var rx = abs(rxIn)
+        var ry = abs(ryIn)
+        if (rx == 0.0 || ry == 0.0) {
+            path.lineTo(x2, y2)
+            return
+        }
+        val phi = Math.toRadians(angle % 360.0)
+        val cosPhi = cos(phi)
+        val sinPhi = sin(phi)
+        val dx2 = (x1 - x2) / 2.0
+        val dy2 = (y1 - y2) / 2.0
+        val x1p = cosPhi * dx2 + sinPhi * dy2
+        val y1p = -sinPhi * dx2 + cosPhi * dy2
+        val lambda = (x1p * x1p) / (rx * rx) + (y1p * y1p) / (ry * ry)
+        if (lambda > 1) {
+            rx *= sqrt(lambda)
+            ry *= sqrt(lambda)
+        }
+        val num = rx * rx * ry * ry - rx * rx * y1p * y1p - ry * ry * x1p * x1p
+        val den = rx * rx * y1p * y1p + ry * ry * x1p * x1p
+        var coefficient = sqrt(maxOf(0.0, num / den))
+        if (largeArc == sweep) coefficient = -coefficient
+        val cxp = coefficient * (rx * y1p / ry)
+        val cyp = coefficient * -(ry * x1p / rx)
+        val cx = cosPhi * cxp - sinPhi * cyp + (x1 + x2) / 2.0
+        val cy = sinPhi * cxp + cosPhi * cyp + (y1 + y2) / 2.0
+
+        fun vectorAngle(ux: Double, uy: Double, vx: Double, vy: Double): Double {
+            val dot = ux * vx + uy * vy
+            val len = sqrt(ux * ux + uy * uy) * sqrt(vx * vx + vy * vy)
+            val a = acos((dot / len).coerceIn(-1.0, 1.0))
+            return if (ux * vy - uy * vx < 0) -a else a
+        }
+
+        val ux = (x1p - cxp) / rx
+        val uy = (y1p - cyp) / ry
+        val vx = (-x1p - cxp) / rx
+        val vy = (-y1p - cyp) / ry
+        val start = vectorAngle(1.0, 0.0, ux, uy)
+        var extent = vectorAngle(ux, uy, vx, vy)
+        if (!sweep && extent > 0) {
+            extent -= 2 * PI
+        } else if (sweep && extent < 0) {
+            extent += 2 * PI
+        }
+        // Arc2D measures angles counterclockwise in a y-up coordinate system.
+        val arc = Arc2D.Double(
+            cx - rx, cy - ry, 2 * rx, 2 * ry,
+            -Math.toDegrees(start), -Math.toDegrees(extent), Arc2D.OPEN
+        )
+        val rotation = AffineTransform.getRotateInstance(phi, cx, cy)
+        path.append(rotation.createTransformedShape(arc).getPathIterator(null), true)
+    }
+
+    private fun parseColor(value: String): Int {
+        val color = value.trim()
+        if (color.startsWith("#")) {
+            val hex = color.substring(1)
+            val rgb = when (hex.length) {
+                3 -> hex.map { "$it$it" }.joinToString("").toIntOrNull(16)
+                6 -> hex.toIntOrNull(16)
+                else -> null
+            }
+            return rgb ?: throw UnsupportedSvgException("Invalid color $value")
+        }
+        return when (color.lowercase()) {
+            "black" -> 0x000000
+            "white" -> 0xFFFFFF
+            "red" -> 0xFF0000
+            "green" -> 0x008000
+            "blue" -> 0x0000FF
+            "gray", "grey" -> 0x808080
+            else -> throw UnsupportedSvgException("Unsupported color $value")
+        }
+    }
+
+    private fun parseLength(value: String): Float {
+        val number = value.trim().removeSuffix("px")
+        if (number.endsWith("%")) throw UnsupportedSvgException("Unsupported length $value")
+        return parseNumber(number)
+    }
+
+    private fun parseNumber(value: String): Float =
+        value.trim().toFloatOrNull() ?: throw UnsupportedSvgException("Invalid number $value")
+
+    private fun parseNumbers(value: String): List<Float> {
+        // Numbers may be separated by their sign only, which the path tokenizer already handles.
+        val tokens = PathTokenizer(value)
+        val numbers = mutableListOf<Float>()
+        while (tokens.hasNext()) numbers.add(tokens.number().toFloat())
+        return numbers
+    }
+
+    private fun Element.elements(): List<Element> {
+        val result = mutableListOf<Element>()
+        val nodes = childNodes
+        for (i in 0 until nodes.length) {
+            val node = nodes.item(i)
+            if (node.nodeType == Node.ELEMENT_NODE) result.add(node as Element)
+        }
+        return result
+    }
+
+    private fun Element.length(name: String): Float? = getAttribute(name).takeIf { it.isNotBlank() }?.let {
+        parseLength(it)
+    }
+
+    private fun Element.float(name: String): Float? = getAttribute(name).takeIf { it.isNotBlank() }?.let {
+        val value = it.trim()
+        if (value.endsWith("%")) parseNumber(value.removeSuffix("%")) / 100f else parseNumber(value)
+    }
+
+    private fun Element.floatList(name: String): List<Float> = parseNumbers(getAttribute(name))
+
+    private fun Element.stringList(name: String): List<String> =
+        getAttribute(name).split(Regex("""[\s,]+""")).filter { it.isNotEmpty() }
+
+    private fun DataOutputStream.writeStrings(strings: List<String>) {
+        writeByte(strings.size)
+        strings.forEach { writeUTF(it) }
+    }
+
+    private fun DataOutputStream.writePaint(paint: Paint) {
+        writeByte(paint.kind)
+        if (paint.kind == PAINT_COLOR) writeInt(paint.value) else writeShort(paint.value)
+    }
+
+    private fun DataOutputStream.writePath(shape: Shape) {
+        val segments = ByteArrayOutputStream()
+        val out = DataOutputStream(segments)
+        val coords = FloatArray(6)
+        var count = 0
+        val iterator = shape.getPathIterator(null)
+        while (!iterator.isDone) {
+            val type = iterator.currentSegment(coords)
+            out.writeByte(type)
+            val coordCount = when (type) {
+                PathIterator.SEG_MOVETO, PathIterator.SEG_LINETO -> 2
+                PathIterator.SEG_QUADTO -> 4
+                PathIterator.SEG_CUBICTO -> 6
+                else -> 0
+            }
+            for (i in 0 until coordCount) out.writeFloat(coords[i])
+            count++
+            iterator.next()
+        }
+        writeInt(count)
+        write(segments.toByteArray())
+    }
+
+    private class PathTokenizer(private val data: String) {
+        private var index = 0
+
+        private fun skipSeparators() {
+            while (index < data.length && (data[index].isWhitespace() || data[index] == ',')) index++
+        }
+
+        fun hasNext(): Boolean {
+            skipSeparators()
+            return index < data.length
+        }
+
+        fun nextIsCommand(): Boolean {
+            skipSeparators()
+            val c = data[index]
+            return c.isLetter() && c != 'e' && c != 'E'
+        }
+
+        fun command(): Char = data[index++]
+
+        fun flag(): Boolean {
+            skipSeparators()
+            return when (data[index++]) {
+                '0' -> false
+                '1' -> true
+                else -> throw UnsupportedSvgException("Invalid arc flag in $data")
+            }
+        }
+
+        fun number(): Double {
+            skipSeparators()
+            val start = index
+            if (index < data.length && (data[index] == '-' || data[index] == '+')) index++
+            var seenDot = false
+            while (index < data.length) {
+                val c = data[index]
+                if (c.isDigit()) {
+                    index++
+                } else if (c == '.' && !seenDot) {
+                    seenDot = true
+                    index++
+                } else if ((c == 'e' || c == 'E') && index + 1 < data.length) {
+                    index++
+                    if (data[index] == '-' || data[index] == '+') index++
+                } else {
+                    break
+                }
+            }
+            if (start == index) throw UnsupportedSvgException("Expected number in $data at $start")
+            return data.substring(start, index).toDoubleOrNull()
+                ?: throw UnsupportedSvgException("Invalid number in $data at $start")
+        }
+    }
+}
@@ -6,6 +6,7 @@ plugins {
     `java-library`
     `module-info-compile`
     id("com.github.vlsi.crlf")
+    id("me.champeau.jmh")
 }
 
 dependencies {
@@ -87,6 +88,30 @@ val makeDocumentation by tasks.registering(JavaExec::class) {
     classpath(sourceSets.main.get().runtimeClasspath, sourceSets.test.get().runtimeClasspath)
 }
 
+val generateThemeSnapshots by tasks.registering(JavaExec::class) {
+    group = "Build"
+    description = "Precompiles the parsed defaults of all built-in themes into binary snapshots"
+    dependsOn(tasks.testClasses)
+
+    val outputDir = layout.buildDirectory.dir("generated/theme-snapshots")
+    outputs.dir(outputDir)
+    mainClass.set("com.github.weisj.darklaf.core.snapshot.CreateThemeSnapshots")
+    classpath(sourceSets.main.get().runtimeClasspath, sourceSets.test.get().runtimeClasspath)
+    systemProperty("java.awt.headless", "true")
+    systemProperty("darklaf.internal.version", project.version.toString())
+    argumentProviders.add(CommandLineArgumentProvider { listOf(outputDir.get().asFile.absolutePath) })
+}
+
+// Snapshots are platform dependent hence they are packaged separately from the main jar.
+val themeSnapshotsJar by tasks.registering(Jar::class) {
+    group = "Build"
+    description = "Packages the precompiled theme snapshots"
+    archiveClassifier.set("theme-snapshots")
+    from(generateThemeSnapshots) {
+        into("com/github/weisj/darklaf/snapshots")
+    }
+}
+
 abstract class DemoTask : JavaExec() {
     init {
         setMainClass("com.github.weisj.darklaf.ui.DemoLauncher")
@@ -123,3 +148,7 @@ val runDemo by tasks.registering(DemoTask::class) {
     }
     passProperty("java.awt.headless")
 }
+
+jmh {
+    profilers.add("gc")
+}
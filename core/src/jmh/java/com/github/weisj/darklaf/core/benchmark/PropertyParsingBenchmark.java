@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.UIDefaults;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.properties.PropertyLoader;
+import com.github.weisj.darklaf.properties.icons.IconResolver;
+import com.github.weisj.darklaf.task.ThemeDefaultsInitTask;
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.ui.util.DarkUIUtil;
+
+/**
+ * Measures parsing of the bundled property files. Run with {@code ./gradlew :darklaf-core:jmh}. The gc
+ * profiler is enabled by default, hence the reported {@code gc.alloc.rate.norm} is the allocation per
+ * operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyParsingBenchmark {
+
+    /*
+     * The ui property files making the most use of lists, maps, insets and icon arguments.
+     */
+    private static final String[] UI_PROPERTIES = new String[] {"borders", "button", "comboBox", "misc",
+            "tabbedPane", "table", "text", "toggleButton", "tree"};
+
+    @Param({"IntelliJ", "Darcula"})
+    public String themeName;
+
+    private Theme theme;
+    private IconResolver iconResolver;
+    private UIDefaults baseDefaults;
+    private Properties themeDefaults;
+    private final List<Properties> uiProperties = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty("java.awt.headless", "true");
+        theme = "Darcula".equals(themeName) ? new DarculaTheme() : new IntelliJTheme();
+        iconResolver = DarkUIUtil.iconResolver();
+        baseDefaults = new UIDefaults();
+        themeDefaults = new Properties();
+        theme.loadDefaults(themeDefaults, baseDefaults, iconResolver);
+        for (String name : UI_PROPERTIES) {
+            uiProperties.add(PropertyLoader.loadProperties(DarkLaf.class, name, "ui/"));
+        }
+    }
+
+    @Benchmark
+    public Properties parseUIProperties() {
+        Properties accumulator = new Properties();
+        accumulator.putAll(themeDefaults);
+        for (Properties properties : uiProperties) {
+            PropertyLoader.putProperties(properties, accumulator, baseDefaults, iconResolver);
+        }
+        return accumulator;
+    }
+
+    @Benchmark
+    public void themeDefaultsInstall(final Blackhole blackhole) {
+        UIDefaults defaults = new UIDefaults();
+        new ThemeDefaultsInitTask().run(theme, defaults);
+        blackhole.consume(defaults);
+    }
+}
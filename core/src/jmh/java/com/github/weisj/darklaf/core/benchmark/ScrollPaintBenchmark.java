@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.tree.DefaultMutableTreeNode;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.ui.list.DarkListUI;
+import com.github.weisj.darklaf.ui.table.TableConstants;
+import com.github.weisj.darklaf.ui.tree.DarkTreeUI;
+
+/**
+ * Measures the painting work of a single scroll step of a list, tree and table. Run with
+ * {@code ./gradlew :darklaf-core:jmh}. In blit mode only the area exposed by the scroll step is
+ * painted and the remaining content is copied, just as {@link JViewport#BLIT_SCROLL_MODE} does. In
+ * simple mode the whole viewport is repainted.
+ *
+ * <p>
+ * The auxiliary counters report the number of scroll steps and the number of painted pixels per
+ * iteration. Their ratio is the number of pixels painted per scroll step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScrollPaintBenchmark {
+
+    private static final int VIEWPORT_WIDTH = 400;
+    private static final int VIEWPORT_HEIGHT = 300;
+    private static final int ROW_COUNT = 10000;
+    private static final int COLUMN_COUNT = 5;
+
+    @Param({"list", "tree", "table"})
+    public String component;
+
+    @Param({"blit", "simple"})
+    public String scrollMode;
+
+    @Param({"1", "20"})
+    public int scrollStep;
+
+    private JViewport viewport;
+    private JComponent view;
+    private BufferedImage image;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PaintCounters {
+        public long scrollSteps;
+        public long pixelsPainted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            scrollSteps = 0;
+            pixelsPainted = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException, InvocationTargetException {
+        System.setProperty("java.awt.headless", "true");
+        SwingUtilities.invokeAndWait(() -> {
+            LafManager.install(new IntelliJTheme());
+            view = createView();
+            JScrollPane scrollPane = new JScrollPane(view);
+            scrollPane.setSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+            scrollPane.doLayout();
+            viewport = scrollPane.getViewport();
+            viewport.doLayout();
+            // Paint directly into the image instead of the back buffer of the repaint manager.
+            RepaintManager.currentManager(view).setDoubleBufferingEnabled(false);
+        });
+        image = new BufferedImage(viewport.getWidth(), viewport.getHeight(), BufferedImage.TYPE_INT_RGB);
+    }
+
+    private JComponent createView() {
+        switch (component) {
+            case "list":
+                String[] items = new String[ROW_COUNT];
+                for (int i = 0; i < items.length; i++) {
+                    items[i] = "Item " + i;
+                }
+                JList<String> list = new JList<>(items);
+                list.putClientProperty(DarkListUI.KEY_ALTERNATE_ROW_COLOR, true);
+                return list;
+            case "tree":
+                DefaultMutableTreeNode root = new DefaultMutableTreeNode("Root");
+                for (int i = 0; i < ROW_COUNT / 10; i++) {
+                    DefaultMutableTreeNode node = new DefaultMutableTreeNode("Node " + i);
+                    for (int j = 0; j < 9; j++) {
+                        node.add(new DefaultMutableTreeNode("Leaf " + i + "." + j));
+                    }
+                    root.add(node);
+                }
+                JTree tree = new JTree(root);
+                tree.putClientProperty(DarkTreeUI.KEY_ALTERNATE_ROW_COLOR, true);
+                for (int row = tree.getRowCount() - 1; row >= 0; row--) {
+                    tree.expandRow(row);
+                }
+                return tree;
+            case "table":
+                JTable table = new JTable(new AbstractTableModel() {
+                    @Override
+                    public int getRowCount() {
+                        return ROW_COUNT;
+                    }
+
+                    @Override
+                    public int getColumnCount() {
+                        return COLUMN_COUNT;
+                    }
+
+                    @Override
+                    public Object getValueAt(final int rowIndex, final int columnIndex) {
+                        return rowIndex + ":" + columnIndex;
+                    }
+                });
+                table.putClientProperty(TableConstants.KEY_ALTERNATE_ROW_COLOR, true);
+                return table;
+            default:
+                throw new IllegalArgumentException(component);
+        }
+    }
+
+    @Benchmark
+    public void scrollStep(final PaintCounters counters) {
+        Rectangle viewRect = viewport.getViewRect();
+        int y = viewRect.y + scrollStep;
+        if (y > view.getHeight() - viewRect.height) y = 0;
+        int dy = y - viewRect.y;
+        viewport.setViewPosition(new Point(viewRect.x, y));
+
+        Rectangle dirtyRegion = new Rectangle(viewRect.x, y, viewRect.width, viewRect.height);
+        Graphics2D g = image.createGraphics();
+        try {
+            if ("blit".equals(scrollMode) && Math.abs(dy) < viewRect.height) {
+                int blitHeight = viewRect.height - Math.abs(dy);
+                if (dy > 0) {
+                    g.copyArea(0, dy, viewRect.width, blitHeight, 0, -dy);
+                    dirtyRegion.y += blitHeight;
+                } else {
+                    g.copyArea(0, 0, viewRect.width, blitHeight, 0, -dy);
+                }
+                dirtyRegion.height = Math.abs(dy);
+            }
+            g.translate(-viewRect.x, -y);
+            g.clipRect(dirtyRegion.x, dirtyRegion.y, dirtyRegion.width, dirtyRegion.height);
+            view.paint(g);
+        } finally {
+            g.dispose();
+        }
+        counters.scrollSteps++;
+        counters.pixelsPainted += (long) dirtyRegion.width * dirtyRegion.height;
+    }
+}
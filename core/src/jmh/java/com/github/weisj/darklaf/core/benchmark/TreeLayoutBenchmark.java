@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.ui.tree.DarkTreeUI;
+
+/**
+ * Compares painting and hit testing of a fully expanded tree with about 500k nodes using the default
+ * layout and the fixed row height layout of {@link DarkTreeUI}. Run with
+ * {@code ./gradlew :darklaf-core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeLayoutBenchmark {
+
+    /*
+     * 100 * 10 * 10 * 50 = 500k leaves below 11100 inner nodes.
+     */
+    private static final int[] CHILD_COUNTS = new int[] {100, 10, 10, 50};
+    private static final int ROW_HEIGHT = 20;
+    private static final int VIEWPORT_WIDTH = 400;
+    private static final int VIEWPORT_HEIGHT = 600;
+
+    @Param({"default", "fixedRowHeight"})
+    public String layout;
+
+    private JTree tree;
+    private DarkTreeUI ui;
+    private BufferedImage image;
+    private int y;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException, InvocationTargetException {
+        System.setProperty("java.awt.headless", "true");
+        SwingUtilities.invokeAndWait(() -> {
+            LafManager.install(new IntelliJTheme());
+            DefaultMutableTreeNode root = new DefaultMutableTreeNode("Root");
+            addChildren(root, 0);
+            tree = new JTree(root);
+            // The fixed height layout cache of the large model is needed to expand this many nodes.
+            tree.setLargeModel(true);
+            tree.setRowHeight(ROW_HEIGHT);
+            tree.putClientProperty(DarkTreeUI.KEY_FIXED_ROW_HEIGHT_LAYOUT, "fixedRowHeight".equals(layout));
+            expand(new TreePath(root), 0);
+            tree.setSize(VIEWPORT_WIDTH, tree.getRowCount() * ROW_HEIGHT);
+            ui = (DarkTreeUI) tree.getUI();
+            // Paint directly into the image instead of the back buffer of the repaint manager.
+            RepaintManager.currentManager(tree).setDoubleBufferingEnabled(false);
+        });
+        image = new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static void addChildren(final DefaultMutableTreeNode node, final int depth) {
+        if (depth >= CHILD_COUNTS.length) return;
+        for (int i = 0; i < CHILD_COUNTS[depth]; i++) {
+            DefaultMutableTreeNode child = new DefaultMutableTreeNode("Node " + depth + "." + i);
+            node.add(child);
+            addChildren(child, depth + 1);
+        }
+    }
+
+    private void expand(final TreePath path, final int depth) {
+        if (depth >= CHILD_COUNTS.length) return;
+        tree.expandPath(path);
+        DefaultMutableTreeNode node = (DefaultMutableTreeNode) path.getLastPathComponent();
+        for (int i = 0; i < node.getChildCount(); i++) {
+            expand(path.pathByAddingChild(node.getChildAt(i)), depth + 1);
+        }
+    }
+
+    private int nextY() {
+        y += VIEWPORT_HEIGHT;
+        if (y >= tree.getHeight() - VIEWPORT_HEIGHT) y = 0;
+        return y;
+    }
+
+    @Benchmark
+    public void paintViewport() {
+        int top = nextY();
+        Graphics2D g = image.createGraphics();
+        try {
+            g.translate(0, -top);
+            g.clipRect(0, top, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+            tree.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    @Benchmark
+    public int hitTest() {
+        int top = nextY();
+        int row = 0;
+        for (int offset = 0; offset < VIEWPORT_HEIGHT; offset += ROW_HEIGHT / 2) {
+            row += ui.getClosestRowForLocation(VIEWPORT_WIDTH / 2, top + offset);
+        }
+        return row;
+    }
+}
@@ -35,6 +35,7 @@ import com.github.weisj.darklaf.theme.laf.ThemedLookAndFeel;
 import com.github.weisj.darklaf.ui.DarkPopupFactory;
 import com.github.weisj.darklaf.ui.popupmenu.MouseGrabberUtil;
 import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
 
 /** @author Jannis Weis */
 public class DarkLaf extends ThemedLookAndFeel {
@@ -62,6 +63,16 @@ public class DarkLaf extends ThemedLookAndFeel {
             new PlatformDefaultsInitTask(),
             new UserInitTask(),
             new UtilityDefaultsInitTask()};
+    /*
+     * The leading tasks which may be run ahead of the installation on any thread. All following tasks
+     * have to run on the event dispatch thread in order.
+     */
+    private static final int PREPARABLE_TASK_COUNT = preparableTaskCount();
+    /*
+     * Used in place of the ThemeDefaultsInitTask while preparing. User adjustment tasks are never run
+     * ahead of the installation, hence the prepared defaults are only used if there are none.
+     */
+    private static final DefaultsInitTask PREPARATION_THEME_TASK = new ThemeDefaultsInitTask(false);
 
     /*
      * The base look and feel. This may vary to handle different platform support.
@@ -80,6 +91,11 @@ public class DarkLaf extends ThemedLookAndFeel {
 
     private final boolean runListenerCallback;
 
+    /*
+     * Defaults computed ahead of the installation. They are consumed by the next call to #getDefaults.
+     */
+    private volatile PreparedDefaults preparedDefaults;
+
     DarkLaf(final Theme theme, final boolean runListenerCallback, final boolean isBeingInstalled) {
         this.runListenerCallback = runListenerCallback;
         this.theme = theme;
@@ -156,19 +172,81 @@ public class DarkLaf extends ThemedLookAndFeel {
 
     @Override
     public UIDefaults getDefaults() {
+        PreparedDefaults prepared = preparedDefaults;
+        preparedDefaults = null;
+        UIDefaults defaults;
+        int firstTask;
+        if (prepared != null && prepared.isValid()) {
+            defaults = prepared.defaults;
+            firstTask = prepared.completedTasks;
+        } else {
+            defaults = createBaseDefaults();
+            firstTask = 0;
+        }
+        runTasks(defaults, firstTask, INIT_TASKS.length, isInitialized);
+        if (isInitialized) {
+            postInstall();
+        }
+        return defaults;
+    }
+
+    /*
+     * Copies the defaults of the base laf. Has to be called on the event dispatch thread. The remaining
+     * preparation is done by #prepareDefaults.
+     */
+    void prepareBaseDefaults() {
+        preparedDefaults = new PreparedDefaults(createBaseDefaults(),
+                !LafManager.getUserDefaultsAdjustmentTasks().isEmpty());
+    }
+
+    /*
+     * Runs the tasks which don't need the laf to be installed and don't run user code, hence this may be
+     * called from any thread. The remaining tasks are run in order once the laf is installed.
+     */
+    void prepareDefaults() {
+        PreparedDefaults prepared = preparedDefaults;
+        if (prepared == null) return;
+        final Theme currentTheme = getTheme();
+        for (int i = 0; i < PREPARABLE_TASK_COUNT; i++) {
+            DefaultsInitTask task = INIT_TASKS[i];
+            if (task instanceof ThemeDefaultsInitTask) {
+                if (prepared.hasUserAdjustments) break;
+                task = PREPARATION_THEME_TASK;
+                prepared.skippedUserAdjustments = true;
+            }
+            runTask(task, currentTheme, prepared.defaults);
+            prepared.completedTasks = i + 1;
+        }
+    }
+
+    private UIDefaults createBaseDefaults() {
         final UIDefaults baseDefaults = base.getDefaults();
         final UIDefaults defaults = new UIDefaults(DEFAULTS_CAPACITY, DEFAULTS_LOAD_FACTOR);
         defaults.putAll(baseDefaults);
+        return defaults;
+    }
 
+    private void runTasks(final UIDefaults defaults, final int from, final int to,
+            final boolean includeInstallationTasks) {
         final Theme currentTheme = getTheme();
-        for (DefaultsInitTask task : INIT_TASKS) {
-            if (task.onlyDuringInstallation() && !isInitialized) continue;
-            task.run(currentTheme, defaults);
+        for (int i = from; i < to; i++) {
+            DefaultsInitTask task = INIT_TASKS[i];
+            if (task.onlyDuringInstallation() && !includeInstallationTasks) continue;
+            runTask(task, currentTheme, defaults);
         }
-        if (isInitialized) {
-            postInstall();
+    }
+
+    private static int preparableTaskCount() {
+        for (int i = 0; i < INIT_TASKS.length; i++) {
+            if (INIT_TASKS[i].onlyDuringInstallation()) return i;
         }
-        return defaults;
+        return INIT_TASKS.length;
+    }
+
+    private static void runTask(final DefaultsInitTask task, final Theme currentTheme, final UIDefaults defaults) {
+        long start = Instrumentation.start();
+        task.run(currentTheme, defaults);
+        Instrumentation.record(Instrumentation.Category.DEFAULTS_INIT, task.getClass(), start);
     }
 
     private void postInstall() {
@@ -242,4 +320,23 @@ public class DarkLaf extends ThemedLookAndFeel {
          */
         return false;
     }
+
+    private static final class PreparedDefaults {
+        private final UIDefaults defaults;
+        private final boolean hasUserAdjustments;
+        private int completedTasks;
+        private boolean skippedUserAdjustments;
+
+        private PreparedDefaults(final UIDefaults defaults, final boolean hasUserAdjustments) {
+            this.defaults = defaults;
+            this.hasUserAdjustments = hasUserAdjustments;
+        }
+
+        /*
+         * Adjustment tasks registered after the theme defaults have been prepared aren't part of them.
+         */
+        private boolean isValid() {
+            return !skippedUserAdjustments || LafManager.getUserDefaultsAdjustmentTasks().isEmpty();
+        }
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.swing.Icon;
+import javax.swing.UIDefaults;
+
+/**
+ * The difference between the defaults of two installations. Values which differ are classified by
+ * their type, which determines how much of the ui has to be updated.
+ */
+final class DefaultsDiff {
+
+    enum Kind {
+        /*
+         * Ordered by how much of the ui needs to be updated.
+         */
+        NONE,
+        COLORS,
+        ICONS,
+        FONTS,
+        STRUCTURAL
+    }
+
+    private final Kind kind;
+    private final Map<Object, Object> replacements;
+
+    private DefaultsDiff(final Kind kind, final Map<Object, Object> replacements) {
+        this.kind = kind;
+        this.replacements = replacements;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /*
+     * Maps the changed colors and icons of the old defaults to their new values. The mapping is by
+     * identity, as the values are installed on components and ui objects as-is.
+     */
+    Map<Object, Object> getReplacements() {
+        return replacements;
+    }
+
+    /*
+     * Note that the raw table values are compared. Lazy and active values are created from class
+     * declarations and don't depend on the theme. Their instances are updated in place by the
+     * incremental update.
+     */
+    static DefaultsDiff compute(final UIDefaults oldDefaults, final UIDefaults newDefaults) {
+        if (oldDefaults.size() != newDefaults.size()) return structural();
+        // UIDefaults#get would resolve lazy values.
+        Map<Object, Object> newValues = new HashMap<>(newDefaults);
+        Kind kind = Kind.NONE;
+        Map<Object, Object> replacements = new IdentityHashMap<>();
+        for (Map.Entry<Object, Object> entry : oldDefaults.entrySet()) {
+            Object key = entry.getKey();
+            Object oldValue = entry.getValue();
+            Object newValue = newValues.get(key);
+            if (newValue == null) return structural();
+            if (isSame(oldValue, newValue)) continue;
+            Kind changeKind = classify(oldValue, newValue);
+            if (changeKind == Kind.STRUCTURAL) return structural();
+            if (changeKind == Kind.COLORS || changeKind == Kind.ICONS) {
+                Object previous = replacements.put(oldValue, newValue);
+                if (previous != null && previous != newValue) {
+                    // The same value would need to be replaced by different values.
+                    return structural();
+                }
+            }
+            if (changeKind.compareTo(kind) > 0) kind = changeKind;
+        }
+        return new DefaultsDiff(kind, replacements);
+    }
+
+    private static DefaultsDiff structural() {
+        return new DefaultsDiff(Kind.STRUCTURAL, new IdentityHashMap<>());
+    }
+
+    private static boolean isSame(final Object oldValue, final Object newValue) {
+        if (oldValue == newValue) return true;
+        if (isLazy(oldValue) || isLazy(newValue)) {
+            return (isLazy(oldValue) || !isThemeValue(oldValue)) && (isLazy(newValue) || !isThemeValue(newValue));
+        }
+        return Objects.equals(oldValue, newValue);
+    }
+
+    private static boolean isThemeValue(final Object value) {
+        return value instanceof Color || value instanceof Font || value instanceof Icon;
+    }
+
+    private static boolean isLazy(final Object value) {
+        return value instanceof UIDefaults.LazyValue || value instanceof UIDefaults.ActiveValue;
+    }
+
+    private static Kind classify(final Object oldValue, final Object newValue) {
+        if (oldValue instanceof Color && newValue instanceof Color) return Kind.COLORS;
+        if (oldValue instanceof Font && newValue instanceof Font) return Kind.FONTS;
+        if (oldValue instanceof Icon && newValue instanceof Icon) {
+            Icon oldIcon = (Icon) oldValue;
+            Icon newIcon = (Icon) newValue;
+            // Icons of a different size change the layout.
+            if (oldIcon.getIconWidth() != newIcon.getIconWidth()
+                    || oldIcon.getIconHeight() != newIcon.getIconHeight()) {
+                return Kind.STRUCTURAL;
+            }
+            return Kind.ICONS;
+        }
+        return Kind.STRUCTURAL;
+    }
+}
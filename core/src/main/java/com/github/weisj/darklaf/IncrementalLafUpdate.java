@@ -0,0 +1,314 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.plaf.ComponentUI;
+import javax.swing.table.JTableHeader;
+import javax.swing.text.JTextComponent;
+
+import com.github.weisj.darklaf.ui.ThemeUpdatableUI;
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Updates the components after a theme change which only affects colors and icons. Instead of
+ * reinstalling all component uis the changed values are replaced in place. This includes the values
+ * installed on the components themselves as well as the values cached by the ui delegates, borders
+ * and renderers.
+ *
+ * <p>
+ * Values are matched by identity with the values of the old defaults. Only fields declared by darklaf
+ * classes are updated. Values derived from the defaults and colors or icons inherited from Swing base
+ * classes can't be matched, hence only ui delegates implementing {@link ThemeUpdatableUI} are updated
+ * in place. All other ui delegates are reinstalled, as are ui delegates which cache a matched value in
+ * a field which can't be updated.
+ */
+final class IncrementalLafUpdate {
+
+    private static final Logger LOGGER = LogUtil.getLogger(IncrementalLafUpdate.class);
+    private static final String DARKLAF_PACKAGE = "com.github.weisj.darklaf.";
+    private static final int MAX_DEPTH = 3;
+    private static final Class<?>[] RENDERER_CLASSES =
+            new Class<?>[] {Object.class, Number.class, Float.class, Double.class, Boolean.class, Date.class,
+                    Icon.class, ImageIcon.class, Color.class};
+
+    private static final ClassValue<FieldInfo> FIELD_INFO = new ClassValue<FieldInfo>() {
+        @Override
+        protected FieldInfo computeValue(final Class<?> type) {
+            return FieldInfo.create(type);
+        }
+    };
+    private static final ClassValue<Method> GET_UI_METHOD = new ClassValue<Method>() {
+        @Override
+        protected Method computeValue(final Class<?> type) {
+            try {
+                Method method = type.getMethod("getUI");
+                return ComponentUI.class.isAssignableFrom(method.getReturnType()) ? method : null;
+            } catch (final NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private final Map<Object, Object> replacements;
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<JComponent> reinstall = new ArrayList<>();
+    private int updatedComponents;
+
+    private IncrementalLafUpdate(final Map<Object, Object> replacements) {
+        this.replacements = replacements;
+    }
+
+    /**
+     * Tries to apply the change incrementally.
+     *
+     * @param diff the difference between the old and new defaults.
+     * @return true if the update could be applied. If false a full update is needed.
+     */
+    static boolean apply(final DefaultsDiff diff) {
+        return apply(diff, Window.getWindows());
+    }
+
+    static boolean apply(final DefaultsDiff diff, final Component[] roots) {
+        DefaultsDiff.Kind kind = diff.getKind();
+        if (kind != DefaultsDiff.Kind.NONE && kind != DefaultsDiff.Kind.COLORS
+                && kind != DefaultsDiff.Kind.ICONS) {
+            return false;
+        }
+        IncrementalLafUpdate update = new IncrementalLafUpdate(diff.getReplacements());
+        if (!update.replacements.isEmpty()) {
+            for (Component root : roots) {
+                update.updateComponent(root);
+            }
+            for (JComponent component : update.reinstall) {
+                component.updateUI();
+            }
+        }
+        for (Component root : roots) {
+            root.repaint();
+        }
+        LOGGER.fine(() -> "Incremental update (" + kind + ") of " + update.updatedComponents
+                + " components. Reinstalled " + update.reinstall.size() + " uis.");
+        return true;
+    }
+
+    private void updateComponent(final Component component) {
+        if (!visited.add(component)) return;
+        updatedComponents++;
+        // Inherited colors mustn't be set explicitly.
+        if (component.isBackgroundSet()) update(component::getBackground, component::setBackground);
+        if (component.isForegroundSet()) update(component::getForeground, component::setForeground);
+        if (component instanceof JComponent) {
+            updateJComponent((JComponent) component);
+        }
+        if (component instanceof Container) {
+            for (Component child : ((Container) component).getComponents()) {
+                updateComponent(child);
+            }
+        }
+    }
+
+    private void updateJComponent(final JComponent c) {
+        boolean updated = true;
+        Border border = c.getBorder();
+        if (border != null) updated = updateObject(border, 0);
+
+        Method getUI = GET_UI_METHOD.get(c.getClass());
+        if (getUI != null) {
+            try {
+                Object ui = getUI.invoke(c);
+                if (ui instanceof ThemeUpdatableUI) {
+                    updated &= updateObject(ui, 0);
+                    if (updated) ((ThemeUpdatableUI) ui).updateThemeValues(c);
+                } else if (ui != null) {
+                    // The ui may hold values derived from the defaults, which can't be matched.
+                    updated = false;
+                }
+            } catch (final ReflectiveOperationException e) {
+                updated = false;
+            }
+        }
+        if (!updated) reinstall.add(c);
+
+        if (c instanceof AbstractButton) {
+            // The getters of the disabled icons would create them, hence they aren't updated.
+            AbstractButton b = (AbstractButton) c;
+            update(b::getIcon, b::setIcon);
+            update(b::getSelectedIcon, b::setSelectedIcon);
+            update(b::getPressedIcon, b::setPressedIcon);
+            update(b::getRolloverIcon, b::setRolloverIcon);
+            update(b::getRolloverSelectedIcon, b::setRolloverSelectedIcon);
+        } else if (c instanceof JLabel) {
+            JLabel label = (JLabel) c;
+            update(label::getIcon, label::setIcon);
+        } else if (c instanceof JTextComponent) {
+            JTextComponent text = (JTextComponent) c;
+            update(text::getCaretColor, text::setCaretColor);
+            update(text::getSelectionColor, text::setSelectionColor);
+            update(text::getSelectedTextColor, text::setSelectedTextColor);
+            update(text::getDisabledTextColor, text::setDisabledTextColor);
+        } else if (c instanceof JList) {
+            JList<?> list = (JList<?>) c;
+            update(list::getSelectionBackground, list::setSelectionBackground);
+            update(list::getSelectionForeground, list::setSelectionForeground);
+            updateRenderer(list.getCellRenderer());
+        } else if (c instanceof JTable) {
+            JTable table = (JTable) c;
+            update(table::getSelectionBackground, table::setSelectionBackground);
+            update(table::getSelectionForeground, table::setSelectionForeground);
+            update(table::getGridColor, table::setGridColor);
+            for (Class<?> type : RENDERER_CLASSES) {
+                updateRenderer(table.getDefaultRenderer(type));
+            }
+        } else if (c instanceof JTableHeader) {
+            updateRenderer(((JTableHeader) c).getDefaultRenderer());
+        } else if (c instanceof JTree) {
+            JTree tree = (JTree) c;
+            updateRenderer(tree.getCellRenderer());
+            updateRenderer(tree.getCellEditor());
+        } else if (c instanceof JComboBox) {
+            updateRenderer(((JComboBox<?>) c).getRenderer());
+        }
+        if (c instanceof JMenu) {
+            updateComponent(((JMenu) c).getPopupMenu());
+        }
+        JPopupMenu popupMenu = c.getComponentPopupMenu();
+        if (popupMenu != null) updateComponent(popupMenu);
+    }
+
+    private void updateRenderer(final Object renderer) {
+        if (renderer == null) return;
+        if (renderer instanceof Component) {
+            updateComponent((Component) renderer);
+        } else {
+            updateObject(renderer, 0);
+        }
+    }
+
+    /*
+     * Replaces the values cached in the fields of the given object. Objects referenced by the fields
+     * which belong to darklaf are updated as well.
+     */
+    private boolean updateObject(final Object object, final int depth) {
+        if (depth > MAX_DEPTH || !visited.add(object)) return true;
+        FieldInfo info = FIELD_INFO.get(object.getClass());
+        if (!info.updatable) return false;
+        boolean updated = true;
+        try {
+            for (Field field : info.valueFields) {
+                Object value = field.get(object);
+                if (value == null) continue;
+                Object replacement = replacements.get(value);
+                if (replacement == null) continue;
+                if (Modifier.isFinal(field.getModifiers()) || !field.getType().isInstance(replacement)) {
+                    updated = false;
+                } else {
+                    field.set(object, replacement);
+                }
+            }
+            for (Field field : info.nestedFields) {
+                Object value = field.get(object);
+                if (value == null || value instanceof Component) continue;
+                updated &= updateObject(value, depth + 1);
+            }
+        } catch (final IllegalAccessException e) {
+            return false;
+        }
+        return updated;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void update(final Supplier<T> getter, final Consumer<T> setter) {
+        T value = getter.get();
+        if (value == null) return;
+        Object replacement = replacements.get(value);
+        if (replacement != null) setter.accept((T) replacement);
+    }
+
+    /*
+     * Returns whether the fields of the given class can be updated in place.
+     */
+    static boolean isUpdatable(final Class<?> type) {
+        return FIELD_INFO.get(type).updatable;
+    }
+
+    private static final class FieldInfo {
+        private static final FieldInfo NOT_UPDATABLE = new FieldInfo(false, new Field[0], new Field[0]);
+
+        private final boolean updatable;
+        private final Field[] valueFields;
+        private final Field[] nestedFields;
+
+        private FieldInfo(final boolean updatable, final Field[] valueFields, final Field[] nestedFields) {
+            this.updatable = updatable;
+            this.valueFields = valueFields;
+            this.nestedFields = nestedFields;
+        }
+
+        private static FieldInfo create(final Class<?> type) {
+            boolean reloadsInheritedValues = ThemeUpdatableUI.class.isAssignableFrom(type);
+            List<Field> valueFields = new ArrayList<>();
+            List<Field> nestedFields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                boolean ownClass = c.getName().startsWith(DARKLAF_PACKAGE);
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) continue;
+                    Class<?> fieldType = field.getType();
+                    boolean isValue = Color.class.isAssignableFrom(fieldType)
+                            || Icon.class.isAssignableFrom(fieldType);
+                    if (!ownClass) {
+                        // Fields of the Swing base classes aren't accessible on newer jdks. Their values
+                        // have to be reloaded by the ui itself.
+                        if (isValue && !reloadsInheritedValues) return FieldInfo.NOT_UPDATABLE;
+                        continue;
+                    }
+                    boolean isNested = !isValue && !fieldType.isPrimitive()
+                            && fieldType.getName().startsWith(DARKLAF_PACKAGE);
+                    if (!isValue && !isNested) continue;
+                    try {
+                        field.setAccessible(true);
+                    } catch (final RuntimeException e) {
+                        // The field can't be updated, hence the object can't be updated reliably.
+                        return FieldInfo.NOT_UPDATABLE;
+                    }
+                    (isValue ? valueFields : nestedFields).add(field);
+                }
+            }
+            return new FieldInfo(true, valueFields.toArray(new Field[0]), nestedFields.toArray(new Field[0]));
+        }
+    }
+}
@@ -21,36 +21,158 @@
 package com.github.weisj.darklaf;
 
 import java.awt.Window;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.swing.SwingUtilities;
+import javax.swing.UIDefaults;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 
+import com.github.weisj.darklaf.properties.icons.IconLoader;
 import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.theme.event.ThemeChangeEvent;
 import com.github.weisj.darklaf.theme.event.ThemeChangeListener;
 import com.github.weisj.darklaf.theme.event.ThemeEventSupport;
 import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
 
 final class LafInstaller {
 
     private static final Logger LOGGER = LogUtil.getLogger(LafManager.class);
+    private static final String INCREMENTAL_UPDATE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "incrementalLafUpdate";
+    private static final String PRELOAD_ICONS_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "preloadIcons";
     private static final AtomicBoolean isInstalling = new AtomicBoolean(false);
     private static final ThemeEventSupport<ThemeChangeEvent, ThemeChangeListener> eventSupport =
             new ThemeEventSupport<>();
+    private static final Executor EDT_EXECUTOR = r -> {
+        if (SwingUtilities.isEventDispatchThread()) {
+            r.run();
+        } else {
+            SwingUtilities.invokeLater(r);
+        }
+    };
+    private static Executor preparationExecutor;
+    private PreparedLaf preparedLaf;
 
     void install(final Theme theme) {
+        DarkLaf laf = takePreparedLaf(theme, true);
+        install(theme, laf != null ? laf : new DarkLaf(theme, false, true));
+    }
+
+    /*
+     * Computes the defaults of the theme on a background thread. The returned laf is ready to be
+     * installed using #install(Theme, DarkLaf).
+     */
+    CompletableFuture<DarkLaf> prepareInstallation(final Theme theme) {
+        CompletableFuture<DarkLaf> prepared = null;
+        synchronized (this) {
+            if (preparedLaf != null && preparedLaf.theme.appearsEqualTo(theme)) {
+                prepared = preparedLaf.laf;
+                preparedLaf = null;
+            }
+        }
+        if (prepared == null) return prepareLaf(theme);
+        // Fall back to computing the defaults again if the preparation failed.
+        return prepared.handle((laf, error) -> {
+            if (error != null) return prepareLaf(theme);
+            laf.setTheme(theme);
+            return CompletableFuture.completedFuture(laf);
+        }).thenCompose(f -> f);
+    }
+
+    /*
+     * Prepares the theme so the next installation of an equal theme doesn't have to compute the
+     * defaults. Only one theme is kept prepared at a time.
+     */
+    CompletableFuture<Void> prepare(final Theme theme) {
+        synchronized (this) {
+            if (preparedLaf != null && preparedLaf.theme.appearsEqualTo(theme)) {
+                return preparedLaf.laf.thenApply(laf -> null);
+            }
+            CompletableFuture<DarkLaf> laf = prepareLaf(theme);
+            preparedLaf = new PreparedLaf(theme, laf);
+            return laf.thenApply(l -> null);
+        }
+    }
+
+    /*
+     * Discards the prepared theme e.g. if the tasks used to compute the defaults have changed.
+     */
+    synchronized void discardPreparedLaf() {
+        preparedLaf = null;
+    }
+
+    private CompletableFuture<DarkLaf> prepareLaf(final Theme theme) {
+        // The base laf and its defaults may only be created on the event dispatch thread.
+        return CompletableFuture.supplyAsync(() -> {
+            DarkLaf laf = new DarkLaf(theme, false, false);
+            laf.prepareBaseDefaults();
+            return laf;
+        }, EDT_EXECUTOR).thenApplyAsync(laf -> {
+            LOGGER.fine(() -> "Preparing theme " + theme);
+            laf.prepareDefaults();
+            return laf;
+        }, getPreparationExecutor());
+    }
+
+    /*
+     * Only returns the prepared laf if it is available without waiting for it.
+     */
+    private synchronized DarkLaf takePreparedLaf(final Theme theme, final boolean discardPending) {
+        if (preparedLaf == null) return null;
+        if (!preparedLaf.theme.appearsEqualTo(theme)) return null;
+        CompletableFuture<DarkLaf> laf = preparedLaf.laf;
+        if (!laf.isDone() || laf.isCompletedExceptionally()) {
+            if (discardPending) preparedLaf = null;
+            return null;
+        }
+        preparedLaf = null;
+        DarkLaf darkLaf = laf.join();
+        darkLaf.setTheme(theme);
+        return darkLaf;
+    }
+
+    private static synchronized Executor getPreparationExecutor() {
+        if (preparationExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "Darklaf Theme Preparation");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            preparationExecutor = executor;
+        }
+        return preparationExecutor;
+    }
+
+    static Executor getEventDispatchExecutor() {
+        return EDT_EXECUTOR;
+    }
+
+    void install(final Theme theme, final DarkLaf laf) {
         if (!isInstalling.compareAndSet(false, true)) {
             throw new IllegalStateException("Can't install Laf while installation is in progress");
         }
         try {
             LOGGER.fine(() -> "Installing theme " + theme);
             LafTransition transition = LafTransition.showSnapshot();
-            UIManager.setLookAndFeel(new DarkLaf(theme, false, true));
-            updateLaf();
+            UIDefaults oldDefaults = isIncrementalUpdateEnabled() ? UIManager.getLookAndFeelDefaults() : null;
+            UIManager.setLookAndFeel(laf);
+            if (PropertyUtil.getSystemFlag(PRELOAD_ICONS_FLAG, false)) {
+                // Icons needed while updating the components are loaded on demand. Everything else
+                // will be ready by the time it is shown.
+                preloadIcons();
+            }
+            updateLaf(oldDefaults);
             SwingUtilities.invokeLater(transition::runTransition);
             notifyThemeInstalled(theme);
         } catch (final UnsupportedLookAndFeelException e) {
@@ -60,6 +182,28 @@ final class LafInstaller {
         }
     }
 
+    static CompletableFuture<Void> preloadIcons() {
+        return IconLoader.preloadIcons(new ArrayList<>(UIManager.getLookAndFeelDefaults().values()));
+    }
+
+    private boolean isIncrementalUpdateEnabled() {
+        return UIManager.getLookAndFeel() instanceof DarkLaf
+                && PropertyUtil.getSystemFlag(INCREMENTAL_UPDATE_FLAG, false);
+    }
+
+    /*
+     * If only colors or icons have changed the values are replaced in place instead of reinstalling all
+     * component uis.
+     */
+    private void updateLaf(final UIDefaults oldDefaults) {
+        if (oldDefaults != null) {
+            DefaultsDiff diff = DefaultsDiff.compute(oldDefaults, UIManager.getLookAndFeelDefaults());
+            LOGGER.fine(() -> "Defaults changed: " + diff.getKind());
+            if (IncrementalLafUpdate.apply(diff)) return;
+        }
+        updateLaf();
+    }
+
     void updateLaf() {
         for (final Window w : Window.getWindows()) {
             updateLafRecursively(w);
@@ -94,4 +238,14 @@ final class LafInstaller {
             LOGGER.fine(() -> "Setting theme to " + newTheme);
         }
     }
+
+    private static final class PreparedLaf {
+        private final Theme theme;
+        private final CompletableFuture<DarkLaf> laf;
+
+        private PreparedLaf(final Theme theme, final CompletableFuture<DarkLaf> laf) {
+            this.theme = theme;
+            this.laf = laf;
+        }
+    }
 }
@@ -22,6 +22,8 @@ package com.github.weisj.darklaf;
 
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +32,7 @@ import javax.swing.*;
 import com.github.weisj.darklaf.components.renderer.SimpleListCellRenderer;
 import com.github.weisj.darklaf.nativelaf.DecorationsHandler;
 import com.github.weisj.darklaf.nativelaf.ThemePreferencesHandler;
+import com.github.weisj.darklaf.properties.icons.IconLoader;
 import com.github.weisj.darklaf.settings.ThemeSettings;
 import com.github.weisj.darklaf.synthesised.ThemedDarklafInfo;
 import com.github.weisj.darklaf.task.DefaultsAdjustmentTask;
@@ -38,6 +41,7 @@ import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.theme.event.*;
 import com.github.weisj.darklaf.theme.info.ThemeProvider;
 import com.github.weisj.darklaf.theme.laf.ThemedLookAndFeel;
+import com.github.weisj.darklaf.theme.spec.ColorToneRule;
 import com.github.weisj.darklaf.theme.spec.PreferredThemeStyle;
 import com.github.weisj.darklaf.util.LogUtil;
 
@@ -54,8 +58,8 @@ public final class LafManager {
     private static Theme theme;
     private static Theme installedTheme;
     private static final List<Theme> registeredThemes = new ArrayList<>();
-    private static final Collection<DefaultsAdjustmentTask> uiDefaultsTasks = new ArrayList<>();
-    private static final Collection<DefaultsInitTask> uiInitTasks = new ArrayList<>();
+    private static final Collection<DefaultsAdjustmentTask> uiDefaultsTasks = new CopyOnWriteArrayList<>();
+    private static final Collection<DefaultsInitTask> uiInitTasks = new CopyOnWriteArrayList<>();
 
     static {
         setLogLevel(Level.WARNING);
@@ -431,6 +435,68 @@ public final class LafManager {
         install();
     }
 
+    /**
+     * Installs the theme asynchronously. The parsed theme defaults are computed on a background thread.
+     * Defaults depending on the installed look and feel and registered tasks are computed on the event
+     * dispatch thread along with replacing the look and feel and updating the component trees. The
+     * resulting defaults are identical to {@link #installTheme(Theme)}.
+     *
+     * <p>
+     * If the theme has been prepared using {@link #prepareTheme(Theme)} the prepared defaults are used.
+     *
+     * @param theme the theme to install.
+     * @return future which completes on the event dispatch thread after the theme has been installed.
+     */
+    public static CompletableFuture<Void> installThemeAsync(final Theme theme) {
+        return installer.prepareInstallation(theme).thenAcceptAsync(laf -> {
+            setTheme(theme);
+            installer.install(theme, laf);
+            setInstalledTheme(theme);
+        }, LafInstaller.getEventDispatchExecutor());
+    }
+
+    /**
+     * Computes the parsed defaults of the given theme on a background thread ahead of time. The next
+     * installation of a theme which {@link Theme#appearsEqualTo(Theme)} the given theme will use the
+     * prepared defaults. Only one theme is kept prepared at a time. Registered
+     * {@link DefaultsAdjustmentTask}s and {@link DefaultsInitTask}s are only run during the installation.
+     *
+     * @param theme the theme to prepare.
+     * @return future which completes once the theme has been prepared.
+     */
+    public static CompletableFuture<Void> prepareTheme(final Theme theme) {
+        return installer.prepare(theme);
+    }
+
+    /**
+     * Prepares the theme suited for the opposite color tone of the current preferred theme style. This
+     * is the theme most likely installed next if the theme follows the light/dark mode of the system.
+     *
+     * @return future which completes once the theme has been prepared.
+     * @see #prepareTheme(Theme)
+     */
+    public static CompletableFuture<Void> prepareThemeForOppositeStyle() {
+        PreferredThemeStyle style = getPreferredThemeStyle();
+        ColorToneRule oppositeTone =
+                style.getColorToneRule() == ColorToneRule.DARK ? ColorToneRule.LIGHT : ColorToneRule.DARK;
+        PreferredThemeStyle opposite = new PreferredThemeStyle(style.getContrastRule(), oppositeTone,
+                style.getAccentColorRule(), style.getFontSizeRule());
+        return prepareTheme(themeForPreferredStyle(effectivePreferredThemeStyle(opposite)));
+    }
+
+    /**
+     * Loads all svg icons referenced by the ui defaults of the installed theme on background threads.
+     * Afterwards icons don't have to be parsed on the event dispatch thread when they are first shown.
+     * Setting the system property {@code darklaf.preloadIcons} to {@code true} does this automatically
+     * whenever a theme is installed.
+     *
+     * @return future which completes once all icons have been loaded.
+     * @see IconLoader#preload(Collection)
+     */
+    public static CompletableFuture<Void> preloadIcons() {
+        return LafInstaller.preloadIcons();
+    }
+
     /**
      * Overload for {@link #installTheme(Theme)}.
      *
@@ -478,6 +544,7 @@ public final class LafManager {
      */
     public static void registerDefaultsAdjustmentTask(final DefaultsAdjustmentTask task) {
         uiDefaultsTasks.add(task);
+        installer.discardPreparedLaf();
     }
 
     /**
@@ -487,6 +554,7 @@ public final class LafManager {
      */
     public static void removeDefaultsAdjustmentTask(final DefaultsAdjustmentTask task) {
         uiDefaultsTasks.remove(task);
+        installer.discardPreparedLaf();
     }
 
     /**
@@ -506,6 +574,7 @@ public final class LafManager {
      */
     public static void registerInitTask(final DefaultsInitTask task) {
         uiInitTasks.add(task);
+        installer.discardPreparedLaf();
     }
 
     /**
@@ -515,6 +584,7 @@ public final class LafManager {
      */
     public static void removeInitTask(final DefaultsInitTask task) {
         uiInitTasks.remove(task);
+        installer.discardPreparedLaf();
     }
 
     /**
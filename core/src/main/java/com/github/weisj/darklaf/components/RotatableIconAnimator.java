@@ -21,18 +21,35 @@
 package com.github.weisj.darklaf.components;
 
 import java.awt.event.ActionEvent;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.graphics.AnimationClock;
+import com.github.weisj.darklaf.graphics.AnimationRepaintCoordinator;
+import com.github.weisj.darklaf.graphics.AnimationVisibilityTracker;
 import com.github.weisj.darklaf.properties.icons.RotatableIcon;
-import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.Alignment;
 
+/**
+ * Rotates an icon in discrete steps. Even though this class is a {@link Timer} it doesn't use a timer
+ * thread of its own. Instead it is driven by the shared {@link AnimationClock}. The delay of the timer
+ * is used as the duration of a step.
+ *
+ * <p>
+ * The animation is suspended while the parent component can't be seen.
+ */
 public class RotatableIconAnimator extends Timer {
 
     private final RotatableIcon icon;
     private final JComponent parent;
     private final int frameCount;
+    private final AnimationClock.FrameListener frameListener = this::onFrame;
+    private final AnimationVisibilityTracker visibilityTracker =
+            new AnimationVisibilityTracker(this::updateVisibility);
+    private boolean running;
+    private boolean hidden;
+    private long nextStepNanos;
     private int frame;
 
     public RotatableIconAnimator(final RotatableIcon icon, final JComponent parent) {
@@ -53,6 +70,66 @@ public class RotatableIconAnimator extends Timer {
         if (!isRunning()) start();
     }
 
+    @Override
+    public void start() {
+        if (running) return;
+        running = true;
+        nextStepNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getInitialDelay());
+        AnimationClock.getInstance().addFrameListener(frameListener);
+        visibilityTracker.track(parent);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+        running = false;
+        hidden = false;
+        AnimationClock.getInstance().removeFrameListener(frameListener);
+        visibilityTracker.untrack();
+    }
+
+    @Override
+    public void restart() {
+        stop();
+        start();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isHidden() {
+        return hidden;
+    }
+
+    private void updateVisibility() {
+        if (!running) return;
+        boolean visible = visibilityTracker.isVisible();
+        if (hidden && visible) {
+            hidden = false;
+            AnimationClock.getInstance().addFrameListener(frameListener);
+        } else if (!hidden && !visible) {
+            hidden = true;
+            AnimationClock.getInstance().removeFrameListener(frameListener);
+        }
+    }
+
+    private boolean onFrame(final long frameTimeNanos) {
+        if (!running) return false;
+        if (!visibilityTracker.isVisible()) {
+            hidden = true;
+            return false;
+        }
+        if (frameTimeNanos < nextStepNanos) return true;
+        nextStepNanos = frameTimeNanos + TimeUnit.MILLISECONDS.toNanos(getDelay())
+                - AnimationClock.getFrameNanos() / 2;
+        fireActionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, getActionCommand(),
+                System.currentTimeMillis(), 0));
+        if (!isRepeats()) stop();
+        return running;
+    }
+
     public void onAction(final ActionEvent e) {
         icon.setRotation(Math.PI * 2 * ((double) frame / frameCount));
         repaint();
@@ -60,7 +137,7 @@ public class RotatableIconAnimator extends Timer {
     }
 
     protected void repaint() {
-        DarkUIUtil.repaint(getParent());
+        AnimationRepaintCoordinator.repaint(getParent());
     }
 
     public JComponent getParent() {
@@ -20,45 +20,233 @@
  */
 package com.github.weisj.darklaf.components.treetable;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
 import javax.swing.*;
 import javax.swing.event.TreeExpansionEvent;
 import javax.swing.event.TreeExpansionListener;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.event.TreeWillExpandListener;
 import javax.swing.table.AbstractTableModel;
-import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 
 import com.github.weisj.darklaf.components.treetable.model.TreeTableModel;
 
-public class TreeTableModelAdapter extends AbstractTableModel {
+public class TreeTableModelAdapter extends AbstractTableModel
+        implements TreeExpansionListener, TreeWillExpandListener, TreeModelListener, PropertyChangeListener {
 
     private final JTree tree;
     private final TreeTableModel treeTableModel;
+    private int collapsedRowCount;
 
     public TreeTableModelAdapter(final TreeTableModel treeTableModel, final JTree tree) {
         this.tree = tree;
         this.treeTableModel = treeTableModel;
+        tree.addTreeExpansionListener(this);
+        tree.addTreeWillExpandListener(this);
+        tree.addPropertyChangeListener("UI", this);
+        treeTableModel.addTreeModelListener(this);
+    }
+
+    @Override
+    public void propertyChange(final PropertyChangeEvent evt) {
+        /*
+         * Listeners are notified in reverse order of registration. Re-registering after the ui has installed its
+         * listener ensures the rows of the tree still reflect the state before the change, which is needed to
+         * determine the rows of removed nodes.
+         */
+        treeTableModel.removeTreeModelListener(this);
+        treeTableModel.addTreeModelListener(this);
+    }
+
+    @Override
+    public void treeWillExpand(final TreeExpansionEvent event) {}
+
+    @Override
+    public void treeWillCollapse(final TreeExpansionEvent event) {
+        TreePath path = event.getPath();
+        collapsedRowCount = getLastVisibleRow(path) - tree.getRowForPath(path);
+    }
 
-        tree.addTreeExpansionListener(new TreeExpansionListener() {
-            @Override
-            public void treeExpanded(final TreeExpansionEvent event) {
-                TreePath path = event.getPath();
-                int start = tree.getRowForPath(path);
-                int length = ((TreeNode) path.getLastPathComponent()).getChildCount();
-                int selection = tree.getLeadSelectionRow();
-                fireTableRowsInserted(start, start + length);
-                tree.setSelectionRow(selection);
+    @Override
+    public void treeExpanded(final TreeExpansionEvent event) {
+        TreePath path = event.getPath();
+        int start = tree.getRowForPath(path);
+        int end = getLastVisibleRow(path);
+        if (end > start) {
+            int selection = tree.getLeadSelectionRow();
+            fireTableRowsInserted(start + 1, end);
+            tree.setSelectionRow(selection);
+        }
+    }
+
+    @Override
+    public void treeCollapsed(final TreeExpansionEvent event) {
+        int start = tree.getRowForPath(event.getPath());
+        int length = collapsedRowCount;
+        collapsedRowCount = 0;
+        if (start >= 0 && length > 0) {
+            int selection = tree.getLeadSelectionRow();
+            fireTableRowsDeleted(start + 1, start + length);
+            tree.setSelectionRow(selection);
+        } else if (length > 0) {
+            fireTableDataChanged();
+        }
+    }
+
+    @Override
+    public void treeNodesChanged(final TreeModelEvent e) {
+        TreePath parentPath = e.getTreePath();
+        Object[] children = e.getChildren();
+        if (parentPath == null || children == null) {
+            fireTableDataChanged();
+            return;
+        }
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+        for (Object child : children) {
+            int row = tree.getRowForPath(parentPath.pathByAddingChild(child));
+            if (row >= 0) {
+                first = Math.min(first, row);
+                last = Math.max(last, row);
             }
+        }
+        if (last >= 0) fireTableRowsUpdated(first, last);
+    }
 
-            @Override
-            public void treeCollapsed(final TreeExpansionEvent event) {
-                TreePath path = event.getPath();
-                int start = tree.getRowForPath(path);
-                int length = ((TreeNode) path.getLastPathComponent()).getChildCount();
-                int selection = tree.getLeadSelectionRow();
-                fireTableRowsDeleted(start, start + length);
-                tree.setSelectionRow(selection);
+    @Override
+    public void treeNodesInserted(final TreeModelEvent e) {
+        TreePath parentPath = e.getTreePath();
+        int[] indices = e.getChildIndices();
+        if (parentPath == null || !isContiguous(indices)) {
+            fireTableDataChanged();
+            return;
+        }
+        if (!tree.isExpanded(parentPath)) {
+            // The parent may have become expandable.
+            int row = tree.getRowForPath(parentPath);
+            if (row >= 0) fireTableRowsUpdated(row, row);
+            return;
+        }
+        /*
+         * The row of the previous sibling doesn't depend on whether the tree has already processed the insertion.
+         * Newly inserted nodes are collapsed, hence each of them occupies a single row.
+         */
+        int firstIndex = indices[0];
+        int first;
+        if (firstIndex == 0) {
+            int parentRow = tree.getRowForPath(parentPath);
+            if (parentRow < 0 && tree.isRootVisible()) return;
+            first = parentRow + 1;
+        } else {
+            Object previous = treeTableModel.getChild(parentPath.getLastPathComponent(), firstIndex - 1);
+            int previousRow = getLastVisibleRow(parentPath.pathByAddingChild(previous));
+            if (previousRow < 0) {
+                fireTableDataChanged();
+                return;
             }
-        });
+            first = previousRow + 1;
+        }
+        TreePath[] selection = tree.getSelectionPaths();
+        TreePath lead = tree.getLeadSelectionPath();
+        fireTableRowsInserted(first, first + indices.length - 1);
+        restoreSelection(selection, lead);
+    }
+
+    @Override
+    public void treeNodesRemoved(final TreeModelEvent e) {
+        TreePath parentPath = e.getTreePath();
+        Object[] children = e.getChildren();
+        if (parentPath == null || children == null || !isContiguous(e.getChildIndices())) {
+            fireTableDataChanged();
+            return;
+        }
+        if (!tree.isExpanded(parentPath)) {
+            int row = tree.getRowForPath(parentPath);
+            if (row >= 0) fireTableRowsUpdated(row, row);
+            return;
+        }
+        /*
+         * The removed rows can only be determined if the tree hasn't processed the removal yet. Otherwise fall
+         * back to a full update.
+         */
+        TreePath firstPath = parentPath.pathByAddingChild(children[0]);
+        TreePath lastPath = parentPath.pathByAddingChild(children[children.length - 1]);
+        int first = tree.getRowForPath(firstPath);
+        int last = tree.getRowForPath(lastPath);
+        if (first < 0 || last < 0) {
+            fireTableDataChanged();
+            return;
+        }
+        int rowCount = tree.getRowCount();
+        while (last + 1 < rowCount && lastPath.isDescendant(tree.getPathForRow(last + 1))) {
+            last++;
+        }
+        TreePath[] selection = removeDescendants(tree.getSelectionPaths(), parentPath, children);
+        TreePath lead = tree.getLeadSelectionPath();
+        if (lead != null && isRemoved(lead, parentPath, children)) lead = null;
+        fireTableRowsDeleted(first, last);
+        restoreSelection(selection, lead);
+    }
+
+    /*
+     * The table adjusts its row based selection when rows are inserted or deleted. As the tree hasn't processed the
+     * change yet the selection is restored by path instead of by row as after expanding or collapsing a node.
+     */
+    private void restoreSelection(final TreePath[] selection, final TreePath lead) {
+        if (Arrays.equals(selection, tree.getSelectionPaths())
+                && Objects.equals(lead, tree.getLeadSelectionPath())) {
+            return;
+        }
+        tree.setSelectionPaths(selection);
+        if (lead != null) tree.setLeadSelectionPath(lead);
+    }
+
+    private static TreePath[] removeDescendants(final TreePath[] paths, final TreePath parentPath,
+            final Object[] children) {
+        if (paths == null) return null;
+        List<TreePath> remaining = new ArrayList<>(paths.length);
+        for (TreePath path : paths) {
+            if (!isRemoved(path, parentPath, children)) remaining.add(path);
+        }
+        return remaining.isEmpty() ? null : remaining.toArray(new TreePath[0]);
+    }
+
+    private static boolean isRemoved(final TreePath path, final TreePath parentPath, final Object[] children) {
+        for (Object child : children) {
+            if (parentPath.pathByAddingChild(child).isDescendant(path)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void treeStructureChanged(final TreeModelEvent e) {
+        fireTableDataChanged();
+    }
+
+    private static boolean isContiguous(final int[] indices) {
+        if (indices == null || indices.length == 0) return false;
+        for (int i = 1; i < indices.length; i++) {
+            if (indices[i] != indices[i - 1] + 1) return false;
+        }
+        return true;
+    }
+
+    private int getLastVisibleRow(final TreePath path) {
+        TreePath last = path;
+        while (tree.isExpanded(last)) {
+            Object node = last.getLastPathComponent();
+            int childCount = treeTableModel.getChildCount(node);
+            if (childCount == 0) break;
+            last = last.pathByAddingChild(treeTableModel.getChild(node, childCount - 1));
+        }
+        return tree.getRowForPath(last);
     }
 
     @Override
@@ -0,0 +1,373 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.treetable.model;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+import javax.swing.tree.TreeNode;
+
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * A {@link TreeTableModel} which loads the children of a node on demand. Children are loaded in pages of
+ * {@link #getPageSize()} nodes by a {@link ChildLoader} running on a background executor.
+ *
+ * <p>
+ * As long as not all children of a node have been loaded a placeholder node is shown after the loaded
+ * children. The first page is requested once the children of a node are queried, e.g. because it is
+ * expanded. Further pages are requested once the placeholder is displayed. Loaded pages are announced as
+ * insertion of exactly the loaded children. The placeholder is removed after the last page has arrived.
+ *
+ * <p>
+ * Except for {@link ChildLoader#loadChildren(TreeTableNode, int, int)} all methods have to be called on
+ * the event dispatch thread.
+ */
+public class LazyTreeTableModel extends DefaultTreeTableModel {
+
+    private static final Logger LOGGER = LogUtil.getLogger(LazyTreeTableModel.class);
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    private static Executor defaultExecutor;
+
+    private final ChildLoader childLoader;
+    private final Executor executor;
+    private final int pageSize;
+    private final Map<Object, Children> childrenMap = new IdentityHashMap<>();
+
+    public LazyTreeTableModel(final TreeTableNode root, final String[] headers, final ChildLoader childLoader) {
+        this(root, headers, childLoader, DEFAULT_PAGE_SIZE, getDefaultExecutor());
+    }
+
+    public LazyTreeTableModel(final TreeTableNode root, final String[] headers, final ChildLoader childLoader,
+            final int pageSize, final Executor executor) {
+        super(root, headers);
+        if (pageSize <= 0) throw new IllegalArgumentException("Page size must be positive but was " + pageSize);
+        this.childLoader = Objects.requireNonNull(childLoader);
+        this.executor = Objects.requireNonNull(executor);
+        this.pageSize = pageSize;
+    }
+
+    private static synchronized Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(2, 2, 10, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "Darklaf TreeTable Loader");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            defaultExecutor = threadPoolExecutor;
+        }
+        return defaultExecutor;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns whether the given node is a placeholder for children which haven't been loaded yet.
+     *
+     * @param node the node.
+     * @return true if the node is a placeholder.
+     */
+    public boolean isPlaceholder(final Object node) {
+        return node instanceof PlaceholderNode;
+    }
+
+    /**
+     * Returns whether a page of children of the given node is currently being loaded.
+     *
+     * @param node the node.
+     * @return true if children are being loaded.
+     */
+    public boolean isLoading(final TreeTableNode node) {
+        Children children = childrenMap.get(node);
+        return children != null && children.loading;
+    }
+
+    /**
+     * Returns whether all children of the given node have been loaded.
+     *
+     * @param node the node.
+     * @return true if all children have been loaded.
+     */
+    public boolean isFullyLoaded(final TreeTableNode node) {
+        if (childLoader.isLeaf(node)) return true;
+        Children children = childrenMap.get(node);
+        return children != null && children.complete;
+    }
+
+    /**
+     * Requests the next page of children of the given node. Does nothing if a page is already being
+     * loaded or all children have been loaded.
+     *
+     * @param node the node.
+     */
+    public void requestNextPage(final TreeTableNode node) {
+        Children children = getChildren(node);
+        if (children != null) requestPage(children);
+    }
+
+    /**
+     * Discards the loaded children of the given node and all of its descendants. Pages which are
+     * currently being loaded are dropped once they arrive.
+     *
+     * @param node the node.
+     */
+    public void reload(final TreeTableNode node) {
+        childrenMap.values().removeIf(children -> isAncestor(node, children.parent));
+        fireTreeStructureChanged(this, getPathToRoot(node), null, null);
+    }
+
+    private static boolean isAncestor(final TreeNode ancestor, final TreeNode node) {
+        TreeNode n = node;
+        while (n != null) {
+            if (n == ancestor) return true;
+            n = n.getParent();
+        }
+        return false;
+    }
+
+    protected Object[] getPathToRoot(final TreeNode node) {
+        List<Object> path = new ArrayList<>();
+        TreeNode n = node;
+        while (n != null) {
+            path.add(n);
+            if (n == root) break;
+            n = n.getParent();
+        }
+        Collections.reverse(path);
+        return path.toArray();
+    }
+
+    private Children getChildren(final Object parent) {
+        if (!(parent instanceof TreeTableNode) || parent instanceof PlaceholderNode) return null;
+        Children children = childrenMap.get(parent);
+        if (children == null && !childLoader.isLeaf((TreeTableNode) parent)) {
+            children = new Children((TreeTableNode) parent);
+            childrenMap.put(parent, children);
+            requestPage(children);
+        }
+        return children;
+    }
+
+    private void requestPage(final Children children) {
+        if (children.loading || children.complete || children.failed) return;
+        children.loading = true;
+        TreeTableNode parent = children.parent;
+        int offset = children.nodes.size();
+        try {
+            executor.execute(() -> {
+                List<? extends TreeTableNode> page = null;
+                Exception error = null;
+                try {
+                    page = childLoader.loadChildren(parent, offset, pageSize);
+                } catch (final Exception e) {
+                    error = e;
+                }
+                List<? extends TreeTableNode> loadedPage = page;
+                Exception loadError = error;
+                SwingUtilities.invokeLater(() -> pageLoaded(children, offset, loadedPage, loadError));
+            });
+        } catch (final RejectedExecutionException e) {
+            pageLoaded(children, offset, null, e);
+        }
+    }
+
+    private void pageLoaded(final Children children, final int offset, final List<? extends TreeTableNode> page,
+            final Exception error) {
+        // The children have been discarded in the meantime.
+        if (childrenMap.get(children.parent) != children) return;
+        children.loading = false;
+        Object[] parentPath = getPathToRoot(children.parent);
+        if (error != null) {
+            LOGGER.log(Level.WARNING, "Failed to load children of " + children.parent, error);
+            children.failed = true;
+            fireTreeNodesChanged(this, parentPath, new int[] {offset}, new Object[] {children.placeholder});
+            return;
+        }
+        int count = page != null ? Math.min(page.size(), pageSize) : 0;
+        if (count > 0) {
+            int[] indices = new int[count];
+            Object[] inserted = new Object[count];
+            for (int i = 0; i < count; i++) {
+                indices[i] = offset + i;
+                inserted[i] = page.get(i);
+                children.nodes.add(page.get(i));
+            }
+            fireTreeNodesInserted(this, parentPath, indices, inserted);
+        }
+        if (count < pageSize) {
+            children.complete = true;
+            fireTreeNodesRemoved(this, parentPath, new int[] {children.nodes.size()},
+                    new Object[] {children.placeholder});
+        }
+    }
+
+    @Override
+    public boolean isLeaf(final Object node) {
+        if (!(node instanceof TreeTableNode) || node instanceof PlaceholderNode) return true;
+        Children children = childrenMap.get(node);
+        if (children == null) return childLoader.isLeaf((TreeTableNode) node);
+        return children.getCount() == 0;
+    }
+
+    @Override
+    public int getChildCount(final Object parent) {
+        Children children = getChildren(parent);
+        return children != null ? children.getCount() : 0;
+    }
+
+    @Override
+    public Object getChild(final Object parent, final int index) {
+        Children children = getChildren(parent);
+        if (children == null || index < 0) return null;
+        if (index < children.nodes.size()) return children.nodes.get(index);
+        if (index == children.nodes.size() && !children.complete) return children.placeholder;
+        return null;
+    }
+
+    @Override
+    public int getIndexOfChild(final Object parent, final Object child) {
+        Children children = childrenMap.get(parent);
+        if (children == null || child == null) return -1;
+        if (child == children.placeholder) return children.complete ? -1 : children.nodes.size();
+        List<TreeTableNode> nodes = children.nodes;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) == child) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public Object getValueAt(final Object node, final int column) {
+        if (node instanceof PlaceholderNode) {
+            // The placeholder is being displayed. Hence the next page is needed.
+            Children children = ((PlaceholderNode) node).children;
+            if (childrenMap.get(children.parent) == children) requestPage(children);
+            return column == 0 ? node : null;
+        }
+        return super.getValueAt(node, column);
+    }
+
+    @Override
+    public boolean isCellEditable(final Object node, final int column) {
+        return !(node instanceof PlaceholderNode) && super.isCellEditable(node, column);
+    }
+
+    @Override
+    public void setValueAt(final Object aValue, final Object node, final int column) {
+        if (!(node instanceof PlaceholderNode)) super.setValueAt(aValue, node, column);
+    }
+
+    /**
+     * Loads the children of nodes.
+     */
+    public interface ChildLoader {
+
+        /**
+         * Loads a page of children of the given node. This method is called on the executor of the model.
+         * The returned nodes have to report the given node as their parent.
+         *
+         * @param parent the node whose children should be loaded.
+         * @param offset the index of the first child to load.
+         * @param limit the maximum number of children to load.
+         * @return the children starting at the given offset. If fewer than {@code limit} children are
+         *         returned all children have been loaded.
+         * @throws Exception if the children can't be loaded.
+         */
+        List<? extends TreeTableNode> loadChildren(TreeTableNode parent, int offset, int limit) throws Exception;
+
+        /**
+         * Returns whether the given node can't have any children. Leaves are never loaded.
+         *
+         * @param node the node.
+         * @return true if the node is a leaf.
+         */
+        default boolean isLeaf(final TreeTableNode node) {
+            return !node.getAllowsChildren();
+        }
+    }
+
+    private static final class Children {
+        private final TreeTableNode parent;
+        private final List<TreeTableNode> nodes = new ArrayList<>();
+        private final PlaceholderNode placeholder;
+        private boolean loading;
+        private boolean complete;
+        private boolean failed;
+
+        private Children(final TreeTableNode parent) {
+            this.parent = parent;
+            this.placeholder = new PlaceholderNode(this);
+        }
+
+        private int getCount() {
+            return complete ? nodes.size() : nodes.size() + 1;
+        }
+    }
+
+    private static final class PlaceholderNode implements TreeTableNode {
+        private final Children children;
+
+        private PlaceholderNode(final Children children) {
+            this.children = children;
+        }
+
+        @Override
+        public List<TreeTableNode> getChildren() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public TreeTableNode getParent() {
+            return children.parent;
+        }
+
+        @Override
+        public boolean getAllowsChildren() {
+            return false;
+        }
+
+        @Override
+        public List<Object> getColumns() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Object getValueAt(final int column) {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return children.failed ? "Failed to load" : "Loading...";
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
+
+/**
+ * Frame clock shared by all animations. The clock ticks once per frame and advances all active
+ * animations in a single runnable on the event dispatch thread. Repaints requested by concurrent
+ * animations are collected by the {@link AnimationRepaintCoordinator} and handled at the end of the
+ * frame. Regions painted immediately are painted together per window.
+ *
+ * <p>
+ * The clock only runs while there are registered listeners.
+ *
+ * <p>
+ * If the event dispatch thread falls behind, i.e. frames are handled later than
+ * {@link #FRAME_DROP_THRESHOLD_KEY} milliseconds after they were scheduled, the clock lowers its frame
+ * rate by dropping frames. Once the event dispatch thread catches up the frame rate is raised again.
+ * Animations are time based, hence dropped frames only reduce the smoothness of animations and not
+ * their duration.
+ */
+public final class AnimationClock {
+
+    public static final String FRAME_DROP_THRESHOLD_KEY = DarkLaf.SYSTEM_PROPERTY_PREFIX
+            + "animations.frameDropThreshold";
+
+    private static final Logger LOGGER = LogUtil.getLogger(AnimationClock.class);
+    private static final int FRAMES_PER_SECOND = 60;
+    private static final long FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / FRAMES_PER_SECOND;
+    private static final int MAX_FRAME_DIVISOR = 4;
+    private static final int RECOVERY_FRAMES = 30;
+    private static final AnimationClock instance = new AnimationClock();
+
+    private final CopyOnWriteArrayList<FrameListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean framePending = new AtomicBoolean();
+    private final AtomicLong framesDispatched = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final long frameDropThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong(FRAME_DROP_THRESHOLD_KEY, 2 * TimeUnit.NANOSECONDS.toMillis(FRAME_NANOS)));
+    private ScheduledFuture<?> ticker;
+    private long tickCount;
+    private volatile long framePostedNanos;
+    private volatile int frameDivisor = 1;
+    private int fastFrames;
+
+    private AnimationClock() {}
+
+    public static AnimationClock getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the duration of a single frame of the clock.
+     *
+     * @return the frame duration in nanoseconds.
+     */
+    public static long getFrameNanos() {
+        return FRAME_NANOS;
+    }
+
+    /**
+     * Registers a listener which is notified on every frame until it is removed or returns false from
+     * {@link FrameListener#onFrame(long)}. Adding a listener multiple times has no effect.
+     *
+     * @param listener the listener.
+     */
+    public void addFrameListener(final FrameListener listener) {
+        if (listeners.addIfAbsent(listener)) ensureRunning();
+    }
+
+    public void removeFrameListener(final FrameListener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isRunning() {
+        synchronized (this) {
+            return ticker != null;
+        }
+    }
+
+    /**
+     * Returns the number of frames the clock currently dispatches per second. This is lower than the
+     * nominal frame rate if the event dispatch thread can't keep up.
+     *
+     * @return the current frame rate.
+     */
+    public int getFrameRate() {
+        return FRAMES_PER_SECOND / frameDivisor;
+    }
+
+    /**
+     * Returns the number of frames which have been advanced.
+     *
+     * @return the number of dispatched frames.
+     */
+    public long getDispatchedFrameCount() {
+        return framesDispatched.get();
+    }
+
+    /**
+     * Returns the number of frames which have been dropped, either because the previous frame hasn't
+     * been handled yet or because the frame rate has been lowered.
+     *
+     * @return the number of dropped frames.
+     */
+    public long getDroppedFrameCount() {
+        return framesDropped.get();
+    }
+
+    public void resetStatistics() {
+        framesDispatched.set(0);
+        framesDropped.set(0);
+    }
+
+    private synchronized void ensureRunning() {
+        if (ticker != null) return;
+        frameDivisor = 1;
+        fastFrames = 0;
+        ticker = Animator.scheduler().scheduleAtFixedRate(this::tick, 0, FRAME_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void stopIfIdle() {
+        if (ticker != null && listeners.isEmpty()) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    private void tick() {
+        if (++tickCount % frameDivisor != 0) {
+            framesDropped.incrementAndGet();
+            return;
+        }
+        // Drop the frame if the previous one hasn't been handled yet.
+        if (framePending.compareAndSet(false, true)) {
+            framePostedNanos = System.nanoTime();
+            SwingUtilities.invokeLater(this::dispatchFrame);
+        } else {
+            framesDropped.incrementAndGet();
+        }
+    }
+
+    private void adaptFrameRate(final long latencyNanos) {
+        if (latencyNanos > frameDropThresholdNanos) {
+            fastFrames = 0;
+            if (frameDivisor < MAX_FRAME_DIVISOR) frameDivisor *= 2;
+        } else if (frameDivisor > 1 && latencyNanos < frameDropThresholdNanos / 2) {
+            if (++fastFrames >= RECOVERY_FRAMES / frameDivisor) {
+                fastFrames = 0;
+                frameDivisor /= 2;
+            }
+        }
+    }
+
+    private void dispatchFrame() {
+        framePending.set(false);
+        long frameTime = System.nanoTime();
+        framesDispatched.incrementAndGet();
+        long latency = frameTime - framePostedNanos;
+        Instrumentation.recordDuration(Instrumentation.Category.EVENT_QUEUE_LATENCY, "AnimationClock", latency);
+        adaptFrameRate(latency);
+        AnimationRepaintCoordinator.beginFrame();
+        try {
+            for (FrameListener listener : listeners) {
+                boolean keep;
+                try {
+                    keep = listener.onFrame(frameTime);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Exception while advancing animation " + listener, e);
+                    keep = false;
+                }
+                if (!keep) listeners.remove(listener);
+            }
+        } finally {
+            AnimationRepaintCoordinator.endFrame();
+        }
+        if (listeners.isEmpty()) stopIfIdle();
+    }
+
+    public interface FrameListener {
+
+        /**
+         * Called on the event dispatch thread once per frame.
+         *
+         * @param frameTimeNanos the time of the frame as given by {@link System#nanoTime()}.
+         * @return true if the listener should receive further frames.
+         */
+        boolean onFrame(long frameTimeNanos);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.util.PropertyUtil;
+
+/**
+ * Collects the regions repainted by animations during a frame of the {@link AnimationClock}. Regions
+ * of the same component are merged and handed to the {@link RepaintManager} once the frame has been
+ * advanced.
+ *
+ * <p>
+ * Regions which have been requested to be painted immediately are painted at the end of the frame,
+ * instead of each animation painting synchronously on its own. The regions are grouped by their root
+ * component, usually the {@link JRootPane} of the window, and painted from the root. Regions of a root
+ * are merged as long as their bounds aren't larger than the regions themselves, such that scattered
+ * regions don't result in painting everything in between. Usually this results in a single paint per
+ * window. Only the collected regions are painted, other dirty regions are left to the
+ * {@link RepaintManager}.
+ *
+ * <p>
+ * Requests made outside of a frame are passed on directly. Painting immediately can be disabled
+ * entirely using {@link #PAINT_IMMEDIATELY_FLAG}, in which case all requests are regular repaints.
+ */
+public final class AnimationRepaintCoordinator {
+
+    public static final String PAINT_IMMEDIATELY_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX
+            + "animations.paintImmediately";
+
+    private static boolean paintImmediatelyAllowed = PropertyUtil.getSystemFlag(PAINT_IMMEDIATELY_FLAG, true);
+
+    private static final int MAX_REGIONS_PER_ROOT = 8;
+    private static final Map<JComponent, List<Rectangle>> immediateRegions = new LinkedHashMap<>();
+    private static final Map<JComponent, Rectangle> deferredRegions = new LinkedHashMap<>();
+    private static boolean inFrame;
+
+    private AnimationRepaintCoordinator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Sets whether animations may paint synchronously. If not allowed, requests to paint immediately
+     * are turned into regular repaints.
+     *
+     * @param allowed true if painting immediately is allowed.
+     */
+    public static void setPaintImmediatelyAllowed(final boolean allowed) {
+        paintImmediatelyAllowed = allowed;
+    }
+
+    public static boolean isPaintImmediatelyAllowed() {
+        return paintImmediatelyAllowed;
+    }
+
+    /**
+     * Repaints the whole component.
+     *
+     * @param c the component.
+     */
+    public static void repaint(final Component c) {
+        if (c == null || !c.isVisible()) return;
+        if (c instanceof JComponent) {
+            repaint((JComponent) c, 0, 0, c.getWidth(), c.getHeight());
+        } else {
+            c.repaint();
+        }
+    }
+
+    public static void repaint(final JComponent c, final Rectangle r) {
+        repaint(c, r.x, r.y, r.width, r.height);
+    }
+
+    public static void repaint(final JComponent c, final int x, final int y, final int width, final int height) {
+        if (c == null || !c.isVisible()) return;
+        if (inFrame && SwingUtilities.isEventDispatchThread()) {
+            addRegion(deferredRegions, c, x, y, width, height);
+        } else {
+            c.repaint(x, y, width, height);
+        }
+    }
+
+    /**
+     * Paints the region of the component at the end of the current frame. If called outside of a frame
+     * the region is painted immediately.
+     *
+     * @param c the component.
+     * @param r the region to paint.
+     */
+    public static void paintImmediately(final JComponent c, final Rectangle r) {
+        paintImmediately(c, r.x, r.y, r.width, r.height);
+    }
+
+    public static void paintImmediately(final JComponent c, final int x, final int y, final int width,
+            final int height) {
+        if (c == null || !c.isVisible()) return;
+        if (!paintImmediatelyAllowed) {
+            repaint(c, x, y, width, height);
+        } else if (inFrame && SwingUtilities.isEventDispatchThread()) {
+            addImmediateRegion(c, x, y, width, height);
+        } else {
+            c.paintImmediately(x, y, width, height);
+        }
+    }
+
+    private static void addRegion(final Map<JComponent, Rectangle> regions, final JComponent c, final int x,
+            final int y, final int width, final int height) {
+        if (width <= 0 || height <= 0) return;
+        Rectangle region = regions.get(c);
+        if (region == null) {
+            regions.put(c, new Rectangle(x, y, width, height));
+        } else {
+            region.add(new Rectangle(x, y, width, height));
+        }
+    }
+
+    private static void addImmediateRegion(final JComponent c, final int x, final int y, final int width,
+            final int height) {
+        if (width <= 0 || height <= 0) return;
+        JComponent root = getPaintRoot(c);
+        Rectangle region = SwingUtilities.convertRectangle(c, new Rectangle(x, y, width, height), root);
+        List<Rectangle> regions = immediateRegions.computeIfAbsent(root, k -> new ArrayList<>());
+        mergeRegion(regions, region);
+        if (regions.size() > MAX_REGIONS_PER_ROOT) {
+            Rectangle bounds = regions.get(0);
+            for (Rectangle r : regions) {
+                bounds.add(r);
+            }
+            regions.clear();
+            regions.add(bounds);
+        }
+    }
+
+    /*
+     * Merges the region with the first region, which doesn't increase the painted area. The merged
+     * region may now be mergeable with other regions.
+     */
+    private static void mergeRegion(final List<Rectangle> regions, final Rectangle region) {
+        for (int i = 0; i < regions.size(); i++) {
+            Rectangle other = regions.get(i);
+            Rectangle union = other.union(region);
+            if (area(union) <= area(other) + area(region)) {
+                regions.remove(i);
+                mergeRegion(regions, union);
+                return;
+            }
+        }
+        regions.add(region);
+    }
+
+    private static long area(final Rectangle r) {
+        return (long) r.width * r.height;
+    }
+
+    private static JComponent getPaintRoot(final JComponent c) {
+        JComponent root = c;
+        for (Container p = c.getParent(); p instanceof JComponent; p = p.getParent()) {
+            root = (JComponent) p;
+        }
+        return root;
+    }
+
+    static void beginFrame() {
+        inFrame = true;
+    }
+
+    static void endFrame() {
+        inFrame = false;
+        try {
+            for (Map.Entry<JComponent, List<Rectangle>> entry : immediateRegions.entrySet()) {
+                JComponent root = entry.getKey();
+                for (Rectangle r : entry.getValue()) {
+                    root.paintImmediately(r);
+                }
+            }
+        } finally {
+            immediateRegions.clear();
+            try {
+                for (Map.Entry<JComponent, Rectangle> entry : deferredRegions.entrySet()) {
+                    Rectangle r = entry.getValue();
+                    entry.getKey().repaint(r.x, r.y, r.width, r.height);
+                }
+            } finally {
+                deferredRegions.clear();
+            }
+        }
+    }
+}
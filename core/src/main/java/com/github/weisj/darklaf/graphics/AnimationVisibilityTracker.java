@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowStateListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.*;
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.AncestorListener;
+
+/**
+ * Tracks whether the target component of an animation can currently be seen. A component is
+ * considered visible if it is showing, its window isn't iconified and some part of it lies inside
+ * the visible area of its ancestors i.e. it hasn't been scrolled out of view.
+ *
+ * <p>
+ * While tracking the given callback is notified whenever the visibility of the component may have
+ * changed. This includes resizing the component or any of its enclosing viewports, which may reveal a
+ * component that previously had an empty visible area.
+ */
+public final class AnimationVisibilityTracker {
+
+    private final Runnable onVisibilityChange;
+    private final Listener listener = new Listener();
+    private JComponent target;
+    private Window window;
+    private final List<Component> resizeSources = new ArrayList<>();
+
+    public AnimationVisibilityTracker(final Runnable onVisibilityChange) {
+        this.onVisibilityChange = onVisibilityChange;
+    }
+
+    /**
+     * Starts tracking the visibility of the given component. Tracking of the previous component is
+     * stopped.
+     *
+     * @param target the component. If null the animation is always considered to be visible.
+     */
+    public void track(final JComponent target) {
+        if (this.target == target) return;
+        untrack();
+        this.target = target;
+        if (target != null) {
+            target.addHierarchyListener(listener);
+            target.addAncestorListener(listener);
+            updateAncestors();
+        }
+    }
+
+    public void untrack() {
+        if (target != null) {
+            target.removeHierarchyListener(listener);
+            target.removeAncestorListener(listener);
+            target = null;
+        }
+        updateAncestors();
+    }
+
+    public JComponent getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns whether the tracked component can be seen.
+     *
+     * @return true if the component is visible or no component is tracked.
+     */
+    public boolean isVisible() {
+        if (target == null) return true;
+        if (!target.isShowing()) return false;
+        if (window instanceof Frame && (((Frame) window).getExtendedState() & Frame.ICONIFIED) != 0) {
+            return false;
+        }
+        return !target.getVisibleRect().isEmpty();
+    }
+
+    private void updateAncestors() {
+        setWindow(target != null ? SwingUtilities.getWindowAncestor(target) : null);
+        for (Component c : resizeSources) {
+            c.removeComponentListener(listener);
+        }
+        resizeSources.clear();
+        if (target == null) return;
+        resizeSources.add(target);
+        for (Container parent = target.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent instanceof JViewport) resizeSources.add(parent);
+        }
+        for (Component c : resizeSources) {
+            c.addComponentListener(listener);
+        }
+    }
+
+    private void setWindow(final Window w) {
+        if (window == w) return;
+        if (window != null) window.removeWindowStateListener(listener);
+        window = w;
+        if (window != null) window.addWindowStateListener(listener);
+    }
+
+    private class Listener extends ComponentAdapter
+            implements HierarchyListener, AncestorListener, WindowStateListener {
+
+        @Override
+        public void hierarchyChanged(final HierarchyEvent e) {
+            long flags = e.getChangeFlags();
+            if ((flags & HierarchyEvent.PARENT_CHANGED) != 0) updateAncestors();
+            if ((flags & (HierarchyEvent.SHOWING_CHANGED | HierarchyEvent.PARENT_CHANGED)) != 0) {
+                onVisibilityChange.run();
+            }
+        }
+
+        @Override
+        public void ancestorAdded(final AncestorEvent event) {
+            onVisibilityChange.run();
+        }
+
+        @Override
+        public void ancestorRemoved(final AncestorEvent event) {
+            onVisibilityChange.run();
+        }
+
+        @Override
+        public void ancestorMoved(final AncestorEvent event) {
+            onVisibilityChange.run();
+        }
+
+        @Override
+        public void componentResized(final ComponentEvent e) {
+            onVisibilityChange.run();
+        }
+
+        @Override
+        public void windowStateChanged(final WindowEvent e) {
+            onVisibilityChange.run();
+        }
+    }
+}
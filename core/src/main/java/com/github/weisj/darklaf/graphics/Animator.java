@@ -21,10 +21,8 @@
 package com.github.weisj.darklaf.graphics;
 
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.*;
 
@@ -66,11 +64,15 @@ public abstract class Animator {
     private Interpolator interpolator;
     private boolean reverse = false;
 
-    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
-    private ScheduledFuture<?> ticker;
+    private final AnimationClock.FrameListener frameListener = this::onFrame;
+    private final AnimationVisibilityTracker visibilityTracker =
+            new AnimationVisibilityTracker(this::updateVisibility);
+    private boolean running;
+    private boolean hidden;
+    private long startTimeNanos;
+    private long lastFrameNanos;
 
     private double fraction;
-    private double fractionDelta;
 
     private boolean enabled = true;
 
@@ -129,7 +131,17 @@ public abstract class Animator {
     }
 
     public boolean isRunning() {
-        return ticker != null;
+        return running;
+    }
+
+    /**
+     * Returns whether the animation is running but currently suspended because the component it was
+     * resumed with can't be seen.
+     *
+     * @return true if suspended while hidden.
+     */
+    public boolean isHidden() {
+        return hidden;
     }
 
     public double currentState() {
@@ -192,6 +204,7 @@ public abstract class Animator {
             return;
         }
         resumeAt(startFraction, skipDelay);
+        if (running) visibilityTracker.track(target);
     }
 
     public void resume() {
@@ -208,33 +221,57 @@ public abstract class Animator {
             return;
         }
 
-        if (ticker == null) {
-            this.fractionDelta = 1f / (fps * animationDurationMillis / 1000f);
-
-            long initialDelay = skipDelay ? 0 : delayMillis;
+        if (!running) {
+            running = true;
+            long initialDelay = skipDelay ? 0 : TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            startTimeNanos = System.nanoTime() + initialDelay;
+            lastFrameNanos = -1;
+            AnimationClock.getInstance().addFrameListener(frameListener);
+        }
+    }
 
-            long millisPerFrame = (long) (animationDurationMillis * (fps / 1000f));
+    private long frameIntervalNanos() {
+        return fps > 0 ? TimeUnit.SECONDS.toNanos(1) / fps : AnimationClock.getFrameNanos();
+    }
 
-            isScheduled.set(false);
-            ticker = scheduler.scheduleWithFixedDelay(() -> {
-                if (isRunning()) {
-                    if (tick()) submitAnimationFrame();
-                }
-            }, initialDelay, millisPerFrame, TimeUnit.MILLISECONDS);
+    private void updateVisibility() {
+        if (!running) return;
+        boolean visible = visibilityTracker.isVisible();
+        if (hidden && visible) {
+            hidden = false;
+            // Continue where the animation was suspended.
+            lastFrameNanos = -1;
+            AnimationClock.getInstance().addFrameListener(frameListener);
+        } else if (!hidden && !visible) {
+            hidden = true;
+            AnimationClock.getInstance().removeFrameListener(frameListener);
         }
     }
 
-    private void submitAnimationFrame() {
-        if (!isScheduled.get()) {
-            isScheduled.set(true);
-            SwingUtilities.invokeLater(() -> {
-                if (isRunning()) paintAnimationFrame(interpolator.interpolate((float) fraction));
-                isScheduled.set(false);
-            });
+    private boolean onFrame(final long frameTimeNanos) {
+        if (!running) return false;
+        if (!visibilityTracker.isVisible()) {
+            hidden = true;
+            return false;
+        }
+        if (frameTimeNanos < startTimeNanos) return true;
+        long frameInterval = frameIntervalNanos();
+        if (lastFrameNanos < 0) {
+            // The first frame advances the animation by a single frame.
+            lastFrameNanos = frameTimeNanos - frameInterval;
+        }
+        long elapsed = frameTimeNanos - lastFrameNanos;
+        // Animations running at a lower frame rate than the clock skip frames.
+        if (elapsed < frameInterval - AnimationClock.getFrameNanos() / 2) return true;
+        lastFrameNanos = frameTimeNanos;
+        double fractionDelta = elapsed / (double) TimeUnit.MILLISECONDS.toNanos(animationDurationMillis);
+        if (tick(fractionDelta) && running) {
+            paintAnimationFrame(interpolator.interpolate((float) fraction));
         }
+        return running;
     }
 
-    private boolean tick() {
+    private boolean tick(final double fractionDelta) {
         final double oldFraction = fraction;
 
         if (reverse) {
@@ -323,9 +360,11 @@ public abstract class Animator {
      * @return true if the animation was running
      */
     public boolean pause() {
-        if (ticker != null) {
-            ticker.cancel(false);
-            ticker = null;
+        if (running) {
+            running = false;
+            hidden = false;
+            AnimationClock.getInstance().removeFrameListener(frameListener);
+            visibilityTracker.untrack();
             return true;
         }
         return false;
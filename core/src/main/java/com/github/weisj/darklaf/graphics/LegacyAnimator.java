@@ -20,9 +20,7 @@
  */
 package com.github.weisj.darklaf.graphics;
 
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.*;
 
@@ -38,7 +36,13 @@ public abstract class LegacyAnimator {
 
     private Interpolator interpolator;
 
-    private ScheduledFuture<?> ticker;
+    private final AnimationClock.FrameListener frameListener = this::onFrame;
+    private final AnimationVisibilityTracker visibilityTracker =
+            new AnimationVisibilityTracker(this::updateVisibility);
+    private boolean running;
+    private boolean hidden;
+    private long hiddenSince;
+    private long nextTickNanos;
     private int startFrame;
     private int currentFrame;
     private long startTime;
@@ -90,9 +94,11 @@ public abstract class LegacyAnimator {
     }
 
     public void stopTicker() {
-        if (ticker != null) {
-            ticker.cancel(false);
-            ticker = null;
+        if (running) {
+            running = false;
+            hidden = false;
+            AnimationClock.getInstance().removeFrameListener(frameListener);
+            visibilityTracker.untrack();
         }
     }
 
@@ -124,6 +130,7 @@ public abstract class LegacyAnimator {
             return;
         }
         resume(startFrame, skipDelay);
+        if (running) visibilityTracker.track(target);
     }
 
     public void resume(final int startFrame, final boolean skipDelay) {
@@ -132,26 +139,55 @@ public abstract class LegacyAnimator {
         }
         if (cycleDuration == 0 || startFrame >= totalFrames || !animationsEnabled()) {
             stopAnimation();
-        } else if (ticker == null) {
+        } else if (!running) {
             this.startFrame = startFrame;
-            long initialDelay = skipDelay ? 0 : delay * 1000L;
-            ticker = Animator.scheduler().scheduleWithFixedDelay(new Runnable() {
-                final AtomicBoolean isScheduled = new AtomicBoolean(false);
-
-                @Override
-                public void run() {
-                    if (!isScheduled.get() && !isDisposed()) {
-                        isScheduled.set(true);
-                        SwingUtilities.invokeLater(() -> {
-                            onTick();
-                            isScheduled.set(false);
-                        });
-                    }
-                }
-            }, initialDelay, cycleDuration * 1000L / totalFrames, TimeUnit.MICROSECONDS);
+            long initialDelay = skipDelay ? 0 : TimeUnit.MILLISECONDS.toNanos(delay);
+            nextTickNanos = System.nanoTime() + initialDelay;
+            running = true;
+            AnimationClock.getInstance().addFrameListener(frameListener);
         }
     }
 
+    private void updateVisibility() {
+        if (!running) return;
+        boolean visible = visibilityTracker.isVisible();
+        if (hidden && visible) {
+            showAgain();
+            AnimationClock.getInstance().addFrameListener(frameListener);
+        } else if (!hidden && !visible) {
+            hide();
+            AnimationClock.getInstance().removeFrameListener(frameListener);
+        }
+    }
+
+    private void hide() {
+        hidden = true;
+        hiddenSince = System.currentTimeMillis();
+    }
+
+    private void showAgain() {
+        hidden = false;
+        if (startTime != -1) {
+            // Continue where the animation was suspended.
+            long hiddenDuration = System.currentTimeMillis() - hiddenSince;
+            startTime += hiddenDuration;
+            stopTime += hiddenDuration;
+        }
+    }
+
+    private boolean onFrame(final long frameTimeNanos) {
+        if (!running || isDisposed()) return false;
+        if (!visibilityTracker.isVisible()) {
+            hide();
+            return false;
+        }
+        if (frameTimeNanos < nextTickNanos) return true;
+        nextTickNanos = frameTimeNanos + TimeUnit.MILLISECONDS.toNanos(cycleDuration) / totalFrames
+                - AnimationClock.getFrameNanos() / 2;
+        onTick();
+        return running;
+    }
+
     private void paint() {
         paintNow(interpolator.interpolate((float) currentFrame / totalFrames));
     }
@@ -166,7 +202,7 @@ public abstract class LegacyAnimator {
     }
 
     private void onTick() {
-        if (isDisposed() || ticker == null) return;
+        if (isDisposed() || !running) return;
 
         if (startTime == -1) {
             startTime = System.currentTimeMillis();
@@ -202,7 +238,17 @@ public abstract class LegacyAnimator {
     }
 
     public boolean isRunning() {
-        return ticker != null;
+        return running;
+    }
+
+    /**
+     * Returns whether the animation is running but currently suspended because the component it was
+     * resumed with can't be seen.
+     *
+     * @return true if suspended while hidden.
+     */
+    public boolean isHidden() {
+        return hidden;
     }
 
     public int getCurrentFrame() {
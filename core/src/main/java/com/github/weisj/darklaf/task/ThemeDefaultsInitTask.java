@@ -21,10 +21,14 @@
 package com.github.weisj.darklaf.task;
 
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.function.Consumer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 import javax.swing.*;
 
@@ -33,6 +37,8 @@ import com.github.weisj.darklaf.iconset.IconSet;
 import com.github.weisj.darklaf.nativelaf.DecorationsHandler;
 import com.github.weisj.darklaf.platform.SystemInfo;
 import com.github.weisj.darklaf.properties.PropertyLoader;
+import com.github.weisj.darklaf.properties.PropertyResolver;
+import com.github.weisj.darklaf.properties.PropertySnapshot;
 import com.github.weisj.darklaf.properties.icons.IconResolver;
 import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
@@ -40,8 +46,14 @@ import com.github.weisj.darklaf.util.PropertyUtil;
 
 public class ThemeDefaultsInitTask implements DefaultsInitTask {
 
+    /*
+     * If enabled property files are loaded and parsed on the common fork join pool. The resulting defaults
+     * are identical to the sequential installation.
+     */
+    public static final String PARALLEL_INIT_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "parallelDefaultsInit";
     private static final String GLOBAL_PREFIX = "global.";
     private static final String MAC_OS_MENU_BAR_KEY = "apple.laf.useScreenMenuBar";
+    private static final String WINDOWS_11_PLATFORM = "windows11";
     private static final String[] UI_PROPERTIES = new String[] {"borders", "button", "cell", "checkBox", "colorChooser",
             "comboBox", "fileChooser", "tristate", "internalFrame", "label", "list", "menu", "menuBar", "menuItem",
             "numberingPane", "optionPane", "panel", "popupMenu", "progressBar", "radioButton", "rootPane", "scrollBar",
@@ -58,6 +70,20 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
     private final DefaultsAdjustmentTask userPreferenceAdjustment = new UserDefaultsAdjustmentTask();
     private final DefaultsAdjustmentTask accentColorAdjustment = new AccentColorAdjustmentTask();
     private final DefaultsAdjustmentTask foregroundGeneration = new ForegroundColorGenerationTask();
+    private final boolean applyUserAdjustments;
+
+    public ThemeDefaultsInitTask() {
+        this(true);
+    }
+
+    /**
+     * @param applyUserAdjustments whether the {@link DefaultsAdjustmentTask}s registered using
+     *        {@link com.github.weisj.darklaf.LafManager#registerDefaultsAdjustmentTask(DefaultsAdjustmentTask)}
+     *        should be applied.
+     */
+    public ThemeDefaultsInitTask(final boolean applyUserAdjustments) {
+        this.applyUserAdjustments = applyUserAdjustments;
+    }
 
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
@@ -66,6 +92,37 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
 
     private void loadThemeDefaults(final Theme currentTheme, final UIDefaults defaults) {
         Properties uiProps = new Properties();
+
+        if (ThemeSnapshotCache.supportsSnapshot(currentTheme)) {
+            String snapshotKey = ThemeSnapshotCache.snapshotKey(currentTheme, getPlatformName());
+            if (ThemeSnapshotCache.restore(snapshotKey, uiProps, defaults)) {
+                /*
+                 * Globals modify the defaults of the base laf, which aren't part of the snapshot.
+                 */
+                installGlobals(uiProps, defaults);
+            } else {
+                try (PropertySnapshot.Recorder recorder = PropertySnapshot.startRecording()) {
+                    loadParsedThemeDefaults(currentTheme, defaults, uiProps);
+                    ThemeSnapshotCache.store(snapshotKey, uiProps, recorder);
+                }
+            }
+        } else {
+            loadParsedThemeDefaults(currentTheme, defaults, uiProps);
+        }
+
+        DecorationsHandler.getSharedInstance().loadDecorationProperties(uiProps, defaults);
+        adjustPlatformSpecifics(uiProps);
+
+        initAccentProperties(currentTheme, uiProps);
+
+        defaults.putAll(uiProps);
+    }
+
+    private void loadParsedThemeDefaults(final Theme currentTheme, final UIDefaults defaults,
+            final Properties uiProps) {
+        ForkJoinPool pool = PropertyUtil.getSystemFlag(PARALLEL_INIT_FLAG, false) ? ForkJoinPool.commonPool() : null;
+        PropertySources sources = new PropertySources(pool, getOsName());
+
         currentTheme.loadDefaults(uiProps, defaults, DarkUIUtil.iconResolver());
 
         backupAccentColors(uiProps);
@@ -74,7 +131,7 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
          * User preferences need to be applied here so changes are applied to all components that use the
          * property.
          */
-        userPreferenceAdjustment.run(currentTheme, uiProps);
+        if (applyUserAdjustments) userPreferenceAdjustment.run(currentTheme, uiProps);
 
         /*
          * Adjust the accent/selection colors.
@@ -82,17 +139,10 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
         accentColorAdjustment.run(currentTheme, uiProps);
         foregroundGeneration.run(currentTheme, uiProps);
 
-        initGlobals(currentTheme, defaults, uiProps);
-        initUIProperties(currentTheme, defaults, uiProps);
-        initIconTheme(currentTheme, defaults, uiProps);
-        initPlatformProperties(currentTheme, defaults, uiProps);
-
-        DecorationsHandler.getSharedInstance().loadDecorationProperties(uiProps, defaults);
-        adjustPlatformSpecifics(uiProps);
-
-        initAccentProperties(currentTheme, uiProps);
-
-        defaults.putAll(uiProps);
+        initGlobals(currentTheme, defaults, uiProps, sources);
+        initUIProperties(currentTheme, defaults, uiProps, sources, pool);
+        initIconTheme(currentTheme, defaults, uiProps, sources, pool);
+        initPlatformProperties(currentTheme, defaults, uiProps, sources);
     }
 
     private void backupAccentColors(final Properties uiProps) {
@@ -110,10 +160,10 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
                 selectionColor != null ? selectionColor : uiProps.get(SELECTION_COLOR_BACKUP_KEY));
     }
 
-    private void initGlobals(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
+    private void initGlobals(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+            final PropertySources sources) {
         IconResolver iconResolver = DarkUIUtil.iconResolver();
-        PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, "globals", ""),
-                uiProps, defaults, iconResolver);
+        PropertyLoader.putProperties(sources.globals.get(), uiProps, defaults, iconResolver);
 
         currentTheme.customizeGlobals(uiProps, defaults, iconResolver);
         installGlobals(uiProps, defaults);
@@ -134,37 +184,42 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
                 });
     }
 
-    private void initUIProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
+    private void initUIProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+            final PropertySources sources, final ForkJoinPool pool) {
         IconResolver iconResolver = DarkUIUtil.iconResolver();
-        for (String property : UI_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "ui/"),
-                    uiProps, defaults, iconResolver);
+        PropertyResolver resolver = new PropertyResolver();
+        for (Supplier<Properties> properties : sources.uiProperties) {
+            resolver.addProperties(properties.get());
         }
+        resolver.resolve(uiProps, defaults, iconResolver, pool);
         currentTheme.customizeUIProperties(uiProps, defaults, iconResolver);
     }
 
-    private void initIconTheme(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
+    private void initIconTheme(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+            final PropertySources sources, final ForkJoinPool pool) {
         IconResolver iconResolver = DarkUIUtil.iconResolver();
         currentTheme.loadIconTheme(uiProps, defaults, iconResolver);
-        for (String property : ICON_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(IconSet.class, property, ""),
-                    uiProps, defaults, iconResolver);
+        PropertyResolver resolver = new PropertyResolver();
+        for (Supplier<Properties> properties : sources.iconProperties) {
+            resolver.addProperties(properties.get());
         }
+        resolver.resolve(uiProps, defaults, iconResolver, pool);
         currentTheme.customizeIconTheme(uiProps, defaults, iconResolver);
     }
 
-    private void initPlatformProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
+    private void initPlatformProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+            final PropertySources sources) {
         IconResolver iconResolver = DarkUIUtil.iconResolver();
-        Consumer<String> osPlatformLoader = osName -> PropertyLoader.putProperties(
-                PropertyLoader.loadProperties(DarkLaf.class, osName, "nativelaf/"),
-                uiProps, defaults, iconResolver);
-        osPlatformLoader.accept(getOsName());
-        if (SystemInfo.isWindows11()) {
-            osPlatformLoader.accept("windows11");
+        for (Supplier<Properties> properties : sources.platformProperties) {
+            PropertyLoader.putProperties(properties.get(), uiProps, defaults, iconResolver);
         }
         currentTheme.customizePlatformProperties(uiProps, defaults, iconResolver);
     }
 
+    private String getPlatformName() {
+        return SystemInfo.isWindows11() ? WINDOWS_11_PLATFORM : getOsName();
+    }
+
     private String getOsName() {
         String osName = System.getProperty("darklaf.internal.osname");
         return osName != null ? osName : SystemInfo.getOsName();
@@ -179,4 +234,39 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
             uiProps.remove("MenuBarUI");
         }
     }
+
+    /*
+     * The property files used by the installation. If a pool is given they are loaded on it while the
+     * theme defaults are being parsed.
+     */
+    private static final class PropertySources {
+        private final Supplier<Properties> globals;
+        private final List<Supplier<Properties>> uiProperties;
+        private final List<Supplier<Properties>> iconProperties;
+        private final List<Supplier<Properties>> platformProperties;
+
+        private PropertySources(final ForkJoinPool pool, final String osName) {
+            globals = load(pool, DarkLaf.class, "globals", "");
+            uiProperties = new ArrayList<>(UI_PROPERTIES.length);
+            for (String property : UI_PROPERTIES) {
+                uiProperties.add(load(pool, DarkLaf.class, property, "ui/"));
+            }
+            iconProperties = new ArrayList<>(ICON_PROPERTIES.length);
+            for (String property : ICON_PROPERTIES) {
+                iconProperties.add(load(pool, IconSet.class, property, ""));
+            }
+            platformProperties = new ArrayList<>(2);
+            platformProperties.add(load(pool, DarkLaf.class, osName, "nativelaf/"));
+            if (SystemInfo.isWindows11()) {
+                platformProperties.add(load(pool, DarkLaf.class, WINDOWS_11_PLATFORM, "nativelaf/"));
+            }
+        }
+
+        private static Supplier<Properties> load(final ForkJoinPool pool, final Class<?> clazz, final String name,
+                final String path) {
+            if (pool == null) return () -> PropertyLoader.loadProperties(clazz, name, path);
+            ForkJoinTask<Properties> task = pool.submit(() -> PropertyLoader.loadProperties(clazz, name, path));
+            return task::join;
+        }
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.task;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.properties.PropertySnapshot;
+import com.github.weisj.darklaf.properties.parser.Parser;
+import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.ui.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+
+/**
+ * Cache for binary snapshots of the parsed theme defaults. If enabled the {@link ThemeDefaultsInitTask}
+ * restores the parsed properties of built-in themes from a snapshot instead of parsing all property
+ * files. Snapshots are looked up in the cache directory and on the classpath (as generated by the
+ * {@code generateThemeSnapshots} build task) and are keyed by the theme, its {@link
+ * com.github.weisj.darklaf.theme.spec.AccentColorRule}, {@link
+ * com.github.weisj.darklaf.theme.spec.FontSizeRule}, {@link
+ * com.github.weisj.darklaf.theme.spec.FontPrototype}, the platform and the darklaf version.
+ *
+ * <p>
+ * Snapshots are enabled using the system property {@link #SNAPSHOTS_FLAG}. The cache directory can be
+ * specified with {@link #SNAPSHOTS_PATH_KEY} and defaults to a directory in {@code java.io.tmpdir}.
+ *
+ * @author Jannis Weis
+ */
+public final class ThemeSnapshotCache {
+
+    public static final String SNAPSHOTS_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "themeSnapshots";
+    public static final String SNAPSHOTS_PATH_KEY = DarkLaf.SYSTEM_PROPERTY_PREFIX + "themeSnapshots.path";
+    private static final String VERSION_KEY = DarkLaf.SYSTEM_PROPERTY_PREFIX + "internal.version";
+    private static final String BUNDLED_SNAPSHOTS_PATH = "snapshots/";
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+    private static final Logger LOGGER = LogUtil.getLogger(ThemeSnapshotCache.class);
+
+    private ThemeSnapshotCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return PropertyUtil.getSystemFlag(SNAPSHOTS_FLAG, false);
+    }
+
+    /**
+     * Returns whether the parsed defaults of the given theme can be snapshotted. This is only the case
+     * for built-in themes and if no user {@link DefaultsAdjustmentTask}s are installed, as their results
+     * can't be captured by the snapshot key.
+     *
+     * @param theme the theme.
+     * @return true if snapshots can be used.
+     */
+    static boolean supportsSnapshot(final Theme theme) {
+        return isEnabled()
+                && !Parser.isDebugMode()
+                && LafManager.getUserDefaultsAdjustmentTasks().isEmpty()
+                && Theme.class.getPackage().equals(theme.getThemeClass().getPackage());
+    }
+
+    static String snapshotKey(final Theme theme, final String platform) {
+        return theme.getThemeClass().getName()
+                + "|" + theme.getAccentColorRule()
+                + "|" + theme.getFontSizeRule()
+                + "|" + theme.getFontPrototype()
+                + "|" + platform
+                + "|" + getVersion();
+    }
+
+    private static String getVersion() {
+        String version = DarkLaf.class.getPackage().getImplementationVersion();
+        if (version == null) version = System.getProperty(VERSION_KEY);
+        return version != null ? version : "unknown";
+    }
+
+    private static String fileName(final String key) {
+        // The full key is stored inside the snapshot, which protects against hash collisions.
+        return "theme_" + Integer.toHexString(key.hashCode()) + SNAPSHOT_EXTENSION;
+    }
+
+    private static Path getCacheDirectory() {
+        String path = System.getProperty(SNAPSHOTS_PATH_KEY);
+        if (path == null) path = System.getProperty("java.io.tmpdir") + File.separator + "darklaf-snapshots";
+        return new File(path).toPath();
+    }
+
+    /**
+     * Restores the snapshot with the given key if present.
+     *
+     * @param key the snapshot key.
+     * @param uiProps the properties to restore into.
+     * @param defaults the current defaults.
+     * @return true if the snapshot was restored.
+     */
+    static boolean restore(final String key, final Properties uiProps, final UIDefaults defaults) {
+        String fileName = fileName(key);
+        File cached = getCacheDirectory().resolve(fileName).toFile();
+        try (InputStream in = cached.isFile()
+                ? new FileInputStream(cached)
+                : DarkLaf.class.getResourceAsStream(BUNDLED_SNAPSHOTS_PATH + fileName)) {
+            if (in == null) return false;
+            boolean restored = PropertySnapshot.restore(key, in, uiProps, defaults, DarkUIUtil.iconResolver());
+            if (restored) LOGGER.fine(() -> "Restored theme defaults from snapshot " + key);
+            return restored;
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not restore theme snapshot " + key + ". " + e.getMessage(), e);
+            uiProps.clear();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the snapshot of the given properties into the cache directory.
+     *
+     * @param key the snapshot key.
+     * @param uiProps the resolved properties.
+     * @param recorder the recorder which was active while parsing the properties.
+     */
+    static void store(final String key, final Properties uiProps, final PropertySnapshot.Recorder recorder) {
+        byte[] snapshot = PropertySnapshot.create(key, uiProps, recorder);
+        if (snapshot == null) return;
+        try {
+            Path directory = getCacheDirectory();
+            Files.createDirectories(directory);
+            // Write to a temporary file first so concurrent readers never see partial snapshots.
+            Path tmp = Files.createTempFile(directory, "theme_", ".tmp");
+            Files.write(tmp, snapshot);
+            Files.move(tmp, directory.resolve(fileName(key)), StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.fine(() -> "Stored theme snapshot " + key);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not store theme snapshot " + key + ". " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui;
+
+import javax.swing.*;
+
+/**
+ * Ui delegates implementing this interface can be updated in place if the theme changes only colors
+ * and icons.
+ *
+ * <p>
+ * Values held in fields declared by darklaf classes are replaced automatically. Values held in fields
+ * of the Swing base classes aren't accessible and values derived from the defaults can't be matched
+ * to their origin. Such values have to be reloaded by {@link #updateThemeValues(JComponent)}. Ui
+ * delegates which don't implement this interface are reinstalled instead.
+ */
+public interface ThemeUpdatableUI {
+
+    /**
+     * Reloads the colors and icons which aren't held in fields declared by darklaf classes, as well
+     * as values derived from colors or icons of the defaults. This method is called on the event
+     * dispatch thread after the new defaults have been installed.
+     *
+     * @param c the component the ui is installed on.
+     */
+    void updateThemeValues(final JComponent c);
+}
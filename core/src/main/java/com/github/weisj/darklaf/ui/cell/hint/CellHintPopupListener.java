@@ -44,6 +44,12 @@ public class CellHintPopupListener<T extends JComponent, I> extends MouseInputAd
     private final PopupComponent popupComponent;
     private I lastIndex;
     private Popup popup;
+    /*
+     * The visible part of the cell the mouse has last been inside of. As long as the mouse stays inside of
+     * it the state of the popup doesn't change.
+     */
+    private Rectangle hitBounds;
+    private Rectangle hitAllocation;
 
     public CellHintPopupListener(final IndexedCellContainer<T, I> cellContainer) {
         this.cellContainer = cellContainer;
@@ -65,11 +71,15 @@ public class CellHintPopupListener<T extends JComponent, I> extends MouseInputAd
     @Override
     public void mouseMoved(final MouseEvent e) {
         final Point p = e.getPoint();
+        if (hitBounds != null && hitBounds.contains(p) && hitAllocation.equals(cellContainer.getAllocation())) {
+            return;
+        }
         final I index = cellContainer.getCellPosition(p);
         updatePopup(index, p);
     }
 
     private void updatePopup(final I index, final Point p) {
+        hitBounds = null;
         if (cellContainer.getComponent() == null || index == null) return;
         if (isDifferentPopupOpen()) return;
         final boolean isEditing = cellContainer.isEditingCell(index);
@@ -79,6 +89,8 @@ public class CellHintPopupListener<T extends JComponent, I> extends MouseInputAd
             final Rectangle visibleBounds = allocation.intersection(cellBounds);
             LOGGER.finer(() -> "Visible bounds at index " + index + ": " + visibleBounds);
             if (visibleBounds.contains(p)) {
+                hitBounds = new Rectangle(visibleBounds);
+                hitAllocation = allocation;
                 final Component comp = cellContainer.getEffectiveCellRendererComponent(index, isEditing);
                 final Dimension prefSize = getPreferredSize(isEditing, comp);
                 LOGGER.finer(() -> "Necessary cell size at index " + index + ": " + prefSize);
@@ -206,6 +218,7 @@ public class CellHintPopupListener<T extends JComponent, I> extends MouseInputAd
 
     @Override
     public void mouseExited(final MouseEvent e) {
+        hitBounds = null;
         if (isOverEditor(e.getPoint())) {
             if (popup == null) {
                 /*
@@ -120,6 +120,12 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
         int leadIndex = adjustIndex(list.getLeadSelectionIndex(), list);
         int rowIncrement = (layoutOrientation == JList.HORIZONTAL_WRAP) ? columnCount : 1;
 
+        /*
+         * Everything painted has to be a function of the row index alone. Otherwise content moved by a
+         * blitting viewport won't match the freshly painted exposed area.
+         */
+        int firstRow = 0;
+        int firstRowY = 0;
         Rectangle rowBounds = new Rectangle();
         for (int colCounter = startColumn; rowBounds.x < maxX; colCounter++) {
             int row = convertLocationToRowInColumn(paintBounds.y, colCounter);
@@ -127,10 +133,16 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
             int index = getModelIndex(colCounter, row);
             if (colCounter <= endColumn) {
                 rowBounds = getCellBounds(list, index);
+                if (rowBounds != null) {
+                    firstRow = row;
+                    firstRowY = rowBounds.y;
+                }
             } else {
+                // Continue the rows of the previous column instead of starting at the clip.
+                row = firstRow;
                 rowBounds.x += rowBounds.width;
-                rowBounds.width = maxX - rowBounds.x;
-                rowBounds.y = Math.max(paintBounds.y, list.getInsets().top);
+                rowBounds.width = list.getWidth() - rowBounds.x;
+                rowBounds.y = firstRowY;
             }
 
             if (rowBounds == null) {
@@ -139,7 +151,7 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
             }
             boolean lastColumn = colCounter == endColumn && getColumnCount() > 1
                     && colCounter * rowsPerColumn + rowCount >= dataModel.getSize();
-            int bgWidth = lastColumn ? maxX - rowBounds.x : 0;
+            int bgWidth = lastColumn ? list.getWidth() - rowBounds.x : 0;
             int maxRow = lastColumn ? Integer.MAX_VALUE : rowCount;
 
             while (rowBounds.y < maxY) {
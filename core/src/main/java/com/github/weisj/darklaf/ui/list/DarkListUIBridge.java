@@ -43,6 +43,7 @@ import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.ui.util.LazyActionMap;
 import com.github.weisj.darklaf.util.PropertyKey;
 import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
 
 /**
  * An extensible implementation of {@code ListUI}.
@@ -200,10 +201,12 @@ public abstract class DarkListUIBridge extends BasicListUI {
      */
     @Override
     public void paint(final Graphics g, final JComponent c) {
+        long start = Instrumentation.start();
         Shape clip = g.getClip();
         paintImpl(g, c);
         g.setClip(clip);
         paintDropLine(g);
+        Instrumentation.record(Instrumentation.Category.PAINT, getClass(), start);
     }
 
     /**
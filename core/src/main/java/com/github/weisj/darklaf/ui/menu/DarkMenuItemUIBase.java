@@ -25,9 +25,11 @@ import java.awt.event.ActionEvent;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.UIResource;
 import javax.swing.plaf.basic.BasicMenuItemUI;
 
 import com.github.weisj.darklaf.compatibility.MenuItemLayoutHelper;
+import com.github.weisj.darklaf.ui.ThemeUpdatableUI;
 import com.github.weisj.darklaf.ui.UIAction;
 import com.github.weisj.darklaf.ui.util.LazyActionMap;
 
@@ -35,7 +37,7 @@ import com.github.weisj.darklaf.ui.util.LazyActionMap;
  * @author Konstantin Bulenkov
  * @author Jannis Weis
  */
-public class DarkMenuItemUIBase extends BasicMenuItemUI implements MenuItemUI {
+public class DarkMenuItemUIBase extends BasicMenuItemUI implements MenuItemUI, ThemeUpdatableUI {
 
     protected int acceleratorTextOffset;
     protected boolean useEvenHeight;
@@ -56,11 +58,29 @@ public class DarkMenuItemUIBase extends BasicMenuItemUI implements MenuItemUI {
         useEvenHeight = !Boolean.TRUE.equals(UIManager.get(getPropertyPrefix() + ".evenHeight"));
         acceleratorTextOffset = UIManager.getInt(getPropertyPrefix() + ".acceleratorTextOffset");
         acceleratorFont = UIManager.getFont("MenuItem.font");
+        installMenuItemColors();
+    }
+
+    protected void installMenuItemColors() {
         acceleratorForeground = UIManager.getColor("MenuItem.foreground");
         acceleratorSelectionForeground = UIManager.getColor("MenuItem.selectionForeground");
         disabledForeground = UIManager.getColor("MenuItem.disabledForeground");
     }
 
+    @Override
+    public void updateThemeValues(final JComponent c) {
+        String prefix = getPropertyPrefix();
+        selectionBackground = UIManager.getColor(prefix + ".selectionBackground");
+        selectionForeground = UIManager.getColor(prefix + ".selectionForeground");
+        if (arrowIcon == null || arrowIcon instanceof UIResource) {
+            arrowIcon = UIManager.getIcon(prefix + ".arrowIcon");
+        }
+        if (checkIcon == null || checkIcon instanceof UIResource) {
+            checkIcon = UIManager.getIcon(prefix + ".checkIcon");
+        }
+        installMenuItemColors();
+    }
+
     @Override
     public void uninstallUI(JComponent c) {
         MenuItemLayoutHelper.uninstall(menuItem);
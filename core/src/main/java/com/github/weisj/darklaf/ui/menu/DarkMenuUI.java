@@ -26,12 +26,14 @@ import java.awt.event.MouseEvent;
 import javax.swing.*;
 import javax.swing.event.MouseInputListener;
 import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.UIResource;
 import javax.swing.plaf.basic.BasicMenuUI;
 
 import com.github.weisj.darklaf.compatibility.MenuItemLayoutHelper;
 import com.github.weisj.darklaf.delegate.MouseInputDelegate;
+import com.github.weisj.darklaf.ui.ThemeUpdatableUI;
 
-public class DarkMenuUI extends BasicMenuUI implements MenuItemUI {
+public class DarkMenuUI extends BasicMenuUI implements MenuItemUI, ThemeUpdatableUI {
 
     protected int acceleratorTextOffset;
     protected boolean useEvenHeight;
@@ -99,14 +101,33 @@ public class DarkMenuUI extends BasicMenuUI implements MenuItemUI {
     protected void installDefaults() {
         super.installDefaults();
         acceleratorFont = UIManager.getFont("Menu.font");
-        acceleratorForeground = UIManager.getColor("Menu.foreground");
-        acceleratorSelectionForeground = UIManager.getColor("Menu.selectionForeground");
+        installAcceleratorColors();
         arrowIconHover = UIManager.getIcon("Menu.arrowHover.icon");
         arrowIconDisabled = UIManager.getIcon("Menu.arrowDisabled.icon");
         useEvenHeight = !Boolean.TRUE.equals(UIManager.get(getPropertyPrefix() + ".evenHeight"));
         acceleratorTextOffset = UIManager.getInt(getPropertyPrefix() + ".acceleratorTextOffset");
     }
 
+    protected void installAcceleratorColors() {
+        acceleratorForeground = UIManager.getColor("Menu.foreground");
+        acceleratorSelectionForeground = UIManager.getColor("Menu.selectionForeground");
+    }
+
+    @Override
+    public void updateThemeValues(final JComponent c) {
+        String prefix = getPropertyPrefix();
+        selectionBackground = UIManager.getColor(prefix + ".selectionBackground");
+        selectionForeground = UIManager.getColor(prefix + ".selectionForeground");
+        disabledForeground = UIManager.getColor(prefix + ".disabledForeground");
+        if (arrowIcon == null || arrowIcon instanceof UIResource) {
+            arrowIcon = UIManager.getIcon(prefix + ".arrowIcon");
+        }
+        if (checkIcon == null || checkIcon instanceof UIResource) {
+            checkIcon = UIManager.getIcon(prefix + ".checkIcon");
+        }
+        installAcceleratorColors();
+    }
+
     @Override
     public void paint(final Graphics g, final JComponent c) {
         paintMenuItemImpl(g, c, checkIcon, getArrowIcon(), defaultTextIconGap);
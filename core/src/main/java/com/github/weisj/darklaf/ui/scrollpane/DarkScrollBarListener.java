@@ -25,6 +25,7 @@ import java.awt.event.*;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.graphics.AnimationRepaintCoordinator;
 import com.github.weisj.darklaf.graphics.DefaultInterpolator;
 import com.github.weisj.darklaf.graphics.LegacyAnimator;
 import com.github.weisj.darklaf.util.PropertyUtil;
@@ -414,8 +415,9 @@ public class DarkScrollBarListener<T extends DarkScrollBarUI> extends MouseAdapt
 
         private void repaint() {
             if (component != null) {
-                ((JComponent) component.getParent()).paintImmediately(component.getBounds());
-                component.getParent().repaint();
+                JComponent parent = (JComponent) component.getParent();
+                AnimationRepaintCoordinator.paintImmediately(parent, component.getBounds());
+                AnimationRepaintCoordinator.repaint(parent);
             }
         }
 
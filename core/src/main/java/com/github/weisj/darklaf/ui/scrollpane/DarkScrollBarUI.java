@@ -31,11 +31,12 @@ import javax.swing.plaf.basic.BasicScrollBarUI;
 
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.graphics.SizedPainter;
+import com.github.weisj.darklaf.ui.ThemeUpdatableUI;
 import com.github.weisj.darklaf.util.ColorUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
 
 /** @author Jannis Weis */
-public class DarkScrollBarUI extends BasicScrollBarUI implements ScrollBarConstants {
+public class DarkScrollBarUI extends BasicScrollBarUI implements ScrollBarConstants, ThemeUpdatableUI {
 
     protected static final AlphaComposite COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER);
     protected DarkScrollBarListener<?> scrollBarListener;
@@ -75,10 +76,7 @@ public class DarkScrollBarUI extends BasicScrollBarUI implements ScrollBarConsta
         }
         PropertyUtil.installProperty(scrollbar, KEY_HIGHLIGHT_ON_SCROLL,
                 UIManager.getBoolean("ScrollBar.highlightOnScroll"));
-        thumbBorderColor = UIManager.getColor("ScrollBar.thumbBorderColor");
-        thumbFadeStartColor = UIManager.getColor("ScrollBar.fadeStartColor");
-        thumbFadeEndColor = UIManager.getColor("ScrollBar.fadeEndColor");
-        trackBackground = UIManager.getColor("ScrollBar.trackColor");
+        installThumbColors();
         smallSize = UIManager.getInt("ScrollBar.smallWidth");
         size = UIManager.getInt("ScrollBar.width");
         thumbAlpha = UIManager.getInt("ScrollBar.thumbAlpha") / 100.0f;
@@ -86,6 +84,19 @@ public class DarkScrollBarUI extends BasicScrollBarUI implements ScrollBarConsta
         updateBackgroundPainter(scrollbar.getClientProperty(KEY_BACKGROUND_PAINTER));
     }
 
+    protected void installThumbColors() {
+        thumbBorderColor = UIManager.getColor("ScrollBar.thumbBorderColor");
+        thumbFadeStartColor = UIManager.getColor("ScrollBar.fadeStartColor");
+        thumbFadeEndColor = UIManager.getColor("ScrollBar.fadeEndColor");
+        trackBackground = UIManager.getColor("ScrollBar.trackColor");
+    }
+
+    @Override
+    public void updateThemeValues(final JComponent c) {
+        configureScrollBarColors();
+        installThumbColors();
+    }
+
     @Override
     protected void installListeners() {
         super.installListeners();
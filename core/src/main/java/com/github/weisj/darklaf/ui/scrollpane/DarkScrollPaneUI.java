@@ -74,6 +74,8 @@ public class DarkScrollPaneUI extends BasicScrollPaneUI implements PropertyChang
     };
     private ViewPropertyChangeListener viewPropertyChangeListener;
     private ScrollPaneLayout oldLayout;
+    private JViewport blitViewport;
+    private int oldScrollMode;
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkScrollPaneUI();
@@ -114,6 +116,33 @@ public class DarkScrollPaneUI extends BasicScrollPaneUI implements PropertyChang
         scrollpane.getVerticalScrollBar().addPropertyChangeListener(scrollbarPropertyChangeListener);
         scrollpane.getHorizontalScrollBar().addMouseWheelListener(horizontalMouseWheelListener);
         scrollpane.getHorizontalScrollBar().addPropertyChangeListener(scrollbarPropertyChangeListener);
+        updateScrollMode();
+    }
+
+    /**
+     * Enforces {@link JViewport#BLIT_SCROLL_MODE} on the viewport if
+     * {@link ScrollBarConstants#KEY_FORCE_BLIT_SCROLLING} is set. The views of darklaf paint their
+     * content independent of the current clip, hence it can safely be copied when scrolling. This
+     * overrides views or other look and feels which turned blitting off.
+     */
+    protected void updateScrollMode() {
+        JViewport viewport = scrollpane.getViewport();
+        boolean forceBlit = PropertyUtil.getBooleanProperty(scrollpane, ScrollBarConstants.KEY_FORCE_BLIT_SCROLLING);
+        if (!forceBlit || viewport != blitViewport) {
+            restoreScrollMode();
+        }
+        if (forceBlit && viewport != null && viewport != blitViewport) {
+            blitViewport = viewport;
+            oldScrollMode = viewport.getScrollMode();
+            viewport.setScrollMode(JViewport.BLIT_SCROLL_MODE);
+        }
+    }
+
+    private void restoreScrollMode() {
+        if (blitViewport != null) {
+            blitViewport.setScrollMode(oldScrollMode);
+            blitViewport = null;
+        }
     }
 
     protected ViewPropertyChangeListener getViewPropertyChangeListener() {
@@ -139,6 +168,9 @@ public class DarkScrollPaneUI extends BasicScrollPaneUI implements PropertyChang
                 transferListeners(e, verticalMouseWheelListener);
             } else if ("horizontalScrollBar".equals(propertyName)) {
                 transferListeners(e, horizontalMouseWheelListener);
+            } else if ("viewport".equals(propertyName)
+                    || ScrollBarConstants.KEY_FORCE_BLIT_SCROLLING.equals(propertyName)) {
+                updateScrollMode();
             }
         }
     }
@@ -228,6 +260,7 @@ public class DarkScrollPaneUI extends BasicScrollPaneUI implements PropertyChang
         scrollpane.getVerticalScrollBar().removePropertyChangeListener(scrollbarPropertyChangeListener);
         scrollpane.getHorizontalScrollBar().removeMouseWheelListener(horizontalMouseWheelListener);
         scrollpane.getHorizontalScrollBar().removePropertyChangeListener(scrollbarPropertyChangeListener);
+        restoreScrollMode();
     }
 
     @Override
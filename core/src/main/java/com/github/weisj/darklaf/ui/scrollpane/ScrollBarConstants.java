@@ -30,6 +30,7 @@ public interface ScrollBarConstants {
     String KEY_HIGHLIGHT_ON_SCROLL = "JScrollBar.highlightOnScroll";
     String KEY_SMALL = "JComponent.small";
     String KEY_BACKGROUND_PAINTER = "JScrollBar.backgroundPainter";
+    String KEY_FORCE_BLIT_SCROLLING = "JScrollPane.forceBlitScrolling";
 
     static boolean isSmall(final JScrollBar scrollBar) {
         return PropertyUtil.getBooleanProperty(scrollBar, KEY_SMALL);
@@ -38,6 +38,7 @@ import com.github.weisj.darklaf.graphics.StringPainter;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
 import com.github.weisj.darklaf.util.graphics.GraphicsContext;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
 
 /** @author Jannis Weis */
 public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
@@ -161,6 +162,7 @@ public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
 
     @Override
     public void paint(final Graphics g, final JComponent c) {
+        long start = Instrumentation.start();
         int selectedIndex = tabPane.getSelectedIndex();
         int tabPlacement = tabPane.getTabPlacement();
 
@@ -190,6 +192,7 @@ public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
         if (tabPane.getTabCount() == 0) {
             paintTabAreaBorder(g, tabPlacement);
         }
+        Instrumentation.record(Instrumentation.Category.PAINT, getClass(), start);
     }
 
     @Override
@@ -46,6 +46,7 @@ import com.github.weisj.darklaf.ui.table.renderer.DarkTableCellRendererDelegate;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyKey;
 import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
 
 /** @author Jannis Weis */
 public class DarkTableUI extends DarkTableUIBridge implements TableConstants, HasRendererPane {
@@ -74,6 +75,10 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
 
     protected DarkTableCellRendererDelegate rendererDelegate;
 
+    private TableCellRasterCache cellRasterCache;
+    private TableUpdateCoalescer updateCoalescer;
+    private TableMarginRepainter marginRepainter;
+
     public static ComponentUI createUI(final JComponent c) {
         return new DarkTableUI();
     }
@@ -146,6 +151,42 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
             popupListener = createPopupMouseListener();
             popupListener.install();
         }
+        updateCellRasterCache();
+        updateUpdateCoalescer();
+        marginRepainter = new TableMarginRepainter(table);
+        marginRepainter.install();
+    }
+
+    protected void updateUpdateCoalescer() {
+        boolean enabled = PropertyUtil.getBooleanProperty(table, KEY_COALESCE_UPDATES);
+        if (enabled && updateCoalescer == null) {
+            updateCoalescer = new TableUpdateCoalescer(table);
+            updateCoalescer.install();
+        } else if (!enabled && updateCoalescer != null) {
+            updateCoalescer.uninstall();
+            updateCoalescer = null;
+        }
+    }
+
+    /**
+     * Returns the coalescer batching the updates of the table model. Can be enabled using
+     * {@link #KEY_COALESCE_UPDATES}.
+     *
+     * @return the update coalescer or null if not enabled.
+     */
+    public TableUpdateCoalescer getUpdateCoalescer() {
+        return updateCoalescer;
+    }
+
+    protected void updateCellRasterCache() {
+        boolean enabled = PropertyUtil.getBooleanProperty(table, KEY_CACHE_CELL_RASTERS);
+        if (enabled && cellRasterCache == null) {
+            cellRasterCache = new TableCellRasterCache(table, this);
+            cellRasterCache.install();
+        } else if (!enabled && cellRasterCache != null) {
+            cellRasterCache.uninstall();
+            cellRasterCache = null;
+        }
     }
 
     protected CellHintPopupListener<JTable, ?> createPopupMouseListener() {
@@ -159,6 +200,18 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
             popupListener.uninstall();
             popupListener = null;
         }
+        if (cellRasterCache != null) {
+            cellRasterCache.uninstall();
+            cellRasterCache = null;
+        }
+        if (updateCoalescer != null) {
+            updateCoalescer.uninstall();
+            updateCoalescer = null;
+        }
+        if (marginRepainter != null) {
+            marginRepainter.uninstall();
+            marginRepainter = null;
+        }
         // Handler is uninstalled in super.uninstallListeners()
         handler = null;
     }
@@ -275,26 +328,35 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
         if (table.getShowVerticalLines()) {
             TableColumnModel cm = table.getColumnModel();
             int tableHeight = table.getHeight();
+            // Only paint the lines inside the damaged area.
+            Rectangle clip = g.getClipBounds();
+            int lineStart = clip != null ? Math.max(0, clip.y) : 0;
+            int lineEnd = clip != null ? Math.min(tableHeight, clip.y + clip.height) - 1 : tableHeight - 1;
+            /*
+             * Whether a line is painted must not depend on the damaged columns, otherwise a partially
+             * repainted or blitted table ends up with gaps in the grid.
+             */
+            int lastColumn = table.getColumnCount() - 1;
             int x;
             boolean ltr = table.getComponentOrientation().isLeftToRight();
             x = damagedArea.x;
             if (scrollPaneRtl && scrollBarVisible()) {
-                PaintUtil.drawVLine(g, x, 0, tableHeight - 1);
+                PaintUtil.drawVLine(g, x, lineStart, lineEnd);
             }
             if (ltr) {
                 for (int column = cMin; column <= cMax; column++) {
                     int w = cm.getColumn(column).getWidth();
                     x += w;
-                    if (showVerticalLine(true, scrollVisible, !scrollPaneRtl, column, draggedIndex, cMin, cMax)) {
-                        PaintUtil.drawVLine(g, x - 1, 0, tableHeight - 1);
+                    if (showVerticalLine(true, scrollVisible, !scrollPaneRtl, column, draggedIndex, 0, lastColumn)) {
+                        PaintUtil.drawVLine(g, x - 1, lineStart, lineEnd);
                     }
                 }
             } else {
                 for (int column = cMax; column >= cMin; column--) {
                     int w = cm.getColumn(column).getWidth();
                     x += w;
-                    if (showVerticalLine(false, scrollVisible, !scrollPaneRtl, column, draggedIndex, cMin, cMax)) {
-                        PaintUtil.drawVLine(g, x - 1, 0, tableHeight - 1);
+                    if (showVerticalLine(false, scrollVisible, !scrollPaneRtl, column, draggedIndex, 0, lastColumn)) {
+                        PaintUtil.drawVLine(g, x - 1, lineStart, lineEnd);
                     }
                 }
             }
@@ -437,20 +499,9 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
 
     @Override
     public void paint(final Graphics g, final JComponent c) {
-        /*
-         * JTable always subtracts the cell margins even if for the last column. This results in part of the
-         * cell not being repainted. Dispatch repaint here manually.
-         */
-        if (table.getShowVerticalLines()) {
-            Rectangle r = g.getClipBounds();
-            int spacing = table.getColumnModel().getColumnMargin();
-            if (r.x + r.width == c.getWidth() - spacing) {
-                r.x = r.x + r.width;
-                r.width = spacing;
-                c.repaint(r);
-            }
-        }
+        long start = Instrumentation.start();
         super.paint(g, c);
+        Instrumentation.record(Instrumentation.Category.PAINT, getClass(), start);
     }
 
     public static boolean ignoreKeyCodeOnEdit(final KeyEvent event, final JTable table) {
@@ -505,22 +556,30 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
 
         if (isEditorCell) {
             if (!table.getShowVerticalLines()) {
-                if (column > cMin) x--;
-                if (column > cMin && column < cMax) w++;
+                int lastColumn = table.getColumnCount() - 1;
+                if (column > 0) x--;
+                if (column > 0 && column < lastColumn) w++;
             }
         }
         if (isEditorCell) {
             Component component = table.getEditorComponent();
             component.setBounds(x, y, w, h);
             component.validate();
+        } else if (cellRasterCache != null && table.getDropLocation() == null) {
+            cellRasterCache.paintCell(g, row, column, x, y, w, h);
         } else {
-            TableCellRenderer renderer = getCellRenderer(row, column);
-            Component component = table.prepareRenderer(renderer, row, column);
-            CellUtil.setSelectedFlag(component, table.isCellSelected(row, column));
-            rendererPane.paintComponent(g, component, table, x, y, w, h, true);
+            paintCellRenderer(g, row, column, x, y, w, h);
         }
     }
 
+    protected void paintCellRenderer(final Graphics g, final int row, final int column, final int x, final int y,
+            final int w, final int h) {
+        TableCellRenderer renderer = getCellRenderer(row, column);
+        Component component = table.prepareRenderer(renderer, row, column);
+        CellUtil.setSelectedFlag(component, table.isCellSelected(row, column));
+        rendererPane.paintComponent(g, component, table, x, y, w, h, true);
+    }
+
     protected TableCellRenderer getCellRenderer(final int row, final int column) {
         TableCellRenderer renderer = table.getCellRenderer(row, column);
         if (renderer instanceof DarkTableCellRendererDelegate) return renderer;
@@ -637,6 +696,11 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
             } else if (PropertyKey.COMPONENT_ORIENTATION.equals(key)) {
                 table.doLayout();
                 table.repaint();
+            } else if (KEY_COALESCE_UPDATES.equals(key)) {
+                updateUpdateCoalescer();
+            } else if (KEY_CACHE_CELL_RASTERS.equals(key)) {
+                updateCellRasterCache();
+                table.repaint();
             } else if (KEY_ALTERNATE_ROW_COLOR.equals(key) || KEY_RENDER_BOOLEAN_AS_CHECKBOX.equals(key)
                     || KEY_BOOLEAN_RENDER_TYPE.equals(key)) {
                 table.repaint();
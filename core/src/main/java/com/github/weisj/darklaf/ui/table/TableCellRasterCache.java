@@ -0,0 +1,265 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.table;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+import javax.swing.*;
+import javax.swing.event.*;
+import javax.swing.table.TableColumnModel;
+import javax.swing.table.TableModel;
+
+import com.github.weisj.darklaf.util.ImageUtil;
+import com.github.weisj.darklaf.util.Scale;
+import com.github.weisj.darklaf.util.cache.LRUCache;
+
+/**
+ * Caches the rendered images of table cells. Cells are keyed by their view row and column. A cached
+ * image is only reused if the selection and focus state as well as the size and scale of the cell
+ * haven't changed since it has been rendered. Cells are invalidated by {@link TableModelEvent}s
+ * updating them. Any structural change of the model or the columns, any change of the sort order and
+ * any property change of the table invalidates all cells.
+ *
+ * <p>
+ * The values of cached cells are expected to only change through the table model. Renderers
+ * depending on other state won't be updated.
+ */
+final class TableCellRasterCache implements TableModelListener, TableColumnModelListener, RowSorterListener,
+        PropertyChangeListener {
+
+    private static final int MAX_ENTRIES = 4096;
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+
+    private final JTable table;
+    private final DarkTableUI ui;
+    private final LRUCache<Long, CellRaster> cache =
+            new LRUCache<>(MAX_ENTRIES, MAX_BYTES, (k, v) -> v.getByteSize());
+    private TableModel model;
+    private TableColumnModel columnModel;
+    private RowSorter<?> rowSorter;
+
+    TableCellRasterCache(final JTable table, final DarkTableUI ui) {
+        this.table = table;
+        this.ui = ui;
+    }
+
+    void install() {
+        table.addPropertyChangeListener(this);
+        setModel(table.getModel());
+        setColumnModel(table.getColumnModel());
+        setRowSorter(table.getRowSorter());
+    }
+
+    void uninstall() {
+        table.removePropertyChangeListener(this);
+        setModel(null);
+        setColumnModel(null);
+        setRowSorter(null);
+        cache.clear();
+    }
+
+    private void setModel(final TableModel model) {
+        if (this.model != null) this.model.removeTableModelListener(this);
+        this.model = model;
+        if (model != null) model.addTableModelListener(this);
+        cache.clear();
+    }
+
+    private void setColumnModel(final TableColumnModel columnModel) {
+        if (this.columnModel != null) this.columnModel.removeColumnModelListener(this);
+        this.columnModel = columnModel;
+        if (columnModel != null) columnModel.addColumnModelListener(this);
+        cache.clear();
+    }
+
+    private void setRowSorter(final RowSorter<?> rowSorter) {
+        if (this.rowSorter != null) this.rowSorter.removeRowSorterListener(this);
+        this.rowSorter = rowSorter;
+        if (rowSorter != null) rowSorter.addRowSorterListener(this);
+        cache.clear();
+    }
+
+    long getHitCount() {
+        return cache.hitCount();
+    }
+
+    long getMissCount() {
+        return cache.missCount();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    void paintCell(final Graphics g, final int row, final int column, final int x, final int y, final int width,
+            final int height) {
+        Graphics2D g2 = (Graphics2D) g;
+        double scaleX = Scale.getScaleX(g2);
+        double scaleY = Scale.getScaleY(g2);
+        boolean selected = table.isCellSelected(row, column);
+        boolean focused = table.isFocusOwner()
+                && table.getSelectionModel().getLeadSelectionIndex() == row
+                && table.getColumnModel().getSelectionModel().getLeadSelectionIndex() == column;
+        Long key = key(row, column);
+        CellRaster raster = cache.get(key);
+        if (raster == null || !raster.matches(width, height, scaleX, scaleY, selected, focused)) {
+            raster = render(row, column, width, height, scaleX, scaleY, selected, focused);
+            cache.put(key, raster);
+        }
+        g.drawImage(raster.image, x, y, width, height, null);
+    }
+
+    private CellRaster render(final int row, final int column, final int width, final int height,
+            final double scaleX, final double scaleY, final boolean selected, final boolean focused) {
+        int imageWidth = Math.max(1, (int) Math.ceil(scaleX * width));
+        int imageHeight = Math.max(1, (int) Math.ceil(scaleY * height));
+        GraphicsConfiguration gc = table.getGraphicsConfiguration();
+        BufferedImage image;
+        Graphics2D g;
+        if (table.isOpaque()) {
+            // Renderers which aren't opaque are painted on top of the table background.
+            image = ImageUtil.createCompatibleImage(gc, imageWidth, imageHeight);
+            g = image.createGraphics();
+            g.setColor(table.getBackground());
+            g.fillRect(0, 0, imageWidth, imageHeight);
+        } else {
+            image = ImageUtil.createCompatibleTranslucentImage(gc, imageWidth, imageHeight);
+            g = image.createGraphics();
+        }
+        g.scale(scaleX, scaleY);
+        g.setClip(0, 0, width, height);
+        ui.paintCellRenderer(g, row, column, 0, 0, width, height);
+        g.dispose();
+        return new CellRaster(image, width, height, scaleX, scaleY, selected, focused);
+    }
+
+    private static Long key(final int row, final int column) {
+        return ((long) row << Integer.SIZE) | (column & 0xFFFFFFFFL);
+    }
+
+    private void invalidate(final int row, final int column) {
+        cache.remove(key(row, column));
+    }
+
+    @Override
+    public void tableChanged(final TableModelEvent e) {
+        int firstRow = e.getFirstRow();
+        int lastRow = e.getLastRow();
+        if (e.getType() != TableModelEvent.UPDATE || firstRow == TableModelEvent.HEADER_ROW
+                || lastRow == Integer.MAX_VALUE || table.getRowSorter() != null
+                || (long) (lastRow - firstRow + 1) * table.getColumnCount() > cache.size()) {
+            // Rows may have moved.
+            cache.clear();
+            return;
+        }
+        int columnCount = table.getColumnCount();
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (e.getColumn() == TableModelEvent.ALL_COLUMNS) {
+                for (int column = 0; column < columnCount; column++) {
+                    invalidate(row, column);
+                }
+            } else {
+                int column = table.convertColumnIndexToView(e.getColumn());
+                if (column >= 0) invalidate(row, column);
+            }
+        }
+    }
+
+    @Override
+    public void propertyChange(final PropertyChangeEvent evt) {
+        String key = evt.getPropertyName();
+        if ("model".equals(key)) {
+            setModel(table.getModel());
+        } else if ("columnModel".equals(key)) {
+            setColumnModel(table.getColumnModel());
+        } else if ("rowSorter".equals(key)) {
+            setRowSorter(table.getRowSorter());
+        } else {
+            // Any property may affect the appearance of cells e.g. colors and fonts.
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void sorterChanged(final RowSorterEvent e) {
+        // The view rows have been reordered.
+        cache.clear();
+    }
+
+    @Override
+    public void columnAdded(final TableColumnModelEvent e) {
+        cache.clear();
+    }
+
+    @Override
+    public void columnRemoved(final TableColumnModelEvent e) {
+        cache.clear();
+    }
+
+    @Override
+    public void columnMoved(final TableColumnModelEvent e) {
+        if (e.getFromIndex() != e.getToIndex()) cache.clear();
+    }
+
+    @Override
+    public void columnMarginChanged(final ChangeEvent e) {
+        // Cells are keyed by their size. Resized cells are rendered again.
+    }
+
+    @Override
+    public void columnSelectionChanged(final ListSelectionEvent e) {
+        // The selection state is part of the key.
+    }
+
+    private static final class CellRaster {
+
+        private final Image image;
+        private final int width;
+        private final int height;
+        private final double scaleX;
+        private final double scaleY;
+        private final boolean selected;
+        private final boolean focused;
+
+        private CellRaster(final Image image, final int width, final int height, final double scaleX,
+                final double scaleY, final boolean selected, final boolean focused) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.selected = selected;
+            this.focused = focused;
+        }
+
+        private boolean matches(final int w, final int h, final double sx, final double sy, final boolean sel,
+                final boolean foc) {
+            return width == w && height == h && scaleX == sx && scaleY == sy && selected == sel && focused == foc;
+        }
+
+        private long getByteSize() {
+            return 4L * image.getWidth(null) * image.getHeight(null);
+        }
+    }
+}
@@ -42,6 +42,8 @@ public interface TableConstants extends CellConstants {
     String KEY_IS_FILE_LIST = "Table.isFileList";
     String KEY_IS_PRINT_MODE = "Table.printMode";
     String KEY_CELL_VALUE_DETERMINES_EDITOR_CLASS = "Table.cellDeterminesClass";
+    String KEY_CACHE_CELL_RASTERS = "JTable.cacheCellRasters";
+    String KEY_COALESCE_UPDATES = "JTable.coalesceUpdates";
 
     static boolean isBooleanRenderingEnabled(final JTable table) {
         return PropertyUtil.getBooleanProperty(table, TableConstants.KEY_RENDER_BOOLEAN_AS_CHECKBOX);
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.table;
+
+import java.awt.*;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+import javax.swing.*;
+import javax.swing.event.*;
+import javax.swing.table.TableColumnModel;
+import javax.swing.table.TableModel;
+
+/**
+ * The cells of the last column extend into the column margin if vertical lines are shown (see
+ * {@link DarkTableUI#paintCell(Graphics, Rectangle, int, int, int, int)}). The {@link JTable} only
+ * repaints the cells without their margin if the selection changes or a single column is updated,
+ * hence the margin of the last column is added to the dirty region here.
+ *
+ * <p>
+ * The border of the cell editor omits the edges adjacent to the visible area of the table (see
+ * {@link com.github.weisj.darklaf.ui.cell.CellUtil#paintTableEditorBorder(Graphics, Component, JTable, int, int)}).
+ * Content copied by a blitting viewport doesn't reflect this, so the editor is repainted once the table
+ * has been scrolled.
+ *
+ * <p>
+ * This happens at the time of the change instead of while painting the table, which keeps the painted
+ * content a pure function of the table state and allows the viewport to blit it.
+ */
+final class TableMarginRepainter implements ListSelectionListener, TableColumnModelListener, TableModelListener,
+        AncestorListener, PropertyChangeListener {
+
+    private final JTable table;
+    private ListSelectionModel selectionModel;
+    private TableColumnModel columnModel;
+    private TableModel model;
+
+    TableMarginRepainter(final JTable table) {
+        this.table = table;
+    }
+
+    void install() {
+        table.addPropertyChangeListener(this);
+        table.addAncestorListener(this);
+        setSelectionModel(table.getSelectionModel());
+        setColumnModel(table.getColumnModel());
+        setModel(table.getModel());
+    }
+
+    void uninstall() {
+        table.removePropertyChangeListener(this);
+        table.removeAncestorListener(this);
+        setSelectionModel(null);
+        setColumnModel(null);
+        setModel(null);
+    }
+
+    private void setSelectionModel(final ListSelectionModel selectionModel) {
+        if (this.selectionModel != null) this.selectionModel.removeListSelectionListener(this);
+        this.selectionModel = selectionModel;
+        if (selectionModel != null) selectionModel.addListSelectionListener(this);
+    }
+
+    private void setColumnModel(final TableColumnModel columnModel) {
+        if (this.columnModel != null) this.columnModel.removeColumnModelListener(this);
+        this.columnModel = columnModel;
+        if (columnModel != null) columnModel.addColumnModelListener(this);
+    }
+
+    private void setModel(final TableModel model) {
+        if (this.model != null) this.model.removeTableModelListener(this);
+        this.model = model;
+        if (model != null) model.addTableModelListener(this);
+    }
+
+    void repaintMargin(final int firstRow, final int lastRow) {
+        if (!table.getShowVerticalLines() || table.getColumnModel().getColumnMargin() <= 0) return;
+        int column = table.getColumnCount() - 1;
+        int first = Math.max(0, firstRow);
+        int last = Math.min(table.getRowCount() - 1, lastRow);
+        if (column < 0 || first > last) return;
+        Rectangle dirtyRegion = table.getCellRect(first, column, true);
+        dirtyRegion.add(table.getCellRect(last, column, true));
+        table.repaint(dirtyRegion);
+    }
+
+    @Override
+    public void valueChanged(final ListSelectionEvent e) {
+        repaintMargin(e.getFirstIndex(), e.getLastIndex());
+    }
+
+    @Override
+    public void tableChanged(final TableModelEvent e) {
+        // The table repaints updates of all columns and structural changes including the margin.
+        if (e.getType() != TableModelEvent.UPDATE || e.getColumn() == TableModelEvent.ALL_COLUMNS) return;
+        int column = table.convertColumnIndexToView(e.getColumn());
+        if (column < 0 || column != table.getColumnCount() - 1) return;
+        if (table.getRowSorter() != null || e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+            // The view rows of the updated rows aren't known until the sorter has processed the event.
+            repaintMargin(0, table.getRowCount() - 1);
+        } else {
+            repaintMargin(e.getFirstRow(), e.getLastRow());
+        }
+    }
+
+    @Override
+    public void ancestorMoved(final AncestorEvent event) {
+        Component editor = table.getEditorComponent();
+        if (editor != null) editor.repaint();
+    }
+
+    @Override
+    public void ancestorAdded(final AncestorEvent event) {}
+
+    @Override
+    public void ancestorRemoved(final AncestorEvent event) {}
+
+    @Override
+    public void columnSelectionChanged(final ListSelectionEvent e) {
+        if (e.getLastIndex() >= table.getColumnCount() - 1) {
+            repaintMargin(0, table.getRowCount() - 1);
+        }
+    }
+
+    @Override
+    public void propertyChange(final PropertyChangeEvent evt) {
+        String key = evt.getPropertyName();
+        if ("selectionModel".equals(key)) {
+            setSelectionModel(table.getSelectionModel());
+        } else if ("columnModel".equals(key)) {
+            setColumnModel(table.getColumnModel());
+        } else if ("model".equals(key)) {
+            setModel(table.getModel());
+        }
+    }
+
+    @Override
+    public void columnAdded(final TableColumnModelEvent e) {}
+
+    @Override
+    public void columnRemoved(final TableColumnModelEvent e) {}
+
+    @Override
+    public void columnMoved(final TableColumnModelEvent e) {}
+
+    @Override
+    public void columnMarginChanged(final ChangeEvent e) {}
+}
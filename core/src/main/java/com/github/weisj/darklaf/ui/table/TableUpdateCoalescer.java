@@ -0,0 +1,266 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.table;
+
+import java.awt.*;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableModel;
+
+import com.github.weisj.darklaf.graphics.AnimationClock;
+import com.github.weisj.darklaf.graphics.AnimationRepaintCoordinator;
+
+/**
+ * Batches updates of table cells. Usually every {@link TableModelEvent} results in a repaint of the
+ * updated cells, which the {@link RepaintManager} merges into the bounding rectangle of all updated
+ * cells. If many scattered cells are updated at once large parts of the table are painted again.
+ *
+ * <p>
+ * The coalescer receives the model events in place of the table. Events updating a range of rows are
+ * collected until the next frame of the {@link AnimationClock}. The updated cells are merged into
+ * spans of rows and columns, which are handed to the {@link AnimationRepaintCoordinator} and painted
+ * together with the animations of the frame. Spans which aren't adjacent to each other are painted
+ * separately. All other events are passed on to the table immediately, after pending spans have been
+ * handed to the {@link RepaintManager}.
+ *
+ * <p>
+ * The coalescer is only installed if enabled using {@link TableConstants#KEY_COALESCE_UPDATES}.
+ */
+public final class TableUpdateCoalescer implements TableModelListener, PropertyChangeListener {
+
+    private static final int MAX_SPANS = 16;
+
+    private final JTable table;
+    private final AnimationClock.FrameListener frameListener = frameTime -> {
+        flush(true);
+        return false;
+    };
+    private final List<Span> spans = new ArrayList<>();
+    private TableModel model;
+
+    private long eventCount;
+    private long coalescedEventCount;
+    private long paintCount;
+
+    TableUpdateCoalescer(final JTable table) {
+        this.table = table;
+    }
+
+    void install() {
+        table.addPropertyChangeListener(this);
+        setModel(table.getModel());
+    }
+
+    void uninstall() {
+        table.removePropertyChangeListener(this);
+        flush(false);
+        if (model != null) {
+            // Give the events back to the table.
+            model.removeTableModelListener(table);
+            model.addTableModelListener(table);
+        }
+        setModel(null);
+    }
+
+    private void setModel(final TableModel newModel) {
+        if (model != null) model.removeTableModelListener(this);
+        AnimationClock.getInstance().removeFrameListener(frameListener);
+        spans.clear();
+        model = newModel;
+        if (model != null) {
+            model.removeTableModelListener(table);
+            model.addTableModelListener(this);
+        }
+    }
+
+    /**
+     * Returns the number of model events received.
+     *
+     * @return the number of events.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the number of model events which have been batched instead of being passed on to the
+     * table.
+     *
+     * @return the number of batched events.
+     */
+    public long getCoalescedEventCount() {
+        return coalescedEventCount;
+    }
+
+    /**
+     * Returns the number of paint requests issued for batched events. A request is issued for each
+     * visible span of updated cells. Requests issued during a frame are painted separately unless the
+     * {@link AnimationRepaintCoordinator} can merge them with other regions of the frame without
+     * enlarging the painted area. Requests issued outside of a frame are merged by the
+     * {@link RepaintManager}.
+     *
+     * @return the number of paint requests.
+     */
+    public long getPaintCount() {
+        return paintCount;
+    }
+
+    public void resetStatistics() {
+        eventCount = 0;
+        coalescedEventCount = 0;
+        paintCount = 0;
+    }
+
+    @Override
+    public void tableChanged(final TableModelEvent e) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            table.tableChanged(e);
+            return;
+        }
+        eventCount++;
+        if (!isCoalescable(e)) {
+            // Repaint pending updates before the table possibly changes its layout. They aren't painted
+            // synchronously, as the model event is still being dispatched.
+            flush(false);
+            table.tableChanged(e);
+            return;
+        }
+        coalescedEventCount++;
+        int column = e.getColumn() == TableModelEvent.ALL_COLUMNS
+                ? -1
+                : table.convertColumnIndexToView(e.getColumn());
+        if (e.getColumn() != TableModelEvent.ALL_COLUMNS && column < 0) return;
+        boolean wasEmpty = spans.isEmpty();
+        addSpan(column < 0
+                ? new Span(e.getFirstRow(), e.getLastRow(), 0, Integer.MAX_VALUE)
+                : new Span(e.getFirstRow(), e.getLastRow(), column, column));
+        if (wasEmpty) AnimationClock.getInstance().addFrameListener(frameListener);
+    }
+
+    private boolean isCoalescable(final TableModelEvent e) {
+        // Only updates of a bounded range of rows are merely repainted by the table.
+        return e.getType() == TableModelEvent.UPDATE
+                && e.getFirstRow() != TableModelEvent.HEADER_ROW
+                && e.getLastRow() != Integer.MAX_VALUE
+                && table.getRowSorter() == null;
+    }
+
+    private void addSpan(final Span span) {
+        for (int i = 0; i < spans.size(); i++) {
+            Span other = spans.get(i);
+            if (other.canMerge(span)) {
+                spans.remove(i);
+                // The merged span may now be mergeable with other spans.
+                addSpan(other.merge(span));
+                return;
+            }
+        }
+        spans.add(span);
+        if (spans.size() > MAX_SPANS) {
+            Span bounds = spans.get(0);
+            for (Span s : spans) {
+                bounds = bounds.bounds(s);
+            }
+            spans.clear();
+            spans.add(bounds);
+        }
+    }
+
+    private void flush(final boolean inFrame) {
+        if (spans.isEmpty()) return;
+        AnimationClock.getInstance().removeFrameListener(frameListener);
+        int rowCount = table.getRowCount();
+        int columnCount = table.getColumnCount();
+        boolean showing = table.isShowing();
+        Rectangle visibleRect = table.getVisibleRect();
+        for (Span span : spans) {
+            if (span.firstRow >= rowCount || span.firstColumn >= columnCount) continue;
+            Rectangle rect = table.getCellRect(span.firstRow, span.firstColumn, true)
+                    .union(table.getCellRect(Math.min(span.lastRow, rowCount - 1),
+                            Math.min(span.lastColumn, columnCount - 1), true));
+            if (!inFrame) {
+                table.repaint(rect);
+                paintCount++;
+            } else if (!showing) {
+                AnimationRepaintCoordinator.repaint(table, rect);
+                paintCount++;
+            } else if (rect.intersects(visibleRect)) {
+                AnimationRepaintCoordinator.paintImmediately(table, rect.intersection(visibleRect));
+                paintCount++;
+            }
+        }
+        spans.clear();
+    }
+
+    @Override
+    public void propertyChange(final PropertyChangeEvent evt) {
+        if ("model".equals(evt.getPropertyName())) {
+            setModel(table.getModel());
+        }
+    }
+
+    private static final class Span {
+        private final int firstRow;
+        private final int lastRow;
+        private final int firstColumn;
+        private final int lastColumn;
+
+        private Span(final int firstRow, final int lastRow, final int firstColumn, final int lastColumn) {
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.firstColumn = firstColumn;
+            this.lastColumn = lastColumn;
+        }
+
+        private boolean canMerge(final Span other) {
+            // Only merge spans if the union doesn't contain any cells which haven't been updated.
+            boolean sameColumns = firstColumn == other.firstColumn && lastColumn == other.lastColumn;
+            boolean sameRows = firstRow == other.firstRow && lastRow == other.lastRow;
+            return (sameColumns && overlapsOrTouches(firstRow, lastRow, other.firstRow, other.lastRow))
+                    || (sameRows && overlapsOrTouches(firstColumn, lastColumn, other.firstColumn, other.lastColumn))
+                    || contains(other) || other.contains(this);
+        }
+
+        private boolean contains(final Span other) {
+            return firstRow <= other.firstRow && lastRow >= other.lastRow
+                    && firstColumn <= other.firstColumn && lastColumn >= other.lastColumn;
+        }
+
+        private static boolean overlapsOrTouches(final int start1, final int end1, final int start2, final int end2) {
+            return start1 <= end2 + 1L && start2 <= end1 + 1L;
+        }
+
+        private Span merge(final Span other) {
+            return contains(other) ? this : bounds(other);
+        }
+
+        private Span bounds(final Span other) {
+            return new Span(Math.min(firstRow, other.firstRow), Math.max(lastRow, other.lastRow),
+                    Math.min(firstColumn, other.firstColumn), Math.max(lastColumn, other.lastColumn));
+        }
+    }
+}
@@ -48,6 +48,7 @@ import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
 import com.github.weisj.darklaf.util.graphics.GraphicsContext;
 import com.github.weisj.darklaf.util.graphics.GraphicsUtil;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
 
 /** @author Jannis Weis */
 public abstract class DarkTextUI extends BasicTextUI implements OpacityBufferedUI {
@@ -330,7 +331,9 @@ public abstract class DarkTextUI extends BasicTextUI implements OpacityBufferedU
 
     @Override
     public void update(final Graphics g, final JComponent c) {
+        long start = Instrumentation.start();
         StringPainter.paintOpacityBufferedUI(g, c, this);
+        Instrumentation.record(Instrumentation.Category.PAINT, getClass(), start);
     }
 
     @Override
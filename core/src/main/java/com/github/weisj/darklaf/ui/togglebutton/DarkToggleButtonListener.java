@@ -26,6 +26,7 @@ import java.beans.PropertyChangeEvent;
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 
+import com.github.weisj.darklaf.graphics.AnimationRepaintCoordinator;
 import com.github.weisj.darklaf.graphics.Animator;
 import com.github.weisj.darklaf.graphics.DefaultInterpolator;
 import com.github.weisj.darklaf.ui.button.DarkButtonListener;
@@ -123,7 +124,8 @@ public class DarkToggleButtonListener extends DarkButtonListener<DarkToggleButto
 
         private void repaint() {
             if (c != null) {
-                c.paintImmediately(animationBounds != null ? animationBounds : c.getVisibleRect());
+                AnimationRepaintCoordinator.paintImmediately(c,
+                        animationBounds != null ? animationBounds : c.getVisibleRect());
             }
         }
 
@@ -36,11 +36,12 @@ import javax.swing.plaf.UIResource;
 import javax.swing.plaf.basic.BasicToolBarUI;
 
 import com.github.weisj.darklaf.listener.MouseResponder;
+import com.github.weisj.darklaf.ui.ThemeUpdatableUI;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.LogUtil;
 
 /** @author Jannis Weis */
-public class DarkToolBarUI extends BasicToolBarUI {
+public class DarkToolBarUI extends BasicToolBarUI implements ThemeUpdatableUI {
 
     private static final Logger LOGGER = LogUtil.getLogger(DarkToolBarUI.class);
     protected static final String KEY_PREFIX = "JToolBar.";
@@ -168,6 +169,14 @@ public class DarkToolBarUI extends BasicToolBarUI {
         }
     }
 
+    @Override
+    public void updateThemeValues(final JComponent c) {
+        dockingColor = UIManager.getColor("ToolBar.dockingBackground");
+        floatingColor = UIManager.getColor("ToolBar.floatingBackground");
+        dockingBorderColor = UIManager.getColor("ToolBar.dockingForeground");
+        floatingBorderColor = UIManager.getColor("ToolBar.floatingForeground");
+    }
+
     @Override
     protected void uninstallDefaults() {
         super.uninstallDefaults();
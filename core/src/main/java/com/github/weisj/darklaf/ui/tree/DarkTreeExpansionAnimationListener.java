@@ -27,6 +27,7 @@ import javax.swing.event.TreeExpansionEvent;
 import javax.swing.event.TreeExpansionListener;
 import javax.swing.tree.TreePath;
 
+import com.github.weisj.darklaf.graphics.AnimationRepaintCoordinator;
 import com.github.weisj.darklaf.graphics.Animator;
 
 public class DarkTreeExpansionAnimationListener implements TreeExpansionListener {
@@ -92,7 +93,7 @@ public class DarkTreeExpansionAnimationListener implements TreeExpansionListener
                 Rectangle bounds = tree.getRowBounds(animationRow);
                 bounds.x = 0;
                 bounds.width = tree.getWidth();
-                tree.paintImmediately(bounds);
+                AnimationRepaintCoordinator.paintImmediately(tree, bounds);
             }
         }
 
@@ -24,6 +24,7 @@ import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Objects;
 
@@ -40,19 +41,21 @@ import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.platform.SystemInfo;
 import com.github.weisj.darklaf.properties.icons.RotatableIcon;
 import com.github.weisj.darklaf.ui.HasRendererPane;
+import com.github.weisj.darklaf.ui.ThemeUpdatableUI;
 import com.github.weisj.darklaf.ui.cell.CellConstants;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
 import com.github.weisj.darklaf.ui.cell.hint.CellHintPopupListener;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
 
 /**
  * @author Konstantin Bulenkov
  * @author Jannis Weis
  */
-public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, CellConstants, HasRendererPane {
-
+public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, CellConstants, HasRendererPane,
+        ThemeUpdatableUI {
     protected static final String KEY_PREFIX = "JTree.";
     public static final String KEY_ALTERNATE_ROW_COLOR = KEY_PREFIX + "alternateRowColor";
     public static final String KEY_RENDER_BOOLEAN_AS_CHECKBOX = KEY_PREFIX + "renderBooleanAsCheckBox";
@@ -65,9 +68,11 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     public static final String KEY_IS_TREE_EDITOR = "JComponent.isTreeEditor";
     public static final String KEY_IS_TREE_RENDERER = "JComponent.isTreeRenderer";
     public static final String KEY_IS_TABLE_TREE = "JComponent.isTableTree";
+    public static final String KEY_FIXED_ROW_HEIGHT_LAYOUT = KEY_PREFIX + "fixedRowHeightLayout";
 
     protected static final Rectangle boundsBuffer = new Rectangle();
     protected static final RotatableIcon paintingIcon = new RotatableIcon();
+    private static final String PAINT_ROW_INSTRUMENTATION_NAME = DarkTreeUI.class.getName() + "#paintRow";
 
     protected MouseListener selectionListener;
     protected Color lineColor;
@@ -96,6 +101,14 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     private int dashGapLength;
     private DarkTreeExpansionAnimationListener treeExpansionAnimationListener;
 
+    private TreePath[] paintedPaths = new TreePath[0];
+    private int[] legX = new int[0];
+    private int[] legStartY = new int[0];
+    private Color[] legColors = new Color[0];
+    private int legLayoutDepth;
+    private int legBase;
+    private int legStep;
+
     public static ComponentUI createUI(final JComponent c) {
         return new DarkTreeUI();
     }
@@ -151,6 +164,13 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         dashGapLength = UIManager.getInt("Tree.dash.gaplength");
     }
 
+    @Override
+    public void updateThemeValues(final JComponent c) {
+        setHashColor(UIManager.getColor("Tree.hash"));
+        setExpandedIcon(UIManager.getIcon("Tree.expandedIcon"));
+        setCollapsedIcon(UIManager.getIcon("Tree.collapsedIcon"));
+    }
+
     @Override
     protected CellRendererPane createCellRendererPane() {
         return new DarkCellRendererPane();
@@ -280,6 +300,12 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         Rectangle paintBounds = g.getClipBounds();
 
         Insets insets = tree.getInsets();
+        if (isFixedRowHeightLayout()) {
+            paintFixedHeightRows(g, paintBounds, insets);
+            paintDropLine(g);
+            rendererPane.removeAll();
+            return;
+        }
         TreePath initialPath = getClosestPathForLocation(tree, 0, paintBounds.y);
         Enumeration<?> paintingEnumerator = treeState.getVisiblePathsFrom(initialPath);
 
@@ -303,6 +329,7 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     }
 
     public void paintRow(final Graphics g, final int row) {
+        long start = Instrumentation.start();
         TreePath path = getPathForRow(tree, row);
         Rectangle paintBounds = g.getClipBounds();
         Insets insets = tree.getInsets();
@@ -312,15 +339,17 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         paintSingleRow(g, paintBounds, insets, path, row);
         rendererPane.removeAll();
         g.translate(0, rowBounds.y);
+        Instrumentation.record(Instrumentation.Category.PAINT, PAINT_ROW_INSTRUMENTATION_NAME, start);
     }
 
     protected Rectangle paintSingleRow(final Graphics g, final Rectangle paintBounds, final Insets insets,
             final TreePath path, final int row) {
         if (path == null) return null;
-        final int xOffset =
-                tree.getParent() instanceof JViewport ? ((JViewport) tree.getParent()).getViewPosition().x : 0;
-        final int containerWidth =
-                tree.getParent() instanceof JViewport ? tree.getParent().getWidth() : tree.getWidth();
+        /*
+         * The row background spans the whole tree instead of only the visible part of the viewport. This
+         * way the painted content doesn't depend on the scroll position and can be blitted when scrolling.
+         */
+        final int rowWidth = getRowBackgroundWidth();
         final Rectangle cellBounds = getPathBounds(path, insets, boundsBuffer);
         if (cellBounds == null) return null;
         final int boundsX = cellBounds.x;
@@ -328,8 +357,8 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
 
         final boolean selected = tree.isPathSelected(path);
 
-        cellBounds.x = xOffset;
-        cellBounds.width = containerWidth;
+        cellBounds.x = 0;
+        cellBounds.width = rowWidth;
         paintRowBackground(g, cellBounds, path, row, selected);
         cellBounds.x = boundsX;
         cellBounds.width = boundsWidth;
@@ -337,7 +366,15 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         if (path.getParentPath() != null) {
             paintVerticalLegs(g, paintBounds, cellBounds, insets, path);
         }
+        return paintRowContent(g, paintBounds, insets, cellBounds, path, row, selected, rowWidth);
+    }
 
+    /*
+     * Paints the expand control, the renderer and the lead selection border of the row.
+     */
+    private Rectangle paintRowContent(final Graphics g, final Rectangle paintBounds, final Insets insets,
+            final Rectangle cellBounds, final TreePath path, final int row, final boolean selected,
+            final int rowWidth) {
         boolean isLeaf = treeModel.isLeaf(path.getLastPathComponent());
         boolean isExpanded = !isLeaf && treeState.getExpandedState(path);
         boolean hasBeenExpanded = !isLeaf && tree.hasBeenExpanded(path);
@@ -350,14 +387,186 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
 
         if (!selected && tree.getLeadSelectionRow() == row && isFocused) {
             g.setColor(CellUtil.getTreeBackground(tree, true, row));
-            cellBounds.x = xOffset;
-            cellBounds.width = containerWidth;
+            cellBounds.x = 0;
+            cellBounds.width = rowWidth;
             PaintUtil.drawRect(g, cellBounds, leadSelectionBorderInsets);
         }
 
         return cellBounds;
     }
 
+    /**
+     * Returns whether rows are laid out using a fixed row height. In this case the rows intersecting the
+     * painted area and the row at a given location are computed arithmetically, and the vertical legs are
+     * painted as one line per parent spanning all visible children. The hit test is also used by
+     * {@link #getClosestPathForLocation(JTree, int, int)} and hence by {@link JTree#getClosestRowForLocation}
+     * and the mouse handling of the tree. The bounds of a path are still provided by the layout cache, as
+     * their horizontal extent depends on the renderer. Requires {@link JTree#getRowHeight()} to be
+     * positive and {@link #KEY_FIXED_ROW_HEIGHT_LAYOUT} to be set.
+     *
+     * @return true if the fixed row height layout is used.
+     */
+    public boolean isFixedRowHeightLayout() {
+        return tree != null && tree.getRowHeight() > 0
+                && PropertyUtil.getBooleanProperty(tree, KEY_FIXED_ROW_HEIGHT_LAYOUT);
+    }
+
+    /**
+     * Returns the row closest to the given location. Equivalent to
+     * {@link JTree#getClosestRowForLocation(int, int)} but doesn't need to look up the path of the row if
+     * the fixed row height layout is used.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return the closest row or -1 if the tree has no rows.
+     * @see #isFixedRowHeightLayout()
+     */
+    public int getClosestRowForLocation(final int x, final int y) {
+        if (!isFixedRowHeightLayout()) return tree.getClosestRowForLocation(x, y);
+        int rowCount = getRowCount(tree);
+        if (rowCount <= 0) return -1;
+        int row = (y - tree.getInsets().top) / tree.getRowHeight();
+        return Math.max(0, Math.min(rowCount - 1, row));
+    }
+
+    @Override
+    public TreePath getClosestPathForLocation(final JTree tree, final int x, final int y) {
+        if (tree == this.tree && treeState != null && isFixedRowHeightLayout()) {
+            int row = getClosestRowForLocation(x, y);
+            return row >= 0 ? getPathForRow(tree, row) : null;
+        }
+        return super.getClosestPathForLocation(tree, x, y);
+    }
+
+    protected void paintFixedHeightRows(final Graphics g, final Rectangle paintBounds, final Insets insets) {
+        int rowHeight = tree.getRowHeight();
+        int firstRow = Math.max(0, (paintBounds.y - insets.top) / rowHeight);
+        int lastRow = Math.min(getRowCount(tree) - 1,
+                (paintBounds.y + paintBounds.height - 1 - insets.top) / rowHeight);
+        if (firstRow > lastRow) return;
+        Enumeration<?> paintingEnumerator = treeState.getVisiblePathsFrom(getPathForRow(tree, firstRow));
+        if (paintingEnumerator == null) return;
+
+        int maxCount = lastRow - firstRow + 1;
+        if (paintedPaths.length < maxCount) paintedPaths = new TreePath[maxCount];
+        TreePath[] paths = paintedPaths;
+        int count = 0;
+        while (count < maxCount && paintingEnumerator.hasMoreElements()) {
+            paths[count++] = (TreePath) paintingEnumerator.nextElement();
+        }
+
+        /*
+         * Backgrounds of all rows are painted first, such that the legs can span multiple rows.
+         */
+        int rowWidth = getRowBackgroundWidth();
+        Rectangle rowBounds = new Rectangle(0, 0, rowWidth, rowHeight);
+        for (int i = 0; i < count; i++) {
+            rowBounds.y = insets.top + (firstRow + i) * rowHeight;
+            paintRowBackground(g, rowBounds, paths[i], firstRow + i, tree.isPathSelected(paths[i]));
+        }
+        paintVerticalLegSpans(g, paintBounds, insets, paths, firstRow, count);
+        for (int i = 0; i < count; i++) {
+            TreePath path = paths[i];
+            Rectangle cellBounds = getPathBounds(path, insets, boundsBuffer);
+            if (cellBounds != null) {
+                cellBounds.y = insets.top + (firstRow + i) * rowHeight;
+                cellBounds.height = rowHeight;
+                paintRowContent(g, paintBounds, insets, cellBounds, path, firstRow + i, tree.isPathSelected(path),
+                        rowWidth);
+            }
+            paths[i] = null;
+        }
+    }
+
+    /*
+     * Paints the vertical legs of consecutive rows as one line per parent. Visible descendants of a node
+     * are always consecutive rows, hence a leg at a given depth continues as long as the rows are deeper
+     * than the depth.
+     */
+    private void paintVerticalLegSpans(final Graphics g, final Rectangle clipBounds, final Insets insets,
+            final TreePath[] paths, final int firstRow, final int count) {
+        if (!shouldPaintLines()) return;
+        int rowHeight = tree.getRowHeight();
+        int firstDepth = isRootVisible() ? 0 : 1;
+        int clipLeft = clipBounds.x;
+        int clipRight = clipBounds.x + (clipBounds.width - 1);
+        updateLegLayout(insets);
+
+        int openDepth = 0;
+        for (int i = 0; i < count; i++) {
+            TreePath path = paths[i];
+            int depth = path.getPathCount() - 1;
+            int y = insets.top + (firstRow + i) * rowHeight;
+            for (int d = openDepth - 1; d >= depth; d--) {
+                if (d >= firstDepth) paintLegSpan(g, d, y, clipLeft, clipRight);
+            }
+            if (depth > openDepth) {
+                ensureLegCapacity(depth);
+                TreePath parentPath = path.getParentPath();
+                for (int d = depth - 1; d >= openDepth; d--) {
+                    legStartY[d] = y;
+                    legColors[d] = getLineColor(parentPath);
+                    parentPath = parentPath.getParentPath();
+                }
+            }
+            openDepth = depth;
+        }
+        int end = insets.top + (firstRow + count) * rowHeight;
+        for (int d = openDepth - 1; d >= firstDepth; d--) {
+            paintLegSpan(g, d, end, clipLeft, clipRight);
+        }
+    }
+
+    private void paintLegSpan(final Graphics g, final int depth, final int end, final int clipLeft,
+            final int clipRight) {
+        int lineX = legX[depth];
+        if (lineX > clipRight || lineX < clipLeft) return;
+        g.setColor(legColors[depth]);
+        paintVerticalLine(g, tree, lineX, legStartY[depth], end);
+    }
+
+    /*
+     * The horizontal position of the legs only depends on the depth. The positions are cached until the
+     * indent, the insets or the orientation of the tree change.
+     */
+    private void updateLegLayout(final Insets insets) {
+        int x0 = getRowX(-1, 0);
+        int step = getRowX(-1, 1) - x0;
+        int base;
+        if (tree.getComponentOrientation().isLeftToRight()) {
+            base = x0 - getRightChildIndent() + insets.left;
+        } else {
+            base = tree.getWidth() - x0 - insets.right + getRightChildIndent() - 1;
+            step = -step;
+        }
+        if (base != legBase || step != legStep) {
+            legBase = base;
+            legStep = step;
+            legLayoutDepth = 0;
+        }
+    }
+
+    private void ensureLegCapacity(final int depth) {
+        if (legX.length < depth) {
+            int size = Math.max(depth, 2 * legX.length);
+            legX = Arrays.copyOf(legX, size);
+            legStartY = Arrays.copyOf(legStartY, size);
+            legColors = Arrays.copyOf(legColors, size);
+        }
+        for (int d = legLayoutDepth; d < depth; d++) {
+            legX[d] = legBase + d * legStep;
+        }
+        legLayoutDepth = Math.max(legLayoutDepth, depth);
+    }
+
+    protected int getRowBackgroundWidth() {
+        int width = tree.getWidth();
+        if (tree.getParent() instanceof JViewport) {
+            width = Math.max(width, tree.getParent().getWidth());
+        }
+        return width;
+    }
+
     protected void paintRowBackground(final Graphics g, final Rectangle bounds, final TreePath path, final int row,
             final boolean selected) {
         if (path != null) {
@@ -428,7 +637,9 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     @Override
     public void update(final Graphics g, final JComponent c) {
         if (popupListener != null) popupListener.repaint();
+        long start = Instrumentation.start();
         super.update(g, c);
+        Instrumentation.record(Instrumentation.Category.PAINT, getClass(), start);
     }
 
     public CellHintPopupListener<JTree, ?> getPopupListener() {
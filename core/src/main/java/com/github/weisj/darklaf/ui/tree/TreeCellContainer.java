@@ -45,7 +45,7 @@ public class TreeCellContainer extends AbstractIndexedCellContainer<JTree, Integ
 
     @Override
     public Integer getCellPosition(final Point p) {
-        return tree.getClosestRowForLocation(p.x, p.y);
+        return ui.getClosestRowForLocation(p.x, p.y);
     }
 
     @Override
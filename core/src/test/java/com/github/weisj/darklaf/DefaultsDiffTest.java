@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Graphics;
+
+import javax.swing.Icon;
+import javax.swing.UIDefaults;
+import javax.swing.plaf.ColorUIResource;
+import javax.swing.plaf.FontUIResource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DefaultsDiffTest {
+
+    private static final Icon ICON = new TestIcon(16);
+
+    @Test
+    void testEqualDefaults() {
+        DefaultsDiff diff = DefaultsDiff.compute(defaults(), defaults());
+        Assertions.assertEquals(DefaultsDiff.Kind.NONE, diff.getKind());
+        Assertions.assertTrue(diff.getReplacements().isEmpty());
+    }
+
+    @Test
+    void testChangedColor() {
+        UIDefaults oldDefaults = defaults();
+        UIDefaults newDefaults = defaults();
+        Color newColor = new ColorUIResource(Color.GREEN);
+        newDefaults.put("color", newColor);
+
+        DefaultsDiff diff = DefaultsDiff.compute(oldDefaults, newDefaults);
+        Assertions.assertEquals(DefaultsDiff.Kind.COLORS, diff.getKind());
+        Assertions.assertEquals(1, diff.getReplacements().size());
+        Assertions.assertSame(newColor, diff.getReplacements().get(oldDefaults.get("color")));
+        // Replacements are matched by identity.
+        Assertions.assertNull(diff.getReplacements().get(new ColorUIResource(Color.RED)));
+    }
+
+    @Test
+    void testChangedIcon() {
+        UIDefaults oldDefaults = defaults();
+        UIDefaults newDefaults = defaults();
+        Icon newIcon = new TestIcon(16);
+        newDefaults.put("icon", newIcon);
+
+        DefaultsDiff diff = DefaultsDiff.compute(oldDefaults, newDefaults);
+        Assertions.assertEquals(DefaultsDiff.Kind.ICONS, diff.getKind());
+        Assertions.assertSame(newIcon, diff.getReplacements().get(oldDefaults.get("icon")));
+    }
+
+    @Test
+    void testChangedIconSizeIsStructural() {
+        UIDefaults newDefaults = defaults();
+        newDefaults.put("icon", new TestIcon(20));
+        assertStructural(DefaultsDiff.compute(defaults(), newDefaults));
+    }
+
+    @Test
+    void testChangedFont() {
+        UIDefaults newDefaults = defaults();
+        newDefaults.put("font", new FontUIResource(Font.DIALOG, Font.BOLD, 14));
+
+        DefaultsDiff diff = DefaultsDiff.compute(defaults(), newDefaults);
+        Assertions.assertEquals(DefaultsDiff.Kind.FONTS, diff.getKind());
+        Assertions.assertTrue(diff.getReplacements().isEmpty());
+    }
+
+    @Test
+    void testMostSignificantChangeDeterminesKind() {
+        UIDefaults newDefaults = defaults();
+        newDefaults.put("color", new ColorUIResource(Color.GREEN));
+        newDefaults.put("font", new FontUIResource(Font.DIALOG, Font.BOLD, 14));
+        Assertions.assertEquals(DefaultsDiff.Kind.FONTS, DefaultsDiff.compute(defaults(), newDefaults).getKind());
+    }
+
+    @Test
+    void testChangedKeysAreStructural() {
+        UIDefaults added = defaults();
+        added.put("other", 1);
+        assertStructural(DefaultsDiff.compute(defaults(), added));
+
+        UIDefaults renamed = defaults();
+        renamed.put("renamedColor", renamed.remove("color"));
+        assertStructural(DefaultsDiff.compute(defaults(), renamed));
+    }
+
+    @Test
+    void testChangedOtherValueIsStructural() {
+        UIDefaults newDefaults = defaults();
+        newDefaults.put("number", 2);
+        assertStructural(DefaultsDiff.compute(defaults(), newDefaults));
+
+        UIDefaults changedType = defaults();
+        changedType.put("color", "red");
+        assertStructural(DefaultsDiff.compute(defaults(), changedType));
+    }
+
+    @Test
+    void testConflictingReplacementsAreStructural() {
+        Color shared = new ColorUIResource(Color.RED);
+        UIDefaults oldDefaults = defaults();
+        oldDefaults.put("color", shared);
+        oldDefaults.put("otherColor", shared);
+        UIDefaults newDefaults = defaults();
+        newDefaults.put("color", new ColorUIResource(Color.GREEN));
+        newDefaults.put("otherColor", new ColorUIResource(Color.BLUE));
+        assertStructural(DefaultsDiff.compute(oldDefaults, newDefaults));
+    }
+
+    @Test
+    void testLazyValues() {
+        UIDefaults oldDefaults = defaults();
+        UIDefaults newDefaults = defaults();
+        oldDefaults.put("lazy", (UIDefaults.LazyValue) table -> "value");
+        newDefaults.put("lazy", (UIDefaults.LazyValue) table -> "value");
+        // Lazy values don't depend on the theme.
+        Assertions.assertEquals(DefaultsDiff.Kind.NONE, DefaultsDiff.compute(oldDefaults, newDefaults).getKind());
+
+        newDefaults.put("lazy", new ColorUIResource(Color.GREEN));
+        assertStructural(DefaultsDiff.compute(oldDefaults, newDefaults));
+    }
+
+    private static void assertStructural(final DefaultsDiff diff) {
+        Assertions.assertEquals(DefaultsDiff.Kind.STRUCTURAL, diff.getKind());
+        Assertions.assertTrue(diff.getReplacements().isEmpty());
+    }
+
+    private static UIDefaults defaults() {
+        UIDefaults defaults = new UIDefaults();
+        defaults.put("color", new ColorUIResource(Color.RED));
+        defaults.put("icon", ICON);
+        defaults.put("font", new FontUIResource(Font.DIALOG, Font.PLAIN, 12));
+        defaults.put("number", 1);
+        return defaults;
+    }
+
+    private static final class TestIcon implements Icon {
+        private final int size;
+
+        private TestIcon(final int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void paintIcon(final Component c, final Graphics g, final int x, final int y) {}
+
+        @Override
+        public int getIconWidth() {
+            return size;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return size;
+        }
+    }
+}
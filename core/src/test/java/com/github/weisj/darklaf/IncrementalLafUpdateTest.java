@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.Color;
+import java.awt.Component;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import javax.swing.plaf.ColorUIResource;
+import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.basic.BasicProgressBarUI;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.ui.ThemeUpdatableUI;
+import com.github.weisj.darklaf.ui.button.DarkButtonUI;
+import com.github.weisj.darklaf.ui.menu.DarkMenuItemUIBase;
+import com.github.weisj.darklaf.ui.progressbar.DarkProgressBarUI;
+import com.github.weisj.darklaf.ui.scrollpane.DarkScrollBarUI;
+import com.github.weisj.darklaf.ui.tree.DarkTreeUI;
+
+class IncrementalLafUpdateTest {
+
+    @Test
+    void testOwnFieldsAreUpdatable() {
+        Assertions.assertTrue(IncrementalLafUpdate.isUpdatable(DarkButtonUI.class));
+        Assertions.assertTrue(IncrementalLafUpdate.isUpdatable(OwnFieldsUI.class));
+    }
+
+    @Test
+    void testInheritedValuesNeedReinstall() {
+        Assertions.assertFalse(IncrementalLafUpdate.isUpdatable(DarkProgressBarUI.class));
+        Assertions.assertFalse(IncrementalLafUpdate.isUpdatable(InheritedFieldsUI.class));
+        Assertions.assertFalse(IncrementalLafUpdate.isUpdatable(LineBorder.class));
+        Assertions.assertTrue(IncrementalLafUpdate.isUpdatable(EmptyBorder.class));
+    }
+
+    @Test
+    void testInheritedValuesReloadedByUI() {
+        Assertions.assertTrue(IncrementalLafUpdate.isUpdatable(ReloadingUI.class));
+        Assertions.assertTrue(IncrementalLafUpdate.isUpdatable(DarkScrollBarUI.class));
+        Assertions.assertTrue(IncrementalLafUpdate.isUpdatable(DarkTreeUI.class));
+        Assertions.assertTrue(IncrementalLafUpdate.isUpdatable(DarkMenuItemUIBase.class));
+    }
+
+    @Test
+    void testUisWithoutThemeUpdateSupportAreReinstalled() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            if (!LafManager.isInstalled()) LafManager.install(new IntelliJTheme());
+            JPanel panel = new JPanel();
+            JButton button = new JButton("Button");
+            JTree tree = new JTree();
+            panel.add(button);
+            panel.add(tree);
+            ComponentUI buttonUI = button.getUI();
+            ComponentUI treeUI = tree.getUI();
+
+            UIDefaults oldDefaults = new UIDefaults();
+            oldDefaults.put("testColor", tree.getBackground());
+            UIDefaults newDefaults = new UIDefaults();
+            newDefaults.put("testColor", new ColorUIResource(Color.GREEN));
+            DefaultsDiff diff = DefaultsDiff.compute(oldDefaults, newDefaults);
+            Assertions.assertTrue(IncrementalLafUpdate.apply(diff, new Component[] {panel}));
+
+            Assertions.assertNotSame(buttonUI, button.getUI());
+            Assertions.assertSame(treeUI, tree.getUI());
+            Assertions.assertEquals(Color.GREEN, tree.getBackground());
+        });
+    }
+
+    private static class OwnFieldsUI extends DarkButtonUI {
+        private Color color;
+        private Icon icon;
+    }
+
+    private static class InheritedFieldsUI extends BasicProgressBarUI {
+        private Color color;
+    }
+
+    private static class ReloadingUI extends InheritedFieldsUI implements ThemeUpdatableUI {
+        @Override
+        public void updateThemeValues(final JComponent c) {}
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.snapshot;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.task.ThemeSnapshotCache;
+import com.github.weisj.darklaf.theme.Theme;
+
+/** Used to precompile the theme snapshots of all built-in themes. */
+public final class CreateThemeSnapshots {
+
+    public static void main(final String[] args) {
+        if (args.length != 1) throw new IllegalArgumentException("Expected the output directory as argument");
+        System.setProperty(ThemeSnapshotCache.SNAPSHOTS_FLAG, "true");
+        System.setProperty(ThemeSnapshotCache.SNAPSHOTS_PATH_KEY, args[0]);
+        for (Theme theme : LafManager.getRegisteredThemes()) {
+            new DarkLaf() {
+                @Override
+                public Theme getTheme() {
+                    return theme;
+                }
+            }.getDefaults();
+        }
+    }
+}
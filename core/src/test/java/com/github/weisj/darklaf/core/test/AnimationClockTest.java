@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.graphics.AnimationClock;
+import com.github.weisj.darklaf.graphics.Animator;
+
+class AnimationClockTest {
+
+    @Test
+    void testAnimatorsShareClock() throws InterruptedException {
+        int animationCount = 5;
+        CountDownLatch finished = new CountDownLatch(animationCount);
+        AtomicInteger frames = new AtomicInteger();
+        for (int i = 0; i < animationCount; i++) {
+            Animator animator = new Animator(200) {
+                @Override
+                protected void paintAnimationFrame(final float fraction) {
+                    Assertions.assertTrue(SwingUtilities.isEventDispatchThread());
+                    frames.incrementAndGet();
+                }
+
+                @Override
+                protected void onAnimationFinished() {
+                    finished.countDown();
+                }
+            };
+            SwingUtilities.invokeLater(animator::play);
+        }
+        Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(frames.get() > 0);
+        // The clock stops once all animations are done.
+        long deadline = System.currentTimeMillis() + 1000;
+        while (AnimationClock.getInstance().isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertFalse(AnimationClock.getInstance().isRunning());
+    }
+
+    @Test
+    void testFramesAreDroppedWhileEventThreadIsBusy() throws Exception {
+        AnimationClock clock = AnimationClock.getInstance();
+        CountDownLatch finished = new CountDownLatch(1);
+        Animator animator = new Animator(500) {
+            @Override
+            protected void paintAnimationFrame(final float fraction) {}
+
+            @Override
+            protected void onAnimationFinished() {
+                finished.countDown();
+            }
+        };
+        SwingUtilities.invokeAndWait(() -> {
+            clock.resetStatistics();
+            animator.play();
+        });
+        // Block the event dispatch thread for multiple frames.
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(clock.getDispatchedFrameCount() > 0);
+        Assertions.assertTrue(clock.getDroppedFrameCount() > 0);
+    }
+}
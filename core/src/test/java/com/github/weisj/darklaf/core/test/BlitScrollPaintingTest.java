@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.tree.DefaultMutableTreeNode;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/*
+ * Content copied by a blitting viewport has to match a fresh paint of the same area. Hence painting
+ * must neither depend on the scroll position nor on the clip.
+ */
+class BlitScrollPaintingTest implements NonThreadSafeTest {
+
+    @BeforeAll
+    static void setup() {
+        TestUtils.ensureLafInstalled();
+    }
+
+    @Test
+    void testListPaintingIsScrollInvariant() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            String[] values = new String[50];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = "Item " + i;
+            }
+            JList<String> list = new JList<>(values);
+            list.setLayoutOrientation(JList.VERTICAL_WRAP);
+            list.setVisibleRowCount(12);
+            list.setSelectedIndices(new int[] {3, 13, 48});
+            JScrollPane scrollPane = createScrollPane(list);
+            list.setSize(Math.max(list.getPreferredSize().width, 600), list.getPreferredSize().height);
+            assertScrollInvariant(list, scrollPane);
+        });
+    }
+
+    @Test
+    void testTreePaintingIsScrollInvariant() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+            for (int i = 0; i < 10; i++) {
+                DefaultMutableTreeNode child = new DefaultMutableTreeNode("A rather long node label " + i);
+                for (int j = 0; j < 5; j++) {
+                    child.add(new DefaultMutableTreeNode("Leaf " + j));
+                }
+                root.add(child);
+            }
+            JTree tree = new JTree(root);
+            for (int i = tree.getRowCount() - 1; i >= 0; i--) {
+                tree.expandRow(i);
+            }
+            tree.setSelectionRows(new int[] {2, 9, 30});
+            JScrollPane scrollPane = createScrollPane(tree);
+            tree.setSize(tree.getPreferredSize());
+            assertScrollInvariant(tree, scrollPane);
+        });
+    }
+
+    @Test
+    void testTablePaintingIsScrollInvariant() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            JTable table = createTable();
+            table.setShowGrid(true);
+            table.setRowSelectionInterval(3, 5);
+            JScrollPane scrollPane = createScrollPane(table);
+            table.setSize(600, table.getPreferredSize().height);
+            table.doLayout();
+            assertScrollInvariant(table, scrollPane);
+
+            table.setShowGrid(false);
+            assertScrollInvariant(table, scrollPane);
+        });
+    }
+
+    @Test
+    void testLastColumnMarginIsRepaintedOnUpdate() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            JTable table = createTable();
+            table.setShowVerticalLines(true);
+            table.setSize(600, table.getPreferredSize().height);
+            table.doLayout();
+            int lastColumn = table.getColumnCount() - 1;
+            Assertions.assertTrue(table.getColumnModel().getColumnMargin() > 0);
+
+            List<Rectangle> dirtyRegions = recordDirtyRegions(table,
+                    () -> table.setValueAt("changed", 4, lastColumn));
+            assertCovered(table.getCellRect(4, lastColumn, true), dirtyRegions);
+
+            dirtyRegions = recordDirtyRegions(table, () -> table.setRowSelectionInterval(7, 7));
+            assertCovered(table.getCellRect(7, lastColumn, true), dirtyRegions);
+        });
+    }
+
+    @Test
+    void testEditorIsRepaintedWhenScrolled() throws Exception {
+        JTable table = createTable();
+        JScrollPane scrollPane = createScrollPane(table);
+        List<Component> repainted = new ArrayList<>();
+        RepaintManager previous = RepaintManager.currentManager(table);
+        SwingUtilities.invokeAndWait(() -> {
+            table.setSize(600, table.getPreferredSize().height);
+            table.doLayout();
+            Assertions.assertTrue(table.editCellAt(2, 1));
+            RepaintManager.setCurrentManager(new RepaintManager() {
+                @Override
+                public void addDirtyRegion(final JComponent comp, final int x, final int y, final int w,
+                        final int h) {
+                    repainted.add(comp);
+                    super.addDirtyRegion(comp, x, y, w, h);
+                }
+            });
+        });
+        try {
+            // The edges of the editor border depend on the visible area.
+            SwingUtilities.invokeAndWait(() -> scrollPane.getViewport().setViewPosition(new Point(0, 20)));
+            SwingUtilities.invokeAndWait(() -> {});
+            Assertions.assertTrue(repainted.contains(table.getEditorComponent()));
+        } finally {
+            SwingUtilities.invokeAndWait(() -> RepaintManager.setCurrentManager(previous));
+        }
+    }
+
+    private static JTable createTable() {
+        DefaultTableModel model = new DefaultTableModel(40, 5);
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int column = 0; column < model.getColumnCount(); column++) {
+                model.setValueAt(row + ":" + column, row, column);
+            }
+        }
+        JTable table = new JTable(model);
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        return table;
+    }
+
+    private static JScrollPane createScrollPane(final JComponent view) {
+        JScrollPane scrollPane = new JScrollPane(view);
+        scrollPane.setSize(200, 150);
+        scrollPane.doLayout();
+        return scrollPane;
+    }
+
+    private static void assertScrollInvariant(final JComponent c, final JScrollPane scrollPane) {
+        JViewport viewport = scrollPane.getViewport();
+        Assertions.assertTrue(c.getWidth() > viewport.getWidth() && c.getHeight() > viewport.getHeight(),
+                "View has to be larger than the viewport");
+        Rectangle bounds = new Rectangle(0, 0, c.getWidth(), c.getHeight());
+
+        viewport.setViewPosition(new Point(0, 0));
+        BufferedImage reference = paint(c, bounds);
+
+        Point[] positions = {new Point(37, 23), new Point(c.getWidth() - viewport.getWidth(), 61)};
+        for (Point position : positions) {
+            viewport.setViewPosition(position);
+            assertSameContent(reference, paint(c, bounds), bounds, "scrolled to " + position);
+
+            // Partial repaints of the exposed area after a blit at arbitrary offsets.
+            Rectangle visible = c.getVisibleRect();
+            Rectangle[] clips = {
+                    new Rectangle(visible.x, visible.y, visible.width, 13),
+                    new Rectangle(visible.x, visible.y + visible.height - 17, visible.width, 17),
+                    new Rectangle(visible.x + visible.width - 19, visible.y, 19, visible.height),
+                    new Rectangle(visible.x + 5, visible.y + 9, 41, 27)};
+            for (Rectangle clip : clips) {
+                assertSameContent(reference, paint(c, clip), clip, "clip " + clip + " at " + position);
+            }
+        }
+    }
+
+    private static BufferedImage paint(final JComponent c, final Rectangle clip) {
+        BufferedImage image = new BufferedImage(c.getWidth(), c.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setClip(clip);
+        c.paint(g);
+        g.dispose();
+        return image;
+    }
+
+    private static void assertSameContent(final BufferedImage expected, final BufferedImage actual,
+            final Rectangle area, final String message) {
+        for (int x = area.x; x < area.x + area.width; x++) {
+            for (int y = area.y; y < area.y + area.height; y++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    Assertions.fail("Pixel (" + x + "," + y + ") differs for " + message);
+                }
+            }
+        }
+    }
+
+    private static List<Rectangle> recordDirtyRegions(final JComponent c, final Runnable action) {
+        List<Rectangle> regions = new ArrayList<>();
+        RepaintManager previous = RepaintManager.currentManager(c);
+        RepaintManager.setCurrentManager(new RepaintManager() {
+            @Override
+            public void addDirtyRegion(final JComponent comp, final int x, final int y, final int w, final int h) {
+                if (comp == c) regions.add(new Rectangle(x, y, w, h));
+                super.addDirtyRegion(comp, x, y, w, h);
+            }
+        });
+        try {
+            action.run();
+        } finally {
+            RepaintManager.setCurrentManager(previous);
+        }
+        return regions;
+    }
+
+    private static void assertCovered(final Rectangle area, final List<Rectangle> regions) {
+        Rectangle union = null;
+        for (Rectangle r : regions) {
+            if (r.intersects(area)) union = union == null ? new Rectangle(r) : union.union(r);
+        }
+        Assertions.assertNotNull(union, "No repaint of " + area);
+        Assertions.assertTrue(union.contains(area), area + " isn't covered by " + regions);
+    }
+}
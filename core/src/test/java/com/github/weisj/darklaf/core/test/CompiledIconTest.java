@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.net.URL;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.properties.icons.CompiledSVGIcon;
+import com.github.weisj.darklaf.properties.icons.DarkSVGIcon;
+
+class CompiledIconTest {
+
+    private static final String ICON_ROOT = "com/github/weisj/darklaf/iconset/";
+    private static final int CHANNEL_TOLERANCE = 48;
+    private static final double MAX_MISMATCH_FRACTION = 0.02;
+    private static final String[] ICONS = {
+            "navigation/add.svg", // Transform
+            "navigation/checkmark.svg", // Stroke
+            "navigation/collapse.svg", // Opacity
+            "navigation/moveToRightBottom.svg", // Transform
+            "dialog/informationDialog.svg", // Transform
+            "indicator/speaker2.svg", // Stroke
+            "menu/colorChooser.svg" // Plain colors
+    };
+
+    @Test
+    void testCompiledIconsMatchSvgRendering() throws Exception {
+        for (String path : ICONS) {
+            assertCompiledIconMatches(path);
+        }
+    }
+
+    private static void assertCompiledIconMatches(final String path) throws Exception {
+        URL svgUrl = CompiledIconTest.class.getClassLoader().getResource(ICON_ROOT + path);
+        URL compiledUrl = CompiledIconTest.class.getClassLoader().getResource(ICON_ROOT + path + "c");
+        Assertions.assertNotNull(svgUrl, path);
+        Assertions.assertNotNull(compiledUrl, "Missing compiled icon for " + path);
+
+        for (int size : new int[] {16, 32}) {
+            Dimension dimension = new Dimension(size, size);
+            BufferedImage expected =
+                    (BufferedImage) new DarkSVGIcon(svgUrl.toURI(), size, size).createImage(dimension);
+            BufferedImage actual = (BufferedImage) new CompiledSVGIcon(compiledUrl, size, size).createImage(dimension);
+            assertSimilar(path + "@" + size, expected, actual);
+        }
+    }
+
+    private static void assertSimilar(final String name, final BufferedImage expected, final BufferedImage actual) {
+        Assertions.assertEquals(expected.getWidth(), actual.getWidth(), name);
+        Assertions.assertEquals(expected.getHeight(), actual.getHeight(), name);
+        int mismatches = 0;
+        boolean painted = false;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int e = expected.getRGB(x, y);
+                int a = actual.getRGB(x, y);
+                painted |= (a >>> 24) != 0;
+                // Anti-aliasing of the flattened paths may differ slightly.
+                if (channelDifference(e, a) > CHANNEL_TOLERANCE) mismatches++;
+            }
+        }
+        Assertions.assertTrue(painted, name + " is empty");
+        int allowed = (int) (expected.getWidth() * expected.getHeight() * MAX_MISMATCH_FRACTION);
+        Assertions.assertTrue(mismatches <= allowed,
+                name + " differs from the svg rendering in " + mismatches + " pixels");
+    }
+
+    private static int channelDifference(final int rgb1, final int rgb2) {
+        int max = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int c1 = (rgb1 >>> shift) & 0xFF;
+            int c2 = (rgb2 >>> shift) & 0xFF;
+            max = Math.max(max, Math.abs(c1 - c2));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.ui.tree.DarkTreeUI;
+
+/*
+ * The fixed row height layout has to produce the same rows, legs and hit tests as the regular layout.
+ */
+class FixedRowHeightTreeLayoutTest implements NonThreadSafeTest {
+
+    private static final int ROW_HEIGHT = 20;
+
+    @BeforeAll
+    static void setup() {
+        TestUtils.ensureLafInstalled();
+    }
+
+    @Test
+    void testFixedLayoutMatchesRegularLayout() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            for (boolean rootVisible : new boolean[] {true, false}) {
+                for (ComponentOrientation orientation : new ComponentOrientation[] {
+                        ComponentOrientation.LEFT_TO_RIGHT, ComponentOrientation.RIGHT_TO_LEFT}) {
+                    JTree tree = createTree(rootVisible, orientation);
+                    String config = "rootVisible=" + rootVisible + ", " + orientation.isLeftToRight();
+                    assertSameRowBounds(tree, config);
+                    assertSameHitTests(tree, config);
+                    assertSamePainting(tree, config);
+                }
+            }
+        });
+    }
+
+    private static JTree createTree(final boolean rootVisible, final ComponentOrientation orientation) {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        for (int i = 0; i < 4; i++) {
+            DefaultMutableTreeNode child = new DefaultMutableTreeNode("Node " + i);
+            for (int j = 0; j < 3; j++) {
+                DefaultMutableTreeNode grandChild = new DefaultMutableTreeNode("Child " + j);
+                for (int k = 0; k < i; k++) {
+                    grandChild.add(new DefaultMutableTreeNode("Leaf " + k));
+                }
+                child.add(grandChild);
+            }
+            root.add(child);
+        }
+        JTree tree = new JTree(root);
+        tree.setRootVisible(rootVisible);
+        tree.setShowsRootHandles(true);
+        tree.setRowHeight(ROW_HEIGHT);
+        tree.setBorder(new EmptyBorder(7, 13, 5, 11));
+        tree.setComponentOrientation(orientation);
+        for (int i = 0; i < tree.getRowCount(); i++) {
+            // Leave some nodes collapsed.
+            if (i % 5 != 3) tree.expandRow(i);
+        }
+        tree.setSelectionRows(new int[] {1, 6, tree.getRowCount() - 1});
+        tree.setSize(tree.getPreferredSize().width + 40, tree.getPreferredSize().height);
+        return tree;
+    }
+
+    private static void assertSameRowBounds(final JTree tree, final String config) {
+        Insets insets = tree.getInsets();
+        for (int row = 0; row < tree.getRowCount(); row++) {
+            Rectangle bounds = tree.getRowBounds(row);
+            Assertions.assertEquals(insets.top + row * ROW_HEIGHT, bounds.y, "row " + row + " " + config);
+            Assertions.assertEquals(ROW_HEIGHT, bounds.height, "row " + row + " " + config);
+        }
+    }
+
+    private static void assertSameHitTests(final JTree tree, final String config) {
+        DarkTreeUI ui = (DarkTreeUI) tree.getUI();
+        int[] xs = {0, tree.getWidth() / 2, tree.getWidth() - 1};
+        for (int y = -7; y < tree.getHeight() + 7; y++) {
+            for (int x : xs) {
+                setFixedLayout(tree, false);
+                int row = ui.getClosestRowForLocation(x, y);
+                TreePath path = tree.getClosestPathForLocation(x, y);
+                TreePath pathAt = tree.getPathForLocation(x, y);
+                setFixedLayout(tree, true);
+                String location = "at " + x + ", " + y + " " + config;
+                Assertions.assertEquals(row, ui.getClosestRowForLocation(x, y), location);
+                Assertions.assertEquals(row, tree.getClosestRowForLocation(x, y), location);
+                Assertions.assertEquals(path, tree.getClosestPathForLocation(x, y), location);
+                Assertions.assertEquals(pathAt, tree.getPathForLocation(x, y), location);
+            }
+        }
+    }
+
+    private static void assertSamePainting(final JTree tree, final String config) {
+        Rectangle[] clips = {
+                new Rectangle(0, 0, tree.getWidth(), tree.getHeight()),
+                new Rectangle(0, 37, tree.getWidth(), 3 * ROW_HEIGHT + 5),
+                new Rectangle(11, 3, 29, tree.getHeight() - 10),
+                new Rectangle(tree.getWidth() - 31, 50, 31, 2 * ROW_HEIGHT)};
+        for (Rectangle clip : clips) {
+            setFixedLayout(tree, false);
+            BufferedImage expected = paint(tree, clip);
+            setFixedLayout(tree, true);
+            BufferedImage actual = paint(tree, clip);
+            for (int y = clip.y; y < clip.y + clip.height; y++) {
+                for (int x = clip.x; x < clip.x + clip.width; x++) {
+                    if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                        Assertions.fail("Pixel at " + x + ", " + y + " differs, clip " + clip + " " + config);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void setFixedLayout(final JTree tree, final boolean fixed) {
+        tree.putClientProperty(DarkTreeUI.KEY_FIXED_ROW_HEIGHT_LAYOUT, fixed);
+        Assertions.assertEquals(fixed, ((DarkTreeUI) tree.getUI()).isFixedRowHeightLayout());
+    }
+
+    private static BufferedImage paint(final JComponent c, final Rectangle clip) {
+        BufferedImage image = new BufferedImage(c.getWidth(), c.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setClip(clip);
+        c.paint(g);
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableNode;
+import com.github.weisj.darklaf.components.treetable.model.LazyTreeTableModel;
+import com.github.weisj.darklaf.components.treetable.model.TreeTableNode;
+
+class LazyTreeTableModelTest {
+
+    private final List<Runnable> pendingLoads = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private final DefaultTreeTableNode root = new DefaultTreeTableNode(null, new Object[] {"root"});
+
+    private LazyTreeTableModel createModel(final LazyTreeTableModel.ChildLoader loader) {
+        LazyTreeTableModel model = new LazyTreeTableModel(root, new String[] {"Name"}, loader, 2, pendingLoads::add);
+        model.addTreeModelListener(new TreeModelListener() {
+            @Override
+            public void treeNodesChanged(final TreeModelEvent e) {
+                events.add("changed" + indices(e));
+            }
+
+            @Override
+            public void treeNodesInserted(final TreeModelEvent e) {
+                events.add("inserted" + indices(e));
+            }
+
+            @Override
+            public void treeNodesRemoved(final TreeModelEvent e) {
+                events.add("removed" + indices(e));
+            }
+
+            @Override
+            public void treeStructureChanged(final TreeModelEvent e) {
+                events.add("structure");
+            }
+        });
+        return model;
+    }
+
+    private static String indices(final TreeModelEvent e) {
+        StringBuilder builder = new StringBuilder();
+        for (int index : e.getChildIndices()) {
+            builder.append(' ').append(index);
+        }
+        return builder.toString();
+    }
+
+    private void loadPendingPages() {
+        while (!pendingLoads.isEmpty()) {
+            pendingLoads.remove(0).run();
+            // Completed pages are delivered on the event dispatch thread.
+            TestUtils.runOnSwingThreadNotThrowing(() -> {});
+        }
+    }
+
+    private static List<TreeTableNode> createPage(final TreeTableNode parent, final int offset, final int limit,
+            final int total) {
+        List<TreeTableNode> page = new ArrayList<>();
+        for (int i = offset; i < Math.min(offset + limit, total); i++) {
+            page.add(new DefaultTreeTableNode(parent, new Object[] {"child" + i}));
+        }
+        return page;
+    }
+
+    @Test
+    void testPagesAreInsertedBeforePlaceholder() {
+        LazyTreeTableModel model = createModel((parent, offset, limit) -> createPage(parent, offset, limit, 3));
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            // Only the placeholder until the first page arrives.
+            Assertions.assertEquals(1, model.getChildCount(root));
+            Assertions.assertTrue(model.isPlaceholder(model.getChild(root, 0)));
+            Assertions.assertTrue(model.isLoading(root));
+            Assertions.assertEquals(1, pendingLoads.size());
+            // Pages aren't requested twice.
+            model.requestNextPage(root);
+            Assertions.assertEquals(1, pendingLoads.size());
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertEquals(3, model.getChildCount(root));
+            Assertions.assertEquals(2, model.getIndexOfChild(root, model.getChild(root, 2)));
+            Assertions.assertTrue(model.isPlaceholder(model.getChild(root, 2)));
+            Assertions.assertFalse(model.isFullyLoaded(root));
+
+            // Displaying the placeholder requests the next page.
+            model.getValueAt(model.getChild(root, 2), 0);
+            Assertions.assertEquals(1, pendingLoads.size());
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertEquals(3, model.getChildCount(root));
+            Assertions.assertEquals("child2", model.getChild(root, 2).toString());
+            Assertions.assertTrue(model.isFullyLoaded(root));
+            Assertions.assertFalse(model.isLeaf(root));
+        });
+        Assertions.assertEquals(Arrays.asList("inserted 0 1", "inserted 2", "removed 3"), events);
+    }
+
+    @Test
+    void testFailureAndReload() {
+        AtomicInteger attempts = new AtomicInteger();
+        LazyTreeTableModel model = createModel((parent, offset, limit) -> {
+            if (attempts.getAndIncrement() == 0) throw new IllegalStateException("Expected failure");
+            return createPage(parent, offset, limit, 1);
+        });
+        TestUtils.runOnSwingThreadNotThrowing(() -> model.getChildCount(root));
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertEquals(Collections.singletonList("changed 0"), events);
+            Assertions.assertFalse(model.isLoading(root));
+            Assertions.assertFalse(model.isFullyLoaded(root));
+            Object placeholder = model.getChild(root, 0);
+            Assertions.assertTrue(model.isPlaceholder(placeholder));
+            Assertions.assertEquals("Failed to load", placeholder.toString());
+
+            // Failed nodes aren't loaded again until they are reloaded.
+            model.getValueAt(placeholder, 0);
+            model.requestNextPage(root);
+            Assertions.assertTrue(pendingLoads.isEmpty());
+
+            events.clear();
+            model.reload(root);
+            Assertions.assertEquals(Collections.singletonList("structure"), events);
+            Assertions.assertEquals(1, model.getChildCount(root));
+            Assertions.assertEquals(1, pendingLoads.size());
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertEquals(2, attempts.get());
+            Assertions.assertTrue(model.isFullyLoaded(root));
+            Assertions.assertEquals(1, model.getChildCount(root));
+            Assertions.assertEquals("child0", model.getChild(root, 0).toString());
+        });
+    }
+
+    @Test
+    void testOutdatedPagesAreDropped() {
+        LazyTreeTableModel model = createModel((parent, offset, limit) -> createPage(parent, offset, limit, 1));
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            model.getChildCount(root);
+            model.reload(root);
+        });
+        // The page requested before reloading arrives after it.
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertEquals(Collections.singletonList("structure"), events);
+            Assertions.assertEquals(1, model.getChildCount(root));
+            Assertions.assertTrue(model.isPlaceholder(model.getChild(root, 0)));
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertTrue(model.isFullyLoaded(root));
+            Assertions.assertEquals("child0", model.getChild(root, 0).toString());
+        });
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Insets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.plaf.ColorUIResource;
+import javax.swing.text.html.HTMLEditorKit;
+import javax.swing.text.html.StyleSheet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.task.DefaultsInitTask;
+import com.github.weisj.darklaf.theme.DarculaTheme;
+
+class ThemePreparationTest {
+
+    @Test
+    void testPreparedInstallationMatchesSynchronousInstallation() throws Exception {
+        Color userColor = new ColorUIResource(Color.RED);
+        // The style sheet is created before user tasks are run. Hence, it mustn't see the changed value.
+        DefaultsInitTask userTask = (currentTheme, defaults) -> defaults.put("textForeground", userColor);
+        TestUtils.runOnSwingThreadNotThrowing(() -> LafManager.registerInitTask(userTask));
+        try {
+            TestUtils.runOnSwingThreadNotThrowing(() -> LafManager.install(new DarculaTheme()));
+            Map<Object, Object> synchronous = copyDefaults();
+            Object synchronousBodyColor = bodyColor();
+
+            LafManager.prepareTheme(new DarculaTheme()).get(30, TimeUnit.SECONDS);
+            TestUtils.runOnSwingThreadNotThrowing(() -> LafManager.install(new DarculaTheme()));
+            Map<Object, Object> prepared = copyDefaults();
+            Assertions.assertEquals(userColor, prepared.get("textForeground"));
+            Assertions.assertEquals(synchronousBodyColor, bodyColor());
+            assertEquivalent(synchronous, prepared);
+
+            LafManager.installThemeAsync(new DarculaTheme()).get(30, TimeUnit.SECONDS);
+            Map<Object, Object> async = copyDefaults();
+            Assertions.assertEquals(synchronousBodyColor, bodyColor());
+            assertEquivalent(synchronous, async);
+        } finally {
+            TestUtils.runOnSwingThreadNotThrowing(() -> LafManager.removeInitTask(userTask));
+        }
+    }
+
+    private static Map<Object, Object> copyDefaults() {
+        Map<Object, Object> copy = new HashMap<>();
+        TestUtils.runOnSwingThreadNotThrowing(() -> copy.putAll(UIManager.getLookAndFeelDefaults()));
+        return copy;
+    }
+
+    private static Object bodyColor() {
+        StyleSheet styleSheet = new HTMLEditorKit().getStyleSheet();
+        return styleSheet.getRule("body").getAttribute(javax.swing.text.html.CSS.Attribute.COLOR).toString();
+    }
+
+    private static void assertEquivalent(final Map<Object, Object> expected, final Map<Object, Object> actual) {
+        Assertions.assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<Object, Object> entry : expected.entrySet()) {
+            Object key = entry.getKey();
+            Object expectedValue = entry.getValue();
+            Object actualValue = actual.get(key);
+            if (isValueType(expectedValue)) {
+                Assertions.assertEquals(expectedValue, actualValue, "Value of " + key);
+            } else if (!isLazy(expectedValue) && !isLazy(actualValue)) {
+                Assertions.assertEquals(classOf(expectedValue), classOf(actualValue), "Type of " + key);
+            }
+        }
+    }
+
+    private static boolean isValueType(final Object value) {
+        return value instanceof Color || value instanceof Font || value instanceof Insets
+                || value instanceof Dimension || value instanceof String || value instanceof Number
+                || value instanceof Boolean || value instanceof Character;
+    }
+
+    private static boolean isLazy(final Object value) {
+        return value instanceof UIDefaults.LazyValue || value instanceof UIDefaults.ActiveValue;
+    }
+
+    private static Class<?> classOf(final Object value) {
+        return Objects.isNull(value) ? null : value.getClass();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import javax.swing.tree.TreePath;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.treetable.TreeTableModelAdapter;
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableNode;
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableSelectionModel;
+import com.github.weisj.darklaf.components.treetable.model.LazyTreeTableModel;
+import com.github.weisj.darklaf.components.treetable.model.TreeTableNode;
+
+class TreeTableModelAdapterTest {
+
+    private final List<Runnable> pendingLoads = new ArrayList<>();
+    private final List<TableModelEvent> events = new ArrayList<>();
+    private DefaultTreeTableNode root;
+    private DefaultTreeTableNode lazy;
+    private DefaultTreeTableNode leaf;
+    private LazyTreeTableModel model;
+    private JTree tree;
+    private JTable table;
+    private TreeTableModelAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        root = new DefaultTreeTableNode(null, new Object[] {"root"});
+        lazy = new DefaultTreeTableNode(root, new Object[] {"lazy"});
+        leaf = new DefaultTreeTableNode(root, new Object[] {"leaf"});
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            model = new LazyTreeTableModel(root, new String[] {"Name"}, this::loadChildren, 2, pendingLoads::add);
+            tree = new JTree(model);
+            DefaultTreeTableSelectionModel selectionModel = new DefaultTreeTableSelectionModel(tree);
+            tree.setSelectionModel(selectionModel);
+            adapter = new TreeTableModelAdapter(model, tree);
+            table = new JTable(adapter);
+            table.setSelectionModel(selectionModel);
+            tree.expandRow(0);
+        });
+        loadPendingPages();
+        // The first page of the root is full. The second page is empty and removes the placeholder.
+        TestUtils.runOnSwingThreadNotThrowing(() -> model.requestNextPage(root));
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> adapter.addTableModelListener(events::add));
+    }
+
+    private List<? extends TreeTableNode> loadChildren(final TreeTableNode parent, final int offset,
+            final int limit) {
+        if (parent == root) return offset == 0 ? listOf(lazy, leaf) : Collections.emptyList();
+        if (parent == leaf) return Collections.emptyList();
+        List<TreeTableNode> page = new ArrayList<>();
+        for (int i = offset; i < Math.min(offset + limit, 5); i++) {
+            page.add(new DefaultTreeTableNode(parent, new Object[] {"child" + i}) {
+                @Override
+                public boolean getAllowsChildren() {
+                    return false;
+                }
+            });
+        }
+        return page;
+    }
+
+    private static List<TreeTableNode> listOf(final TreeTableNode... nodes) {
+        List<TreeTableNode> list = new ArrayList<>();
+        Collections.addAll(list, nodes);
+        return list;
+    }
+
+    private void loadPendingPages() {
+        while (!pendingLoads.isEmpty()) {
+            pendingLoads.remove(0).run();
+            // Completed pages are delivered on the event dispatch thread.
+            TestUtils.runOnSwingThreadNotThrowing(() -> {});
+        }
+    }
+
+    @Test
+    void testPagedInsertion() {
+        TreePath leafPath = new TreePath(new Object[] {root, leaf});
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertEquals(3, tree.getRowCount());
+            tree.setSelectionPath(leafPath);
+            tree.expandRow(1);
+            // Only the placeholder is shown.
+            assertEvent(TableModelEvent.INSERT, 2, 2);
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            // The first page is inserted in front of the placeholder.
+            assertEvent(TableModelEvent.INSERT, 2, 3);
+            Assertions.assertEquals(6, tree.getRowCount());
+            Assertions.assertEquals(tree.getRowCount(), adapter.getRowCount());
+            assertSelection(leafPath);
+
+            model.requestNextPage(lazy);
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            assertEvent(TableModelEvent.INSERT, 4, 5);
+            assertSelection(leafPath);
+            model.requestNextPage(lazy);
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            // The last page is incomplete and the placeholder is removed.
+            assertEvent(TableModelEvent.INSERT, 6, 6);
+            assertEvent(TableModelEvent.DELETE, 7, 7);
+            Assertions.assertTrue(model.isFullyLoaded(lazy));
+            Assertions.assertEquals(8, tree.getRowCount());
+            Assertions.assertEquals(tree.getRowCount(), adapter.getRowCount());
+            Assertions.assertEquals("child4", adapter.getValueAt(6, 0).toString());
+            assertSelection(leafPath);
+            Assertions.assertTrue(events.isEmpty());
+        });
+    }
+
+    @Test
+    void testExpansionRowRanges() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> tree.expandRow(1));
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            events.clear();
+            TreePath leafPath = new TreePath(new Object[] {root, leaf});
+            tree.setSelectionPath(leafPath);
+
+            // Two children and the placeholder.
+            tree.collapseRow(1);
+            assertEvent(TableModelEvent.DELETE, 2, 4);
+            Assertions.assertEquals(tree.getRowCount(), adapter.getRowCount());
+            assertSelection(leafPath);
+
+            tree.expandRow(1);
+            assertEvent(TableModelEvent.INSERT, 2, 4);
+            Assertions.assertEquals(tree.getRowCount(), adapter.getRowCount());
+            assertSelection(leafPath);
+
+            tree.collapseRow(0);
+            assertEvent(TableModelEvent.DELETE, 1, 5);
+            Assertions.assertEquals(1, adapter.getRowCount());
+            Assertions.assertTrue(events.isEmpty());
+        });
+    }
+
+    @Test
+    void testSelectionIsKeptOnModelChange() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> tree.expandRow(1));
+        loadPendingPages();
+        TreePath firstChild = new TreePath(new Object[] {root, lazy, model.getChild(lazy, 0)});
+        TreePath leafPath = new TreePath(new Object[] {root, leaf});
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            tree.setSelectionPaths(new TreePath[] {firstChild, leafPath});
+            tree.setLeadSelectionPath(leafPath);
+            model.requestNextPage(lazy);
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertEquals(2, tree.getSelectionCount());
+            Assertions.assertTrue(tree.isPathSelected(firstChild));
+            Assertions.assertEquals(leafPath, tree.getLeadSelectionPath());
+            Assertions.assertArrayEquals(new int[] {tree.getRowForPath(firstChild), tree.getRowForPath(leafPath)},
+                    table.getSelectedRows());
+
+            // Select the placeholder, which is removed once the last page has been loaded.
+            tree.setSelectionRow(6);
+            Assertions.assertTrue(model.isPlaceholder(tree.getLeadSelectionPath().getLastPathComponent()));
+            model.requestNextPage(lazy);
+        });
+        loadPendingPages();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertTrue(model.isFullyLoaded(lazy));
+            Assertions.assertEquals(0, tree.getSelectionCount());
+            Assertions.assertEquals(-1, table.getSelectedRow());
+        });
+    }
+
+    private void assertSelection(final TreePath path) {
+        Assertions.assertEquals(path, tree.getLeadSelectionPath());
+        Assertions.assertEquals(1, tree.getSelectionCount());
+        Assertions.assertEquals(tree.getRowForPath(path), table.getSelectedRow());
+        Assertions.assertEquals(tree.getRowForPath(path), tree.getLeadSelectionRow());
+    }
+
+    private void assertEvent(final int type, final int firstRow, final int lastRow) {
+        Assertions.assertFalse(events.isEmpty(), "Expected an event");
+        TableModelEvent e = events.remove(0);
+        Assertions.assertEquals(type, e.getType());
+        Assertions.assertEquals(firstRow, e.getFirstRow());
+        Assertions.assertEquals(lastRow, e.getLastRow());
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AnimationRepaintCoordinatorTest {
+
+    @AfterEach
+    void reset() {
+        AnimationRepaintCoordinator.setPaintImmediatelyAllowed(true);
+    }
+
+    @Test
+    void testRegionsAreMergedPerComponent() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            RecordingComponent first = new RecordingComponent();
+            RecordingComponent second = new RecordingComponent();
+            AnimationRepaintCoordinator.beginFrame();
+            AnimationRepaintCoordinator.paintImmediately(first, 0, 0, 5, 5);
+            AnimationRepaintCoordinator.paintImmediately(first, 2, 0, 5, 5);
+            AnimationRepaintCoordinator.paintImmediately(first, 0, 5, 7, 5);
+            AnimationRepaintCoordinator.paintImmediately(second, 2, 2, 4, 4);
+            AnimationRepaintCoordinator.repaint(first, 20, 20, 2, 2);
+            AnimationRepaintCoordinator.repaint(first, 30, 30, 2, 2);
+            Assertions.assertTrue(first.painted.isEmpty());
+            Assertions.assertTrue(first.repainted.isEmpty());
+            AnimationRepaintCoordinator.endFrame();
+
+            Assertions.assertEquals(1, first.painted.size());
+            Assertions.assertEquals(new Rectangle(0, 0, 7, 10), first.painted.get(0));
+            Assertions.assertEquals(1, second.painted.size());
+            Assertions.assertEquals(new Rectangle(2, 2, 4, 4), second.painted.get(0));
+            Assertions.assertEquals(1, first.repainted.size());
+            Assertions.assertEquals(new Rectangle(20, 20, 12, 12), first.repainted.get(0));
+            Assertions.assertTrue(second.repainted.isEmpty());
+        });
+    }
+
+    @Test
+    void testScatteredRegionsAreNotMerged() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            RecordingComponent c = new RecordingComponent();
+            AnimationRepaintCoordinator.beginFrame();
+            AnimationRepaintCoordinator.paintImmediately(c, 0, 0, 5, 5);
+            AnimationRepaintCoordinator.paintImmediately(c, 100, 100, 5, 5);
+            AnimationRepaintCoordinator.endFrame();
+            Assertions.assertEquals(2, c.painted.size());
+            Assertions.assertEquals(new Rectangle(0, 0, 5, 5), c.painted.get(0));
+            Assertions.assertEquals(new Rectangle(100, 100, 5, 5), c.painted.get(1));
+
+            c.painted.clear();
+            AnimationRepaintCoordinator.beginFrame();
+            for (int i = 0; i < 9; i++) {
+                AnimationRepaintCoordinator.paintImmediately(c, 10 * i, 0, 2, 2);
+            }
+            AnimationRepaintCoordinator.endFrame();
+            Assertions.assertEquals(1, c.painted.size());
+            Assertions.assertEquals(new Rectangle(0, 0, 82, 2), c.painted.get(0));
+        });
+    }
+
+    @Test
+    void testRegionsArePaintedOncePerRoot() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            RecordingComponent root = new RecordingComponent();
+            JComponent parent = new JPanel(null);
+            RecordingComponent first = new RecordingComponent();
+            RecordingComponent second = new RecordingComponent();
+            root.add(parent);
+            parent.add(first);
+            parent.add(second);
+            parent.setBounds(10, 10, 100, 100);
+            first.setBounds(0, 0, 20, 20);
+            second.setBounds(20, 0, 20, 20);
+
+            AnimationRepaintCoordinator.beginFrame();
+            AnimationRepaintCoordinator.paintImmediately(first, 0, 0, 20, 20);
+            AnimationRepaintCoordinator.paintImmediately(second, 0, 0, 20, 20);
+            AnimationRepaintCoordinator.endFrame();
+
+            Assertions.assertTrue(first.painted.isEmpty());
+            Assertions.assertTrue(second.painted.isEmpty());
+            Assertions.assertEquals(1, root.painted.size());
+            Assertions.assertEquals(new Rectangle(10, 10, 40, 20), root.painted.get(0));
+        });
+    }
+
+    @Test
+    void testPaintImmediatelyOptOut() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            AnimationRepaintCoordinator.setPaintImmediatelyAllowed(false);
+            RecordingComponent c = new RecordingComponent();
+            AnimationRepaintCoordinator.beginFrame();
+            AnimationRepaintCoordinator.paintImmediately(c, 0, 0, 5, 5);
+            AnimationRepaintCoordinator.paintImmediately(c, 5, 5, 5, 5);
+            AnimationRepaintCoordinator.endFrame();
+            Assertions.assertTrue(c.painted.isEmpty());
+            Assertions.assertEquals(1, c.repainted.size());
+            Assertions.assertEquals(new Rectangle(0, 0, 10, 10), c.repainted.get(0));
+
+            // Outside of a frame requests are passed on directly.
+            AnimationRepaintCoordinator.paintImmediately(c, 1, 1, 2, 2);
+            Assertions.assertTrue(c.painted.isEmpty());
+            Assertions.assertEquals(2, c.repainted.size());
+        });
+    }
+
+    @Test
+    void testRegionsAreClearedIfPaintingFails() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            RecordingComponent failing = new RecordingComponent() {
+                @Override
+                public void paintImmediately(final int x, final int y, final int w, final int h) {
+                    throw new IllegalStateException("paint failed");
+                }
+            };
+            RecordingComponent c = new RecordingComponent();
+            AnimationRepaintCoordinator.beginFrame();
+            AnimationRepaintCoordinator.paintImmediately(failing, 0, 0, 5, 5);
+            AnimationRepaintCoordinator.repaint(c, 0, 0, 5, 5);
+            Assertions.assertThrows(IllegalStateException.class, AnimationRepaintCoordinator::endFrame);
+            Assertions.assertEquals(1, c.repainted.size());
+
+            AnimationRepaintCoordinator.beginFrame();
+            AnimationRepaintCoordinator.paintImmediately(c, 0, 0, 5, 5);
+            AnimationRepaintCoordinator.endFrame();
+            Assertions.assertEquals(1, c.painted.size());
+            Assertions.assertEquals(1, c.repainted.size());
+        });
+    }
+
+    private static class RecordingComponent extends JComponent {
+        private final List<Rectangle> painted = new ArrayList<>();
+        private final List<Rectangle> repainted = new ArrayList<>();
+
+        @Override
+        public void paintImmediately(final int x, final int y, final int w, final int h) {
+            painted.add(new Rectangle(x, y, w, h));
+        }
+
+        @Override
+        public void repaint(final long tm, final int x, final int y, final int width, final int height) {
+            repainted.add(new Rectangle(x, y, width, height));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AnimationVisibilityTrackerTest {
+
+    @Test
+    void testResizeIsNoticed() throws Exception {
+        AtomicInteger changes = new AtomicInteger();
+        AnimationVisibilityTracker tracker = new AnimationVisibilityTracker(changes::incrementAndGet);
+        JComponent target = new JPanel();
+        JPanel content = new JPanel(null);
+        content.add(target);
+        JScrollPane scrollPane = new JScrollPane(content);
+        JViewport viewport = scrollPane.getViewport();
+
+        SwingUtilities.invokeAndWait(() -> tracker.track(target));
+        int initial = changes.get();
+
+        // The target grows out of an empty size.
+        SwingUtilities.invokeAndWait(() -> target.setSize(20, 20));
+        SwingUtilities.invokeAndWait(() -> {});
+        Assertions.assertTrue(changes.get() > initial);
+
+        // The viewport grows and reveals the target.
+        int beforeViewport = changes.get();
+        SwingUtilities.invokeAndWait(() -> viewport.setSize(100, 100));
+        SwingUtilities.invokeAndWait(() -> {});
+        Assertions.assertTrue(changes.get() > beforeViewport);
+
+        // Moving the target out of the scroll pane stops listening to the old viewport.
+        JPanel other = new JPanel(null);
+        SwingUtilities.invokeAndWait(() -> other.add(target));
+        int afterMove = changes.get();
+        SwingUtilities.invokeAndWait(() -> viewport.setSize(50, 50));
+        SwingUtilities.invokeAndWait(() -> {});
+        Assertions.assertEquals(afterMove, changes.get());
+
+        SwingUtilities.invokeAndWait(tracker::untrack);
+        SwingUtilities.invokeAndWait(() -> target.setSize(40, 40));
+        SwingUtilities.invokeAndWait(() -> {});
+        Assertions.assertEquals(afterMove, changes.get());
+    }
+}
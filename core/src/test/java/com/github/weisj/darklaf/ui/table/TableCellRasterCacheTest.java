@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.table;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+
+class TableCellRasterCacheTest {
+
+    private static final int ROWS = 4;
+    private static final int COLUMNS = 3;
+
+    private DefaultTableModel model;
+    private JTable table;
+    private TableCellRasterCache cache;
+
+    @BeforeEach
+    void setup() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            if (!LafManager.isInstalled()) LafManager.install(new IntelliJTheme());
+            model = new DefaultTableModel(ROWS, COLUMNS);
+            for (int row = 0; row < ROWS; row++) {
+                for (int column = 0; column < COLUMNS; column++) {
+                    model.setValueAt(row + ":" + column, row, column);
+                }
+            }
+            table = new JTable(model);
+            table.setSize(300, ROWS * table.getRowHeight());
+            table.doLayout();
+            cache = new TableCellRasterCache(table, (DarkTableUI) table.getUI());
+            cache.install();
+        });
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        SwingUtilities.invokeAndWait(() -> cache.uninstall());
+    }
+
+    @Test
+    void testCellsAreReusedAcrossRepaints() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            paintTable();
+            Assertions.assertEquals(0, cache.getHitCount());
+            Assertions.assertEquals(ROWS * COLUMNS, cache.getMissCount());
+            Assertions.assertEquals(ROWS * COLUMNS, cache.size());
+
+            paintTable();
+            Assertions.assertEquals(ROWS * COLUMNS, cache.getHitCount());
+            Assertions.assertEquals(ROWS * COLUMNS, cache.getMissCount());
+        });
+    }
+
+    @Test
+    void testUpdatedCellIsInvalidated() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            paintTable();
+            model.setValueAt("changed", 1, 2);
+            Assertions.assertEquals(ROWS * COLUMNS - 1, cache.size());
+
+            long hits = cache.getHitCount();
+            long misses = cache.getMissCount();
+            paintTable();
+            Assertions.assertEquals(misses + 1, cache.getMissCount());
+            Assertions.assertEquals(hits + ROWS * COLUMNS - 1, cache.getHitCount());
+        });
+    }
+
+    @Test
+    void testInsertClearsCache() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            paintTable();
+            model.insertRow(0, new Object[] {"a", "b", "c"});
+            Assertions.assertEquals(0, cache.size());
+        });
+    }
+
+    @Test
+    void testSortClearsCache() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            table.setAutoCreateRowSorter(true);
+            paintTable();
+            Assertions.assertEquals(ROWS * COLUMNS, cache.size());
+            table.getRowSorter().toggleSortOrder(0);
+            Assertions.assertEquals(0, cache.size());
+
+            paintTable();
+            Assertions.assertEquals(ROWS * COLUMNS, cache.size());
+            table.getRowSorter().toggleSortOrder(0);
+            Assertions.assertEquals(0, cache.size());
+        });
+    }
+
+    private void paintTable() {
+        BufferedImage image = new BufferedImage(table.getWidth(), table.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        for (int row = 0; row < table.getRowCount(); row++) {
+            for (int column = 0; column < table.getColumnCount(); column++) {
+                Rectangle r = table.getCellRect(row, column, false);
+                cache.paintCell(g, row, column, r.x, r.y, r.width, r.height);
+            }
+        }
+        g.dispose();
+    }
+}
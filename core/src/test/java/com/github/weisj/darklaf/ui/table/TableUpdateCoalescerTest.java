@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.table;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import javax.swing.*;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.graphics.AnimationRepaintCoordinator;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+
+class TableUpdateCoalescerTest {
+
+    private DefaultTableModel model;
+    private RecordingTable table;
+
+    @BeforeEach
+    void setup() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            if (!LafManager.isInstalled()) LafManager.install(new IntelliJTheme());
+            model = new DefaultTableModel(10, 3);
+            table = new RecordingTable(model);
+            table.setSize(300, 10 * table.getRowHeight());
+            table.doLayout();
+        });
+    }
+
+    @AfterEach
+    void reset() {
+        AnimationRepaintCoordinator.setPaintImmediatelyAllowed(true);
+    }
+
+    @Test
+    void testDisabledByDefault() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            DarkTableUI ui = (DarkTableUI) table.getUI();
+            Assertions.assertNull(ui.getUpdateCoalescer());
+            Assertions.assertTrue(isListening(table));
+
+            table.putClientProperty(TableConstants.KEY_COALESCE_UPDATES, true);
+            TableUpdateCoalescer coalescer = ui.getUpdateCoalescer();
+            Assertions.assertNotNull(coalescer);
+            Assertions.assertFalse(isListening(table));
+            Assertions.assertTrue(isListening(coalescer));
+
+            table.putClientProperty(TableConstants.KEY_COALESCE_UPDATES, false);
+            Assertions.assertNull(ui.getUpdateCoalescer());
+            Assertions.assertTrue(isListening(table));
+            Assertions.assertFalse(isListening(coalescer));
+        });
+    }
+
+    @Test
+    void testSpansAreMerged() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            TableUpdateCoalescer coalescer = enableCoalescer();
+            // Adjacent rows of the same column form a single span.
+            model.setValueAt("a", 0, 0);
+            model.setValueAt("b", 2, 0);
+            model.setValueAt("c", 1, 0);
+            // Not adjacent to the first span.
+            model.setValueAt("d", 0, 2);
+            // A cell of an updated row is contained in the span of the row.
+            model.fireTableRowsUpdated(5, 5);
+            model.setValueAt("e", 5, 1);
+            // Updates of unknown columns are ignored.
+            model.fireTableCellUpdated(7, 5);
+            // Structural changes are passed on.
+            model.fireTableStructureChanged();
+            model.setValueAt("f", 8, 1);
+
+            Assertions.assertEquals(9, coalescer.getEventCount());
+            Assertions.assertEquals(8, coalescer.getCoalescedEventCount());
+            // Pending spans are painted before the structure change is passed on.
+            Assertions.assertEquals(3, coalescer.getPaintCount());
+
+            table.putClientProperty(TableConstants.KEY_COALESCE_UPDATES, false);
+            Assertions.assertEquals(4, coalescer.getPaintCount());
+
+            coalescer.resetStatistics();
+            Assertions.assertEquals(0, coalescer.getEventCount());
+            Assertions.assertEquals(0, coalescer.getCoalescedEventCount());
+            Assertions.assertEquals(0, coalescer.getPaintCount());
+        });
+    }
+
+    @Test
+    void testSpansArePaintedInFrame() throws Exception {
+        AtomicReference<TableUpdateCoalescer> coalescer = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            table.showing = true;
+            coalescer.set(enableCoalescer());
+            model.setValueAt("a", 0, 0);
+            model.setValueAt("b", 9, 1);
+            Assertions.assertTrue(table.painted.isEmpty());
+        });
+        awaitFrame(() -> !table.painted.isEmpty());
+        SwingUtilities.invokeAndWait(() -> {
+            Assertions.assertEquals(2, coalescer.get().getPaintCount());
+            // The spans are far apart and hence painted separately.
+            Assertions.assertEquals(Arrays.asList(table.getCellRect(0, 0, true), table.getCellRect(9, 1, true)),
+                    table.painted);
+            Assertions.assertTrue(table.repainted.isEmpty());
+        });
+    }
+
+    @Test
+    void testPendingSpansAreRepaintedBeforeStructureChange() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            table.showing = true;
+            TableUpdateCoalescer coalescer = enableCoalescer();
+            model.setValueAt("a", 0, 0);
+            model.setValueAt("b", 4, 1);
+            List<Rectangle> expected = Arrays.asList(table.getCellRect(0, 0, true), table.getCellRect(4, 1, true));
+            model.fireTableStructureChanged();
+            Assertions.assertEquals(2, coalescer.getPaintCount());
+            Assertions.assertTrue(table.painted.isEmpty());
+            Assertions.assertEquals(expected, table.repainted.subList(0, 2));
+
+            table.repainted.clear();
+            model.setValueAt("c", 2, 1);
+            table.putClientProperty(TableConstants.KEY_COALESCE_UPDATES, false);
+            Assertions.assertTrue(table.painted.isEmpty());
+            Assertions.assertEquals(Collections.singletonList(table.getCellRect(2, 1, true)), table.repainted);
+        });
+    }
+
+    @Test
+    void testPaintImmediatelyOptOut() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            AnimationRepaintCoordinator.setPaintImmediatelyAllowed(false);
+            table.showing = true;
+            enableCoalescer();
+            model.setValueAt("a", 3, 1);
+        });
+        awaitFrame(() -> !table.repainted.isEmpty());
+        SwingUtilities.invokeAndWait(() -> {
+            Assertions.assertTrue(table.painted.isEmpty());
+            Assertions.assertEquals(Collections.singletonList(table.getCellRect(3, 1, true)), table.repainted);
+        });
+    }
+
+    private void awaitFrame(final BooleanSupplier condition) throws Exception {
+        AtomicBoolean done = new AtomicBoolean();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!done.get()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "No frame has been dispatched");
+            Thread.sleep(10);
+            SwingUtilities.invokeAndWait(() -> done.set(condition.getAsBoolean()));
+        }
+    }
+
+    private TableUpdateCoalescer enableCoalescer() {
+        table.putClientProperty(TableConstants.KEY_COALESCE_UPDATES, true);
+        TableUpdateCoalescer coalescer = ((DarkTableUI) table.getUI()).getUpdateCoalescer();
+        coalescer.resetStatistics();
+        table.painted.clear();
+        table.repainted.clear();
+        return coalescer;
+    }
+
+    private boolean isListening(final TableModelListener listener) {
+        return Arrays.asList(model.getTableModelListeners()).contains(listener);
+    }
+
+    private static class RecordingTable extends JTable {
+        private final List<Rectangle> painted = new ArrayList<>();
+        private final List<Rectangle> repainted = new ArrayList<>();
+        private boolean showing;
+
+        private RecordingTable(final DefaultTableModel model) {
+            super(model);
+        }
+
+        @Override
+        public boolean isShowing() {
+            return showing;
+        }
+
+        @Override
+        public void paintImmediately(final int x, final int y, final int w, final int h) {
+            // The lists aren't initialized yet while the super constructor is running.
+            if (painted != null) painted.add(new Rectangle(x, y, w, h));
+        }
+
+        @Override
+        public void repaint(final long tm, final int x, final int y, final int width, final int height) {
+            if (repainted != null) repainted.add(new Rectangle(x, y, width, height));
+        }
+    }
+}
@@ -50,3 +50,12 @@ val generateIconAccessor by tasks.registering {
 tasks.compileJava.configure {
     dependsOn(generateIconAccessor)
 }
+
+val compileSvgIcons by tasks.registering(CompileSvgIconsTask::class) {
+    sourceDir.set(layout.projectDirectory.dir("src/main/resources"))
+    outputDir.set(layout.buildDirectory.dir("generated/compiledIcons"))
+}
+
+sourceSets.main {
+    resources.srcDir(compileSvgIcons)
+}
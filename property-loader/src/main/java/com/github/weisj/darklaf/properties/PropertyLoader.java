@@ -46,6 +46,8 @@ public final class PropertyLoader {
 
     private static final char REFERENCE_PREFIX = '%';
 
+    private static final ThreadLocal<PropertySnapshot.Recorder> recorder = new ThreadLocal<>();
+
     public static Properties loadProperties(final Class<?> clazz, final String name, final String path) {
         final Properties properties = new Properties();
         String p = path + name + ".properties";
@@ -71,19 +73,32 @@ public final class PropertyLoader {
             final Map<Object, Object> accumulator, final UIDefaults currentDefaults, final IconResolver iconResolver) {
         ParserContext context = new ParserContext(accumulator, currentDefaults, iconResolver);
         for (final String key : keys) {
-            final String value = properties.get(key).toString();
-            ParseResult parseResult = Parser.parse(Parser.createParseResult(key, value), context);
-            if (parseResult.finished) {
-                Object result = parseResult.result;
-                if (result != null) {
-                    if (Parser.isDebugMode()) {
-                        accumulator.put(parseResult.key, parseResult);
-                    } else {
-                        accumulator.put(parseResult.key, result);
-                    }
+            putProperty(key, properties.get(key).toString(), context);
+        }
+    }
+
+    static void putProperty(final String key, final String value, final ParserContext context) {
+        commitProperty(key, value, parseProperty(key, value, context), context);
+    }
+
+    static ParseResult parseProperty(final String key, final String value, final ParserContext context) {
+        return Parser.parse(Parser.createParseResult(key, value), context);
+    }
+
+    static void commitProperty(final String key, final String value, final ParseResult parseResult,
+            final ParserContext context) {
+        if (parseResult.finished) {
+            Object result = parseResult.result;
+            PropertySnapshot.Recorder currentRecorder = recorder.get();
+            if (currentRecorder != null) currentRecorder.record(key, value, parseResult.key, result);
+            if (result != null) {
+                if (Parser.isDebugMode()) {
+                    context.accumulator.put(parseResult.key, parseResult);
                 } else {
-                    currentDefaults.remove(parseResult.key);
+                    context.accumulator.put(parseResult.key, result);
                 }
+            } else {
+                context.defaults.remove(parseResult.key);
             }
         }
     }
@@ -112,6 +127,14 @@ public final class PropertyLoader {
                 .forEach(e -> Optional.ofNullable(mapper.apply((Map.Entry<Object, T>) e)).ifPresent(e::setValue));
     }
 
+    static void setRecorder(final PropertySnapshot.Recorder recorder) {
+        if (recorder != null) {
+            PropertyLoader.recorder.set(recorder);
+        } else {
+            PropertyLoader.recorder.remove();
+        }
+    }
+
     public static String getReferencePrefix() {
         return String.valueOf(REFERENCE_PREFIX);
     }
@@ -0,0 +1,361 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.darklaf.properties.icons.IconResolver;
+import com.github.weisj.darklaf.properties.icons.UIAwareIcon;
+import com.github.weisj.darklaf.properties.parser.Delimiters;
+import com.github.weisj.darklaf.properties.parser.FallbackParser;
+import com.github.weisj.darklaf.properties.parser.ParseResult;
+import com.github.weisj.darklaf.properties.parser.ParserContext;
+import com.github.weisj.darklaf.properties.parser.PrimitiveParser;
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Resolves the properties of multiple sources at once. Instead of parsing each source in order, a
+ * dependency graph of all declarations is built from the references between them. Each key is then
+ * parsed exactly once after all keys it references have been resolved. Hence, the order of
+ * declarations doesn't matter, which allows for forward references.
+ *
+ * <p>
+ * Sources added later override the declarations of earlier sources. Overridden declarations are
+ * never parsed unless they are needed by a fallback declaration (i.e. {@code key = ?:value}) of a
+ * later source.
+ *
+ * <p>
+ * Resolving can optionally be done in parallel. Declarations are grouped into levels such that each
+ * declaration only references declarations of lower levels. All declarations of one level are parsed
+ * concurrently and then put into the accumulator in the same order the sequential resolution would
+ * use. The result is therefore independent of the number of threads.
+ *
+ * @author Jannis Weis
+ */
+public class PropertyResolver {
+
+    private static final Logger LOGGER = LogUtil.getLogger(PropertyResolver.class);
+    private static final char REFERENCE_PREFIX = PropertyLoader.getReferencePrefix().charAt(0);
+    private static final int PARSE_BATCH_SIZE = 32;
+
+    private final Map<String, Declaration> declarations = new LinkedHashMap<>();
+
+    /**
+     * Adds all properties of the given source.
+     *
+     * @param properties the properties to add.
+     * @return this resolver.
+     */
+    public PropertyResolver addProperties(final Properties properties) {
+        return addProperties(properties, properties.stringPropertyNames());
+    }
+
+    /**
+     * Adds the properties with the given keys.
+     *
+     * @param properties the properties to add.
+     * @param keys the keys of the properties to add.
+     * @return this resolver.
+     */
+    public PropertyResolver addProperties(final Map<Object, Object> properties, final Set<String> keys) {
+        for (String declaredKey : keys) {
+            String key = resolvedKey(declaredKey);
+            Declaration previous = declarations.remove(key);
+            declarations.put(key, new Declaration(declaredKey, properties.get(declaredKey).toString(), previous));
+        }
+        return this;
+    }
+
+    /**
+     * Parses all added properties into the accumulator.
+     *
+     * @param accumulator the map to put the parsed values into.
+     * @param currentDefaults the current ui defaults.
+     * @param iconResolver the icon resolver.
+     */
+    public void resolve(final Map<Object, Object> accumulator, final UIDefaults currentDefaults,
+            final IconResolver iconResolver) {
+        ParserContext context = new ParserContext(accumulator, currentDefaults, iconResolver);
+        Deque<String> path = new ArrayDeque<>();
+        for (Map.Entry<String, Declaration> entry : declarations.entrySet()) {
+            resolve(entry.getKey(), entry.getValue(), context, path);
+        }
+        declarations.clear();
+    }
+
+    /**
+     * Parses all added properties into the accumulator. If a pool is given independent declarations are
+     * parsed concurrently on it. Values are only put into the accumulator by the calling thread.
+     *
+     * @param accumulator the map to put the parsed values into. Has to support concurrent reads.
+     * @param currentDefaults the current ui defaults.
+     * @param iconResolver the icon resolver. Access to it is serialized.
+     * @param pool the pool to parse the declarations on or null if they should be parsed sequentially.
+     */
+    public void resolve(final Map<Object, Object> accumulator, final UIDefaults currentDefaults,
+            final IconResolver iconResolver, @Nullable final ForkJoinPool pool) {
+        if (pool == null) {
+            resolve(accumulator, currentDefaults, iconResolver);
+            return;
+        }
+        ParserContext context =
+                new ParserContext(accumulator, currentDefaults, new SynchronizedIconResolver(iconResolver));
+        List<List<Declaration>> levels = new ArrayList<>();
+        Deque<String> path = new ArrayDeque<>();
+        for (Map.Entry<String, Declaration> entry : declarations.entrySet()) {
+            schedule(entry.getKey(), entry.getValue(), levels, path);
+        }
+        for (List<Declaration> level : levels) {
+            ParseResult[] results = new ParseResult[level.size()];
+            pool.invoke(new ParseTask(level, results, context, 0, results.length));
+            for (int i = 0; i < results.length; i++) {
+                Declaration effective = level.get(i).effectiveDeclaration();
+                PropertyLoader.commitProperty(effective.declaredKey, effective.value, results[i], context);
+            }
+        }
+        declarations.clear();
+    }
+
+    /*
+     * Assigns the declaration to the lowest level above all levels of the declarations it references.
+     * Within a level declarations are ordered the same way #resolve would parse them.
+     */
+    private int schedule(final String key, final Declaration declaration, final List<List<Declaration>> levels,
+            final Deque<String> path) {
+        if (declaration.state == State.RESOLVED) return declaration.level;
+        if (declaration.state == State.RESOLVING) {
+            reportCycle(key, path);
+            return -1;
+        }
+        declaration.state = State.RESOLVING;
+        path.addLast(key);
+        int level = 0;
+        for (String reference : references(declaration.effectiveDeclaration().value)) {
+            if (reference.equals(key)) continue;
+            Declaration dependency = declarations.get(reference);
+            if (dependency != null) level = Math.max(level, schedule(reference, dependency, levels, path) + 1);
+        }
+        while (levels.size() <= level) {
+            levels.add(new ArrayList<>());
+        }
+        levels.get(level).add(declaration);
+        declaration.level = level;
+        path.removeLast();
+        declaration.state = State.RESOLVED;
+        return level;
+    }
+
+    private void resolve(final String key, final Declaration declaration, final ParserContext context,
+            final Deque<String> path) {
+        if (declaration.state == State.RESOLVED) return;
+        if (declaration.state == State.RESOLVING) {
+            reportCycle(key, path);
+            return;
+        }
+        declaration.state = State.RESOLVING;
+        path.addLast(key);
+        Declaration effective = declaration.effectiveDeclaration();
+        for (String reference : references(effective.value)) {
+            // Self references refer to the value of the current defaults.
+            if (reference.equals(key)) continue;
+            Declaration dependency = declarations.get(reference);
+            if (dependency != null) resolve(reference, dependency, context, path);
+        }
+        PropertyLoader.putProperty(effective.declaredKey, effective.value, context);
+        path.removeLast();
+        declaration.state = State.RESOLVED;
+    }
+
+    private void reportCycle(final String key, final Deque<String> path) {
+        StringBuilder cycle = new StringBuilder();
+        boolean inCycle = false;
+        for (String k : path) {
+            if (k.equals(key)) inCycle = true;
+            if (inCycle) cycle.append(k).append(" -> ");
+        }
+        cycle.append(key);
+        LOGGER.warning("Cyclic reference detected: " + cycle + ". Reference can't be resolved.");
+    }
+
+    private static String resolvedKey(final String declaredKey) {
+        if (!declaredKey.isEmpty() && declaredKey.charAt(0) == REFERENCE_PREFIX) {
+            return declaredKey.substring(1);
+        }
+        return declaredKey;
+    }
+
+    static List<String> references(final String value) {
+        List<String> references = null;
+        int length = value.length();
+        boolean inString = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == PrimitiveParser.STRING_DELIMITER) {
+                inString = !inString;
+            } else if (c == REFERENCE_PREFIX && !inString) {
+                int end = i + 1;
+                while (end < length && !isReferenceEnd(value.charAt(end))) {
+                    end++;
+                }
+                if (end > i + 1) {
+                    if (references == null) references = new ArrayList<>(2);
+                    references.add(value.substring(i + 1, end));
+                }
+                i = end - 1;
+            }
+        }
+        return references != null ? references : Collections.emptyList();
+    }
+
+    private static boolean isReferenceEnd(final char c) {
+        switch (c) {
+            case Delimiters.LIST_START:
+            case Delimiters.LIST_END:
+            case Delimiters.LIST_SEPARATOR:
+            case Delimiters.MAP_START:
+            case Delimiters.MAP_END:
+            case Delimiters.ARG_START:
+            case Delimiters.ARG_END:
+            case Delimiters.PAIR_SEPARATOR:
+                return true;
+            default:
+                return Character.isWhitespace(c);
+        }
+    }
+
+    private enum State {
+        UNRESOLVED,
+        RESOLVING,
+        RESOLVED
+    }
+
+    private static final class Declaration {
+        private final String declaredKey;
+        private final String value;
+        private final Declaration previous;
+        private State state = State.UNRESOLVED;
+        private int level;
+
+        private Declaration(final String declaredKey, final String value, final Declaration previous) {
+            this.declaredKey = declaredKey;
+            this.value = value.trim();
+            this.previous = previous;
+        }
+
+        private boolean isFallback() {
+            return value.startsWith(FallbackParser.FALLBACK_PREFIX);
+        }
+
+        /*
+         * A fallback declaration only takes effect if no previous declaration exists. Otherwise, the
+         * previous declaration determines the value.
+         */
+        private Declaration effectiveDeclaration() {
+            Declaration declaration = this;
+            while (declaration.isFallback() && declaration.previous != null) {
+                declaration = declaration.previous;
+            }
+            return declaration;
+        }
+    }
+
+    private static final class ParseTask extends RecursiveAction {
+        private final List<Declaration> declarations;
+        private final ParseResult[] results;
+        private final ParserContext context;
+        private final int start;
+        private final int end;
+
+        private ParseTask(final List<Declaration> declarations, final ParseResult[] results,
+                final ParserContext context, final int start, final int end) {
+            this.declarations = declarations;
+            this.results = results;
+            this.context = context;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= PARSE_BATCH_SIZE) {
+                for (int i = start; i < end; i++) {
+                    Declaration effective = declarations.get(i).effectiveDeclaration();
+                    results[i] = PropertyLoader.parseProperty(effective.declaredKey, effective.value, context);
+                }
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new ParseTask(declarations, results, context, start, mid),
+                        new ParseTask(declarations, results, context, mid, end));
+            }
+        }
+    }
+
+    /*
+     * Icon resolvers aren't required to be thread safe.
+     */
+    private static final class SynchronizedIconResolver implements IconResolver {
+        private final IconResolver delegate;
+
+        private SynchronizedIconResolver(final IconResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized @NotNull Icon getIcon(final @NotNull String path) {
+            return delegate.getIcon(path);
+        }
+
+        @Override
+        public synchronized @NotNull Icon getIcon(final @NotNull String path, final boolean themed) {
+            return delegate.getIcon(path, themed);
+        }
+
+        @Override
+        public synchronized @NotNull Icon getIcon(final @NotNull String path, final int width, final int height) {
+            return delegate.getIcon(path, width, height);
+        }
+
+        @Override
+        public synchronized @NotNull Icon getIcon(final @NotNull String path, final int width, final int height,
+                final boolean themed) {
+            return delegate.getIcon(path, width, height, themed);
+        }
+
+        @Override
+        public synchronized @NotNull UIAwareIcon getUIAwareIcon(final @NotNull String path) {
+            return delegate.getUIAwareIcon(path);
+        }
+
+        @Override
+        public synchronized @NotNull UIAwareIcon getUIAwareIcon(final @NotNull String path, final int width,
+                final int height) {
+            return delegate.getUIAwareIcon(path, width, height);
+        }
+    }
+}
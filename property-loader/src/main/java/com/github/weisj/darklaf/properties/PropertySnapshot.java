@@ -0,0 +1,464 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties;
+
+import java.awt.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+import javax.swing.plaf.ColorUIResource;
+import javax.swing.plaf.DimensionUIResource;
+import javax.swing.plaf.FontUIResource;
+import javax.swing.plaf.InsetsUIResource;
+
+import com.github.weisj.darklaf.properties.icons.IconResolver;
+import com.github.weisj.darklaf.properties.parser.ParseResult;
+import com.github.weisj.darklaf.properties.parser.Parser;
+import com.github.weisj.darklaf.properties.parser.ParserContext;
+import com.github.weisj.darklaf.properties.uiresource.DarkColorUIResource;
+import com.github.weisj.darklaf.properties.uiresource.DarkFontUIResource;
+import com.github.weisj.darklaf.util.FontUtil;
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.Pair;
+
+/**
+ * Compact binary representation of fully resolved properties. Values which can be represented directly
+ * (colors, insets, dimensions, fonts, primitives, lists and maps thereof) are stored as is. All other
+ * values (e.g. icons or lazy values) are stored as the property declaration they were parsed from and
+ * are lazily re-parsed when the snapshot is restored.
+ *
+ * <p>
+ * The declarations are collected by a {@link Recorder} which has to be active while the properties
+ * are loaded through {@link PropertyLoader}.
+ *
+ * @author Jannis Weis
+ */
+public final class PropertySnapshot {
+
+    private static final Logger LOGGER = LogUtil.getLogger(PropertySnapshot.class);
+
+    private static final int MAGIC = 0xDA4C1AF0;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INTEGER = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_FLOAT = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_COLOR = 7;
+    private static final byte TAG_INSETS = 8;
+    private static final byte TAG_DIMENSION = 9;
+    private static final byte TAG_FONT = 10;
+    private static final byte TAG_LIST = 11;
+    private static final byte TAG_MAP = 12;
+    private static final byte TAG_PAIR = 13;
+    private static final byte TAG_EMPTY_VALUE = 14;
+
+    private static final byte PLAIN = 0;
+    private static final byte UI_RESOURCE = 1;
+    private static final byte DARK_UI_RESOURCE = 2;
+
+    private PropertySnapshot() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Starts recording the declarations of all properties loaded through {@link PropertyLoader} by the
+     * current thread. The recording stops once the recorder is closed, which has to happen on the same
+     * thread.
+     *
+     * @return the recorder.
+     */
+    public static Recorder startRecording() {
+        Recorder recorder = new Recorder();
+        PropertyLoader.setRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * Creates a snapshot of the given properties.
+     *
+     * @param snapshotKey the key identifying the snapshot. A snapshot can only be restored using the
+     *        same key.
+     * @param properties the resolved properties.
+     * @param recorder the recorder which was active while the properties were loaded.
+     * @return the binary snapshot or null if some property can't be represented.
+     */
+    public static byte[] create(final String snapshotKey, final Map<Object, Object> properties,
+            final Recorder recorder) {
+        if (Parser.isDebugMode()) return null;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            List<Map.Entry<String, Object>> values = new ArrayList<>(properties.size());
+            List<Declaration> declarations = new ArrayList<>();
+            for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+                if (!(entry.getKey() instanceof String)) return unsupported(entry.getKey(), entry.getValue());
+                String key = (String) entry.getKey();
+                Object value = entry.getValue();
+                if (isRepresentable(value)) {
+                    values.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
+                } else {
+                    Declaration declaration = recorder.declarations.get(key);
+                    // Only use the declaration if the value hasn't been replaced after it was parsed.
+                    if (declaration == null || declaration.result != value) return unsupported(key, value);
+                    declarations.add(declaration);
+                }
+            }
+            declarations.sort(Comparator.comparingInt(d -> d.index));
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, snapshotKey);
+            out.writeInt(values.size());
+            for (Map.Entry<String, Object> entry : values) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+            out.writeInt(declarations.size());
+            for (Declaration declaration : declarations) {
+                writeString(out, declaration.key);
+                writeString(out, declaration.value);
+            }
+            out.writeInt(recorder.removedKeys.size());
+            for (String removed : recorder.removedKeys) {
+                writeString(out, removed);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores the properties of a snapshot.
+     *
+     * @param snapshotKey the key the snapshot is expected to have.
+     * @param in the stream to read the snapshot from.
+     * @param accumulator the properties to restore the values into.
+     * @param currentDefaults the current ui defaults.
+     * @param iconResolver the icon resolver used for re-parsing declarations.
+     * @return true if the snapshot has been restored. If false is returned the accumulator hasn't been
+     *         modified.
+     * @throws IOException if the snapshot couldn't be read.
+     */
+    public static boolean restore(final String snapshotKey, final InputStream in,
+            final Map<Object, Object> accumulator, final UIDefaults currentDefaults,
+            final IconResolver iconResolver) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION) return false;
+        if (!snapshotKey.equals(readString(data))) return false;
+
+        int valueCount = data.readInt();
+        Map<Object, Object> values = new HashMap<>((int) Math.ceil(valueCount / 0.75f));
+        for (int i = 0; i < valueCount; i++) {
+            String key = readString(data);
+            values.put(key, readValue(data));
+        }
+        int declarationCount = data.readInt();
+        String[] declarations = new String[2 * declarationCount];
+        for (int i = 0; i < declarations.length; i++) {
+            declarations[i] = readString(data);
+        }
+        int removedCount = data.readInt();
+        for (int i = 0; i < removedCount; i++) {
+            currentDefaults.remove(readString(data));
+        }
+
+        accumulator.putAll(values);
+        ParserContext context = new ParserContext(accumulator, currentDefaults, iconResolver);
+        for (int i = 0; i < declarations.length; i += 2) {
+            ParseResult parseResult =
+                    Parser.parse(Parser.createParseResult(declarations[i], declarations[i + 1]), context);
+            if (parseResult.finished && parseResult.result != null) {
+                accumulator.put(parseResult.key, parseResult.result);
+            }
+        }
+        return true;
+    }
+
+    private static byte[] unsupported(final Object key, final Object value) {
+        LOGGER.fine(() -> "Can't create snapshot. Value '" + value + "' for key '" + key + "' isn't representable.");
+        return null;
+    }
+
+    private static boolean isRepresentable(final Object value) {
+        if (value instanceof String || value instanceof Integer || value instanceof Boolean
+                || value instanceof Long || value instanceof Float || value instanceof Double
+                || value == Parser.EMPTY_VALUE) {
+            return true;
+        }
+        if (value instanceof Color) return colorType(value) >= 0;
+        if (value instanceof Insets) return value.getClass() == Insets.class || value instanceof InsetsUIResource;
+        if (value instanceof Dimension) {
+            return value.getClass() == Dimension.class || value instanceof DimensionUIResource;
+        }
+        if (value instanceof Font) {
+            Font font = (Font) value;
+            return fontType(font) >= 0 && !font.hasLayoutAttributes() && !font.isTransformed();
+        }
+        if (value instanceof Pair) {
+            Pair<?, ?> pair = (Pair<?, ?>) value;
+            return isRepresentable(pair.getFirst()) && isRepresentable(pair.getSecond());
+        }
+        if (value instanceof List) {
+            for (Object o : (List<?>) value) {
+                if (!isRepresentable(o)) return false;
+            }
+            return true;
+        }
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!isRepresentable(entry.getKey()) || !isRepresentable(entry.getValue())) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static int colorType(final Object color) {
+        Class<?> type = color.getClass();
+        if (type == Color.class) return PLAIN;
+        if (type == ColorUIResource.class) return UI_RESOURCE;
+        if (type == DarkColorUIResource.class) return DARK_UI_RESOURCE;
+        return -1;
+    }
+
+    private static int fontType(final Font font) {
+        Class<?> type = font.getClass();
+        if (type == Font.class || type == FontUtil.NonUIResourceFont.class) return PLAIN;
+        if (type == FontUIResource.class) return UI_RESOURCE;
+        if (type == DarkFontUIResource.class) return DARK_UI_RESOURCE;
+        return -1;
+    }
+
+    private static void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value == Parser.EMPTY_VALUE) {
+            out.writeByte(TAG_EMPTY_VALUE);
+        } else if (value instanceof Color) {
+            out.writeByte(TAG_COLOR);
+            out.writeByte(colorType(value));
+            out.writeInt(((Color) value).getRGB());
+        } else if (value instanceof Insets) {
+            Insets insets = (Insets) value;
+            out.writeByte(TAG_INSETS);
+            out.writeBoolean(value instanceof InsetsUIResource);
+            out.writeInt(insets.top);
+            out.writeInt(insets.left);
+            out.writeInt(insets.bottom);
+            out.writeInt(insets.right);
+        } else if (value instanceof Dimension) {
+            Dimension dimension = (Dimension) value;
+            out.writeByte(TAG_DIMENSION);
+            out.writeBoolean(value instanceof DimensionUIResource);
+            out.writeInt(dimension.width);
+            out.writeInt(dimension.height);
+        } else if (value instanceof Font) {
+            Font font = (Font) value;
+            out.writeByte(TAG_FONT);
+            out.writeByte(fontType(font));
+            writeString(out, font.getName());
+            out.writeInt(font.getStyle());
+            out.writeFloat(font.getSize2D());
+        } else if (value instanceof Pair) {
+            out.writeByte(TAG_PAIR);
+            writeValue(out, ((Pair<?, ?>) value).getFirst());
+            writeValue(out, ((Pair<?, ?>) value).getSecond());
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object o : list) {
+                writeValue(out, o);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(TAG_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported value " + value);
+        }
+    }
+
+    private static Object readValue(final DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_STRING:
+                return readString(in);
+            case TAG_INTEGER:
+                return in.readInt();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_FLOAT:
+                return in.readFloat();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_EMPTY_VALUE:
+                return Parser.EMPTY_VALUE;
+            case TAG_COLOR:
+                return readColor(in.readByte(), in.readInt());
+            case TAG_INSETS: {
+                boolean uiResource = in.readBoolean();
+                int top = in.readInt();
+                int left = in.readInt();
+                int bottom = in.readInt();
+                int right = in.readInt();
+                return uiResource
+                        ? new InsetsUIResource(top, left, bottom, right)
+                        : new Insets(top, left, bottom, right);
+            }
+            case TAG_DIMENSION: {
+                boolean uiResource = in.readBoolean();
+                int width = in.readInt();
+                int height = in.readInt();
+                return uiResource
+                        ? new DimensionUIResource(width, height)
+                        : new Dimension(width, height);
+            }
+            case TAG_FONT:
+                return readFont(in.readByte(), readString(in), in.readInt(), in.readFloat());
+            case TAG_PAIR:
+                return new Pair<>(readValue(in), readValue(in));
+            case TAG_LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case TAG_MAP: {
+                int size = in.readInt();
+                Map<Object, Object> map = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(in), readValue(in));
+                }
+                return map;
+            }
+            default:
+                throw new IOException("Corrupted snapshot. Unknown tag " + tag);
+        }
+    }
+
+    private static Color readColor(final byte type, final int rgb) {
+        switch (type) {
+            case UI_RESOURCE:
+                return new ColorUIResource(new Color(rgb, true));
+            case DARK_UI_RESOURCE:
+                return new DarkColorUIResource(new Color(rgb, true));
+            default:
+                return new Color(rgb, true);
+        }
+    }
+
+    private static Font readFont(final byte type, final String name, final int style, final float size) {
+        // Goes through FontUtil to preserve the composite font fallbacks.
+        // noinspection MagicConstant
+        Font font = FontUtil.createFont(name, style, Math.round(size)).deriveFont(style, size);
+        switch (type) {
+            case UI_RESOURCE:
+                return new FontUIResource(font);
+            case DARK_UI_RESOURCE:
+                return new DarkFontUIResource(font);
+            default:
+                return font;
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Declaration {
+        private final int index;
+        private final String key;
+        private final String value;
+        private final Object result;
+
+        private Declaration(final int index, final String key, final String value, final Object result) {
+            this.index = index;
+            this.key = key;
+            this.value = value;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Records the declarations of properties loaded through {@link PropertyLoader}.
+     */
+    public static final class Recorder implements AutoCloseable {
+        private final Map<String, Declaration> declarations = new HashMap<>();
+        private final Set<String> removedKeys = new LinkedHashSet<>();
+        private int index;
+
+        private Recorder() {}
+
+        void record(final String declaredKey, final String declaredValue, final String key, final Object result) {
+            if (result != null) {
+                declarations.put(key, new Declaration(index++, declaredKey, declaredValue, result));
+            } else {
+                declarations.remove(key);
+                removedKeys.add(key);
+            }
+        }
+
+        @Override
+        public void close() {
+            PropertyLoader.setRecorder(null);
+        }
+    }
+}
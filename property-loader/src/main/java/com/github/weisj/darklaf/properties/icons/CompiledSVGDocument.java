@@ -0,0 +1,267 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.darklaf.util.ColorUtil;
+
+/**
+ * An svg document precompiled into flattened shapes and paints. Colors which are defined as gradients
+ * in the svg are stored as color slots. Themed icons resolve the slots using the ui defaults.
+ *
+ * <p>
+ * The format is written by the {@code CompileSvgIconsTask} of the build.
+ */
+final class CompiledSVGDocument {
+
+    private static final int MAGIC = 0x44535647;
+    private static final int VERSION = 1;
+
+    private static final int PAINT_COLOR = 0;
+    private static final int FLAG_FILL = 1;
+    private static final int FLAG_STROKE = 2;
+    private static final int FLAG_EVEN_ODD = 4;
+
+    private static final int[] LINE_CAPS = {BasicStroke.CAP_BUTT, BasicStroke.CAP_ROUND, BasicStroke.CAP_SQUARE};
+    private static final int[] LINE_JOINS = {BasicStroke.JOIN_MITER, BasicStroke.JOIN_ROUND, BasicStroke.JOIN_BEVEL};
+
+    private final float width;
+    private final float height;
+    private final float viewBoxX;
+    private final float viewBoxY;
+    private final float viewBoxWidth;
+    private final float viewBoxHeight;
+    private final @Nullable Insets visualPadding;
+    private final ColorSlot[] slots;
+    private final CompiledShape[] shapes;
+    private final Color[] defaultColors;
+
+    private CompiledSVGDocument(final DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Not a compiled svg");
+        int version = in.readShort();
+        if (version != VERSION) throw new IOException("Unsupported version " + version);
+        width = in.readFloat();
+        height = in.readFloat();
+        viewBoxX = in.readFloat();
+        viewBoxY = in.readFloat();
+        viewBoxWidth = in.readFloat();
+        viewBoxHeight = in.readFloat();
+        visualPadding = in.readBoolean()
+                ? new Insets(in.readInt(), in.readInt(), in.readInt(), in.readInt())
+                : null;
+
+        slots = new ColorSlot[in.readShort()];
+        defaultColors = new Color[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new ColorSlot(in);
+            defaultColors[i] = slots[i].defaultColor;
+        }
+        shapes = new CompiledShape[in.readShort()];
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = new CompiledShape(in);
+        }
+    }
+
+    static @NotNull CompiledSVGDocument read(final @NotNull InputStream inputStream) throws IOException {
+        try (DataInputStream in = new DataInputStream(inputStream)) {
+            return new CompiledSVGDocument(in);
+        }
+    }
+
+    float getWidth() {
+        return width;
+    }
+
+    float getHeight() {
+        return height;
+    }
+
+    @Nullable
+    Insets getVisualPadding() {
+        return visualPadding;
+    }
+
+    /*
+     * The colors as defined in the svg file.
+     */
+    Color[] getDefaultColors() {
+        return defaultColors;
+    }
+
+    /*
+     * Resolves the themed color slots with respect to the current theme.
+     */
+    Color[] resolveThemeColors() {
+        Color[] colors = new Color[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            ColorSlot slot = slots[i];
+            if (!slot.themed) {
+                colors[i] = slot.defaultColor;
+                continue;
+            }
+            Color color = IconColorMapper.resolveThemeColor(slot.id, slot.fallbacks);
+            float opacity = IconColorMapper.getThemeOpacity(slot.opacityKey, slot.opacityFallbacks);
+            if (opacity < 0) opacity = slot.opacity;
+            colors[i] = ColorUtil.toAlpha(color, opacity);
+        }
+        return colors;
+    }
+
+    void render(final Graphics2D g, final float w, final float h, final Color[] colors) {
+        AffineTransform transform = g.getTransform();
+        Composite composite = g.getComposite();
+        Stroke stroke = g.getStroke();
+        // Scale the view box to the given size preserving its aspect ratio.
+        float scale = Math.min(w / viewBoxWidth, h / viewBoxHeight);
+        g.translate((w - viewBoxWidth * scale) / 2, (h - viewBoxHeight * scale) / 2);
+        g.scale(scale, scale);
+        g.translate(-viewBoxX, -viewBoxY);
+        for (CompiledShape shape : shapes) {
+            if (shape.fillColor != null || shape.fillSlot >= 0) {
+                setPaint(g, shape.fillColor, shape.fillSlot, shape.fillAlpha, colors, composite);
+                g.fill(shape.path);
+            }
+            if (shape.stroke != null) {
+                setPaint(g, shape.strokeColor, shape.strokeSlot, shape.strokeAlpha, colors, composite);
+                g.setStroke(shape.stroke);
+                g.draw(shape.path);
+            }
+        }
+        g.setStroke(stroke);
+        g.setComposite(composite);
+        g.setTransform(transform);
+    }
+
+    private static void setPaint(final Graphics2D g, final Color color, final int slot, final float alpha,
+            final Color[] colors, final Composite composite) {
+        g.setColor(color != null ? color : colors[slot]);
+        if (alpha < 1 && composite instanceof AlphaComposite) {
+            AlphaComposite alphaComposite = (AlphaComposite) composite;
+            g.setComposite(alphaComposite.derive(alphaComposite.getAlpha() * alpha));
+        } else {
+            g.setComposite(composite);
+        }
+    }
+
+    private static final class ColorSlot {
+        private final String id;
+        private final boolean themed;
+        private final String[] fallbacks;
+        private final String opacityKey;
+        private final String[] opacityFallbacks;
+        private final float opacity;
+        private final Color defaultColor;
+
+        private ColorSlot(final DataInputStream in) throws IOException {
+            id = in.readUTF();
+            themed = in.readBoolean();
+            fallbacks = readStrings(in);
+            opacityKey = in.readUTF();
+            opacityFallbacks = readStrings(in);
+            int rgb = in.readInt();
+            opacity = in.readFloat();
+            defaultColor = ColorUtil.toAlpha(new Color(rgb), opacity);
+        }
+
+        private static String[] readStrings(final DataInputStream in) throws IOException {
+            String[] strings = new String[in.readUnsignedByte()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+            return strings;
+        }
+    }
+
+    private static final class CompiledShape {
+        private final Path2D path;
+        private Color fillColor;
+        private int fillSlot = -1;
+        private float fillAlpha;
+        private Color strokeColor;
+        private int strokeSlot = -1;
+        private float strokeAlpha;
+        private Stroke stroke;
+
+        private CompiledShape(final DataInputStream in) throws IOException {
+            int flags = in.readUnsignedByte();
+            if ((flags & FLAG_FILL) != 0) {
+                if (in.readUnsignedByte() == PAINT_COLOR) {
+                    fillColor = new Color(in.readInt());
+                } else {
+                    fillSlot = in.readShort();
+                }
+                fillAlpha = in.readFloat();
+            }
+            if ((flags & FLAG_STROKE) != 0) {
+                if (in.readUnsignedByte() == PAINT_COLOR) {
+                    strokeColor = new Color(in.readInt());
+                } else {
+                    strokeSlot = in.readShort();
+                }
+                strokeAlpha = in.readFloat();
+                float strokeWidth = in.readFloat();
+                int cap = LINE_CAPS[in.readUnsignedByte()];
+                int join = LINE_JOINS[in.readUnsignedByte()];
+                float miterLimit = in.readFloat();
+                stroke = new BasicStroke(strokeWidth, cap, join, Math.max(1, miterLimit));
+            }
+            path = readPath(in, (flags & FLAG_EVEN_ODD) != 0 ? Path2D.WIND_EVEN_ODD : Path2D.WIND_NON_ZERO);
+        }
+
+        private static Path2D readPath(final DataInputStream in, final int windingRule) throws IOException {
+            int segmentCount = in.readInt();
+            Path2D.Float path = new Path2D.Float(windingRule, segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                switch (in.readUnsignedByte()) {
+                    case PathIterator.SEG_MOVETO:
+                        path.moveTo(in.readFloat(), in.readFloat());
+                        break;
+                    case PathIterator.SEG_LINETO:
+                        path.lineTo(in.readFloat(), in.readFloat());
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        path.quadTo(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        path.curveTo(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat(),
+                                in.readFloat(), in.readFloat());
+                        break;
+                    case PathIterator.SEG_CLOSE:
+                        path.closePath();
+                        break;
+                    default:
+                        throw new IOException("Invalid path segment");
+                }
+            }
+            return path;
+        }
+    }
+}
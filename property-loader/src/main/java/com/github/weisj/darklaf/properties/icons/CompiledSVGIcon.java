@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
+import com.github.weisj.swingdsl.visualpadding.VisualPaddingProvider;
+
+/**
+ * Icon rendered from a precompiled svg document. Compared to {@link DarkSVGIcon} no xml has to be
+ * parsed when loading the icon. Compiled documents are created at build time for the svg icons shipped
+ * with darklaf.
+ *
+ * @see IconLoader#COMPILED_ICONS_KEY
+ */
+public class CompiledSVGIcon
+        implements DerivableIcon<CompiledSVGIcon>, IconLoader.CacheableIcon, RotateIcon, Serializable, ImageSource,
+        VisualPaddingProvider {
+
+    private static final Logger LOGGER = LogUtil.getLogger(CompiledSVGIcon.class);
+
+    private final @NotNull DocumentHolder documentHolder;
+    private final @NotNull Dimension iconSize;
+    private IconLoader.IconKey iconKey;
+
+    public CompiledSVGIcon(final @NotNull URL url, final int displayWidth, final int displayHeight) {
+        this.documentHolder = new DocumentHolder(url);
+        this.iconSize = new Dimension(displayWidth, displayHeight);
+    }
+
+    protected CompiledSVGIcon(final int width, final int height, final @NotNull CompiledSVGIcon parent) {
+        this.documentHolder = parent.documentHolder;
+        this.iconSize = new Dimension(width, height);
+    }
+
+    @Override
+    public void setCacheKey(final IconLoader.IconKey key) {
+        this.iconKey = key;
+    }
+
+    @Override
+    public CompiledSVGIcon derive(final int width, final int height) {
+        if (width == getIconWidth() && height == getIconHeight()) return this;
+        return new CompiledSVGIcon(width, height, this);
+    }
+
+    /*
+     * Loads the document without updating any other state of the icon. This may be called from any
+     * thread.
+     */
+    void preloadDocument() {
+        documentHolder.document();
+    }
+
+    @NotNull
+    CompiledSVGDocument getDocument() {
+        return documentHolder.document();
+    }
+
+    /**
+     * Returns the colors used to render the color slots of the document.
+     *
+     * @return the colors.
+     */
+    protected Color[] getColors() {
+        return getDocument().getDefaultColors();
+    }
+
+    @Override
+    public void paintIcon(final Component c, final Graphics g, final int x, final int y) {
+        paintIcon(c, g, x, y, 0);
+    }
+
+    @Override
+    public void paintIcon(final Component c, final Graphics g, final int x, final int y, final double rotation) {
+        Dimension size = getSize();
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+            g2.translate(x, y);
+            if (rotation != 0) g2.rotate(rotation, size.width / 2.0, size.height / 2.0);
+            getDocument().render(g2, size.width, size.height, getColors());
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    @Override
+    public Image createImage(final Dimension size) {
+        long start = Instrumentation.start();
+        BufferedImage image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+        getDocument().render(g, size.width, size.height, getColors());
+        g.dispose();
+        Instrumentation.record(Instrumentation.Category.ICON_RASTERIZE,
+                IconLoader.getFileName(documentHolder.url), start);
+        return image;
+    }
+
+    @Override
+    public int getIconWidth() {
+        return getSize().width;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return getSize().height;
+    }
+
+    protected Dimension getSize() {
+        if (iconSize.width < 0 || iconSize.height < 0) {
+            inferSize();
+        }
+        return iconSize;
+    }
+
+    private void inferSize() {
+        CompiledSVGDocument document = getDocument();
+        int width = (int) (document.getWidth() + 0.5f);
+        int height = (int) (document.getHeight() + 0.5f);
+        if (iconSize.height < 0 && iconSize.width >= 0) {
+            height = (int) ((iconSize.width * height) / (double) width);
+            width = iconSize.width;
+        } else if (iconSize.height >= 0 && iconSize.width < 0) {
+            width = (int) ((iconSize.height * width) / (double) height);
+            height = iconSize.height;
+        } else if (iconSize.width == iconSize.height && iconSize.height < -1) {
+            // Scale to make the largest side fit the given size.
+            int size = Math.abs(iconSize.width);
+            if (width >= height) {
+                height = (int) ((size * height) / (double) width);
+                width = size;
+            } else {
+                width = (int) ((size * width) / (double) height);
+                height = size;
+            }
+        }
+        if (iconKey != null) iconKey.setSize(width, height);
+        iconSize.setSize(width, height);
+    }
+
+    @Override
+    public @NotNull Insets getVisualPaddings(final @NotNull Component component) {
+        Insets padding = getDocument().getVisualPadding();
+        return padding != null ? (Insets) padding.clone() : new Insets(0, 0, 0, 0);
+    }
+
+    public URL getURL() {
+        return documentHolder.url;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSVGIcon{url=" + documentHolder.url + ", iconSize=" + iconSize + '}';
+    }
+
+    private static final class DocumentHolder implements Serializable {
+        private final @NotNull URL url;
+        private transient volatile CompiledSVGDocument document;
+
+        private DocumentHolder(final @NotNull URL url) {
+            this.url = url;
+        }
+
+        private @NotNull CompiledSVGDocument document() {
+            CompiledSVGDocument doc = document;
+            if (doc != null) return doc;
+            synchronized (this) {
+                if (document == null) {
+                    LOGGER.finer(() -> "Loading compiled icon '" + url + "'.");
+                    long start = Instrumentation.start();
+                    try (InputStream in = url.openStream()) {
+                        document = CompiledSVGDocument.read(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Document failed to load: " + url, e);
+                    }
+                    Instrumentation.record(Instrumentation.Category.ICON_LOAD, IconLoader.getFileName(url), start);
+                }
+                return document;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.net.URL;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link CompiledSVGIcon}, which resolves the color slots of the document using the ui defaults of
+ * the current theme.
+ *
+ * @see ThemedSVGIcon
+ */
+public class CompiledThemedSVGIcon extends CompiledSVGIcon implements ThemedIcon {
+
+    private Object currentTheme;
+    private Color[] colors;
+
+    public CompiledThemedSVGIcon(final @NotNull URL url, final int displayWidth, final int displayHeight) {
+        super(url, displayWidth, displayHeight);
+    }
+
+    protected CompiledThemedSVGIcon(final int width, final int height, final @NotNull CompiledThemedSVGIcon parent) {
+        super(width, height, parent);
+    }
+
+    @Override
+    public CompiledThemedSVGIcon derive(final int width, final int height) {
+        if (width == getIconWidth() && height == getIconHeight()) return this;
+        return new CompiledThemedSVGIcon(width, height, this);
+    }
+
+    @Override
+    protected Color[] getColors() {
+        Object theme = IconLoader.getThemeStatus();
+        if (colors == null || currentTheme != theme) {
+            colors = getDocument().resolveThemeColors();
+            currentTheme = theme;
+        }
+        return colors;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledThemedSVGIcon{parentState=" + super.toString() + ", currentTheme=" + currentTheme + '}';
+    }
+}
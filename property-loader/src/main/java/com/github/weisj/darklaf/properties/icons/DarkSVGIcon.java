@@ -22,21 +22,27 @@ package com.github.weisj.darklaf.properties.icons;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.swing.*;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.darklaf.util.LogUtil;
 import com.github.weisj.darklaf.util.Scale;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
 import com.github.weisj.jsvg.SVGDocument;
 import com.github.weisj.jsvg.attributes.ViewBox;
 import com.github.weisj.jsvg.geometry.size.FloatSize;
@@ -56,14 +62,17 @@ public class DarkSVGIcon
 
     private static final Logger LOGGER = LogUtil.getLogger(DarkSVGIcon.class);
 
+    /**
+     * Icons whose raster would contain more pixels than this value are rendered directly instead of
+     * being rasterized. Defaults to 256x256 pixels.
+     */
+    public static final String DIRECT_RENDERING_AREA_KEY = "darklaf.iconDirectRenderingArea";
+    private static final int directRenderingArea = Integer.getInteger(DIRECT_RENDERING_AREA_KEY, 256 * 256);
     /*
-     * Render the icon a bit larger than needed to ensure it is painted good enough when rotated. This
-     * accounts for diagonal lines (i.e. when the rotation is pi/4). Ideally this value would only need
-     * to be sqrt(2) but 2.0 behaves a lot better w.r.t. floating point calculations.
-     *
-     * The scale factor is only used if the icon is painted with a non-trivial rotation.
+     * Number of distinct rotations for which rotated rasters are kept. Icons painted with more distinct
+     * rotations are considered to be continuously rotated and are rendered directly.
      */
-    private static final double extraScale = 2.0;
+    private static final int MAX_ROTATION_STEPS = 16;
 
     private final @NotNull Dimension iconSize;
 
@@ -72,10 +81,18 @@ public class DarkSVGIcon
     private IconLoader.IconKey iconKey;
 
     private boolean directRendering;
-    private boolean loadedWithExtraScale;
     private double scaleX;
     private double scaleY;
-    private Image image;
+    private IconRaster raster;
+
+    private final List<RotatedRaster> rotatedRasters = new ArrayList<>(0);
+    private double rotatedScaleX;
+    private double rotatedScaleY;
+    private boolean continuousRotation;
+
+    // Guarded by the document lock.
+    private long rasterizationCount;
+    private long directRenderCount;
 
     /**
      * Method to fetch the SVG icon from an url.
@@ -115,10 +132,7 @@ public class DarkSVGIcon
     }
 
     public void setDisplaySize(final int width, final int height) {
-        if (iconKey != null) {
-            iconKey.w = width;
-            iconKey.h = height;
-        }
+        if (iconKey != null) iconKey.setSize(width, height);
         iconSize.setSize(width, height);
     }
 
@@ -139,36 +153,117 @@ public class DarkSVGIcon
         GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
         double sx = Scale.getScaleX(gc);
         double sy = Scale.getScaleY(gc);
-        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy) && image != null) return;
+        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy)
+                && raster != null && raster.isValid()) {
+            return;
+        }
         scaleX = sx;
         scaleY = sy;
-        double effectiveScaleX = loadedWithExtraScale ? scaleX * extraScale : scaleX;
-        double effectiveScaleY = loadedWithExtraScale ? scaleY * extraScale : scaleY;
+        raster = rasterize(this::createImage);
+    }
+
+    private IconRaster rasterize(final Function<Dimension, Image> renderer) {
+        double sx = scaleX;
+        double sy = scaleY;
         LOGGER.finer(() -> String.format("Creating Image with size (w=%s, h=%s, scaleW=%s, scaleH=%s) for icon '%s'",
-                getSize().width, getSize().height, effectiveScaleX, effectiveScaleX, getName(getURI())));
-        image = createImage(Scale.scale(effectiveScaleX, effectiveScaleY, getSize()));
+                getSize().width, getSize().height, sx, sy, getName(getURI())));
+        Dimension imageSize = Scale.scale(sx, sy, getSize());
+        if (isSharedRasterCacheEnabled()) {
+            // The state of the document mustn't change between computing the key and rendering the image.
+            // Otherwise the image would be shared under a state it doesn't belong to.
+            synchronized (svgDocumentHolder) {
+                return SVGRasterCache.getRaster(svgDocumentHolder, getSize(), sx, sy,
+                        getRasterCacheState(), imageSize, () -> renderer.apply(imageSize));
+            }
+        } else {
+            return IconRaster.of(renderer.apply(imageSize));
+        }
+    }
+
+    /*
+     * Renders the icon at the scale it has last been painted at. Returns null if there is no raster which
+     * could be replaced. Callers need to hold the document lock.
+     */
+    @Nullable
+    IconRaster rerender() {
+        if (raster == null || isDirectRenderingMode() || !isDocumentLoaded()) return null;
+        return rasterize(this::renderImage);
+    }
+
+    void setRaster(final @NotNull IconRaster raster) {
+        this.raster = raster;
+    }
+
+    /*
+     * Drops the rasters of rotated versions of this icon. Should be called on the event dispatch thread.
+     */
+    void discardRotatedRasters() {
+        rotatedRasters.clear();
+    }
+
+    /*
+     * Lock guarding the state of the document. The document may be shared with derived icons.
+     */
+    @NotNull
+    Object documentLock() {
+        return svgDocumentHolder;
+    }
+
+    /**
+     * Returns whether the rasterized image of this icon can be shared with other icons, which render the
+     * same document at the same size and scale. Only return true if all state affecting the appearance
+     * of the document is included in {@link #getRasterCacheState()}.
+     *
+     * @return true if the raster can be shared.
+     */
+    protected boolean isSharedRasterCacheEnabled() {
+        return true;
+    }
+
+    /**
+     * Returns the state of the document which affects its appearance in addition to its size and
+     * scale. Images are only shared between icons with equal states.
+     *
+     * @return the state of the document.
+     */
+    protected @Nullable Object getRasterCacheState() {
+        return null;
     }
 
     @Override
     public Image createImage(final Dimension size) {
         ensureLoaded(false);
+        return renderImage(size);
+    }
+
+    private Image renderImage(final Dimension size) {
+        long start = Instrumentation.start();
         try {
             BufferedImage bi = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g = (Graphics2D) bi.getGraphics();
-            g.setRenderingHint(
-                    RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g.setRenderingHint(
-                    RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
-            Object aaHint = UIManager.get(RenderingHints.KEY_TEXT_ANTIALIASING);
-            if (aaHint != null) g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, aaHint);
-            svgDocumentHolder.svgDocument.render(null, g, new ViewBox(0, 0, size.width, size.height));
+            Graphics2D g = createRasterGraphics(bi);
+            synchronized (svgDocumentHolder) {
+                rasterizationCount++;
+                svgDocumentHolder.svgDocument.render(null, g, new ViewBox(0, 0, size.width, size.height));
+            }
             g.dispose();
+            Instrumentation.record(Instrumentation.Category.ICON_RASTERIZE, getName(getURI()), start);
             return bi;
         } catch (final RuntimeException e) {
             throw new RuntimeException("Exception while painting '" + getURI().toASCIIString() + "'.", e);
         }
     }
 
+    private static Graphics2D createRasterGraphics(final BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(
+                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(
+                RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+        Object aaHint = UIManager.get(RenderingHints.KEY_TEXT_ANTIALIASING);
+        if (aaHint != null) g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, aaHint);
+        return g;
+    }
+
     protected String getName(final URI uri) {
         String name = uri.toASCIIString();
         name = name.substring(Math.min(name.length() - 1, name.lastIndexOf('/') + 1));
@@ -176,55 +271,182 @@ public class DarkSVGIcon
     }
 
     protected void ensureImageLoaded(final Component c, final double rotation) {
-        loadedWithExtraScale = !isExactRotation(rotation);
-        updateCache(ensureLoaded(true) || loadedWithExtraScale, c);
+        updateCache(ensureLoaded(true), c);
+    }
+
+    private static double normalizeRotation(final double rotation) {
+        double r = rotation % (2 * Math.PI);
+        return r < 0 ? r + 2 * Math.PI : r;
     }
 
     private boolean isExactRotation(final double rotation) {
-        double r = rotation;
-        if (r < 0) r += 2 * Math.PI;
-        if (r > 2 * Math.PI) r -= 2 * Math.PI;
+        double r = normalizeRotation(rotation);
         return Scale.equalWithError(r, 0)
                 || Scale.equalWithError(r, Math.PI / 2)
                 || Scale.equalWithError(r, Math.PI)
-                || Scale.equalWithError(r, 3 * Math.PI / 2);
+                || Scale.equalWithError(r, 3 * Math.PI / 2)
+                || Scale.equalWithError(r, 2 * Math.PI);
     }
 
     @Override
     public void paintIcon(final Component c, final Graphics g, final int x, final int y, final double rotation) {
-        boolean dr = isDirectRenderingMode();
-        if (dr) {
+        Graphics2D g2 = (Graphics2D) g;
+        boolean exactRotation = isExactRotation(rotation);
+        if (shouldRenderDirectly(c, g2, exactRotation)) {
             ensureLoaded(true);
+            paintDirectly(c, g2, x, y, rotation);
+        } else if (!exactRotation) {
+            paintRotated(c, g2, x, y, rotation);
         } else {
             ensureImageLoaded(c, rotation);
+            paintRaster(c, g2, x, y, rotation);
         }
+    }
 
-        Graphics2D g2 = (Graphics2D) g;
+    /*
+     * Rasters are only worth keeping if they can be painted without resampling them and without using
+     * too much memory. Rotations in discrete steps (e.g. of loading indicators) are cached per step.
+     */
+    private boolean shouldRenderDirectly(final Component c, final Graphics2D g, final boolean exactRotation) {
+        if (isDirectRenderingMode()) return true;
+        if (!exactRotation && continuousRotation) return true;
+        // The graphics are rotated or sheared. A raster would have to be resampled.
+        int transformType = g.getTransform().getType();
+        if ((transformType & (AffineTransform.TYPE_GENERAL_ROTATION | AffineTransform.TYPE_GENERAL_TRANSFORM)) != 0) {
+            return true;
+        }
+        Dimension size = getSize();
+        GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
+        double area = size.width * Scale.getScaleX(gc) * size.height * Scale.getScaleY(gc);
+        return area > directRenderingArea;
+    }
+
+    private void paintDirectly(final Component c, final Graphics2D g, final int x, final int y,
+            final double rotation) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            Dimension size = getSize();
+            g2.translate(x, y);
+            if (rotation != 0) g2.rotate(rotation, size.width / 2.0, size.height / 2.0);
+            SVGDocument svg = getSVGDocument();
+            synchronized (svgDocumentHolder) {
+                directRenderCount++;
+                svg.render(c instanceof JComponent ? (JComponent) c : null, g2,
+                        new ViewBox(0, 0, size.width, size.height));
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private void paintRaster(final Component c, final Graphics2D g2, final int x, final int y,
+            final double rotation) {
         AffineTransform transform = g2.getTransform();
         g2.translate(x, y);
 
         Dimension size = getSize();
-        double imageWidth = dr ? size.width : image.getWidth(null);
-        double imageHeight = dr ? size.height : image.getHeight(null);
-        double sx = size.width / imageWidth;
-        double sy = size.height / imageHeight;
-        if (!dr) g2.scale(sx, sy);
+        double imageWidth = raster.getWidth();
+        double imageHeight = raster.getHeight();
+        g2.scale(size.width / imageWidth, size.height / imageHeight);
         if (rotation != 0) {
             g2.rotate(rotation, imageWidth / 2.0, imageHeight / 2.0);
         }
+        raster.paint(g2, c);
 
-        if (dr) {
-            SVGDocument svg = getSVGDocument();
-            svg.render((JComponent) c, (Graphics2D) g, new ViewBox(0, 0, size.width, size.height));
-        } else {
-            g2.drawImage(image, 0, 0, c);
-            g2.scale(1 / sx, 1 / sy);
-        }
+        g2.setTransform(transform);
+    }
 
-        g2.translate(-x, -y);
+    private void paintRotated(final Component c, final Graphics2D g2, final int x, final int y,
+            final double rotation) {
+        boolean update = ensureLoaded(true);
+        GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
+        double sx = Scale.getScaleX(gc);
+        double sy = Scale.getScaleY(gc);
+        if (update || !Scale.equalWithError(rotatedScaleX, sx) || !Scale.equalWithError(rotatedScaleY, sy)) {
+            rotatedRasters.clear();
+            rotatedScaleX = sx;
+            rotatedScaleY = sy;
+        }
+        double angle = normalizeRotation(rotation);
+        RotatedRaster rotated = null;
+        for (RotatedRaster rotatedRaster : rotatedRasters) {
+            if (Scale.equalWithError(rotatedRaster.angle, angle)) {
+                rotated = rotatedRaster;
+                break;
+            }
+        }
+        if (rotated == null) {
+            if (rotatedRasters.size() >= MAX_ROTATION_STEPS) {
+                LOGGER.finer(() -> "Icon '" + getName(getURI()) + "' is rotated continuously. Rendering directly.");
+                continuousRotation = true;
+                rotatedRasters.clear();
+                paintDirectly(c, g2, x, y, rotation);
+                return;
+            }
+            rotated = createRotatedRaster(angle, sx, sy);
+            rotatedRasters.add(rotated);
+        }
+        AffineTransform transform = g2.getTransform();
+        g2.translate(x + rotated.offsetX, y + rotated.offsetY);
+        g2.scale(1 / sx, 1 / sy);
+        rotated.raster.paint(g2, c);
         g2.setTransform(transform);
     }
 
+    /*
+     * Renders the icon rotated around its center. The raster covers the bounds of the rotated icon at
+     * the given scale, such that it can be painted without any further transformation.
+     */
+    private RotatedRaster createRotatedRaster(final double angle, final double sx, final double sy) {
+        long start = Instrumentation.start();
+        Dimension size = getSize();
+        AffineTransform rotation = AffineTransform.getRotateInstance(angle, size.width / 2.0, size.height / 2.0);
+        Rectangle2D bounds = rotation.createTransformedShape(new Rectangle(size)).getBounds2D();
+        // Align the raster with the device pixels.
+        double minX = Math.floor(bounds.getMinX() * sx);
+        double minY = Math.floor(bounds.getMinY() * sy);
+        int width = Math.max(1, (int) (Math.ceil(bounds.getMaxX() * sx) - minX));
+        int height = Math.max(1, (int) (Math.ceil(bounds.getMaxY() * sy) - minY));
+        double offsetX = minX / sx;
+        double offsetY = minY / sy;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = createRasterGraphics(image);
+        g.scale(sx, sy);
+        g.translate(-offsetX, -offsetY);
+        g.transform(rotation);
+        synchronized (svgDocumentHolder) {
+            rasterizationCount++;
+            svgDocumentHolder.svgDocument.render(null, g, new ViewBox(0, 0, size.width, size.height));
+        }
+        g.dispose();
+        Instrumentation.record(Instrumentation.Category.ICON_RASTERIZE, getName(getURI()), start);
+        return new RotatedRaster(angle, IconRaster.of(image), offsetX, offsetY);
+    }
+
+    /**
+     * Returns how often this icon has been rasterized. Rasters shared with other icons are only counted
+     * for the icon which created them.
+     *
+     * @return the number of rasterizations.
+     */
+    public long getRasterizationCount() {
+        synchronized (svgDocumentHolder) {
+            return rasterizationCount;
+        }
+    }
+
+    /**
+     * Returns how often this icon has been painted by rendering the svg document directly instead of
+     * painting a raster.
+     *
+     * @return the number of direct renderings.
+     */
+    public long getDirectRenderCount() {
+        synchronized (svgDocumentHolder) {
+            return directRenderCount;
+        }
+    }
+
     public boolean isDirectRenderingMode() {
         return directRendering;
     }
@@ -281,6 +503,18 @@ public class DarkSVGIcon
         }
     }
 
+    /*
+     * Parses the svg document without updating any other state of the icon. This may be called from
+     * any thread.
+     */
+    void preloadDocument() {
+        svgDocumentHolder.ensureLoaded(this);
+    }
+
+    boolean isDocumentLoaded() {
+        return svgDocumentHolder.loaded.get();
+    }
+
     public SVGDocument getSVGDocument() {
         return svgDocumentHolder.svgDocument(this);
     }
@@ -305,13 +539,28 @@ public class DarkSVGIcon
                 ", iconSize=" + iconSize +
                 ", iconKey=" + iconKey +
                 ", directRendering=" + directRendering +
-                ", loadedWithExtraScale=" + loadedWithExtraScale +
+                ", continuousRotation=" + continuousRotation +
                 ", scaleX=" + scaleX +
                 ", scaleY=" + scaleY +
-                ", image=" + image +
+                ", raster=" + raster +
                 '}';
     }
 
+    private static final class RotatedRaster {
+        private final double angle;
+        private final IconRaster raster;
+        private final double offsetX;
+        private final double offsetY;
+
+        private RotatedRaster(final double angle, final IconRaster raster, final double offsetX,
+                final double offsetY) {
+            this.angle = angle;
+            this.raster = raster;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+    }
+
     private static class SVGDocumentHolder {
         private final @NotNull AtomicBoolean loaded = new AtomicBoolean();
         private SVGDocument svgDocument;
@@ -328,11 +577,14 @@ public class DarkSVGIcon
         }
 
         private boolean ensureLoaded(final @NotNull DarkSVGIcon darkSVGIcon) {
-            if (!loaded.get()) {
+            if (loaded.get()) return false;
+            // Icons may be loaded from multiple threads. Make sure the document is only parsed once.
+            synchronized (this) {
+                if (loaded.get()) return false;
                 URI iconUri = uri;
                 LOGGER.finer(() -> "Loading icon '" + iconUri.toASCIIString() + "'.");
                 try {
-                    svgDocument = IconLoader.svgLoader().load(uri.toURL(), darkSVGIcon.createParserProvider());
+                    svgDocument = IconLoader.loadSVGDocument(uri.toURL(), darkSVGIcon.createParserProvider());
                 } catch (MalformedURLException e) {
                     LOGGER.log(Level.SEVERE, e.getMessage(), e);
                 }
@@ -340,7 +592,6 @@ public class DarkSVGIcon
                 loaded.set(true);
                 return true;
             }
-            return false;
         }
 
         private @NotNull SVGDocument svgDocument(final @NotNull DarkSVGIcon darkSVGIcon) {
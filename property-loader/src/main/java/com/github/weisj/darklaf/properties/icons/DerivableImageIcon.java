@@ -32,6 +32,7 @@ import javax.swing.*;
 
 import com.github.weisj.darklaf.util.LazyValue;
 import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.Scale;
 
 public class DerivableImageIcon
         implements DerivableIcon<DerivableImageIcon>, IconLoader.CacheableIcon, ImageSource, Accessible {
@@ -267,6 +268,7 @@ public class DerivableImageIcon
 
     @Override
     public void paintIcon(final Component c, final Graphics g, final int x, final int y) {
+        if (paintScaledVariant(c, g, x, y)) return;
         Image img = image.get();
         if (img != null) {
             if (c == null) {
@@ -281,6 +283,42 @@ public class DerivableImageIcon
         }
     }
 
+    /*
+     * Paints the variant of the image matching the device resolution of the graphics. The variant is
+     * shared with all icons using the same original image. On the event dispatch thread variants are
+     * scaled in the background. Until then the original image is painted. Animated and partially loaded
+     * images are always painted from the original, so the component keeps receiving their updates.
+     */
+    private boolean paintScaledVariant(final Component c, final Graphics g, final int x, final int y) {
+        Image originalImage = getOriginal();
+        int w = getIconWidth();
+        int h = getIconHeight();
+        if (originalImage == null || w <= 0 || h <= 0 || !(g instanceof Graphics2D)) return false;
+        int originalWidth = originalImage.getWidth(null);
+        int originalHeight = originalImage.getHeight(null);
+        // The original hasn't been loaded yet.
+        if (originalWidth <= 0 || originalHeight <= 0) return false;
+        if (!ScaledImageCache.isStatic(originalImage)) return false;
+
+        int deviceWidth = (int) Math.round(w * Math.abs(Scale.getScaleX((Graphics2D) g)));
+        int deviceHeight = (int) Math.round(h * Math.abs(Scale.getScaleY((Graphics2D) g)));
+        if (deviceWidth <= 0 || deviceHeight <= 0) return false;
+
+        Image img;
+        if (deviceWidth == originalWidth && deviceHeight == originalHeight) {
+            img = originalImage;
+        } else if (c != null && SwingUtilities.isEventDispatchThread()) {
+            img = ScaledImageCache.getScaledImageAsync(originalImage, deviceWidth, deviceHeight, scalingMode,
+                    c::repaint);
+            if (img == null) img = originalImage;
+        } else {
+            img = ScaledImageCache.getScaledImage(originalImage, deviceWidth, deviceHeight, scalingMode);
+        }
+        if (img == null) return false;
+        g.drawImage(img, x, y, w, h, c);
+        return true;
+    }
+
     private boolean ensureImageLoaded(final Image img) {
         MediaTracker tracker = new MediaTracker(new Component() {});
         tracker.addImage(img, 0);
@@ -323,8 +361,7 @@ public class DerivableImageIcon
             if (width < 0) width = originalImage.getWidth(null);
             if (height < 0) height = originalImage.getHeight(null);
             if (iconKey != null) {
-                if (width >= 0) iconKey.w = width;
-                if (height >= 0) iconKey.h = height;
+                iconKey.setSize(width >= 0 ? width : iconKey.w, height >= 0 ? height : iconKey.h);
             }
         }
     }
@@ -379,10 +416,7 @@ public class DerivableImageIcon
     @Override
     public void setCacheKey(final IconLoader.IconKey key) {
         this.iconKey = key;
-        if (iconKey != null && width >= 0 && height >= 0) {
-            iconKey.w = width;
-            iconKey.h = height;
-        }
+        if (iconKey != null && width >= 0 && height >= 0) iconKey.setSize(width, height);
     }
 
     IconLoader.IconKey getCacheKey() {
@@ -481,7 +515,8 @@ public class DerivableImageIcon
             int height = icon.getIconHeight();
             if (originalImage != null && width > 0 && height > 0) {
                 if (originalImage.getWidth(observer) != width || originalImage.getHeight(observer) != height) {
-                    return originalImage.getScaledInstance(width, height, icon.scalingMode);
+                    Image scaled = ScaledImageCache.getScaledImage(originalImage, width, height, icon.scalingMode);
+                    return scaled != null ? scaled : originalImage.getScaledInstance(width, height, icon.scalingMode);
                 } else {
                     return originalImage;
                 }
@@ -0,0 +1,377 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+
+/**
+ * Packs rasterized icons of the same scale factor into a few large shared images. Icons are painted by
+ * drawing their region of the page they have been placed on.
+ *
+ * <p>
+ * Slots are allocated using shelf packing. Regions of a page are never overwritten once they have been
+ * allocated. Space of evicted slots is reclaimed by repacking the live slots of a page into a new image,
+ * hence slots can be painted without holding the lock of the atlas.
+ */
+final class IconAtlas {
+
+    private static final Logger LOGGER = LogUtil.getLogger(IconAtlas.class);
+
+    private static final String PAGE_SIZE_KEY = "darklaf.iconAtlas.pageSize";
+    private static final String MAX_PAGES_KEY = "darklaf.iconAtlas.maxPages";
+    private static final int DEFAULT_PAGE_SIZE = 512;
+    private static final int DEFAULT_MAX_PAGES = 4;
+    /*
+     * Empty space between slots. Prevents neighbouring icons from bleeding into each other when the
+     * page is drawn with interpolation.
+     */
+    private static final int GUTTER = 1;
+    /*
+     * Pages are repacked if at least this fraction of their area belongs to evicted slots.
+     */
+    private static final double REPACK_THRESHOLD = 0.25;
+    /*
+     * Fraction of slots evicted at once if no space can be reclaimed otherwise.
+     */
+    private static final double EVICTION_FRACTION = 0.25;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static final Map<Point2D, IconAtlas> atlases = new ConcurrentHashMap<>();
+
+    private final int pageSize;
+    private final int maxPages;
+    private final List<Page> pages = new ArrayList<>();
+    private final Map<Object, Slot> slots = new HashMap<>();
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long repackCount;
+
+    IconAtlas(final int pageSize, final int maxPages) {
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(1, maxPages);
+    }
+
+    static IconAtlas forScale(final double scaleX, final double scaleY) {
+        return atlases.computeIfAbsent(new Point2D.Double(scaleX, scaleY),
+                k -> new IconAtlas(Integer.getInteger(PAGE_SIZE_KEY, DEFAULT_PAGE_SIZE),
+                        Integer.getInteger(MAX_PAGES_KEY, DEFAULT_MAX_PAGES)));
+    }
+
+    static CacheStatistics getStatistics() {
+        CacheStatistics statistics = new CacheStatistics(0, 0, 0, 0, 0);
+        for (IconAtlas atlas : atlases.values()) {
+            statistics = statistics.plus(atlas.statistics());
+        }
+        return statistics;
+    }
+
+    static void clearAll() {
+        for (IconAtlas atlas : atlases.values()) {
+            atlas.clear();
+        }
+    }
+
+    /**
+     * Returns whether rasters of the given size are placed in the atlas. Large rasters would waste too
+     * much space of the pages.
+     *
+     * @param size the size of the raster.
+     * @return true if the raster can be placed in the atlas.
+     */
+    boolean accepts(final Dimension size) {
+        int limit = pageSize / 4;
+        return size.width > 0 && size.height > 0 && size.width <= limit && size.height <= limit;
+    }
+
+    /*
+     * The renderer is invoked without holding the lock of the atlas. Concurrent requests for the same
+     * key may render the image twice, only one of them will be placed on a page.
+     */
+    Slot getSlot(final Object key, final Supplier<Image> renderer) {
+        synchronized (this) {
+            Slot slot = slots.get(key);
+            if (slot != null) {
+                hitCount++;
+                return slot;
+            }
+            missCount++;
+        }
+        Image image = renderer.get();
+        synchronized (this) {
+            Slot slot = slots.get(key);
+            if (slot != null) return slot;
+            slot = new Slot(key, image.getWidth(null), image.getHeight(null));
+            Location location = allocate(slot);
+            location.draw(image);
+            slot.location = location;
+            slots.put(key, slot);
+            return slot;
+        }
+    }
+
+    private synchronized CacheStatistics statistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, slots.size(),
+                (long) pages.size() * pageSize * pageSize * BYTES_PER_PIXEL);
+    }
+
+    private synchronized void clear() {
+        for (Slot slot : slots.values()) {
+            slot.valid = false;
+        }
+        slots.clear();
+        pages.clear();
+    }
+
+    private Location allocate(final Slot slot) {
+        Location location;
+        for (Page page : pages) {
+            if ((location = page.place(slot)) != null) return location;
+        }
+        if (pages.size() < maxPages) {
+            Page page = new Page(pageSize);
+            pages.add(page);
+            if ((location = page.place(slot)) != null) return location;
+        }
+        long minDeadArea = (long) (REPACK_THRESHOLD * pageSize * pageSize);
+        while (!slots.isEmpty()) {
+            Page page = mostFragmentedPage(minDeadArea);
+            if (page != null) {
+                repack(page);
+                if ((location = page.place(slot)) != null) return location;
+            }
+            evictLeastRecentlyUsed();
+            // Space has been freed. Any amount of reclaimable space is worth repacking now.
+            minDeadArea = 1;
+        }
+        // Everything has been evicted. Start over with a single empty page.
+        pages.clear();
+        Page page = new Page(pageSize);
+        pages.add(page);
+        return page.place(slot);
+    }
+
+    private Page mostFragmentedPage(final long minDeadArea) {
+        Page candidate = null;
+        for (Page page : pages) {
+            if (page.deadArea < minDeadArea) continue;
+            if (candidate == null || page.deadArea > candidate.deadArea) candidate = page;
+        }
+        return candidate;
+    }
+
+    private void repack(final Page page) {
+        for (Slot slot : page.repack()) {
+            evict(slot);
+        }
+        repackCount++;
+        LOGGER.finer(() -> "Repacked icon atlas page. Total repacks: " + repackCount);
+    }
+
+    private void evictLeastRecentlyUsed() {
+        List<Slot> candidates = new ArrayList<>(slots.values());
+        candidates.sort(Comparator.comparingLong(s -> s.lastUse));
+        int count = Math.max(1, (int) (candidates.size() * EVICTION_FRACTION));
+        for (int i = 0; i < count; i++) {
+            evict(candidates.get(i));
+        }
+    }
+
+    private void evict(final Slot slot) {
+        slot.valid = false;
+        slot.page.remove(slot);
+        slots.remove(slot.key);
+        evictionCount++;
+    }
+
+    private static final class Page {
+        private final int size;
+        private final List<Shelf> shelves = new ArrayList<>();
+        private final List<Slot> slots = new ArrayList<>();
+        private BufferedImage image;
+        private int shelfTop;
+        private long deadArea;
+
+        private Page(final int size) {
+            this.size = size;
+            this.image = createImage(size);
+        }
+
+        private static BufferedImage createImage(final int size) {
+            return new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        /*
+         * Reserves space for the slot. The location isn't assigned to the slot, as its contents still
+         * have to be drawn.
+         */
+        private Location place(final Slot slot) {
+            int w = slot.width + GUTTER;
+            int h = slot.height + GUTTER;
+            Shelf best = null;
+            for (Shelf shelf : shelves) {
+                if (shelf.height < h || shelf.x + w > size) continue;
+                if (best == null || shelf.height < best.height) best = shelf;
+            }
+            if (best == null) {
+                if (shelfTop + h > size || w > size) return null;
+                best = new Shelf(shelfTop, h);
+                shelves.add(best);
+                shelfTop += h;
+            }
+            Location location = new Location(image, best.x, best.y);
+            best.x += w;
+            slot.page = this;
+            slots.add(slot);
+            return location;
+        }
+
+        private void remove(final Slot slot) {
+            if (slots.remove(slot)) {
+                deadArea += (long) (slot.width + GUTTER) * (slot.height + GUTTER);
+            }
+        }
+
+        /*
+         * Places all live slots on a new image. Returns the slots which didn't fit anymore.
+         */
+        private List<Slot> repack() {
+            BufferedImage oldImage = image;
+            List<Slot> live = new ArrayList<>(slots);
+            live.sort(Comparator.comparingInt((Slot s) -> s.height).reversed());
+            image = createImage(size);
+            shelves.clear();
+            slots.clear();
+            shelfTop = 0;
+            deadArea = 0;
+
+            List<Slot> overflow = new ArrayList<>();
+            List<Location> moved = new ArrayList<>(live.size());
+            Graphics2D g = image.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            for (Slot slot : live) {
+                Location old = slot.location;
+                Location location = place(slot);
+                if (location == null) {
+                    overflow.add(slot);
+                    continue;
+                }
+                g.drawImage(oldImage,
+                        location.x, location.y, location.x + slot.width, location.y + slot.height,
+                        old.x, old.y, old.x + slot.width, old.y + slot.height, null);
+                moved.add(location);
+            }
+            g.dispose();
+            // Only publish the new locations once their contents have been copied.
+            int i = 0;
+            for (Slot slot : slots) {
+                slot.location = moved.get(i++);
+            }
+            return overflow;
+        }
+    }
+
+    private static final class Shelf {
+        private final int y;
+        private final int height;
+        private int x;
+
+        private Shelf(final int y, final int height) {
+            this.y = y;
+            this.height = height;
+        }
+    }
+
+    /*
+     * Immutable such that painting always sees a consistent image and position.
+     */
+    private static final class Location {
+        private final BufferedImage image;
+        private final int x;
+        private final int y;
+
+        private Location(final BufferedImage image, final int x, final int y) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+
+        private void draw(final Image source) {
+            Graphics2D g = image.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(source, x, y, null);
+            g.dispose();
+        }
+    }
+
+    static final class Slot implements IconRaster {
+        private final Object key;
+        private final int width;
+        private final int height;
+        private volatile Location location;
+        private volatile boolean valid = true;
+        // Only used as a heuristic for eviction. Races are harmless.
+        private long lastUse = System.nanoTime();
+        private Page page;
+
+        private Slot(final Object key, final int width, final int height) {
+            this.key = key;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid;
+        }
+
+        @Override
+        public void paint(final Graphics2D g, final ImageObserver observer) {
+            lastUse = System.nanoTime();
+            Location l = location;
+            g.drawImage(l.image, 0, 0, width, height, l.x, l.y, l.x + width, l.y + height, observer);
+        }
+    }
+}
@@ -22,8 +22,11 @@ package com.github.weisj.darklaf.properties.icons;
 
 import java.awt.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
+import javax.swing.*;
+
 import com.github.weisj.darklaf.properties.PropertyLoader;
 import com.github.weisj.darklaf.properties.parser.ParseResult;
 import com.github.weisj.darklaf.properties.parser.Parser;
@@ -42,6 +45,52 @@ public final class IconColorMapper {
     private static final String INLINE_VALUE_PREFIX = "%";
     private static final Color FALLBACK_COLOR = Color.RED;
 
+    private static volatile ResolutionTable themeResolutionTable;
+
+    /**
+     * Resolves the color with respect to the ui defaults of the current theme. Results are memoized
+     * until the theme status changes (see {@link IconLoader#updateThemeStatus(Object)}), a themed icon is
+     * invalidated (see {@link ThemedSVGIcon#invalidate()}) or a different look and feel is installed.
+     *
+     * @param key the key of the color.
+     * @param fallbacks the fallback keys.
+     * @return the resolved color.
+     * @see #resolveColor(String, String[], Map, Map)
+     */
+    public static Color resolveThemeColor(final String key, final String[] fallbacks) {
+        return (Color) getResolutionTable().values.computeIfAbsent(new ResolutionKey(key, fallbacks, false),
+                k -> resolveColor(key, fallbacks, UIManager.getDefaults(), null));
+    }
+
+    /**
+     * Resolves the opacity with respect to the ui defaults of the current theme. Results are memoized
+     * in the same way as {@link #resolveThemeColor(String, String[])}.
+     *
+     * @param key the key of the opacity.
+     * @param fallbacks the fallback keys.
+     * @return the opacity or -1 if none is defined.
+     * @see #getOpacity(String, String[], Map, Map)
+     */
+    public static float getThemeOpacity(final String key, final String[] fallbacks) {
+        return (Float) getResolutionTable().values.computeIfAbsent(new ResolutionKey(key, fallbacks, true),
+                k -> getOpacity(key, fallbacks, UIManager.getDefaults(), null));
+    }
+
+    static void invalidateThemeResolutionTable() {
+        themeResolutionTable = null;
+    }
+
+    private static ResolutionTable getResolutionTable() {
+        Object themeStatus = IconLoader.getThemeStatus();
+        UIDefaults defaults = UIManager.getLookAndFeelDefaults();
+        ResolutionTable table = themeResolutionTable;
+        if (table == null || table.themeStatus != themeStatus || table.defaults != defaults) {
+            table = new ResolutionTable(themeStatus, defaults);
+            themeResolutionTable = table;
+        }
+        return table;
+    }
+
     public static Color resolveColor(final String key, final String[] fallbacks,
             final Map<Object, Object> propertyMap, final Map<Object, Object> contextDefaults) {
         Color color = get(propertyMap, contextDefaults, key, fallbacks, Color.class);
@@ -121,4 +170,45 @@ public final class IconColorMapper {
             final Object[] fallbacks, final Class<T> type) {
         return getEntry(map, contextDefaults, key, fallbacks, type).getSecond();
     }
+
+    private static final class ResolutionTable {
+        private final Object themeStatus;
+        private final UIDefaults defaults;
+        private final Map<ResolutionKey, Object> values = new ConcurrentHashMap<>();
+
+        private ResolutionTable(final Object themeStatus, final UIDefaults defaults) {
+            this.themeStatus = themeStatus;
+            this.defaults = defaults;
+        }
+    }
+
+    private static final class ResolutionKey {
+        private final String key;
+        private final String[] fallbacks;
+        private final boolean opacity;
+
+        private ResolutionKey(final String key, final String[] fallbacks, final boolean opacity) {
+            this.key = key;
+            this.fallbacks = fallbacks;
+            this.opacity = opacity;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ResolutionKey)) return false;
+            ResolutionKey that = (ResolutionKey) o;
+            return opacity == that.opacity
+                    && Objects.equals(key, that.key)
+                    && Arrays.equals(fallbacks, that.fallbacks);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hashCode(key);
+            result = 31 * result + Arrays.hashCode(fallbacks);
+            result = 31 * result + (opacity ? 1 : 0);
+            return result;
+        }
+    }
 }
@@ -24,10 +24,27 @@ import java.awt.*;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.swing.*;
@@ -38,33 +55,102 @@ import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.darklaf.util.LazyValue;
 import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+import com.github.weisj.darklaf.util.cache.LRUCache;
 import com.github.weisj.darklaf.util.cache.SoftCache;
+import com.github.weisj.darklaf.util.instrumentation.Instrumentation;
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.parser.ParserProvider;
 import com.github.weisj.jsvg.parser.SVGLoader;
 
 /**
  * Default implementation of {@link IconResolver}, which provides some additional convenience
  * methods for loading svg icons.
  *
+ * <p>
+ * Icon loaders are thread safe. Icons may be requested from any thread without blocking requests for
+ * other icons. Concurrent requests for the same icon return the same instance if caching is enabled.
+ *
  * @author Jannis Weis
  */
 public final class IconLoader implements IconResolver {
     private static final Logger LOGGER = LogUtil.getLogger(IconLoader.class);
-    private static final Map<Class<?>, IconLoader> iconLoaderMap = new HashMap<>();
+    /*
+     * Key used for the default loader, as ConcurrentHashMap doesn't support null keys.
+     */
+    private static final Object DEFAULT_LOADER_KEY = new Object();
+    private static final Map<Object, IconLoader> iconLoaderMap = new ConcurrentHashMap<>();
     private static final LazyValue<IconLoader> instance = new LazyValue<>(() -> get(null));
 
     private static final AtomicReference<Object> currentThemeKey = new AtomicReference<>(null);
     private static final AtomicReference<AwareIconStyle> currentAwareStyle = new AtomicReference<>(null);
 
     private static final SVGLoader loader;
+    /*
+     * SVGLoader is not thread safe. Loaders used by background threads are pooled to avoid creating a new
+     * instance for every loaded icon.
+     */
+    private static final int MAX_POOLED_SVG_LOADERS = Runtime.getRuntime().availableProcessors();
+    private static final Queue<SVGLoader> svgLoaderPool = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger svgLoaderPoolSize = new AtomicInteger();
+    /*
+     * Leave one processor for the event dispatch thread.
+     */
+    private static final int PRELOAD_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final LazyValue<Executor> preloadExecutor = new LazyValue<>(IconLoader::createPreloadExecutor);
 
     // Infer size by default.
     private static final int DEFAULT_WIDTH_SVG = -1;
     private static final int DEFAULT_HEIGHT_SVG = -1;
+
+    /**
+     * If set to {@code true} all themed icons which are still in use are recolored and rasterized in the
+     * background after the theme changed. Otherwise they are updated when they are painted for the first
+     * time after the theme change.
+     *
+     * @see #updateThemeStatus(Object)
+     */
+    public static final String EAGER_RECOLOR_KEY = "darklaf.eagerIconRecolor";
+    /**
+     * If set to {@code true} svg icons are loaded from their precompiled form if available. Compiled
+     * icons are located next to the svg file with the extension {@code .svgc}.
+     *
+     * @see CompiledSVGIcon
+     */
+    public static final String COMPILED_ICONS_KEY = "darklaf.compiledIcons";
+    /**
+     * If set to {@code true} small rasterized svg icons of the same scale factor are packed into shared
+     * atlas images instead of each icon using an image of its own. The size of the atlas pages and the
+     * number of pages per scale factor can be configured using {@code darklaf.iconAtlas.pageSize} and
+     * {@code darklaf.iconAtlas.maxPages}.
+     */
+    public static final String ICON_ATLAS_KEY = "darklaf.iconAtlas";
+    public static final String CACHE_MAX_ENTRIES_KEY = "darklaf.iconCache.maxEntries";
+    public static final String CACHE_MAX_BYTES_KEY = "darklaf.iconCache.maxBytes";
+    private static final int DEFAULT_CACHE_MAX_ENTRIES = 4096;
+    private static final long DEFAULT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+    /*
+     * Estimated size of icons whose size is inferred from their content.
+     */
+    private static final int ESTIMATED_ICON_SIZE = 16;
+    private static final int BYTES_PER_PIXEL = 4;
+
     private final @Nullable Class<?> parentClass;
 
-    private boolean cacheEnabled = true;
-    private final SoftCache<IconKey, DarkUIAwareIcon> awareIconCache = new SoftCache<>();
-    private final SoftCache<IconKey, CacheableIcon> iconCache = new SoftCache<>();
+    private volatile boolean cacheEnabled = true;
+    private final LRUCache<IconKey, DarkUIAwareIcon> awareIconCache = createCache();
+    private final LRUCache<IconKey, CacheableIcon> iconCache = createCache();
+    /*
+     * The key of an icon in the icon cache for each path, which other sizes can be derived from. The
+     * entry may have been evicted in the meantime.
+     */
+    private final Map<String, IconKey> wildcardKeys = new ConcurrentHashMap<>();
+    /*
+     * A lookup may probe both caches, hence the outcome of lookups is counted separately.
+     */
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
 
     static {
         UIManager.addPropertyChangeListener(e -> {
@@ -77,11 +163,148 @@ public final class IconLoader implements IconResolver {
         loader = new SVGLoader();
     }
 
-    static @NotNull SVGLoader svgLoader() {
-        // SVGLoader is not thread safe. For the EDT we use a cached version to avoid UI slow downs.
-        // All other cases are probably fine with the overhead of creating a new SVGLoader instance.
-        if (SwingUtilities.isEventDispatchThread()) return loader;
-        return new SVGLoader();
+    static @Nullable SVGDocument loadSVGDocument(final @NotNull URL url, final @NotNull ParserProvider provider) {
+        long start = Instrumentation.start();
+        try {
+            return loadSVGDocumentImpl(url, provider);
+        } finally {
+            Instrumentation.record(Instrumentation.Category.ICON_LOAD, getFileName(url), start);
+        }
+    }
+
+    static @NotNull String getFileName(final @NotNull URL url) {
+        String path = url.getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static @Nullable SVGDocument loadSVGDocumentImpl(final @NotNull URL url,
+            final @NotNull ParserProvider provider) {
+        // For the EDT we use a dedicated loader to avoid UI slow downs.
+        if (SwingUtilities.isEventDispatchThread()) return loader.load(url, provider);
+        SVGLoader svgLoader = svgLoaderPool.poll();
+        if (svgLoader != null) {
+            svgLoaderPoolSize.decrementAndGet();
+        } else {
+            svgLoader = new SVGLoader();
+        }
+        try {
+            return svgLoader.load(url, provider);
+        } finally {
+            if (svgLoaderPoolSize.incrementAndGet() <= MAX_POOLED_SVG_LOADERS) {
+                svgLoaderPool.offer(svgLoader);
+            } else {
+                svgLoaderPoolSize.decrementAndGet();
+            }
+        }
+    }
+
+    private static Executor createPreloadExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(PRELOAD_THREADS, PRELOAD_THREADS, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "Darklaf Icon Preloader");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static <T extends CacheableIcon> LRUCache<IconKey, T> createCache() {
+        int maxEntries = Integer.getInteger(CACHE_MAX_ENTRIES_KEY, DEFAULT_CACHE_MAX_ENTRIES);
+        long maxBytes = Long.getLong(CACHE_MAX_BYTES_KEY, DEFAULT_CACHE_MAX_BYTES);
+        return new LRUCache<>(maxEntries, maxBytes, IconLoader::estimateRasterSize);
+    }
+
+    /*
+     * The memory needed to rasterize the icon at scale 1. Icons are weighed by their key, as querying the
+     * size of the icon itself may load it.
+     */
+    private static long estimateRasterSize(final IconKey key, final Icon icon) {
+        int w = key.w > 0 ? key.w : ESTIMATED_ICON_SIZE;
+        int h = key.h > 0 ? key.h : ESTIMATED_ICON_SIZE;
+        // Aware icons hold a dark and light variant.
+        int variants = icon instanceof DarkUIAwareIcon ? 2 : 1;
+        return (long) variants * w * h * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Sets the limits of the icon cache. The limits apply to cached icons and aware icons separately.
+     * Least recently used icons are evicted if one of the limits is exceeded. The default limits can be
+     * set using the {@link #CACHE_MAX_ENTRIES_KEY} and {@link #CACHE_MAX_BYTES_KEY} system properties.
+     *
+     * @param maxEntries the maximum number of icons.
+     * @param maxBytes the maximum estimated memory needed to rasterize all icons.
+     */
+    public void setCacheLimits(final int maxEntries, final long maxBytes) {
+        awareIconCache.setLimits(maxEntries, maxBytes);
+        iconCache.setLimits(maxEntries, maxBytes);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the icon cache. Each icon lookup is counted once.
+     *
+     * @return the cache statistics.
+     */
+    public @NotNull CacheStatistics getCacheStatistics() {
+        CacheStatistics aware = awareIconCache.getStatistics();
+        CacheStatistics icons = iconCache.getStatistics();
+        return new CacheStatistics(hitCount.sum(), missCount.sum(),
+                aware.getEvictionCount() + icons.getEvictionCount(), aware.getSize() + icons.getSize(),
+                aware.getWeight() + icons.getWeight());
+    }
+
+    /**
+     * Sets the limits of the cache for rasterized svg icons. The images are shared between all icon
+     * loaders. The default limits can be set using the {@code darklaf.iconRasterCache.maxEntries} and
+     * {@code darklaf.iconRasterCache.maxBytes} system properties.
+     *
+     * @param maxEntries the maximum number of images.
+     * @param maxBytes the maximum memory used by all images.
+     */
+    public static void setRasterCacheLimits(final int maxEntries, final long maxBytes) {
+        SVGRasterCache.setLimits(maxEntries, maxBytes);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the cache for rasterized svg icons.
+     *
+     * @return the cache statistics.
+     */
+    public static @NotNull CacheStatistics getRasterCacheStatistics() {
+        return SVGRasterCache.getStatistics();
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the icon atlases. The weight is the memory used by all
+     * atlas pages.
+     *
+     * @return the atlas statistics.
+     * @see #ICON_ATLAS_KEY
+     */
+    public static @NotNull CacheStatistics getIconAtlasStatistics() {
+        return SVGRasterCache.getAtlasStatistics();
+    }
+
+    /**
+     * Sets the limits of the cache for scaled variants of bitmap icons. The variants are shared between
+     * all icon loaders. The default limits can be set using the {@code darklaf.scaledImageCache.maxEntries}
+     * and {@code darklaf.scaledImageCache.maxBytes} system properties.
+     *
+     * @param maxEntries the maximum number of images.
+     * @param maxBytes the maximum memory used by all images.
+     */
+    public static void setScaledImageCacheLimits(final int maxEntries, final long maxBytes) {
+        ScaledImageCache.setLimits(maxEntries, maxBytes);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the cache for scaled variants of bitmap icons.
+     *
+     * @return the cache statistics.
+     */
+    public static @NotNull CacheStatistics getScaledImageCacheStatistics() {
+        return ScaledImageCache.getStatistics();
     }
 
     /**
@@ -104,7 +327,6 @@ public final class IconLoader implements IconResolver {
 
     private IconLoader(final @Nullable Class<?> parentClass) {
         this.parentClass = parentClass;
-        iconLoaderMap.put(parentClass, this);
     }
 
     /**
@@ -122,13 +344,8 @@ public final class IconLoader implements IconResolver {
      * @return the default icon loader.
      */
     public static @NotNull IconLoader get(final @Nullable Class<?> parentClass) {
-        if (iconLoaderMap.containsKey(parentClass)) {
-            return iconLoaderMap.get(parentClass);
-        } else {
-            IconLoader loader = new IconLoader(parentClass);
-            iconLoaderMap.put(parentClass, loader);
-            return loader;
-        }
+        Object key = parentClass != null ? parentClass : DEFAULT_LOADER_KEY;
+        return iconLoaderMap.computeIfAbsent(key, k -> new IconLoader(parentClass));
     }
 
     /**
@@ -149,6 +366,7 @@ public final class IconLoader implements IconResolver {
     public void clearCache() {
         awareIconCache.clear();
         iconCache.clear();
+        wildcardKeys.clear();
     }
 
     /**
@@ -174,10 +392,19 @@ public final class IconLoader implements IconResolver {
      * Updates the object associated with the current theme. Changing it will force themed icons to
      * refresh their colors. This doesn't need to be any specific type as it is simply a marker object.
      *
+     * <p>
+     * Themed icons usually refresh their colors the next time they are painted. If the system property
+     * {@link #EAGER_RECOLOR_KEY} is set to {@code true} all themed icons in use are recolored in the
+     * background instead.
+     *
      * @param theme the new theme object.
      */
     public static void updateThemeStatus(final Object theme) {
         currentThemeKey.set(theme);
+        IconColorMapper.invalidateThemeResolutionTable();
+        if (ThemedIconRecolorPass.isEnabled()) {
+            ThemedIconRecolorPass.schedule(theme);
+        }
     }
 
     /** Reload all created frame icons if necessary. */
@@ -229,12 +456,14 @@ public final class IconLoader implements IconResolver {
     @Override
     public @NotNull DarkUIAwareIcon getUIAwareIcon(final @NotNull String path, final int w, final int h) {
         IconKey key = new IconKey(path, w, h);
-        DarkUIAwareIcon icon;
-        if (!isCacheEnabled() || ((icon = awareIconCache.get(key)) == null)) {
-            icon = createUIAwareIcon(path, w, h);
-            cache(awareIconCache, key, icon);
+        if (!isCacheEnabled()) return createUIAwareIcon(path, w, h);
+        DarkUIAwareIcon icon = awareIconCache.peek(key);
+        if (icon != null) {
+            hitCount.increment();
+            return icon;
         }
-        return icon;
+        missCount.increment();
+        return cache(awareIconCache, key, k -> createUIAwareIcon(path, w, h));
     }
 
     /**
@@ -331,48 +560,142 @@ public final class IconLoader implements IconResolver {
 
     @NotNull
     private Icon getIconImpl(final @NotNull String path, final int w, final int h, final boolean themed) {
-        synchronized (this) {
-            IconKey key = new IconKey(path, w, h);
-
-            if (isCacheEnabled()) {
-                CacheableIcon icon;
-                if ((icon = iconCache.get(key)) != null) {
-                    return icon;
-                } else if ((icon = awareIconCache.get(key)) != null) {
-                    return icon;
-                }
-                icon = getWildcardIcon(iconCache, key, w, h);
-                if (icon != null) return icon;
-            }
+        IconKey key = new IconKey(path, w, h);
+        if (!isCacheEnabled()) return createIcon(key, themed);
 
-            // Icon not found or caching is disabled.
-            CacheableIcon icon = isSVGIcon(path)
-                    ? loadSVGIconInternal(path, w, h, themed, null)
-                    : new DerivableImageIcon(new LazyImageIconSupplier(path, key, parentClass), w, h);
-            cache(iconCache, key, icon);
+        CacheableIcon icon = iconCache.peek(key);
+        if (icon == null) icon = awareIconCache.peek(key);
+        if (icon != null) {
+            hitCount.increment();
             return icon;
         }
+        missCount.increment();
+        CacheableIcon wildcardIcon = getWildcardIcon(iconCache, path);
+        if (wildcardIcon instanceof DerivableIcon) {
+            return cache(iconCache, key, k -> {
+                @SuppressWarnings("unchecked")
+                CacheableIcon derived = (CacheableIcon) ((DerivableIcon<Icon>) wildcardIcon).derive(w, h);
+                return derived;
+            });
+        }
+        CacheableIcon created = cache(iconCache, key, k -> createIcon(k, themed));
+        wildcardKeys.put(path, key);
+        return created;
+    }
+
+    private @NotNull CacheableIcon createIcon(final @NotNull IconKey key, final boolean themed) {
+        if (!isSVGIcon(key.path)) {
+            return new DerivableImageIcon(new LazyImageIconSupplier(key.path, key, parentClass), key.w, key.h);
+        }
+        CacheableIcon compiledIcon = loadCompiledIcon(key.path, key.w, key.h, themed);
+        return compiledIcon != null ? compiledIcon : loadSVGIconInternal(key.path, key.w, key.h, themed, null);
+    }
+
+    private @Nullable CacheableIcon loadCompiledIcon(final String path, final int w, final int h,
+            final boolean themed) {
+        if (!PropertyUtil.getSystemFlag(COMPILED_ICONS_KEY, false)) return null;
+        // Svg files which couldn't be compiled don't have a compiled counterpart.
+        URL compiledURL = getResource(path + "c");
+        if (compiledURL == null) return null;
+        return themed
+                ? new CompiledThemedSVGIcon(compiledURL, w, h)
+                : new CompiledSVGIcon(compiledURL, w, h);
+    }
+
+    private @Nullable CacheableIcon getWildcardIcon(final LRUCache<IconKey, CacheableIcon> iconMap,
+            final String path) {
+        // Any icon with the same path can be derived.
+        IconKey wildcardKey = wildcardKeys.get(path);
+        return wildcardKey != null ? iconMap.peek(wildcardKey) : null;
+    }
+
+    static Executor getBackgroundExecutor() {
+        return preloadExecutor.get();
+    }
+
+    /**
+     * Loads the svg documents of the icons at the given paths on a background thread. Icons requested
+     * later on won't have to be parsed on the event dispatch thread. Paths which aren't svg icons are
+     * ignored.
+     *
+     * @param paths the paths of the icons with respect to the IconLoader resource root.
+     * @return future which completes once all icons have been loaded.
+     */
+    public @NotNull CompletableFuture<Void> preload(final @NotNull Collection<String> paths) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            if (!isSVGIcon(path)) continue;
+            futures.add(preloadAsync(() -> {
+                preloadIcon(getIcon(path));
+            }, path));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
     }
 
-    private @Nullable CacheableIcon getWildcardIcon(final SoftCache<IconKey, CacheableIcon> iconMap,
-            final IconKey iconKey, final int w, final int h) {
-        iconKey.isWildcardEnabled = true;
-        CacheableIcon icon = iconMap.get(iconKey);
-        if (icon instanceof DerivableIcon) {
-            @SuppressWarnings("unchecked")
-            CacheableIcon derived = (CacheableIcon) ((DerivableIcon<Icon>) icon).derive(w, h);
-            iconKey.isWildcardEnabled = false;
-            cache(iconMap, iconKey, derived);
-            return derived;
+    /**
+     * Loads the svg documents of all icons contained in the given values on a background thread. This
+     * can be used to warm up all icons referenced by the ui defaults. Aware icons are loaded for the
+     * current {@link AwareIconStyle}. Values which aren't icons are ignored, lazy values aren't
+     * resolved.
+     *
+     * @param values the values to search for icons.
+     * @return future which completes once all icons have been loaded.
+     */
+    public static @NotNull CompletableFuture<Void> preloadIcons(final @NotNull Collection<?> values) {
+        Set<Object> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object value : values) {
+            if (value instanceof Icon) candidates.add(value);
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(candidates.size());
+        for (Object icon : candidates) {
+            futures.add(preloadAsync(() -> preloadIcon((Icon) icon), icon));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private static void preloadIcon(final Icon icon) {
+        if (icon instanceof DarkSVGIcon) {
+            ((DarkSVGIcon) icon).preloadDocument();
+        } else if (icon instanceof CompiledSVGIcon) {
+            ((CompiledSVGIcon) icon).preloadDocument();
+        } else if (icon instanceof DarkUIAwareIcon) {
+            DarkUIAwareIcon awareIcon = (DarkUIAwareIcon) icon;
+            String path = getAwareStyle() == AwareIconStyle.DARK ? awareIcon.darkKey : awareIcon.lightKey;
+            if (get(awareIcon.parentClass).isSVGIcon(path)) {
+                preloadIcon(get(awareIcon.parentClass).getIcon(path, awareIcon.w, awareIcon.h));
+            }
+        } else if (icon instanceof StateIcon) {
+            for (Icon stateIcon : ((StateIcon) icon).getIcons()) {
+                preloadIcon(stateIcon);
+            }
         }
-        iconKey.isWildcardEnabled = false;
-        return null;
     }
 
-    private <T extends CacheableIcon> void cache(final SoftCache<IconKey, T> iconMap, final IconKey key, final T icon) {
-        if (cacheEnabled) {
-            iconMap.put(key, icon);
+    private static CompletableFuture<Void> preloadAsync(final Runnable task, final Object description) {
+        // Preloading is only an optimization. Failures are logged and surface again once the icon is used.
+        return CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not preload icon " + description, e);
+            }
+        }, preloadExecutor.get());
+    }
+
+    private <T extends CacheableIcon> T cache(final LRUCache<IconKey, T> iconMap, final IconKey key,
+            final Function<IconKey, T> iconFactory) {
+        Object[] created = new Object[1];
+        T icon = iconMap.computeIfAbsent(key, k -> {
+            T i = iconFactory.apply(k);
+            created[0] = i;
+            return i;
+        });
+        if (icon == created[0]) {
+            // The icon may update the size of the key, hence it can only be handed out once it is cached.
+            key.cache = iconMap;
+            icon.setCacheKey(key);
         }
+        return icon;
     }
 
     /**
@@ -458,7 +781,10 @@ public final class IconLoader implements IconResolver {
     ImageIcon createImageIcon(final @NotNull String path, final String description) {
         URL imgURL = getResource(path);
         if (imgURL != null) {
-            return new ImageIcon(imgURL, description);
+            long start = Instrumentation.start();
+            ImageIcon icon = new ImageIcon(imgURL, description);
+            Instrumentation.record(Instrumentation.Category.ICON_LOAD, getFileName(imgURL), start);
+            return icon;
         } else {
             LOGGER.severe("Could not find icon file: '" + path + "'");
             return null;
@@ -518,11 +844,16 @@ public final class IconLoader implements IconResolver {
     public interface CacheableIcon extends Icon, SoftCache.Cacheable<IconKey> {
     }
 
+    /*
+     * Identifies an icon by its path and size. The size is updated by the icon once it is known, e.g. if
+     * the icon was requested at its natural size. Keys held by a cache are moved to their new position
+     * when the size changes.
+     */
     static final class IconKey {
         final String path;
         int w;
         int h;
-        boolean isWildcardEnabled;
+        private LRUCache<IconKey, ?> cache;
 
         private IconKey(final String path, final int w, final int h) {
             this.path = path;
@@ -530,9 +861,29 @@ public final class IconLoader implements IconResolver {
             this.h = h;
         }
 
+        synchronized void setSize(final int width, final int height) {
+            if (w == width && h == height) return;
+            if (cache != null) {
+                moveKey(cache, width, height);
+            } else {
+                w = width;
+                h = height;
+            }
+        }
+
+        private <T> void moveKey(final LRUCache<IconKey, T> keyCache, final int width, final int height) {
+            T icon = keyCache.remove(this);
+            w = width;
+            h = height;
+            if (icon != null) keyCache.put(this, icon);
+        }
+
         @Override
         public int hashCode() {
-            return Objects.hashCode(path);
+            int result = Objects.hashCode(path);
+            result = 31 * result + w;
+            result = 31 * result + h;
+            return result;
         }
 
         @Override
@@ -542,10 +893,6 @@ public final class IconLoader implements IconResolver {
 
             IconKey iconKey = (IconKey) o;
 
-            if (iconKey.isWildcardEnabled || this.isWildcardEnabled) {
-                // Match any size.
-                return Objects.equals(path, iconKey.path);
-            }
             if (w != iconKey.w) return false;
             if (h != iconKey.h) return false;
             return Objects.equals(path, iconKey.path);
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.awt.image.ImageObserver;
+
+/**
+ * Rasterized form of an icon. The raster is either backed by an image of its own or by a slot inside a
+ * shared {@link IconAtlas}.
+ */
+interface IconRaster {
+
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * Returns whether the raster can still be painted. Rasters which have been evicted from their atlas
+     * have to be recreated.
+     *
+     * @return true if the raster is valid.
+     */
+    boolean isValid();
+
+    /**
+     * Paints the raster at the origin of the graphics object without scaling.
+     *
+     * @param g the graphics object.
+     * @param observer the image observer.
+     */
+    void paint(Graphics2D g, ImageObserver observer);
+
+    static IconRaster of(final Image image) {
+        return new ImageRaster(image);
+    }
+
+    final class ImageRaster implements IconRaster {
+        private final Image image;
+
+        private ImageRaster(final Image image) {
+            this.image = image;
+        }
+
+        @Override
+        public int getWidth() {
+            return image.getWidth(null);
+        }
+
+        @Override
+        public int getHeight() {
+            return image.getHeight(null);
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public void paint(final Graphics2D g, final ImageObserver observer) {
+            g.drawImage(image, 0, 0, observer);
+        }
+    }
+}
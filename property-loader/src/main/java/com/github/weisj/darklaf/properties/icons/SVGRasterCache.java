@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+import com.github.weisj.darklaf.util.cache.LRUCache;
+
+/**
+ * Rasterized images of svg icons shared between all icon instances. Icons which render the same
+ * document at the same size, scale and colors use the same image.
+ *
+ * <p>
+ * If {@link IconLoader#ICON_ATLAS_KEY} is set small icons are placed in an {@link IconAtlas} of their
+ * scale factor instead of an image of their own.
+ */
+final class SVGRasterCache {
+
+    private static final String MAX_ENTRIES_KEY = "darklaf.iconRasterCache.maxEntries";
+    private static final String MAX_BYTES_KEY = "darklaf.iconRasterCache.maxBytes";
+    private static final int DEFAULT_MAX_ENTRIES = 2048;
+    private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final boolean atlasEnabled = PropertyUtil.getSystemFlag(IconLoader.ICON_ATLAS_KEY, false);
+
+    private static final LRUCache<RasterKey, IconRaster> cache = new LRUCache<>(
+            Integer.getInteger(MAX_ENTRIES_KEY, DEFAULT_MAX_ENTRIES),
+            Long.getLong(MAX_BYTES_KEY, DEFAULT_MAX_BYTES),
+            (key, raster) -> (long) raster.getWidth() * raster.getHeight() * BYTES_PER_PIXEL);
+
+    private SVGRasterCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /*
+     * The renderer is only invoked if no raster for the key exists. The image created by the renderer
+     * needs to have the given image size.
+     */
+    static IconRaster getRaster(final Object document, final Dimension size, final double scaleX,
+            final double scaleY, final Object state, final Dimension imageSize, final Supplier<Image> renderer) {
+        RasterKey key = new RasterKey(document, size.width, size.height, scaleX, scaleY, state);
+        if (atlasEnabled) {
+            IconAtlas atlas = IconAtlas.forScale(scaleX, scaleY);
+            if (atlas.accepts(imageSize)) return atlas.getSlot(key, renderer);
+        }
+        return cache.computeIfAbsent(key, k -> IconRaster.of(renderer.get()));
+    }
+
+    static void setLimits(final int maxEntries, final long maxBytes) {
+        cache.setLimits(maxEntries, maxBytes);
+    }
+
+    static CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    static CacheStatistics getAtlasStatistics() {
+        return IconAtlas.getStatistics();
+    }
+
+    static void clear() {
+        cache.clear();
+        IconAtlas.clearAll();
+    }
+
+    private static final class RasterKey {
+        private final Object document;
+        private final int width;
+        private final int height;
+        private final double scaleX;
+        private final double scaleY;
+        private final Object state;
+
+        private RasterKey(final Object document, final int width, final int height, final double scaleX,
+                final double scaleY, final Object state) {
+            this.document = document;
+            this.width = width;
+            this.height = height;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.state = state;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RasterKey)) return false;
+            RasterKey other = (RasterKey) o;
+            return document == other.document
+                    && width == other.width
+                    && height == other.height
+                    && Double.compare(scaleX, other.scaleX) == 0
+                    && Double.compare(scaleY, other.scaleY) == 0
+                    && Objects.equals(state, other.state);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(document);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + Double.hashCode(scaleX);
+            result = 31 * result + Double.hashCode(scaleY);
+            result = 31 * result + Objects.hashCode(state);
+            return result;
+        }
+    }
+}
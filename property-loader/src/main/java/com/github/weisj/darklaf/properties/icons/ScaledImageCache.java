@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+import com.github.weisj.darklaf.util.cache.LRUCache;
+
+/**
+ * Scaled variants of bitmap images shared between all icon instances. Each variant of an image is
+ * only scaled once, regardless of how many icons request it.
+ */
+final class ScaledImageCache {
+
+    private static final Logger LOGGER = LogUtil.getLogger(ScaledImageCache.class);
+
+    private static final String MAX_ENTRIES_KEY = "darklaf.scaledImageCache.maxEntries";
+    private static final String MAX_BYTES_KEY = "darklaf.scaledImageCache.maxBytes";
+    private static final int DEFAULT_MAX_ENTRIES = 512;
+    private static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static final LRUCache<VariantKey, Image> cache = new LRUCache<>(
+            Integer.getInteger(MAX_ENTRIES_KEY, DEFAULT_MAX_ENTRIES),
+            Long.getLong(MAX_BYTES_KEY, DEFAULT_MAX_BYTES),
+            (key, image) -> (long) key.width * key.height * BYTES_PER_PIXEL);
+    private static final Map<VariantKey, CompletableFuture<Image>> pending = new ConcurrentHashMap<>();
+
+    private ScaledImageCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /*
+     * Returns the variant of the image with the given size. The image is scaled on the calling thread
+     * if necessary. Returns null if the source image hasn't been loaded yet or is animated.
+     */
+    @Nullable
+    static Image getScaledImage(final Image source, final int width, final int height, final int scalingMode) {
+        if (!isLoaded(source)) return null;
+        VariantKey key = new VariantKey(source, width, height, scalingMode);
+        Image image = cache.get(key);
+        if (image != null) return image;
+        image = scale(source, width, height, scalingMode);
+        cache.put(key, image);
+        return image;
+    }
+
+    /*
+     * Returns the variant of the image with the given size if it already exists. Otherwise the image is
+     * scaled on a background thread and the callback is invoked once it is available.
+     */
+    @Nullable
+    static Image getScaledImageAsync(final Image source, final int width, final int height, final int scalingMode,
+            final Runnable onLoad) {
+        if (!isLoaded(source)) return null;
+        VariantKey key = new VariantKey(source, width, height, scalingMode);
+        Image image = cache.get(key);
+        if (image != null) return image;
+
+        CompletableFuture<Image> created = new CompletableFuture<>();
+        CompletableFuture<Image> future = pending.putIfAbsent(key, created);
+        if (future == null) {
+            future = created;
+            IconLoader.getBackgroundExecutor().execute(() -> {
+                try {
+                    Image scaled = scale(source, width, height, scalingMode);
+                    cache.put(key, scaled);
+                    created.complete(scaled);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Could not scale image to " + width + "x" + height, e);
+                    created.completeExceptionally(e);
+                } finally {
+                    pending.remove(key, created);
+                }
+            });
+        }
+        future.thenRun(onLoad);
+        return null;
+    }
+
+    private static boolean isLoaded(final Image image) {
+        return image.getWidth(null) > 0 && image.getHeight(null) > 0 && isStatic(image);
+    }
+
+    /*
+     * Whether the image is completely loaded and consists of a single frame. Toolkit images only report
+     * ALLBITS once all pixels have arrived. Multi frame images like animated gifs only ever report
+     * FRAMEBITS, as further frames keep being delivered to the observers. Scaling those into a
+     * BufferedImage would freeze them at their current frame.
+     */
+    static boolean isStatic(final Image image) {
+        if (image instanceof BufferedImage) return true;
+        int flags = Toolkit.getDefaultToolkit().checkImage(image, -1, -1, null);
+        return (flags & ImageObserver.ALLBITS) != 0;
+    }
+
+    /*
+     * Downscaling in a single bilinear step only samples a few of the source pixels and produces
+     * aliasing. Instead the image is halved until it is less than twice the target size.
+     */
+    static BufferedImage scale(final Image source, final int width, final int height, final int scalingMode) {
+        boolean smooth = (scalingMode & (Image.SCALE_FAST | Image.SCALE_REPLICATE)) == 0;
+        int w = source.getWidth(null);
+        int h = source.getHeight(null);
+        Image current = source;
+        if (smooth) {
+            while (w / 2 >= width || h / 2 >= height) {
+                w = Math.max(width, w / 2);
+                h = Math.max(height, h / 2);
+                current = draw(current, w, h, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            }
+        }
+        Object interpolation;
+        if (!smooth) {
+            interpolation = RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+        } else if (width > w || height > h) {
+            interpolation = RenderingHints.VALUE_INTERPOLATION_BICUBIC;
+        } else {
+            interpolation = RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+        }
+        return draw(current, width, height, interpolation);
+    }
+
+    private static BufferedImage draw(final Image image, final int width, final int height,
+            final Object interpolation) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    static void setLimits(final int maxEntries, final long maxBytes) {
+        cache.setLimits(maxEntries, maxBytes);
+    }
+
+    static CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    static void clear() {
+        cache.clear();
+    }
+
+    private static final class VariantKey {
+        private final Image source;
+        private final int width;
+        private final int height;
+        private final int scalingMode;
+
+        private VariantKey(final Image source, final int width, final int height, final int scalingMode) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+            this.scalingMode = scalingMode;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof VariantKey)) return false;
+            VariantKey other = (VariantKey) o;
+            return source == other.source
+                    && width == other.width
+                    && height == other.height
+                    && scalingMode == other.scalingMode;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(source);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + scalingMode;
+            return result;
+        }
+    }
+}
@@ -78,6 +78,10 @@ public class StateIcon implements Icon {
         return icn != null ? icn : EmptyIcon.create(0);
     }
 
+    Icon[] getIcons() {
+        return new Icon[] {icon, disabledIcon, focusedIcon, selectedIcon, selectedDisabledIcon, selectedFocusedIcon};
+    }
+
     @Override
     public int getIconWidth() {
         return icon.getIconWidth();
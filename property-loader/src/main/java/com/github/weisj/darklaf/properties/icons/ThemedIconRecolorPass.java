@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+
+/**
+ * Recolors and rasterizes all themed icons in use after a theme change in the background. The results
+ * are applied to the icons on the event dispatch thread at once, such that icons don't have to be
+ * updated when they are painted for the first time after the theme change.
+ *
+ * <p>
+ * Icons are tracked weakly once their colors have been patched while eager recoloring is enabled, or
+ * when they are derived from a tracked icon. This includes icons which aren't held by the cache of an
+ * icon loader e.g. derived icons or icons which have been evicted. Icons which haven't been painted
+ * since eager recoloring has been enabled are updated when they are painted.
+ */
+final class ThemedIconRecolorPass {
+
+    private static final Logger LOGGER = LogUtil.getLogger(ThemedIconRecolorPass.class);
+    private static final Set<ThemedSVGIcon> icons = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final Object theme;
+    private UIDefaults defaults;
+    private List<ThemedSVGIcon> targets;
+
+    private ThemedIconRecolorPass(final Object theme) {
+        this.theme = theme;
+    }
+
+    static boolean isEnabled() {
+        return PropertyUtil.getSystemFlag(IconLoader.EAGER_RECOLOR_KEY, false);
+    }
+
+    static void register(final ThemedSVGIcon icon) {
+        synchronized (icons) {
+            icons.add(icon);
+        }
+    }
+
+    /*
+     * The returned future completes once the pass has been applied or has been skipped.
+     */
+    static CompletableFuture<Void> schedule(final Object theme) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        // The theme status is updated while the defaults of the new theme are created. Wait until they
+        // have been installed.
+        ThemedIconRecolorPass pass = new ThemedIconRecolorPass(theme);
+        SwingUtilities.invokeLater(() -> {
+            if (!pass.isCurrent()) {
+                result.complete(null);
+                return;
+            }
+            pass.defaults = UIManager.getLookAndFeelDefaults();
+            pass.targets = collectIcons();
+            if (pass.targets.isEmpty()) {
+                result.complete(null);
+                return;
+            }
+            CompletableFuture.supplyAsync(pass::recolor, IconLoader.getBackgroundExecutor())
+                    .thenAcceptAsync(pass::apply, SwingUtilities::invokeLater)
+                    .whenComplete((r, e) -> {
+                        if (e != null) LOGGER.log(Level.WARNING, "Could not recolor icons", e);
+                        result.complete(null);
+                    });
+        });
+        return result;
+    }
+
+    private static List<ThemedSVGIcon> collectIcons() {
+        List<ThemedSVGIcon> targets = new ArrayList<>();
+        synchronized (icons) {
+            for (ThemedSVGIcon icon : icons) {
+                // Mutable icons may have their properties changed at any time.
+                if (icon instanceof MutableThemedIcon || !icon.isDocumentLoaded()) continue;
+                targets.add(icon);
+            }
+        }
+        return targets;
+    }
+
+    private boolean isCurrent() {
+        return IconLoader.getThemeStatus() == theme
+                && (defaults == null || UIManager.getLookAndFeelDefaults() == defaults);
+    }
+
+    private List<IconRaster> recolor() {
+        List<IconRaster> rasters = new ArrayList<>(targets.size());
+        for (ThemedSVGIcon icon : targets) {
+            if (!isCurrent()) return null;
+            rasters.add(icon.recolor());
+        }
+        return rasters;
+    }
+
+    private void apply(final List<IconRaster> rasters) {
+        if (rasters == null || !isCurrent()) return;
+        for (int i = 0; i < targets.size(); i++) {
+            targets.get(i).applyRecolor(theme, rasters.get(i));
+        }
+        LOGGER.fine(() -> "Recolored " + targets.size() + " icons");
+        for (Window window : Window.getWindows()) {
+            window.repaint();
+        }
+    }
+}
@@ -20,6 +20,7 @@
  */
 package com.github.weisj.darklaf.properties.icons;
 
+import java.awt.Paint;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.List;
 import javax.swing.*;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.jsvg.parser.*;
 
@@ -41,6 +43,7 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
     private final List<ThemedSVGIconParserProvider.ThemedSolidColorPaint> paints;
     private Object currentTheme;
     private boolean updatedNotDuringPaint;
+    private boolean registeredForRecolor;
 
     public ThemedSVGIcon(final URI uri, final int displayWidth, final int displayHeight) {
         super(uri, displayWidth, displayHeight);
@@ -52,6 +55,8 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
         this.paints = icon.paints;
         this.currentTheme = icon.currentTheme;
         this.updatedNotDuringPaint = icon.updatedNotDuringPaint;
+        // The colors are already patched, hence the icon wouldn't be registered when it is painted.
+        if (icon.registeredForRecolor) registerForRecolor();
     }
 
     @Override
@@ -77,7 +82,10 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
     protected boolean ensureTheme(final boolean painting) {
         Object theme = IconLoader.getThemeStatus();
         if (currentTheme != theme) {
-            patchColors();
+            synchronized (documentLock()) {
+                patchColors();
+            }
+            if (!registeredForRecolor && ThemedIconRecolorPass.isEnabled()) registerForRecolor();
             currentTheme = theme;
             updatedNotDuringPaint = !painting;
             return true;
@@ -91,6 +99,48 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
         return false;
     }
 
+    /*
+     * Only icons which have been loaded are recolored eagerly. Hence icons are registered the first time
+     * their colors are patched, which avoids the bookkeeping if eager recoloring is disabled.
+     */
+    private void registerForRecolor() {
+        registeredForRecolor = true;
+        ThemedIconRecolorPass.register(this);
+    }
+
+    boolean isRegisteredForRecolor() {
+        return registeredForRecolor;
+    }
+
+    /*
+     * Patches the colors for the given theme and renders the icon off the event dispatch thread. The
+     * result is applied using #applyRecolor on the event dispatch thread.
+     */
+    @Nullable
+    IconRaster recolor() {
+        synchronized (documentLock()) {
+            patchColors();
+            return rerender();
+        }
+    }
+
+    void applyRecolor(final Object theme, final @Nullable IconRaster raster) {
+        currentTheme = theme;
+        updatedNotDuringPaint = false;
+        discardRotatedRasters();
+        if (raster != null) setRaster(raster);
+    }
+
+    @Override
+    protected Object getRasterCacheState() {
+        // The patched colors are the only state of the document which changes.
+        List<Paint> colors = new ArrayList<>(paints.size());
+        for (ThemedSVGIconParserProvider.ThemedSolidColorPaint paint : paints) {
+            colors.add(paint.paint());
+        }
+        return colors;
+    }
+
     @Override
     protected @NotNull ParserProvider createParserProvider() {
         return new ThemedSVGIconParserProvider(this);
@@ -114,7 +164,13 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
         return paints;
     }
 
+    /**
+     * Forces the colors of the icon to be resolved again the next time it is painted. Memoized theme
+     * colors are discarded, hence changes made to the {@link UIManager} after the theme has been
+     * installed are picked up.
+     */
     public void invalidate() {
+        IconColorMapper.invalidateThemeResolutionTable();
         currentTheme = new Object();
     }
 
@@ -123,6 +179,11 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
     }
 
     protected void patchColors() {
-        ThemedSVGIconParserProvider.patchColors(paints, getContextDefaults(), null);
+        UIDefaults defaults = getContextDefaults();
+        if (defaults == UIManager.getDefaults()) {
+            ThemedSVGIconParserProvider.patchThemeColors(paints);
+        } else {
+            ThemedSVGIconParserProvider.patchColors(paints, defaults, null);
+        }
     }
 }
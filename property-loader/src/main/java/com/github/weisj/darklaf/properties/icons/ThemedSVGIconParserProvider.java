@@ -114,6 +114,18 @@ public class ThemedSVGIconParserProvider extends DefaultParserProvider {
         }
     }
 
+    /*
+     * Patches the colors with respect to the ui defaults of the current theme.
+     */
+    static void patchThemeColors(final List<ThemedSolidColorPaint> paints) {
+        for (ThemedSolidColorPaint paint : paints) {
+            Color color = IconColorMapper.resolveThemeColor(paint.colorKey, paint.colorFallbacks);
+            float opacity = IconColorMapper.getThemeOpacity(paint.opacityKey, paint.opacityFallbacks);
+            if (opacity < 0) opacity = paint.originalOpacity;
+            paint.color = ColorUtil.toAlpha(color, opacity);
+        }
+    }
+
     public static Map<Object, Object> getProperties(List<ThemedSVGIconParserProvider.ThemedSolidColorPaint> paints) {
         Map<Object, Object> values = new HashMap<>(paints.size() * 2, 0.75f);
         for (ThemedSVGIconParserProvider.ThemedSolidColorPaint paint : paints) {
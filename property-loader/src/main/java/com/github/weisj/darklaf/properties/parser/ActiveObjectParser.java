@@ -30,8 +30,9 @@ public class ActiveObjectParser extends KeyFilteredParser {
 
     @Override
     public ParseResult doParse(final ParseResult parseResult, final ParserContext context) {
+        String className = parseResult.value;
         return ParserUtil.setNonNull(parseResult,
-                (UIDefaults.ActiveValue) (def) -> ParserUtil.createObject(parseResult.value));
+                (UIDefaults.ActiveValue) (def) -> ParserUtil.createObject(className));
     }
 
 }
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.parser;
+
+/**
+ * Single pass tokenizer for delimited values. Tokens are reported as index ranges into the original
+ * value, so no intermediate strings are created while scanning. Nested lists, maps and arguments are
+ * skipped as a whole i.e. delimiters inside them don't split the value.
+ *
+ * <p>
+ * The tokenizer either runs forward or backward through the value. In both cases scanning stops at the
+ * first closing delimiter encountered on the outermost nesting level.
+ */
+final class DelimitedTokenizer implements Delimiters {
+
+    private final String value;
+    private final int from;
+    private final int to;
+    private final char delimiter;
+    private final char closingDelimiter;
+    private final boolean forward;
+
+    private int position;
+    private int tokenStart;
+    private int tokenEnd;
+    private int remainderStart;
+    private int remainderEnd;
+    private boolean finished;
+
+    DelimitedTokenizer(final String value, final int from, final int to, final char delimiter,
+            final char closingDelimiter, final boolean forward) {
+        this.value = value;
+        this.from = from;
+        this.to = to;
+        this.delimiter = delimiter;
+        this.closingDelimiter = closingDelimiter;
+        this.forward = forward;
+        this.position = forward ? from : to - 1;
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return true if there is another token.
+     */
+    boolean next() {
+        if (finished) return false;
+        return forward ? nextForward() : nextBackward();
+    }
+
+    private boolean nextForward() {
+        int depth = 0;
+        int start = position;
+        for (int i = position; i < to; i++) {
+            char c = value.charAt(i);
+            if (depth == 0) {
+                if (closingDelimiter != ParserUtil.EMPTY_CHAR && closingDelimiter == c) {
+                    finish(start, i, i + 1, to);
+                    return true;
+                } else if (delimiter == c) {
+                    setToken(start, i);
+                    position = i + 1;
+                    return true;
+                }
+            }
+            depth += nesting(c);
+        }
+        finish(start, to, to, to);
+        return true;
+    }
+
+    private boolean nextBackward() {
+        int depth = 0;
+        int end = position + 1;
+        for (int i = position; i >= from; i--) {
+            char c = value.charAt(i);
+            if (depth == 0) {
+                if (closingDelimiter != ParserUtil.EMPTY_CHAR && closingDelimiter == c) {
+                    finish(i + 1, end, from, i);
+                    return true;
+                } else if (delimiter == c) {
+                    setToken(i + 1, end);
+                    position = i - 1;
+                    return true;
+                }
+            }
+            depth += nesting(c);
+        }
+        finish(from, end, from, from);
+        return true;
+    }
+
+    private void finish(final int start, final int end, final int remainderStart, final int remainderEnd) {
+        setToken(start, end);
+        this.remainderStart = remainderStart;
+        this.remainderEnd = remainderEnd;
+        finished = true;
+    }
+
+    private void setToken(final int start, final int end) {
+        tokenStart = start;
+        tokenEnd = end;
+    }
+
+    private static int nesting(final char c) {
+        switch (c) {
+            case LIST_START:
+            case MAP_START:
+            case ARG_START:
+                return 1;
+            case LIST_END:
+            case MAP_END:
+            case ARG_END:
+                return -1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * The current token. Surrounding whitespace is kept.
+     *
+     * @return the token.
+     */
+    String token() {
+        return value.substring(tokenStart, tokenEnd);
+    }
+
+    /**
+     * The part of the value which hasn't been consumed. This excludes the closing delimiter. Only valid
+     * after all tokens have been consumed.
+     *
+     * @return the remaining value.
+     */
+    String remainder() {
+        if (remainderStart == 0 && remainderEnd == value.length()) return value;
+        return value.substring(remainderStart, remainderEnd);
+    }
+}
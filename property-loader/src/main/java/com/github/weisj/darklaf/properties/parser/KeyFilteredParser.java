@@ -20,8 +20,6 @@
  */
 package com.github.weisj.darklaf.properties.parser;
 
-import java.util.Arrays;
-
 public abstract class KeyFilteredParser implements PropertyParser {
 
     private final String[] suffixes;
@@ -32,6 +30,10 @@ public abstract class KeyFilteredParser implements PropertyParser {
 
     @Override
     public boolean filter(final ParseResult parseResult, final ParserContext context) {
-        return Arrays.stream(suffixes).anyMatch(it -> parseResult.key.endsWith(it));
+        String key = parseResult.key;
+        for (String suffix : suffixes) {
+            if (key.endsWith(suffix)) return true;
+        }
+        return false;
     }
 }
@@ -30,7 +30,8 @@ public class LazyObjectParser extends KeyFilteredParser {
 
     @Override
     public ParseResult doParse(final ParseResult parseResult, final ParserContext context) {
+        String className = parseResult.value;
         return ParserUtil.setNonNull(parseResult,
-                (UIDefaults.LazyValue) def -> ParserUtil.createObject(parseResult.value));
+                (UIDefaults.LazyValue) def -> ParserUtil.createObject(className));
     }
 }
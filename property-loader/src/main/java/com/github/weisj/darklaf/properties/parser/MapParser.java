@@ -20,8 +20,9 @@
  */
 package com.github.weisj.darklaf.properties.parser;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import com.github.weisj.darklaf.util.Pair;
 
@@ -42,10 +43,13 @@ public class MapParser implements PropertyParser, Delimiters {
     public ParseResult doParse(final ParseResult parseResult, final ParserContext context) {
         if (parseResult.value.startsWith(String.valueOf(MAP_START))
                 && parseResult.value.endsWith(String.valueOf(MAP_END))) {
-            return ParserUtil.setNonNull(parseResult,
-                    ParserUtil.parseDelimited(MAP_START, MAP_END, MAP_SEPARATOR, pairParser,
-                            Pair.class, parseResult, context).stream()
-                            .collect(Collectors.toMap(Pair::getFirst, Pair::getSecond)));
+            List<Pair> pairs = ParserUtil.parseDelimited(MAP_START, MAP_END, MAP_SEPARATOR, pairParser,
+                    Pair.class, parseResult, context);
+            Map<Object, Object> map = new HashMap<>(Math.max(16, (int) (pairs.size() / 0.75f) + 1));
+            for (Pair<?, ?> pair : pairs) {
+                map.put(pair.getFirst(), pair.getSecond());
+            }
+            return ParserUtil.setNonNull(parseResult, map);
         }
         return parseResult;
     }
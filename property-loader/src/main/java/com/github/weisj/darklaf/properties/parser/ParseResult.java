@@ -51,6 +51,20 @@ public class ParseResult {
                 '}';
     }
 
+    /*
+     * Prepares the object to parse another value. Only used for intermediate results, which don't escape
+     * the parser.
+     */
+    void reset(final String key, final String value) {
+        this.key = key != null ? key : "";
+        this.value = value != null ? value : "";
+        this.result = null;
+        this.finished = false;
+        if (!warnings.isEmpty()) warnings.clear();
+        savedKey = null;
+        savedValue = null;
+    }
+
     public void save() {
         savedKey = key;
         savedValue = value;
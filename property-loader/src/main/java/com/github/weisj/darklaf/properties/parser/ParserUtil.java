@@ -24,18 +24,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import com.github.weisj.darklaf.util.LogUtil;
 import com.github.weisj.darklaf.util.Types;
 
 final class ParserUtil implements Delimiters {
 
-    private static final char EMPTY_CHAR = Character.MIN_VALUE;
+    static final char EMPTY_CHAR = Character.MIN_VALUE;
     private static final Logger LOGGER = LogUtil.getLogger(PropertyParser.class);
 
     static ParseResult error(final ParseResult parseResult, final String message) {
@@ -104,7 +102,7 @@ final class ParserUtil implements Delimiters {
             final Class<T> type, final ParseResult parseResult,
             final ParserContext context) {
         List<T> parsed = parseDelimited(start, end, EMPTY_CHAR, parser, type, parseResult, context);
-        return parsed.stream().findFirst();
+        return parsed.isEmpty() ? Optional.empty() : Optional.of(parsed.get(0));
     }
 
 
@@ -131,93 +129,57 @@ final class ParserUtil implements Delimiters {
 
     /*
      * Parses the value in a delimited fashion. The consumed part of the value will be replaced in-place
-     * in the Parsable object
+     * in the Parsable object.
+     *
+     * The value is scanned exactly once. Fragments are parsed as soon as they are found, reusing a single
+     * intermediate ParseResult unless debug mode requires each one to be kept.
      */
     static <T> List<T> parseDelimited(final char start, final char end, final char delimiter, final boolean forward,
             final PropertyParser parser, final Class<T> type, final ParseResult parseResult,
             final ParserContext context) {
+        String value = parseResult.value;
+        int from = 0;
+        int to = value.length();
         if (forward) {
             if (start != EMPTY_CHAR) {
-                if (parseResult.value.charAt(0) == start) {
-                    parseResult.value = parseResult.value.substring(1);
+                if (to > 0 && value.charAt(0) == start) {
+                    from = 1;
                 } else {
-                    LOGGER.warning("Expected '" + start + "' while parsing " + parseResult.value);
+                    LOGGER.warning("Expected '" + start + "' while parsing " + value);
                 }
             }
         } else {
             if (end != EMPTY_CHAR) {
-                if (parseResult.value.charAt(parseResult.value.length() - 1) == end) {
-                    parseResult.value = parseResult.value.substring(0, parseResult.value.length() - 1);
+                if (to > 0 && value.charAt(to - 1) == end) {
+                    to--;
                 } else {
-                    LOGGER.warning("Expected '" + start + "' while parsing " + parseResult.value);
-                }
-            }
-        }
-        List<String> values = delimitedSplit(delimiter, forward ? end : start, parseResult, forward);
-        if (values.size() == 0) return Collections.emptyList();
-        List<T> parsed = values.stream()
-                .map(v -> Parser.createParseResult(parseResult.key, v))
-                .map(p -> parser.parse(p, context))
-                .map(p -> {
-                    T casted = Types.safeCast(p.result, type);
-                    if (casted == null) LOGGER.warning("Value " + p.result + " is not of type " + type
-                            + ". Encountered while parsing '" + p + "' for '" + parseResult + "'");
-                    return casted;
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-        if (!forward) Collections.reverse(parsed);
-        return parsed;
-    }
-
-    static List<String> delimitedSplit(final char delimiter, final char closingDelimiter,
-            final ParseResult parseResult, final boolean forward) {
-        String value = parseResult.value;
-        int openDelimiters = 0;
-        List<String> values = new ArrayList<>();
-        boolean done = false;
-
-        int i = forward ? 0 : value.length() - 1;
-        int step = forward ? 1 : -1;
-        int end = forward ? value.length() : -1;
-        int lastPos = forward ? 0 : value.length();
-        for (; i != end; i += step) {
-            char c = value.charAt(i);
-            if (openDelimiters == 0) {
-                if (closingDelimiter != EMPTY_CHAR && closingDelimiter == c) {
-                    done = true;
-                    break;
-                } else if (delimiter == c) {
-                    if (forward) {
-                        values.add(value.substring(lastPos, i));
-                        lastPos = i + 1;
-                    } else {
-                        values.add(value.substring(i + 1, lastPos));
-                        lastPos = i;
-                    }
+                    LOGGER.warning("Expected '" + end + "' while parsing " + value);
                 }
             }
-            if (isOpenDelimiter(c)) openDelimiters++;
-            if (isClosingDelimiter(c)) openDelimiters--;
         }
-        if (!done && lastPos != end) {
-            if (forward) {
-                values.add(value.substring(lastPos));
+        DelimitedTokenizer tokenizer =
+                new DelimitedTokenizer(value, from, to, delimiter, forward ? end : start, forward);
+        List<T> parsed = new ArrayList<>();
+        boolean reuseFragments = !Parser.isDebugMode();
+        ParseResult fragment = null;
+        while (tokenizer.next()) {
+            if (reuseFragments && fragment != null) {
+                fragment.reset(parseResult.key, tokenizer.token());
             } else {
-                values.add(value.substring(0, lastPos));
+                fragment = Parser.createParseResult(parseResult.key, tokenizer.token());
             }
-            parseResult.value = "";
-        } else {
-            if (forward) {
-                values.add(value.substring(lastPos, i));
-                int endIndex = closingDelimiter != EMPTY_CHAR ? i + 1 : i;
-                parseResult.value = parseResult.value.substring(endIndex);
+            ParseResult p = parser.parse(fragment, context);
+            T casted = Types.safeCast(p.result, type);
+            if (casted != null) {
+                parsed.add(casted);
             } else {
-                values.add(value.substring(i + 1, lastPos));
-                parseResult.value = parseResult.value.substring(0, i);
+                LOGGER.warning("Value " + p.result + " is not of type " + type
+                        + ". Encountered while parsing '" + p + "' for '" + parseResult + "'");
             }
         }
-        return values;
+        parseResult.value = tokenizer.remainder();
+        if (!forward) Collections.reverse(parsed);
+        return parsed;
     }
 
     static Object createObject(final String value) {
@@ -227,12 +189,4 @@ final class ParserUtil implements Delimiters {
             return null;
         }
     }
-
-    private static boolean isOpenDelimiter(final char c) {
-        return c == LIST_START || c == MAP_START || c == ARG_START;
-    }
-
-    private static boolean isClosingDelimiter(final char c) {
-        return c == LIST_END || c == MAP_END || c == ARG_END;
-    }
 }
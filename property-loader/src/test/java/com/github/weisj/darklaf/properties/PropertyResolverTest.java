@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.swing.UIDefaults;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.properties.icons.IconLoader;
+import com.github.weisj.darklaf.properties.icons.IconResolver;
+
+class PropertyResolverTest {
+
+    private final IconResolver iconResolver = IconLoader.get(PropertyResolverTest.class);
+
+    private static Properties properties(final String... keyValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.put(keyValues[i], keyValues[i + 1]);
+        }
+        return properties;
+    }
+
+    private Properties resolve(final UIDefaults defaults, final Properties... sources) {
+        PropertyResolver resolver = new PropertyResolver();
+        for (Properties source : sources) {
+            resolver.addProperties(source);
+        }
+        Properties accumulator = new Properties();
+        resolver.resolve(accumulator, defaults, iconResolver);
+        return accumulator;
+    }
+
+    @Test
+    void testForwardReferences() {
+        Properties result = resolve(new UIDefaults(),
+                properties("a", "%b", "list", "[%a,%c]"),
+                properties("b", "#FF0000", "c", "%b"));
+        Color red = new Color(255, 0, 0);
+        Assertions.assertEquals(red, result.get("a"));
+        Assertions.assertEquals(red, result.get("c"));
+        Assertions.assertEquals(Arrays.asList(red, red), result.get("list"));
+    }
+
+    @Test
+    void testLaterSourcesOverride() {
+        Properties result = resolve(new UIDefaults(),
+                properties("a", "1", "ref", "%a"),
+                properties("a", "2"));
+        Assertions.assertEquals(2, result.get("a"));
+        Assertions.assertEquals(2, result.get("ref"));
+    }
+
+    @Test
+    void testFallbacks() {
+        UIDefaults defaults = new UIDefaults();
+        defaults.put("fromDefaults", 5);
+        Properties result = resolve(defaults,
+                properties("a", "1", "b", "?:2", "fromDefaults", "?:3"),
+                properties("a", "?:4", "b", "?:5"));
+        Assertions.assertEquals(1, result.get("a"));
+        Assertions.assertEquals(2, result.get("b"));
+        Assertions.assertEquals(5, result.get("fromDefaults"));
+    }
+
+    @Test
+    void testReferencePrefixedKeys() {
+        Properties result = resolve(new UIDefaults(), properties("ref", "%value", "%value", "true"));
+        Assertions.assertEquals(true, result.get("value"));
+        Assertions.assertEquals(true, result.get("ref"));
+    }
+
+    @Test
+    void testCyclesAreDetected() {
+        Properties result = resolve(new UIDefaults(), properties("a", "%b", "b", "%c", "c", "%a", "d", "%a"));
+        Assertions.assertEquals(4, result.size());
+    }
+
+    @Test
+    void testSelfReferenceUsesDefaults() {
+        UIDefaults defaults = new UIDefaults();
+        defaults.put("a", 7);
+        Properties result = resolve(defaults, properties("a", "%a"));
+        Assertions.assertEquals(7, result.get("a"));
+    }
+
+    @Test
+    void testReferenceExtraction() {
+        Assertions.assertEquals(Collections.emptyList(), PropertyResolver.references("'%notAReference'"));
+        Assertions.assertEquals(Arrays.asList("a", "b.c", "d"), PropertyResolver.references("{x:%a,y:[%b.c]}(%d)"));
+    }
+
+    @Test
+    void testParallelResolutionMatchesSequential() {
+        Properties first = new Properties();
+        Properties second = new Properties();
+        for (int i = 0; i < 200; i++) {
+            first.put("color" + i, i % 10 == 0 ? "#" + Integer.toHexString(0x100000 + i) : "%color" + (i - 1));
+            first.put("list" + i, "[%color" + i + "," + i + ",%size" + i + "]");
+            second.put("size" + i, i % 3 == 0 ? i + "," + i : "%list" + (i / 2));
+        }
+        second.put("color5", "?:#000000");
+
+        PropertyResolver sequential = new PropertyResolver().addProperties(first).addProperties(second);
+        Properties expected = new Properties();
+        sequential.resolve(expected, new UIDefaults(), iconResolver);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PropertyResolver parallel = new PropertyResolver().addProperties(first).addProperties(second);
+            Properties actual = new Properties();
+            parallel.resolve(actual, new UIDefaults(), iconResolver, pool);
+            Assertions.assertEquals(expected, actual);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Properties;
+
+import javax.swing.UIDefaults;
+import javax.swing.plaf.ColorUIResource;
+import javax.swing.plaf.InsetsUIResource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.properties.icons.IconLoader;
+import com.github.weisj.darklaf.properties.icons.IconResolver;
+
+class PropertySnapshotTest {
+
+    private static final String KEY = "test";
+    private final IconResolver iconResolver = IconLoader.get(PropertySnapshotTest.class);
+
+    private Properties declarations() {
+        Properties props = new Properties();
+        props.put("color", "#AABBCC");
+        props.put("colorRef", "%color");
+        props.put("text", "'Hello World'");
+        props.put("number", "42");
+        props.put("flag", "true");
+        props.put("test.insets", "1,2,3,4");
+        props.put("test.size", "5,6");
+        props.put("list", "[1,2,%number]");
+        props.put("map", "{a:1,b:%color}");
+        props.put("test.border", "javax.swing.border.EmptyBorder");
+        props.put("removed", "null");
+        return props;
+    }
+
+    private byte[] createSnapshot(final Properties accumulator, final UIDefaults defaults) {
+        try (PropertySnapshot.Recorder recorder = PropertySnapshot.startRecording()) {
+            PropertyLoader.putProperties(declarations(), accumulator, defaults, iconResolver);
+            return PropertySnapshot.create(KEY, accumulator, recorder);
+        }
+    }
+
+    @Test
+    void testRestoreMatchesParsedValues() throws IOException {
+        Properties parsed = new Properties();
+        byte[] snapshot = createSnapshot(parsed, new UIDefaults());
+        Assertions.assertNotNull(snapshot);
+
+        UIDefaults defaults = new UIDefaults();
+        defaults.put("removed", "value");
+        Properties restored = new Properties();
+        Assertions.assertTrue(PropertySnapshot.restore(KEY, new ByteArrayInputStream(snapshot),
+                restored, defaults, iconResolver));
+
+        Assertions.assertEquals(parsed.keySet(), restored.keySet());
+        for (Object key : parsed.keySet()) {
+            if ("test.border".equals(key)) continue;
+            Assertions.assertEquals(parsed.get(key), restored.get(key), "Value for " + key);
+        }
+        Assertions.assertEquals(new Color(0xAABBCC), restored.get("colorRef"));
+        Assertions.assertTrue(restored.get("color") instanceof ColorUIResource);
+        Assertions.assertEquals(new Insets(1, 2, 3, 4), restored.get("test.insets"));
+        Assertions.assertTrue(restored.get("test.insets") instanceof InsetsUIResource);
+        Assertions.assertEquals(new Dimension(5, 6), restored.get("test.size"));
+        Assertions.assertEquals(Arrays.asList(1, 2, 42), restored.get("list"));
+        Assertions.assertTrue(restored.get("test.border") instanceof UIDefaults.LazyValue);
+        Assertions.assertFalse(defaults.containsKey("removed"));
+    }
+
+    @Test
+    void testKeyMismatchIsRejected() throws IOException {
+        byte[] snapshot = createSnapshot(new Properties(), new UIDefaults());
+        Properties restored = new Properties();
+        Assertions.assertFalse(PropertySnapshot.restore(KEY + "2", new ByteArrayInputStream(snapshot),
+                restored, new UIDefaults(), iconResolver));
+        Assertions.assertTrue(restored.isEmpty());
+    }
+
+    @Test
+    void testReplacedValuesWithoutDeclarationAreRejected() {
+        Properties parsed = new Properties();
+        try (PropertySnapshot.Recorder recorder = PropertySnapshot.startRecording()) {
+            PropertyLoader.putProperties(declarations(), parsed, new UIDefaults(), iconResolver);
+            parsed.put("custom", new Object());
+            Assertions.assertNull(PropertySnapshot.create(KEY, parsed, recorder));
+        }
+    }
+
+    @Test
+    void testRecordingIsConfinedToThread() throws Exception {
+        Properties parsed = new Properties();
+        byte[] snapshot;
+        try (PropertySnapshot.Recorder recorder = PropertySnapshot.startRecording()) {
+            PropertyLoader.putProperties(declarations(), parsed, new UIDefaults(), iconResolver);
+            Thread other = new Thread(() -> {
+                Properties foreign = new Properties();
+                foreign.put("color", "#000000");
+                PropertyLoader.putProperties(foreign, new Properties(), new UIDefaults(), iconResolver);
+            });
+            other.start();
+            other.join();
+            snapshot = PropertySnapshot.create(KEY, parsed, recorder);
+        }
+        Assertions.assertNotNull(snapshot);
+        Properties restored = new Properties();
+        Assertions.assertTrue(PropertySnapshot.restore(KEY, new ByteArrayInputStream(snapshot),
+                restored, new UIDefaults(), iconResolver));
+        Assertions.assertEquals(new Color(0xAABBCC), restored.get("color"));
+    }
+}
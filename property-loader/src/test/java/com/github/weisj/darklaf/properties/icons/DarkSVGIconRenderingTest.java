@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+@ResourceLock(value = "IconLoader")
+class DarkSVGIconRenderingTest {
+
+    private IconLoader loader;
+
+    @BeforeEach
+    void setup() {
+        loader = IconLoader.get(DarkSVGIconRenderingTest.class);
+        loader.clearCache();
+        SVGRasterCache.clear();
+    }
+
+    @Test
+    void testRotationStepsAreCached() {
+        DarkSVGIcon icon = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 16, 16);
+        RotatableIcon rotatableIcon = new RotatableIcon(icon);
+        int steps = 8;
+        paintSteps(rotatableIcon, steps);
+        long rasterizations = icon.getRasterizationCount();
+        Assertions.assertTrue(rasterizations <= steps);
+
+        paintSteps(rotatableIcon, steps);
+        paintSteps(rotatableIcon, steps);
+        Assertions.assertEquals(rasterizations, icon.getRasterizationCount());
+        Assertions.assertEquals(0, icon.getDirectRenderCount());
+    }
+
+    @Test
+    void testContinuousRotationIsRenderedDirectly() {
+        DarkSVGIcon icon = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 16, 16);
+        RotatableIcon rotatableIcon = new RotatableIcon(icon);
+        int steps = 100;
+        paintSteps(rotatableIcon, steps);
+        Assertions.assertTrue(icon.getDirectRenderCount() > 0);
+        Assertions.assertTrue(icon.getRasterizationCount() + icon.getDirectRenderCount() <= steps);
+    }
+
+    @Test
+    void testLargeIconsAreRenderedDirectly() {
+        DarkSVGIcon icon = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 512, 512);
+        paint(icon);
+        paint(icon);
+        Assertions.assertEquals(0, icon.getRasterizationCount());
+        Assertions.assertEquals(2, icon.getDirectRenderCount());
+    }
+
+    @Test
+    void testRasterStateIsComputedUnderDocumentLock() throws Exception {
+        boolean[] heldLock = new boolean[1];
+        DarkSVGIcon icon = new DarkSVGIcon(
+                DarkSVGIconRenderingTest.class.getResource("svg_icon.svg").toURI(), 16, 16) {
+            @Override
+            protected Object getRasterCacheState() {
+                // The state must not change until the image for it has been rendered.
+                heldLock[0] = Thread.holdsLock(documentLock());
+                return "state";
+            }
+        };
+        paint(icon);
+        Assertions.assertTrue(heldLock[0]);
+        Assertions.assertEquals(1, icon.getRasterizationCount());
+    }
+
+    private static void paintSteps(final RotatableIcon icon, final int steps) {
+        for (int i = 0; i < steps; i++) {
+            icon.setRotation(Math.PI * 2 * ((double) i / steps));
+            paint(icon);
+        }
+    }
+
+    private static void paint(final Icon icon) {
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        icon.paintIcon(null, g, 0, 0);
+        g.dispose();
+    }
+}
@@ -22,9 +22,20 @@ package com.github.weisj.darklaf.properties.icons;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import javax.swing.*;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -97,6 +108,121 @@ class DerivableImageIconTest {
         Assertions.assertSame(icon, icon.derive(img.getWidth(null), img.getHeight(null)));
     }
 
+    @Test
+    void testScaledVariantIsShared() {
+        IconLoader loader = IconLoader.get(DerivableImageIconTest.class);
+        ScaledImageCache.clear();
+        DerivableImageIcon icon1 = (DerivableImageIcon) loader.getIcon("image_icon.png", 20, 20);
+        DerivableImageIcon icon2 = new DerivableImageIcon(icon1, 20, 20);
+        long misses = IconLoader.getScaledImageCacheStatistics().getMissCount();
+        for (DerivableImageIcon icon : new DerivableImageIcon[] {icon1, icon2}) {
+            BufferedImage bufImg = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = bufImg.createGraphics();
+            g.scale(2, 2);
+            icon.paintIcon(null, g, 0, 0);
+            g.dispose();
+        }
+        Assertions.assertEquals(misses + 1, IconLoader.getScaledImageCacheStatistics().getMissCount());
+    }
+
+    @Test
+    void testAnimatedImageIsNotCached() throws IOException {
+        Image animated = Toolkit.getDefaultToolkit().createImage(createAnimatedGif());
+        new ImageIcon(animated);
+        Assertions.assertTrue(animated.getWidth(null) > 0);
+        Assertions.assertFalse(ScaledImageCache.isStatic(animated));
+
+        ScaledImageCache.clear();
+        DerivableImageIcon icon = new DerivableImageIcon(animated, 5, 5);
+        long misses = IconLoader.getScaledImageCacheStatistics().getMissCount();
+        BufferedImage bufImg = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = bufImg.createGraphics();
+        g.scale(2, 2);
+        icon.paintIcon(null, g, 0, 0);
+        g.dispose();
+        Assertions.assertEquals(misses, IconLoader.getScaledImageCacheStatistics().getMissCount());
+        Assertions.assertEquals(0, IconLoader.getScaledImageCacheStatistics().getSize());
+        Assertions.assertNull(ScaledImageCache.getScaledImage(animated, 10, 10, Image.SCALE_DEFAULT));
+    }
+
+    @Test
+    void testLoadedImageIsStatic() {
+        IconLoader loader = IconLoader.get(DerivableImageIconTest.class);
+        DerivableImageIcon icon = (DerivableImageIcon) loader.getIcon("image_icon.png");
+        Assertions.assertTrue(ScaledImageCache.isStatic(icon.getImage()));
+        Assertions.assertTrue(ScaledImageCache.isStatic(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB)));
+    }
+
+    private static byte[] createAnimatedGif() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.prepareWriteSequence(null);
+            for (Color color : new Color[] {Color.RED, Color.BLUE}) {
+                BufferedImage frame = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+                Graphics g = frame.createGraphics();
+                g.setColor(color);
+                g.fillRect(0, 0, 10, 10);
+                g.dispose();
+                writer.writeToSequence(new IIOImage(frame, null, createLoopingFrameMetadata(writer, frame)), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /*
+     * Without a delay and an infinite loop count the animation may finish before the image is checked,
+     * after which the image reports to be completely loaded.
+     */
+    private static IIOMetadata createLoopingFrameMetadata(final ImageWriter writer, final BufferedImage frame)
+            throws IOException {
+        IIOMetadata metadata = writer.getDefaultImageMetadata(new ImageTypeSpecifier(frame), null);
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = new IIOMetadataNode("GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", "50");
+        control.setAttribute("transparentColorIndex", "0");
+        root.appendChild(control);
+
+        IIOMetadataNode applications = new IIOMetadataNode("ApplicationExtensions");
+        IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+        loop.setAttribute("applicationID", "NETSCAPE");
+        loop.setAttribute("authenticationCode", "2.0");
+        // Sub-block id 1 followed by the loop count 0 i.e. loop forever.
+        loop.setUserObject(new byte[] {1, 0, 0});
+        applications.appendChild(loop);
+        root.appendChild(applications);
+
+        metadata.setFromTree(format, root);
+        return metadata;
+    }
+
+    @Test
+    void testDownscalingAveragesPixels() {
+        int size = 256;
+        BufferedImage checkerboard = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                checkerboard.setRGB(x, y, (x + y) % 2 == 0 ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+            }
+        }
+        BufferedImage scaled = ScaledImageCache.scale(checkerboard, 8, 8, Image.SCALE_DEFAULT);
+        for (int x = 0; x < scaled.getWidth(); x++) {
+            for (int y = 0; y < scaled.getHeight(); y++) {
+                int gray = new Color(scaled.getRGB(x, y)).getRed();
+                Assertions.assertTrue(Math.abs(gray - 128) < 16, "Pixel (" + x + "," + y + ") = " + gray);
+            }
+        }
+    }
+
     @Test
     void testLoading() {
         IconLoader loader = IconLoader.get(DerivableImageIconTest.class);
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IconAtlasTest {
+
+    private static final int PAGE_SIZE = 64;
+    private static final int ICON_SIZE = 16;
+    // Icons plus gutter are 17px wide, so a page holds 3 by 3 of them.
+    private static final int SLOTS_PER_PAGE = 9;
+
+    @Test
+    void testSlotsAreReused() {
+        IconAtlas atlas = new IconAtlas(PAGE_SIZE, 1);
+        IconRaster slot = atlas.getSlot("key", () -> createImage(Color.RED));
+        Assertions.assertSame(slot, atlas.getSlot("key", () -> {
+            throw new AssertionError("Raster should have been reused");
+        }));
+        Assertions.assertEquals(Color.RED.getRGB(), paint(slot));
+    }
+
+    @Test
+    void testEvictionKeepsLiveSlotsIntact() {
+        IconAtlas atlas = new IconAtlas(PAGE_SIZE, 1);
+        List<IconRaster> slots = new ArrayList<>();
+        List<Color> colors = new ArrayList<>();
+        for (int i = 0; i <= SLOTS_PER_PAGE; i++) {
+            Color color = new Color(10 * i, 255 - 10 * i, 0);
+            colors.add(color);
+            slots.add(atlas.getSlot(i, () -> createImage(color)));
+        }
+        // The last slot required the oldest slots to be evicted and the page to be repacked.
+        Assertions.assertFalse(slots.get(0).isValid());
+        Assertions.assertTrue(slots.get(SLOTS_PER_PAGE).isValid());
+        for (int i = 0; i < slots.size(); i++) {
+            IconRaster slot = slots.get(i);
+            if (slot.isValid()) Assertions.assertEquals(colors.get(i).getRGB(), paint(slot), "Slot " + i);
+        }
+    }
+
+    @Test
+    void testLargeRastersAreRejected() {
+        IconAtlas atlas = new IconAtlas(PAGE_SIZE, 1);
+        Assertions.assertTrue(atlas.accepts(new Dimension(ICON_SIZE, ICON_SIZE)));
+        Assertions.assertFalse(atlas.accepts(new Dimension(PAGE_SIZE, ICON_SIZE)));
+    }
+
+    private static Image createImage(final Color color) {
+        BufferedImage image = new BufferedImage(ICON_SIZE, ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, ICON_SIZE, ICON_SIZE);
+        g.dispose();
+        return image;
+    }
+
+    private static int paint(final IconRaster raster) {
+        BufferedImage target = new BufferedImage(ICON_SIZE, ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        raster.paint(g, null);
+        g.dispose();
+        // Check the border pixels, which would be affected by neighbouring slots.
+        int rgb = target.getRGB(ICON_SIZE - 1, ICON_SIZE - 1);
+        Assertions.assertEquals(rgb, target.getRGB(0, 0));
+        return rgb;
+    }
+}
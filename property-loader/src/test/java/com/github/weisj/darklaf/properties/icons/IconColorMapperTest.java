@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.Color;
+
+import javax.swing.UIManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+@ResourceLock(value = "IconLoader")
+class IconColorMapperTest {
+
+    private static final String COLOR_KEY = "IconColorMapperTest.color";
+    private static final String OPACITY_KEY = "IconColorMapperTest.opacity";
+
+    @AfterEach
+    void removeProperties() {
+        UIManager.put(COLOR_KEY, null);
+        UIManager.put(OPACITY_KEY, null);
+        IconLoader.updateThemeStatus(new Object());
+    }
+
+    @Test
+    void testThemeColorsAreInvalidatedWithThemeStatus() {
+        UIManager.put(COLOR_KEY, Color.BLUE);
+        UIManager.put(OPACITY_KEY, 50);
+        IconLoader.updateThemeStatus(new Object());
+        Assertions.assertEquals(Color.BLUE, IconColorMapper.resolveThemeColor(COLOR_KEY, new String[0]));
+        Assertions.assertEquals(0.5f, IconColorMapper.getThemeOpacity(OPACITY_KEY, new String[0]));
+
+        UIManager.put(COLOR_KEY, Color.GREEN);
+        Assertions.assertEquals(Color.BLUE, IconColorMapper.resolveThemeColor(COLOR_KEY, new String[0]));
+
+        IconLoader.updateThemeStatus(new Object());
+        Assertions.assertEquals(Color.GREEN, IconColorMapper.resolveThemeColor(COLOR_KEY, new String[0]));
+    }
+
+    @Test
+    void testThemeColorsAreInvalidatedWithIcon() {
+        UIManager.put(COLOR_KEY, Color.BLUE);
+        IconLoader.updateThemeStatus(new Object());
+        Assertions.assertEquals(Color.BLUE, IconColorMapper.resolveThemeColor(COLOR_KEY, new String[0]));
+
+        UIManager.put(COLOR_KEY, Color.GREEN);
+        ThemedSVGIcon icon = (ThemedSVGIcon) IconLoader.get(IconColorMapperTest.class)
+                .getIcon("svg_icon.svg", 16, 16, true);
+        icon.invalidate();
+        Assertions.assertEquals(Color.GREEN, IconColorMapper.resolveThemeColor(COLOR_KEY, new String[0]));
+    }
+
+    @Test
+    void testFallbacksAreResolved() {
+        UIManager.put(COLOR_KEY, Color.BLUE);
+        IconLoader.updateThemeStatus(new Object());
+        Assertions.assertEquals(Color.BLUE,
+                IconColorMapper.resolveThemeColor("IconColorMapperTest.missing", new String[] {COLOR_KEY}));
+        Assertions.assertEquals(-1, IconColorMapper.getThemeOpacity(null, null));
+    }
+}
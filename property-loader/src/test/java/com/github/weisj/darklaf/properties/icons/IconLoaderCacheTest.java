@@ -20,6 +20,8 @@
  */
 package com.github.weisj.darklaf.properties.icons;
 
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -33,6 +35,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.parallel.ResourceLock;
 
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+
 
 @Timeout(value = 40)
 @ResourceLock(value = "IconLoader")
@@ -53,6 +57,47 @@ class IconLoaderCacheTest {
         Assertions.assertNotSame(icon1, icon2);
     }
 
+    @Test
+    void testRasterIsSharedBetweenInstances() {
+        IconLoader loader = IconLoader.get(IconLoaderCacheTest.class);
+        DarkSVGIcon icon = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 16, 16);
+        DarkSVGIcon derived1 = icon.derive(24, 24);
+        DarkSVGIcon derived2 = icon.derive(24, 24);
+        Assertions.assertNotSame(derived1, derived2);
+
+        SVGRasterCache.clear();
+        BufferedImage target = new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        derived1.paintIcon(null, g, 0, 0);
+        long misses = IconLoader.getRasterCacheStatistics().getMissCount();
+        derived2.paintIcon(null, g, 0, 0);
+        icon.paintIcon(null, g, 0, 0);
+        g.dispose();
+
+        CacheStatistics statistics = IconLoader.getRasterCacheStatistics();
+        Assertions.assertEquals(misses + 1, statistics.getMissCount());
+        Assertions.assertEquals(2, statistics.getSize());
+    }
+
+    @Test
+    void testLookupIsCountedOnce() {
+        IconLoader loader = IconLoader.get(IconLoaderCacheTest.class);
+        loader.getIcon("svg_icon.svg", 16, 16);
+        CacheStatistics before = loader.getCacheStatistics();
+
+        // Probes the icon cache, the aware icon cache and the wildcard entry before creating the icon.
+        loader.getIcon("svg_icon.svg", 20, 20);
+        CacheStatistics afterMiss = loader.getCacheStatistics();
+        Assertions.assertEquals(before.getMissCount() + 1, afterMiss.getMissCount());
+        Assertions.assertEquals(before.getHitCount(), afterMiss.getHitCount());
+
+        loader.getIcon("svg_icon.svg", 20, 20);
+        CacheStatistics afterHit = loader.getCacheStatistics();
+        Assertions.assertEquals(afterMiss.getMissCount(), afterHit.getMissCount());
+        Assertions.assertEquals(afterMiss.getHitCount() + 1, afterHit.getHitCount());
+        Assertions.assertEquals(2, afterHit.getSize());
+    }
+
     @Test
     @Disabled("Flaky")
     void cacheReleasesImageIcon() {
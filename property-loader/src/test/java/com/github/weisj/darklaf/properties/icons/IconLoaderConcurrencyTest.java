@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.Icon;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+@Timeout(value = 40)
+@ResourceLock(value = "IconLoader")
+class IconLoaderConcurrencyTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int ITERATIONS = 200;
+    private static final int SIZES = 16;
+
+    @BeforeEach
+    void clearCache() {
+        IconLoader.get(IconLoaderConcurrencyTest.class).clearCache();
+    }
+
+    @Test
+    void testConcurrentRequestsReturnSameInstance() throws Exception {
+        Map<String, Icon> icons = new ConcurrentHashMap<>();
+        Map<Class<?>, IconLoader> loaders = new ConcurrentHashMap<>();
+        runConcurrently(threadIndex -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                IconLoader loader = IconLoader.get(IconLoaderConcurrencyTest.class);
+                Assertions.assertSame(loader, loaders.computeIfAbsent(IconLoaderConcurrencyTest.class, k -> loader));
+                Assertions.assertSame(IconLoader.get(), IconLoader.get(null));
+
+                int size = (i + threadIndex) % SIZES + 1;
+                String name = i % 2 == 0 ? "svg_icon.svg" : "image_icon.png";
+                Icon icon = loader.getIcon(name, size, size);
+                Assertions.assertSame(icon, icons.computeIfAbsent(name + size, k -> icon));
+
+                Icon awareIcon = loader.getUIAwareIcon(name, size, size);
+                Assertions.assertSame(awareIcon, icons.computeIfAbsent("aware:" + name + size, k -> awareIcon));
+            }
+        });
+    }
+
+    @Test
+    void testConcurrentSVGLoading() throws Exception {
+        IconLoader loader = IconLoader.get(IconLoaderConcurrencyTest.class);
+        List<DarkSVGIcon> svgIcons = new ArrayList<>();
+        for (int i = 1; i <= SIZES; i++) {
+            svgIcons.add((DarkSVGIcon) loader.getIcon("svg_icon.svg", i, i));
+        }
+        runConcurrently(threadIndex -> {
+            for (DarkSVGIcon icon : svgIcons) {
+                Assertions.assertNotNull(icon.getSVGDocument());
+            }
+        });
+    }
+
+    @Test
+    void testPreloadLoadsDocuments() throws Exception {
+        IconLoader loader = IconLoader.get(IconLoaderConcurrencyTest.class);
+        loader.preload(Arrays.asList("svg_icon.svg", "image_icon.png")).get(10, TimeUnit.SECONDS);
+        DarkSVGIcon icon = (DarkSVGIcon) loader.getIcon("svg_icon.svg");
+        Assertions.assertTrue(icon.isDocumentLoaded());
+
+        loader.clearCache();
+        DarkSVGIcon sizedIcon = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 20, 20, true);
+        Assertions.assertFalse(sizedIcon.isDocumentLoaded());
+        IconLoader.preloadIcons(Collections.singletonList(new StateIcon(Collections.nCopies(6, sizedIcon))))
+                .get(10, TimeUnit.SECONDS);
+        Assertions.assertTrue(sizedIcon.isDocumentLoaded());
+    }
+
+    private void runConcurrently(final Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREAD_COUNT; t++) {
+                int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(threadIndex);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private interface Worker {
+        void run(final int threadIndex);
+    }
+}
@@ -38,6 +38,21 @@ class SVGImageTest {
         IconLoader.get(SVGImageTest.class).clearCache();
     }
 
+    @Test
+    void testKeyIncludesSize() {
+        IconLoader loader = IconLoader.get(SVGImageTest.class);
+        DarkSVGIcon small = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 16, 16);
+        DarkSVGIcon large = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 32, 32);
+        Assertions.assertNotSame(small, large);
+        Assertions.assertNotEquals(small.getCacheKey(), large.getCacheKey());
+        Assertions.assertNotEquals(small.getCacheKey().hashCode(), large.getCacheKey().hashCode());
+
+        // Keys are moved if the size of the icon changes.
+        large.setDisplaySize(24, 24);
+        Assertions.assertSame(large, loader.getIcon("svg_icon.svg", 24, 24));
+        Assertions.assertSame(small, loader.getIcon("svg_icon.svg", 16, 16));
+    }
+
     @Test
     void testDeriveWithSameSize() {
         IconLoader loader = IconLoader.get(SVGImageTest.class);
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.Icon;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+@ResourceLock(value = "IconLoader")
+class ThemedIconRecolorPassTest {
+
+    private static final String COLOR_KEY = "recolorPassTestColor";
+
+    private IconLoader loader;
+
+    @BeforeEach
+    void setup() {
+        loader = IconLoader.get(ThemedIconRecolorPassTest.class);
+        loader.clearCache();
+        System.setProperty(IconLoader.EAGER_RECOLOR_KEY, "true");
+        UIManager.put(COLOR_KEY, Color.BLUE);
+        IconLoader.updateThemeStatus(new Object());
+    }
+
+    @AfterEach
+    void removeProperties() {
+        UIManager.put(COLOR_KEY, null);
+        System.clearProperty(IconLoader.EAGER_RECOLOR_KEY);
+        IconLoader.updateThemeStatus(new Object());
+    }
+
+    @Test
+    void testIconsAreOnlyTrackedIfEnabled() throws Exception {
+        System.clearProperty(IconLoader.EAGER_RECOLOR_KEY);
+        ThemedSVGIcon icon = (ThemedSVGIcon) loader.getIcon("themed_icon.svg", 16, 16, true);
+        paint(icon);
+        Assertions.assertFalse(icon.isRegisteredForRecolor());
+        Assertions.assertFalse(icon.derive(20, 20).isRegisteredForRecolor());
+
+        // Icons are tracked once they are updated after eager recoloring has been enabled.
+        System.setProperty(IconLoader.EAGER_RECOLOR_KEY, "true");
+        ThemedSVGIcon unpainted = (ThemedSVGIcon) loader.getIcon("themed_icon.svg", 20, 20, true);
+        Assertions.assertFalse(unpainted.isRegisteredForRecolor());
+        IconLoader.updateThemeStatus(new Object());
+        paint(icon);
+        Assertions.assertTrue(icon.isRegisteredForRecolor());
+        Assertions.assertTrue(icon.derive(24, 24).isRegisteredForRecolor());
+        Assertions.assertFalse(unpainted.isRegisteredForRecolor());
+    }
+
+    @Test
+    void testIconsAreRecoloredBeforePainting() throws Exception {
+        ThemedSVGIcon icon = (ThemedSVGIcon) loader.getIcon("themed_icon.svg", 16, 16, true);
+        // Derived icons aren't held by the cache of the icon loader.
+        ThemedSVGIcon derived = icon.derive(20, 20);
+        Assertions.assertEquals(Color.BLUE.getRGB(), paint(icon));
+        Assertions.assertEquals(Color.BLUE.getRGB(), paint(derived));
+
+        recolor(Color.GREEN);
+
+        long rasterizations = icon.getRasterizationCount();
+        long derivedRasterizations = derived.getRasterizationCount();
+        Assertions.assertEquals(Color.GREEN.getRGB(), paint(icon));
+        Assertions.assertEquals(Color.GREEN.getRGB(), paint(derived));
+        Assertions.assertEquals(rasterizations, icon.getRasterizationCount());
+        Assertions.assertEquals(derivedRasterizations, derived.getRasterizationCount());
+    }
+
+    @Test
+    void testOutdatedPassIsSkipped() throws Exception {
+        ThemedSVGIcon icon = (ThemedSVGIcon) loader.getIcon("themed_icon.svg", 16, 16, true);
+        Assertions.assertEquals(Color.BLUE.getRGB(), paint(icon));
+        long rasterizations = icon.getRasterizationCount();
+
+        UIManager.put(COLOR_KEY, Color.GREEN);
+        Object theme = new Object();
+        IconLoader.updateThemeStatus(theme);
+        IconLoader.updateThemeStatus(new Object());
+        ThemedIconRecolorPass.schedule(theme).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(rasterizations, icon.getRasterizationCount());
+    }
+
+    @Test
+    void testUnloadedIconsAreSkipped() throws Exception {
+        ThemedSVGIcon icon = (ThemedSVGIcon) loader.getIcon("themed_icon.svg", 16, 16, true);
+        recolor(Color.GREEN);
+        Assertions.assertFalse(icon.isDocumentLoaded());
+        Assertions.assertEquals(Color.GREEN.getRGB(), paint(icon));
+    }
+
+    private static void recolor(final Color color) throws Exception {
+        UIManager.put(COLOR_KEY, color);
+        Object theme = new Object();
+        IconLoader.updateThemeStatus(theme);
+        ThemedIconRecolorPass.schedule(theme).get(10, TimeUnit.SECONDS);
+    }
+
+    private static int paint(final Icon icon) throws Exception {
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+        SwingUtilities.invokeAndWait(() -> {
+            Graphics2D g = image.createGraphics();
+            icon.paintIcon(null, g, 0, 0);
+            g.dispose();
+        });
+        return image.getRGB(8, 8);
+    }
+}
@@ -23,6 +23,7 @@ package com.github.weisj.darklaf.properties.parser;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Insets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -197,16 +198,47 @@ class ParserTest {
     }
 
     @Test
-    void testDelimitedSplit() {
+    void testDelimitedTokenizer() {
         String value1 = "a,b,[c,d,{e,f},g],(h),i,j)Suffix";
         String value2 = "Prefix(a,b,[c,d,{e,f},g],(h),i,j";
         List<String> expected = Arrays.asList("a", "b", "[c,d,{e,f},g]", "(h)", "i", "j");
 
-        List<String> values1 = ParserUtil.delimitedSplit(',', ')', new ParseResult("key", value1), true);
+        List<String> values1 = tokenize(',', ')', new ParseResult("key", value1), true);
         Assertions.assertEquals(expected, values1);
 
         Collections.reverse(expected);
-        List<String> values2 = ParserUtil.delimitedSplit(',', '(', new ParseResult("key", value2), false);
+        List<String> values2 = tokenize(',', '(', new ParseResult("key", value2), false);
         Assertions.assertEquals(expected, values2);
     }
+
+    @Test
+    void testDelimitedTokenizerConsumesValue() {
+        ParseResult forward = new ParseResult("key", " a , [b, c] ,d )Suffix");
+        Assertions.assertEquals(Arrays.asList("a ", " [b, c] ", "d "),
+                tokenize(',', ')', forward, true));
+        Assertions.assertEquals("Suffix", forward.value);
+
+        ParseResult backward = new ParseResult("key", "Prefix( a ,b");
+        Assertions.assertEquals(Arrays.asList("b", " a "),
+                tokenize(',', '(', backward, false));
+        Assertions.assertEquals("Prefix", backward.value);
+
+        ParseResult trailing = new ParseResult("key", "a,");
+        Assertions.assertEquals(Arrays.asList("a", ""),
+                tokenize(',', ')', trailing, true));
+        Assertions.assertEquals("", trailing.value);
+    }
+
+    private static List<String> tokenize(final char delimiter, final char closingDelimiter,
+            final ParseResult parseResult, final boolean forward) {
+        String value = parseResult.value;
+        DelimitedTokenizer tokenizer =
+                new DelimitedTokenizer(value, 0, value.length(), delimiter, closingDelimiter, forward);
+        List<String> tokens = new ArrayList<>();
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.token());
+        }
+        parseResult.value = tokenizer.remainder();
+        return tokens;
+    }
 }
@@ -0,0 +1,325 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache bounded by the number of entries and their total estimated weight. If one of the
+ * limits is exceeded the least recently used entries are evicted.
+ *
+ * <p>
+ * Lookups don't block. Values computed through {@link #computeIfAbsent(Object, Function)} are created at
+ * most once per key. The computation happens outside of the underlying map, hence only callers waiting
+ * for the same key are blocked by it. The recency of entries
+ * is tracked using a logical clock, hence the eviction order is only approximately least recently used
+ * under concurrent access. Eviction is done in batches to amortize its cost.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public class LRUCache<K, V> {
+
+    /*
+     * Eviction removes entries until the cache is below this fraction of its limits.
+     */
+    private static final float EVICTION_TARGET = 0.9f;
+
+    private final Map<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> pending = new ConcurrentHashMap<>();
+    private final Weigher<? super K, ? super V> weigher;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong totalWeight = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final Object evictionLock = new Object();
+
+    private volatile int maxSize;
+    private volatile long maxWeight;
+
+    /**
+     * Creates a cache bounded by the number of entries.
+     *
+     * @param maxSize the maximum number of entries.
+     */
+    public LRUCache(final int maxSize) {
+        this(maxSize, Long.MAX_VALUE, (k, v) -> 0);
+    }
+
+    /**
+     * Creates a cache bounded by the number of entries and their total weight.
+     *
+     * @param maxSize the maximum number of entries.
+     * @param maxWeight the maximum total weight of all entries.
+     * @param weigher computes the weight of an entry. It is computed once when the entry is added.
+     */
+    public LRUCache(final int maxSize, final long maxWeight, final Weigher<? super K, ? super V> weigher) {
+        this.weigher = weigher;
+        setLimits(maxSize, maxWeight);
+    }
+
+    /**
+     * Sets the limits of the cache. Entries are evicted if the cache exceeds the new limits.
+     *
+     * @param maxSize the maximum number of entries.
+     * @param maxWeight the maximum total weight of all entries.
+     */
+    public void setLimits(final int maxSize, final long maxWeight) {
+        if (maxSize < 0) throw new IllegalArgumentException("Negative size " + maxSize);
+        if (maxWeight < 0) throw new IllegalArgumentException("Negative weight " + maxWeight);
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        evictIfNecessary();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public V get(final K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Returns the value associated with the key without recording a hit or a miss. This is meant for
+     * probing lookups, which would otherwise be counted multiple times. The recency of the entry is
+     * updated as with {@link #get(Object)}.
+     *
+     * @param key the key.
+     * @return the value or null if there is no such value.
+     */
+    public V peek(final K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) return null;
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Returns the value associated with the key. If there is no such value it is computed using the
+     * mapping function and added to the cache. Concurrent calls for the same key will wait for the
+     * computation to complete and return the same value.
+     *
+     * <p>
+     * The mapping function must not compute the value of the same key through this cache, as it would
+     * wait for itself.
+     *
+     * @param key the key.
+     * @param mappingFunction computes the value. If it returns null nothing is added.
+     * @return the cached or computed value.
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value != null) return value;
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> future;
+        while ((future = pending.putIfAbsent(key, created)) != null) {
+            try {
+                value = future.join();
+                if (value != null) return value;
+            } catch (final CompletionException | CancellationException e) {
+                // The computation failed. Try to compute the value in this thread instead.
+            }
+        }
+        try {
+            // The value may have been added after the lookup.
+            value = peek(key);
+            if (value == null) {
+                value = mappingFunction.apply(key);
+                if (value != null) value = putIfAbsent(key, value);
+            }
+            created.complete(value);
+            return value;
+        } catch (final RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(key, created);
+        }
+    }
+
+    private V putIfAbsent(final K key, final V value) {
+        Entry<V> entry = new Entry<>(value, weigher.weigh(key, value), clock.incrementAndGet());
+        Entry<V> previous = map.putIfAbsent(key, entry);
+        if (previous != null) {
+            previous.lastAccess = clock.incrementAndGet();
+            return previous.value;
+        }
+        totalWeight.addAndGet(entry.weight);
+        evictIfNecessary();
+        return value;
+    }
+
+    /**
+     * Adds the value to the cache. If the value is null the entry is removed.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    public void put(final K key, final V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, weigher.weigh(key, value), clock.incrementAndGet());
+        Entry<V> previous = map.put(key, entry);
+        totalWeight.addAndGet(entry.weight - (previous != null ? previous.weight : 0));
+        evictIfNecessary();
+    }
+
+    public V remove(final K key) {
+        Entry<V> entry = map.remove(key);
+        if (entry == null) return null;
+        totalWeight.addAndGet(-entry.weight);
+        return entry.value;
+    }
+
+    public void clear() {
+        synchronized (evictionLock) {
+            for (K key : new ArrayList<>(map.keySet())) {
+                remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of all values in the cache. Accessing the values doesn't affect their recency.
+     *
+     * @return the values.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(map.size());
+        for (Entry<V> entry : map.values()) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Returns the total weight of all entries.
+     *
+     * @return the total weight.
+     */
+    public long weight() {
+        return totalWeight.get();
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns a snapshot of the current statistics of the cache.
+     *
+     * @return the statistics.
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount(), missCount(), evictionCount(), size(), weight());
+    }
+
+    private boolean exceedsLimits(final int size, final long weight) {
+        return map.size() > size || totalWeight.get() > weight;
+    }
+
+    private void evictIfNecessary() {
+        if (!exceedsLimits(maxSize, maxWeight)) return;
+        synchronized (evictionLock) {
+            int targetSize = (int) Math.ceil(maxSize * EVICTION_TARGET);
+            long targetWeight = (long) Math.ceil(maxWeight * (double) EVICTION_TARGET);
+            if (!exceedsLimits(maxSize, maxWeight)) return;
+            List<Map.Entry<K, Entry<V>>> entries = new ArrayList<>(map.entrySet());
+            entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<K, Entry<V>> e : entries) {
+                if (!exceedsLimits(targetSize, targetWeight)) break;
+                if (map.remove(e.getKey(), e.getValue())) {
+                    totalWeight.addAndGet(-e.getValue().weight);
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LRUCache{" + getStatistics() + ", maxSize=" + maxSize + ", maxWeight=" + maxWeight + '}';
+    }
+
+    /**
+     * Computes the weight of cache entries.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        long weigh(final K key, final V value);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+        private volatile long lastAccess;
+
+        private Entry(final V value, final long weight, final long lastAccess) {
+            this.value = value;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.instrumentation;
+
+import java.awt.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Periodically posts an empty event to the event queue and records how long it takes until the event
+ * is dispatched.
+ */
+final class EventQueueLatencyProbe {
+
+    static final String NAME = "EventQueue";
+    private static final long PROBE_INTERVAL_MILLIS = 100;
+
+    private final AtomicBoolean probePending = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> probe;
+
+    synchronized void start() {
+        if (probe != null) return;
+        if (executor == null) {
+            ScheduledThreadPoolExecutor ex = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "Darklaf Instrumentation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ex.setRemoveOnCancelPolicy(true);
+            executor = ex;
+        }
+        probe = executor.scheduleAtFixedRate(this::post, 0, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (probe != null) {
+            probe.cancel(false);
+            probe = null;
+        }
+    }
+
+    private void post() {
+        // Only one probe is in flight, otherwise a blocked event queue would be flooded with probes.
+        if (!probePending.compareAndSet(false, true)) return;
+        long postedNanos = System.nanoTime();
+        EventQueue.invokeLater(() -> {
+            probePending.set(false);
+            Instrumentation.recordDuration(Instrumentation.Category.EVENT_QUEUE_LATENCY, NAME,
+                    System.nanoTime() - postedNanos);
+        });
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations. Durations are recorded into buckets of exponentially growing size, where
+ * bucket {@code i} holds all durations {@code d} with {@code 2^(i-1) <= d < 2^i} nanoseconds. Hence
+ * percentiles are accurate up to a factor of two while the minimum, maximum and mean are exact.
+ *
+ * <p>
+ * Histograms can be recorded into from any thread.
+ */
+public final class Histogram {
+
+    public static final int BUCKET_COUNT = Long.SIZE;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    Histogram(final String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void record(final long durationNanos) {
+        long duration = Math.max(0, durationNanos);
+        buckets.incrementAndGet(bucketIndex(duration));
+        count.incrementAndGet();
+        totalNanos.addAndGet(duration);
+        minNanos.accumulateAndGet(duration, Math::min);
+        maxNanos.accumulateAndGet(duration, Math::max);
+    }
+
+    private static int bucketIndex(final long durationNanos) {
+        return Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(durationNanos));
+    }
+
+    /**
+     * Returns the exclusive upper bound of the durations held by the given bucket.
+     *
+     * @param bucket the index of the bucket.
+     * @return the upper bound in nanoseconds.
+     */
+    public static long getBucketUpperBound(final int bucket) {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    public long getBucketCount(final int bucket) {
+        return buckets.get(bucket);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMinNanos() {
+        long min = minNanos.get();
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / (double) n;
+    }
+
+    /**
+     * Returns an upper bound for the duration below which the given percentage of recorded durations
+     * fall.
+     *
+     * @param percentile the percentile between 0 and 100.
+     * @return the duration in nanoseconds.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100 but was " + percentile);
+        }
+        long n = count.get();
+        if (n == 0) return 0;
+        long threshold = Math.max(1, (long) Math.ceil(n * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold) return Math.min(getBucketUpperBound(i), getMaxNanos());
+        }
+        return getMaxNanos();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        minNanos.set(Long.MAX_VALUE);
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{" + name
+                + ", count=" + getCount()
+                + ", mean=" + formatMillis((long) getMeanNanos())
+                + ", p50=" + formatMillis(getValueAtPercentile(50))
+                + ", p99=" + formatMillis(getValueAtPercentile(99))
+                + ", max=" + formatMillis(getMaxNanos()) + '}';
+    }
+
+    private static String formatMillis(final long nanos) {
+        return String.format("%.3fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
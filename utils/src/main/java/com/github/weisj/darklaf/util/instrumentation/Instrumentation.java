@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.instrumentation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.weisj.darklaf.util.PropertyUtil;
+
+/**
+ * Opt-in instrumentation of darklaf. If enabled, durations of painting, installing the defaults and
+ * loading icons as well as the latency of the event queue are recorded into {@link Histogram}s. The
+ * durations can additionally be emitted as flight recorder events of type
+ * {@code com.github.weisj.darklaf.Instrumentation}.
+ *
+ * <p>
+ * Instrumentation is enabled using the {@link #INSTRUMENTATION_FLAG} system property or
+ * {@link #setEnabled(boolean)}. If disabled, recording a duration only costs a single volatile read.
+ * Durations are recorded as follows:
+ *
+ * <pre>
+ * {@code
+ * long start = Instrumentation.start();
+ * doWork();
+ * Instrumentation.record(Instrumentation.Category.PAINT, "name", start);
+ * }
+ * </pre>
+ */
+public final class Instrumentation {
+
+    public static final String INSTRUMENTATION_FLAG = "darklaf.instrumentation";
+    public static final String JFR_EVENTS_FLAG = "darklaf.instrumentation.jfr";
+
+    public enum Category {
+        /**
+         * Duration of painting a component. Histograms are named after the class of the ui delegate.
+         */
+        PAINT,
+        /**
+         * Duration of a task installing the ui defaults. Histograms are named after the class of the
+         * task.
+         */
+        DEFAULTS_INIT,
+        /**
+         * Duration of loading an icon resource. Histograms are named after the file name of the icon.
+         */
+        ICON_LOAD,
+        /**
+         * Duration of rasterizing an icon. Histograms are named after the file name of the icon.
+         */
+        ICON_RASTERIZE,
+        /**
+         * Time between posting an event to the event queue and the event being dispatched.
+         */
+        EVENT_QUEUE_LATENCY
+    }
+
+    private static final long NOT_RECORDING = Long.MIN_VALUE;
+
+    private static final Map<Category, Map<String, Histogram>> histograms = createHistogramMaps();
+    private static final EventQueueLatencyProbe eventQueueProbe = new EventQueueLatencyProbe();
+    private static volatile boolean enabled;
+    private static volatile JfrEventSink jfrEventSink;
+
+    static {
+        if (PropertyUtil.getSystemFlag(JFR_EVENTS_FLAG, false)) setJfrEventsEnabled(true);
+        setEnabled(PropertyUtil.getSystemFlag(INSTRUMENTATION_FLAG, false));
+    }
+
+    private Instrumentation() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    private static Map<Category, Map<String, Histogram>> createHistogramMaps() {
+        Map<Category, Map<String, Histogram>> maps = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            maps.put(category, new ConcurrentHashMap<>());
+        }
+        return maps;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the instrumentation. While enabled the latency of the event queue is probed
+     * periodically.
+     *
+     * @param enabled true if durations should be recorded.
+     */
+    public static synchronized void setEnabled(final boolean enabled) {
+        Instrumentation.enabled = enabled;
+        if (enabled) {
+            eventQueueProbe.start();
+        } else {
+            eventQueueProbe.stop();
+        }
+    }
+
+    /**
+     * Enables or disables emitting recorded durations as flight recorder events.
+     *
+     * @param enabled true if events should be emitted.
+     * @return true if events are emitted, false if the flight recorder isn't available or events have
+     *         been disabled.
+     */
+    public static synchronized boolean setJfrEventsEnabled(final boolean enabled) {
+        if (!enabled) {
+            jfrEventSink = null;
+        } else if (jfrEventSink == null) {
+            jfrEventSink = JfrEventSink.create();
+        }
+        return jfrEventSink != null;
+    }
+
+    /**
+     * Marks the start of a duration to be recorded.
+     *
+     * @return the start time to be passed to {@link #record(Category, String, long)}.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_RECORDING;
+    }
+
+    /**
+     * Records the duration from the given start time until now. Does nothing if the instrumentation
+     * has been disabled at the start time.
+     *
+     * @param category the category of the duration.
+     * @param name the name of the histogram.
+     * @param startNanos the start time as returned by {@link #start()}.
+     */
+    public static void record(final Category category, final String name, final long startNanos) {
+        if (startNanos == NOT_RECORDING) return;
+        recordDuration(category, name, System.nanoTime() - startNanos);
+    }
+
+    public static void record(final Category category, final Class<?> type, final long startNanos) {
+        if (startNanos == NOT_RECORDING) return;
+        recordDuration(category, type.getName(), System.nanoTime() - startNanos);
+    }
+
+    public static void recordDuration(final Category category, final String name, final long durationNanos) {
+        if (!enabled) return;
+        histograms.get(category).computeIfAbsent(name, Histogram::new).record(durationNanos);
+        JfrEventSink sink = jfrEventSink;
+        if (sink != null) sink.emit(category, name, durationNanos);
+    }
+
+    /**
+     * Returns the histogram of the given name.
+     *
+     * @param category the category of the histogram.
+     * @param name the name of the histogram.
+     * @return the histogram or null if nothing has been recorded.
+     */
+    public static Histogram getHistogram(final Category category, final String name) {
+        return histograms.get(category).get(name);
+    }
+
+    /**
+     * Returns all histograms of the given category by their name.
+     *
+     * @param category the category.
+     * @return the histograms.
+     */
+    public static Map<String, Histogram> getHistograms(final Category category) {
+        return Collections.unmodifiableMap(new HashMap<>(histograms.get(category)));
+    }
+
+    /**
+     * Clears all recorded durations.
+     */
+    public static void reset() {
+        for (Map<String, Histogram> map : histograms.values()) {
+            for (Histogram histogram : map.values()) {
+                histogram.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.instrumentation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.weisj.darklaf.util.LogUtil;
+
+/*
+ * Emits recorded durations as flight recorder events. The event type is defined at runtime using
+ * jdk.jfr.EventFactory, which is accessed reflectively as darklaf still supports runtimes without the
+ * flight recorder.
+ */
+final class JfrEventSink {
+
+    private static final Logger LOGGER = LogUtil.getLogger(JfrEventSink.class);
+    static final String EVENT_NAME = "com.github.weisj.darklaf.Instrumentation";
+
+    private final Object eventFactory;
+    private final Method newEvent;
+    private final Method set;
+    private final Method commit;
+
+    private JfrEventSink(final Object eventFactory, final Method newEvent, final Method set, final Method commit) {
+        this.eventFactory = eventFactory;
+        this.newEvent = newEvent;
+        this.set = set;
+        this.commit = commit;
+    }
+
+    /*
+     * Returns null if the flight recorder isn't available.
+     */
+    static JfrEventSink create() {
+        try {
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+            Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+            Constructor<?> annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+            Constructor<?> valueDescriptor =
+                    valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+
+            List<Object> eventAnnotations = Arrays.asList(
+                    annotationElement.newInstance(annotation("jdk.jfr.Name"), EVENT_NAME),
+                    annotationElement.newInstance(annotation("jdk.jfr.Label"), "Darklaf Instrumentation"),
+                    annotationElement.newInstance(annotation("jdk.jfr.Category"), new String[] {"Darklaf"}));
+            List<Object> fields = Arrays.asList(
+                    valueDescriptor.newInstance(String.class, "category", Collections.singletonList(
+                            annotationElement.newInstance(annotation("jdk.jfr.Label"), "Category"))),
+                    valueDescriptor.newInstance(String.class, "name", Collections.singletonList(
+                            annotationElement.newInstance(annotation("jdk.jfr.Label"), "Name"))),
+                    valueDescriptor.newInstance(long.class, "elapsed", new ArrayList<>(Arrays.asList(
+                            annotationElement.newInstance(annotation("jdk.jfr.Label"), "Elapsed Time"),
+                            annotationElement.newInstance(annotation("jdk.jfr.Timespan"), "NANOSECONDS")))));
+            Object factory = eventFactoryClass.getMethod("create", List.class, List.class)
+                    .invoke(null, eventAnnotations, fields);
+            return new JfrEventSink(factory,
+                    eventFactoryClass.getMethod("newEvent"),
+                    eventClass.getMethod("set", int.class, Object.class),
+                    eventClass.getMethod("commit"));
+        } catch (ClassNotFoundException e) {
+            LOGGER.fine("Flight recorder isn't available. Instrumentation events won't be emitted.");
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not define instrumentation event type.", e);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Annotation> annotation(final String name) throws ClassNotFoundException {
+        return (Class<? extends Annotation>) Class.forName(name);
+    }
+
+    void emit(final Instrumentation.Category category, final String name, final long durationNanos) {
+        try {
+            Object event = newEvent.invoke(eventFactory);
+            set.invoke(event, 0, category.name());
+            set.invoke(event, 1, name);
+            set.invoke(event, 2, durationNanos);
+            commit.invoke(event);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            LOGGER.log(Level.FINE, "Could not emit instrumentation event.", e);
+        }
+    }
+}
@@ -33,5 +33,6 @@ module darklaf.utils {
     exports com.github.weisj.darklaf.util;
     exports com.github.weisj.darklaf.util.cache;
     exports com.github.weisj.darklaf.util.graphics;
+    exports com.github.weisj.darklaf.util.instrumentation;
     exports com.github.weisj.darklaf.util.value;
 }
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LRUCacheTest {
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvicted() {
+        LRUCache<Integer, String> cache = new LRUCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, String.valueOf(i));
+        }
+        // Make the first entries the most recently used.
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(String.valueOf(i), cache.get(i));
+        }
+        cache.put(10, "10");
+        Assertions.assertTrue(cache.size() <= 10);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertNotNull(cache.get(i));
+        }
+        Assertions.assertNotNull(cache.get(10));
+        Assertions.assertNull(cache.get(5));
+        Assertions.assertTrue(cache.evictionCount() > 0);
+    }
+
+    @Test
+    void testWeightIsBounded() {
+        LRUCache<Integer, int[]> cache = new LRUCache<>(100, 1000, (k, v) -> v.length);
+        for (int i = 0; i < 20; i++) {
+            cache.put(i, new int[100]);
+            Assertions.assertTrue(cache.weight() <= 1000);
+        }
+        Assertions.assertNotNull(cache.get(19));
+        Assertions.assertNull(cache.get(0));
+
+        cache.put(19, new int[10]);
+        Assertions.assertEquals(cache.size() * 100L - 90, cache.weight());
+
+        cache.setLimits(100, 200);
+        Assertions.assertTrue(cache.weight() <= 200);
+        cache.clear();
+        Assertions.assertEquals(0, cache.weight());
+        Assertions.assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void testStatistics() {
+        LRUCache<String, String> cache = new LRUCache<>(1);
+        cache.put("a", "a");
+        cache.get("a");
+        cache.get("b");
+        cache.put("b", "b");
+        CacheStatistics statistics = cache.getStatistics();
+        Assertions.assertEquals(1, statistics.getHitCount());
+        Assertions.assertEquals(1, statistics.getMissCount());
+        Assertions.assertEquals(1, statistics.getEvictionCount());
+        Assertions.assertEquals(1, statistics.getSize());
+        Assertions.assertEquals(0.5, statistics.getHitRate());
+    }
+
+    @Test
+    void testPeekIsNotCounted() {
+        LRUCache<String, String> cache = new LRUCache<>(2);
+        cache.put("a", "a");
+        cache.put("b", "b");
+        Assertions.assertEquals("a", cache.peek("a"));
+        Assertions.assertNull(cache.peek("c"));
+        CacheStatistics statistics = cache.getStatistics();
+        Assertions.assertEquals(0, statistics.getHitCount());
+        Assertions.assertEquals(0, statistics.getMissCount());
+
+        // Peeking still marks the entry as recently used.
+        cache.put("c", "c");
+        Assertions.assertNotNull(cache.peek("a"));
+        Assertions.assertNull(cache.peek("b"));
+    }
+
+    @Test
+    void testComputationDoesNotBlockOtherKeys() throws Exception {
+        LRUCache<CollidingKey, String> cache = new LRUCache<>(10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        Function<CollidingKey, String> blockingFunction = k -> {
+            computations.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "1";
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<String> first = executor.submit(() -> cache.computeIfAbsent(new CollidingKey(1), blockingFunction));
+            Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<String> waiting =
+                    executor.submit(() -> cache.computeIfAbsent(new CollidingKey(1), blockingFunction));
+
+            // The keys share a bin of the underlying map.
+            String other = executor.submit(() -> cache.computeIfAbsent(new CollidingKey(2), k -> "2"))
+                    .get(10, TimeUnit.SECONDS);
+            Assertions.assertEquals("2", other);
+            Assertions.assertFalse(waiting.isDone());
+
+            release.countDown();
+            Assertions.assertEquals("1", first.get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals("1", waiting.get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, computations.get());
+            Assertions.assertEquals(2, cache.size());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedComputationIsRetried() {
+        LRUCache<String, String> cache = new LRUCache<>(2);
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("a", k -> {
+            throw new IllegalStateException();
+        }));
+        Assertions.assertEquals("a", cache.computeIfAbsent("a", k -> "a"));
+        Assertions.assertNull(cache.computeIfAbsent("b", k -> null));
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    private static final class CollidingKey {
+        private final int id;
+
+        private CollidingKey(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CollidingKey && ((CollidingKey) obj).id == id;
+        }
+    }
+}
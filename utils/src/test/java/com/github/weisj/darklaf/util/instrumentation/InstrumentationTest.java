@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class InstrumentationTest {
+
+    @AfterEach
+    void disable() {
+        Instrumentation.setEnabled(false);
+        Instrumentation.reset();
+    }
+
+    @Test
+    void testNothingIsRecordedWhileDisabled() {
+        Instrumentation.setEnabled(false);
+        long start = Instrumentation.start();
+        Instrumentation.record(Instrumentation.Category.PAINT, "disabled", start);
+        Assertions.assertNull(Instrumentation.getHistogram(Instrumentation.Category.PAINT, "disabled"));
+    }
+
+    @Test
+    void testDurationsAreRecorded() {
+        Instrumentation.setEnabled(true);
+        for (int i = 1; i <= 100; i++) {
+            Instrumentation.recordDuration(Instrumentation.Category.ICON_LOAD, "icon.svg",
+                    TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        Histogram histogram = Instrumentation.getHistogram(Instrumentation.Category.ICON_LOAD, "icon.svg");
+        Assertions.assertNotNull(histogram);
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(TimeUnit.MICROSECONDS.toNanos(1), histogram.getMinNanos());
+        Assertions.assertEquals(TimeUnit.MICROSECONDS.toNanos(100), histogram.getMaxNanos());
+        Assertions.assertEquals(TimeUnit.MICROSECONDS.toNanos(5050), histogram.getTotalNanos());
+
+        // Percentiles are accurate up to a factor of two.
+        long median = histogram.getValueAtPercentile(50);
+        Assertions.assertTrue(median >= TimeUnit.MICROSECONDS.toNanos(50), "Median was " + median);
+        Assertions.assertTrue(median <= TimeUnit.MICROSECONDS.toNanos(100), "Median was " + median);
+        Assertions.assertEquals(histogram.getMaxNanos(), histogram.getValueAtPercentile(100));
+
+        Assertions.assertTrue(Instrumentation.getHistograms(Instrumentation.Category.ICON_LOAD)
+                .containsKey("icon.svg"));
+        Instrumentation.reset();
+        Assertions.assertEquals(0, histogram.getCount());
+    }
+}